@@ -25,6 +25,7 @@ import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.FontMetrics;
 import javax.swing.JTextPane;
+import javax.swing.text.PlainDocument;
 import javax.swing.text.SimpleAttributeSet;
 import javax.swing.text.StyleConstants;
 import javax.swing.text.StyledDocument;
@@ -194,6 +195,8 @@ public class ApexTextPane extends JTextPane {
         SimpleAttributeSet attributes = new SimpleAttributeSet();
         StyleConstants.setTabSet(attributes, tabSet);
         int length = this.getDocument().getLength();
+        // Used by views which do not support tab sets
+        this.getDocument().putProperty(PlainDocument.tabSizeAttribute, size);
 
         try {
             this.getStyledDocument().setParagraphAttributes(0, length,
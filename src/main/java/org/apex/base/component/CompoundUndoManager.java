@@ -21,13 +21,20 @@ package org.apex.base.component;
 
 import org.apex.base.action.RedoTextAction;
 import org.apex.base.action.UndoTextAction;
+import org.apex.base.constant.EditorKeyConstants;
 import org.apex.base.constant.MenuConstants;
 import org.apex.base.core.ActionManager;
+import org.apex.base.core.EditorBase;
+import org.apex.base.data.HighlightedDocument;
+import org.apex.base.settings.GeneralSectionConfiguration;
+import java.util.Map;
+import java.util.WeakHashMap;
 import javax.swing.SwingUtilities;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import javax.swing.event.UndoableEditEvent;
 import javax.swing.text.AbstractDocument;
+import javax.swing.text.Document;
 import javax.swing.text.JTextComponent;
 import javax.swing.undo.CannotRedoException;
 import javax.swing.undo.CannotUndoException;
@@ -38,6 +45,17 @@ import javax.swing.undo.UndoableEdit;
 /**
  * The undo manager for text editor. It manages a list of {@code UndoableEdit}s,
  * providing a way to undo or redo the appropriate edits.
+ * <p>
+ * Only insertion and removal of text is kept. Attribute changes, such as
+ * the ones made by syntax highlighting, are presentation only and are not
+ * undone. Besides the number of edits, the memory taken by the text kept
+ * for undo is limited per document and for all documents together, as
+ * configured in general settings. The oldest edits are discarded when a
+ * limit is exceeded.
+ * <p>
+ * The text of a large edit is not kept in memory at all. The document writes
+ * it to a temporary file and reads it back when the edit is undone or redone,
+ * see {@link HighlightedDocument#spillRemovedText(DocumentEvent)}.
  * @author Mrityunjoy Saha
  * @version 1.0
  * @since Apex 1.0
@@ -45,6 +63,10 @@ import javax.swing.undo.UndoableEdit;
  */
 public class CompoundUndoManager extends UndoManager implements DocumentListener {
 
+    /**
+     * Number of bytes in a megabyte.
+     */
+    private static final long MEGABYTE = 1024 * 1024;
     /**
      * The compound edit.
      */
@@ -61,6 +83,21 @@ public class CompoundUndoManager extends UndoManager implements DocumentListener
      * Last length.
      */
     private int lastLength;
+    /**
+     * Memory in bytes taken by the text kept for undo.
+     */
+    private volatile long memorySize;
+    /**
+     * A boolean that indicates whether or not edits are being grouped into
+     * one compound edit.
+     */
+    private boolean grouping = false;
+    /**
+     * All undo managers, used for limiting the memory taken by all of them
+     * together.
+     */
+    private static final Map<CompoundUndoManager, Object> managers =
+            new WeakHashMap<CompoundUndoManager, Object>();
 
     /**
      * Creates a new instance of {@code CompoundUndoManager} with given
@@ -70,6 +107,9 @@ public class CompoundUndoManager extends UndoManager implements DocumentListener
     public CompoundUndoManager(JTextComponent editArea) {
         this.editArea = editArea;
         this.editArea.getDocument().addUndoableEditListener(this);
+        synchronized (managers) {
+            managers.put(this, null);
+        }
     }
 
     /**
@@ -80,8 +120,11 @@ public class CompoundUndoManager extends UndoManager implements DocumentListener
     @Override
     public synchronized void redo() throws CannotRedoException {
         this.editArea.getDocument().addDocumentListener(this);
-        super.redo();
-        this.editArea.getDocument().removeDocumentListener(this);
+        try {
+            super.redo();
+        } finally {
+            this.editArea.getDocument().removeDocumentListener(this);
+        }
     }
 
     /**
@@ -92,8 +135,11 @@ public class CompoundUndoManager extends UndoManager implements DocumentListener
     @Override
     public synchronized void undo() throws CannotUndoException {
         this.editArea.getDocument().addDocumentListener(this);
-        super.undo();
-        this.editArea.getDocument().removeDocumentListener(this);
+        try {
+            super.undo();
+        } finally {
+            this.editArea.getDocument().removeDocumentListener(this);
+        }
     }
 
     /**
@@ -115,30 +161,37 @@ public class CompoundUndoManager extends UndoManager implements DocumentListener
         if (redoAction != null) {
             redoAction.update();
         }
+        // Attribute changes are not kept
+        if (event.getType().equals(DocumentEvent.EventType.CHANGE)) {
+            return;
+        }
+        spillIfLarge(event);
+        UndoableEdit undoableEdit = event;
+        if (grouping && this.edit != null) {
+            this.edit.addEdit(undoableEdit);
+            return;
+        }
         // Start new one
         if (this.edit == null) {
-            this.edit = startCompoundEdit(e.getEdit());
+            this.edit = startCompoundEdit(undoableEdit);
             lastLength = this.editArea.getDocument().getLength();
             return;
         }
-        if (event.getType().equals(DocumentEvent.EventType.CHANGE)) {
-            this.edit.addEdit(e.getEdit());
-            return;
-        }
         // Check for incremental edit or backspace.
         // The change in caret position and document length should be either 1 or -1.
         int offSetChange = this.editArea.getCaretPosition() - lastOffset;
         int lengthChange = this.editArea.getDocument().getLength() - lastLength;
 
         if (Math.abs(offSetChange) == 1 && Math.abs(lengthChange) == 1) {
-            this.edit.addEdit(e.getEdit());
+            this.edit.addEdit(undoableEdit);
+            trimToMemoryLimit();
             lastOffset = this.editArea.getCaretPosition();
             lastLength = this.editArea.getDocument().getLength();
             return;
         }
         // If it reaches here means no incremental edit, end previous edit and start a new one
         this.edit.end();
-        this.edit = startCompoundEdit(e.getEdit());
+        this.edit = startCompoundEdit(undoableEdit);
 
     }
 
@@ -189,15 +242,189 @@ public class CompoundUndoManager extends UndoManager implements DocumentListener
         // The compound edit is added to the undo manager. All incremental edits
         // stored in the compound edit will be undone/redone at once.
         this.addEdit(this.edit);
+        trimToMemoryLimit();
         return this.edit;
     }
 
+    /**
+     * Starts a group of edits which are undone and redone at once, like
+     * the replacements of a replace all. The edit in progress is ended, so
+     * the group does not absorb earlier edits.
+     * @see #endEditGroup()
+     */
+    public synchronized void beginEditGroup() {
+        if (this.edit != null) {
+            this.edit.end();
+            this.edit = null;
+        }
+        grouping = true;
+    }
+
+    /**
+     * Ends the group of edits started by {@link #beginEditGroup()}. Later
+     * edits start a new compound edit.
+     */
+    public synchronized void endEditGroup() {
+        grouping = false;
+        if (this.edit != null) {
+            this.edit.end();
+            this.edit = null;
+        }
+        trimToMemoryLimit();
+    }
+
+    /**
+     * Discards all edits and stops listening to the document. The undo
+     * manager cannot be used any more.
+     */
+    public synchronized void dispose() {
+        this.editArea.getDocument().removeUndoableEditListener(this);
+        discardAllEdits();
+        synchronized (managers) {
+            managers.remove(this);
+        }
+    }
+
+    /**
+     * Discards all edits.
+     */
+    @Override
+    public synchronized void discardAllEdits() {
+        super.discardAllEdits();
+        this.edit = null;
+        this.memorySize = 0;
+    }
+
+    /**
+     * Returns the memory in bytes taken by the text kept for undo.
+     * @return The memory size.
+     */
+    public long getMemorySize() {
+        return memorySize;
+    }
+
+    /**
+     * Discards the oldest edits while the text kept for undo takes more
+     * memory than allowed for this document or, together with other
+     * documents, more than allowed for all documents. The newest edit is
+     * always kept.
+     */
+    private synchronized void trimToMemoryLimit() {
+        GeneralSectionConfiguration genSecConfig = EditorBase.getContext().
+                getConfiguration().getGeneralConfig().getGeneral();
+        long limit = Math.min(
+                genSecConfig.getUndoMemoryPerDocument() * MEGABYTE,
+                genSecConfig.getUndoMemoryTotal() * MEGABYTE
+                - getMemorySizeOfOthers());
+        long total = 0;
+        for (int i = edits.size() - 1; i >= 0; i--) {
+            long size = getMemorySize(edits.elementAt(i));
+            if (total + size > limit && i < edits.size() - 1) {
+                trimEdits(0, i);
+                break;
+            }
+            total += size;
+        }
+        this.memorySize = total;
+    }
+
+    /**
+     * Returns the memory in bytes taken by the text kept for undo by all
+     * other undo managers.
+     * @return The memory size.
+     */
+    private long getMemorySizeOfOthers() {
+        long total = 0;
+        synchronized (managers) {
+            for (CompoundUndoManager manager : managers.keySet()) {
+                if (manager != this) {
+                    total += manager.getMemorySize();
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Asks the document to write the text of a large removal to disk. The
+     * text of an insertion is still in the document, so it is written only
+     * when the insertion is undone.
+     * @param event The document event.
+     */
+    private void spillIfLarge(AbstractDocument.DefaultDocumentEvent event) {
+        Document doc = this.editArea.getDocument();
+        if (isLarge(event)
+                && event.getType().equals(DocumentEvent.EventType.REMOVE)
+                && doc instanceof HighlightedDocument) {
+            ((HighlightedDocument) doc).spillRemovedText(event);
+        }
+    }
+
+    /**
+     * Determines whether or not the text of an edit is too large to be kept
+     * in memory.
+     * @param event The document event.
+     * @return {@code true} if the text is large; otherwise returns {@code false}.
+     */
+    private static boolean isLarge(DocumentEvent event) {
+        return event.getLength() >= EditorKeyConstants.UNDO_SPILL_THRESHOLD;
+    }
+
+    /**
+     * Returns the approximate memory in bytes taken by the text kept by an
+     * edit. Text of large edits is kept on disk.
+     * @param undoableEdit The edit.
+     * @return The memory size.
+     */
+    private static long getMemorySize(UndoableEdit undoableEdit) {
+        if (undoableEdit instanceof EditorCompoundEdit) {
+            return ((EditorCompoundEdit) undoableEdit).getLength() * 2L;
+        }
+        if (undoableEdit instanceof DocumentEvent
+                && !isLarge((DocumentEvent) undoableEdit)) {
+            return ((DocumentEvent) undoableEdit).getLength() * 2L;
+        }
+        return 0;
+    }
+
     /**
      * The compound edit object. It assembles little
      *  UndoableEdits into great big ones.
      */
     public class EditorCompoundEdit extends CompoundEdit {
 
+        /**
+         * Number of characters inserted or removed by the edits, not
+         * counting large edits.
+         */
+        private long length;
+
+        /**
+         * Adds an edit to this compound edit.
+         * @param anEdit The edit to be added.
+         * @return {@code true} if the edit is added; otherwise returns {@code false}.
+         */
+        @Override
+        public boolean addEdit(UndoableEdit anEdit) {
+            if (!super.addEdit(anEdit)) {
+                return false;
+            }
+            if (anEdit instanceof DocumentEvent
+                    && !isLarge((DocumentEvent) anEdit)) {
+                length += ((DocumentEvent) anEdit).getLength();
+            }
+            return true;
+        }
+
+        /**
+         * Returns the number of characters inserted or removed by the edits,
+         * not counting large edits.
+         * @return The number of characters.
+         */
+        public long getLength() {
+            return length;
+        }
+
         /**
          * Indicates whether or not the edit is in progress.
          * @return A boolean that indicates whether or not the edit is in progress.
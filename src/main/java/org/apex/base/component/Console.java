@@ -20,9 +20,15 @@
  */
 package org.apex.base.component;
 
+import java.util.LinkedList;
 import javax.swing.ScrollPaneConstants;
+import javax.swing.SwingUtilities;
+import javax.swing.text.AttributeSet;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.DefaultStyledDocument;
+import javax.swing.text.Document;
+import javax.swing.text.Element;
+import org.apex.base.constant.EditorKeyConstants;
 import org.apex.base.core.EditorBase;
 import org.apex.base.data.Command;
 import org.apex.base.data.InputParams;
@@ -33,12 +39,20 @@ import org.apex.base.logging.Logger;
 /**
  * Editor console. This is used when a tool is executed and some information has to
  * be displayed to user.
+ * <p>
+ * Text appended to console is queued and added to the result area in batches,
+ * each taking a limited time on event dispatch thread. Console keeps at most
+ * {@link #getScrollbackLimit()} characters, older lines are removed.
  * @author mrityunjoy_saha
  * @version 1.0
  * @since Apex 1.2
  */
 public class Console {
 
+    /**
+     * Maximum number of characters added to result area at a time.
+     */
+    private static final int FLUSH_CHUNK_SIZE = 64 * 1024;
     /**
      * The result area.
      */
@@ -63,6 +77,29 @@ public class Console {
      * The console title.
      */
     private String title;
+    /**
+     * Text waiting to be added to result area. It is also the lock guarding
+     * pending text.
+     */
+    private final LinkedList<OutputRun> pendingOutput =
+            new LinkedList<OutputRun>();
+    /**
+     * Number of characters waiting to be added to result area.
+     */
+    private int pendingLength;
+    /**
+     * A boolean that indicates whether or not adding pending text is scheduled.
+     */
+    private boolean flushScheduled;
+    /**
+     * Adds pending text to result area.
+     */
+    private final Runnable flushTask = new Runnable() {
+
+        public void run() {
+            flush();
+        }
+    };
 
     /**
      * Constructs a new console with given title.
@@ -208,10 +245,137 @@ public class Console {
         stopProcess();
     }
 
+    /**
+     * Returns the maximum number of characters kept in console, as set in
+     * general settings.
+     * @return The maximum number of characters.
+     */
+    public int getScrollbackLimit() {
+        return EditorBase.getContext().getConfiguration().getGeneralConfig().
+                getGeneral().getConsoleScrollback() * 1000;
+    }
+
+    /**
+     * Appends text to the result area. It can be called from any thread. The
+     * text is queued and added to the result area later in event dispatch thread.
+     * @param text The text.
+     * @param attr The style to be applied to text.
+     */
+    public void append(String text, AttributeSet attr) {
+        synchronized (pendingOutput) {
+            OutputRun last = pendingOutput.peekLast();
+            if (last != null && last.attr == attr) {
+                last.text.append(text);
+            } else {
+                pendingOutput.add(new OutputRun(text, attr));
+            }
+            pendingLength += text.length();
+            trimPendingOutput();
+            if (!flushScheduled) {
+                flushScheduled = true;
+                SwingUtilities.invokeLater(flushTask);
+            }
+        }
+    }
+
+    /**
+     * Drops the oldest pending text which would be removed from result area
+     * anyway because of scroll back limit. Must be called holding the lock.
+     */
+    private void trimPendingOutput() {
+        int limit = getScrollbackLimit();
+        while (limit > 0 && pendingLength > limit) {
+            OutputRun first = pendingOutput.getFirst();
+            int excess = Math.min(pendingLength - limit, first.length());
+            first.start += excess;
+            pendingLength -= excess;
+            if (first.length() == 0) {
+                pendingOutput.removeFirst();
+            } else if (first.start > first.text.length() / 2) {
+                first.text.delete(0, first.start);
+                first.start = 0;
+            }
+        }
+    }
+
+    /**
+     * Adds pending text to the result area and trims the result area to
+     * scroll back limit. If there is more text than can be added in a time
+     * slice, the rest is added in another event.
+     */
+    private void flush() {
+        long deadline = System.currentTimeMillis() +
+                EditorKeyConstants.CONSOLE_FLUSH_TIME_SLICE;
+        ApexTextPane area = getResultArea();
+        while (true) {
+            String text;
+            AttributeSet attr;
+            synchronized (pendingOutput) {
+                OutputRun first = pendingOutput.peekFirst();
+                if (first == null) {
+                    flushScheduled = false;
+                    break;
+                }
+                if (System.currentTimeMillis() > deadline) {
+                    SwingUtilities.invokeLater(flushTask);
+                    break;
+                }
+                int end = first.start + Math.min(first.length(),
+                        FLUSH_CHUNK_SIZE);
+                text = first.text.substring(first.start, end);
+                attr = first.attr;
+                first.start = end;
+                if (first.length() == 0) {
+                    pendingOutput.removeFirst();
+                }
+                pendingLength -= text.length();
+            }
+            if (area == null) {
+                // The console is released.
+                continue;
+            }
+            Document doc = area.getDocument();
+            try {
+                doc.insertString(doc.getLength(), text, attr);
+            } catch (BadLocationException ex) {
+                Logger.logError("Failed to append data to console.", ex);
+            }
+        }
+        if (area != null) {
+            trimResultArea(area.getDocument());
+        }
+    }
+
+    /**
+     * Removes the oldest lines of result area to keep it within the scroll
+     * back limit.
+     * @param doc The document of result area.
+     */
+    private void trimResultArea(Document doc) {
+        int limit = getScrollbackLimit();
+        int excess = doc.getLength() - limit;
+        if (limit <= 0 || excess <= 0) {
+            return;
+        }
+        // Remove whole lines.
+        Element root = doc.getDefaultRootElement();
+        int end = Math.min(doc.getLength(), root.getElement(root.
+                getElementIndex(excess)).getEndOffset());
+        try {
+            doc.remove(0, end);
+        } catch (BadLocationException ex) {
+            Logger.logError("Failed to trim the console", ex);
+        }
+    }
+
     /**
      * Clears the result area.
      */
     public void clearResultArea() {
+        synchronized (pendingOutput) {
+            pendingOutput.clear();
+            pendingLength = 0;
+        }
         try {
             getResultArea().getDocument().
                     remove(0,
@@ -231,6 +395,43 @@ public class Console {
         return title + " - " + this.command.getToolName();
     }
 
+    /**
+     * Text of one style waiting to be added to result area.
+     */
+    private static class OutputRun {
+
+        /**
+         * The text.
+         */
+        private final StringBuilder text;
+        /**
+         * The style of text.
+         */
+        private final AttributeSet attr;
+        /**
+         * Start of text not yet dropped.
+         */
+        private int start;
+
+        /**
+         * Creates a new instance of {@code OutputRun}.
+         * @param text The text.
+         * @param attr The style of text.
+         */
+        OutputRun(String text, AttributeSet attr) {
+            this.text = new StringBuilder(text);
+            this.attr = attr;
+        }
+
+        /**
+         * Returns the number of characters not yet dropped.
+         * @return The number of characters.
+         */
+        int length() {
+            return text.length() - start;
+        }
+    }
+
     /**
      * A default command processor.
      */
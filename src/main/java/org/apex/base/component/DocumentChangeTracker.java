@@ -113,7 +113,8 @@ public class DocumentChangeTracker implements ActionListener {
                         "FILE=" + document.getName());
             } else {
                 // See whether read only status changed by external application
-                boolean w = document.canWrite();
+                boolean w = document.canWrite()
+                        && !document.getDocument().isReadOnly();
                 boolean e = document.getEditor().isEditable();
                 if (w != e) {
                     document.getEditor().setEditable(w);
@@ -24,6 +24,8 @@ import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Rectangle;
 import java.awt.Shape;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
@@ -33,11 +35,17 @@ import javax.swing.event.CaretListener;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.DefaultHighlighter;
 import javax.swing.text.Element;
+import javax.swing.text.Highlighter;
 import javax.swing.text.JTextComponent;
 import javax.swing.text.View;
 
 /**
  * Paints the line background. It can be modified to highlight any given line or multiple lines.
+ * <p>
+ * The highlight is added once and moved when the caret moves to another
+ * line, so only the old and the new line are repainted. Caret and mouse
+ * events are handled once for all events received before they are handled.
+ * The area of line is kept till the line moves or the editor is resized.
  * @author Mrityunjoy Saha
  * @version 1.0
  * @since Apex 1.0
@@ -57,6 +65,19 @@ public class LineBackgroundPainter extends DefaultHighlighter.DefaultHighlightPa
      * The last highlight.
      */
     private Object lastHighlight;
+    /**
+     * The area of highlighted line, {@code null} if it is not known.
+     */
+    private Rectangle lineArea;
+    /**
+     * Start offset of the line whose area is known.
+     */
+    private int lineAreaOffset;
+    /**
+     * A boolean that indicates whether or not the highlight is to be
+     * moved to the line of caret.
+     */
+    private boolean updatePending;
 
     /**
      * Constructs a new instance of {@code LineBackgroundPainter} using specified text
@@ -73,6 +94,14 @@ public class LineBackgroundPainter extends DefaultHighlighter.DefaultHighlightPa
         this.editArea.addCaretListener(this);
         this.editArea.addMouseListener(this);
         this.editArea.addMouseMotionListener(this);
+        this.editArea.addComponentListener(new ComponentAdapter() {
+
+            @Override
+            public void componentResized(ComponentEvent e) {
+                // Lines may be wrapped differently.
+                lineArea = null;
+            }
+        });
 
         // At the begining highlight the first line.
         addHighlight(0);
@@ -155,14 +184,18 @@ public class LineBackgroundPainter extends DefaultHighlighter.DefaultHighlightPa
     }
 
     /**
-     * Removes the last highlight and adds the highlight
-     * to current line.
+     * Moves the highlight to current line. Calls made before the highlight
+     * is moved are handled once.
      */
     private void resetHighlight() {
+        if (updatePending) {
+            return;
+        }
+        updatePending = true;
         SwingUtilities.invokeLater(new Runnable() {
 
             public void run() {
-                highlighter.removeHighlight(lastHighlight);
+                updatePending = false;
                 Element root = editArea.getDocument().
                         getDefaultRootElement();
                 // Line Number
@@ -170,7 +203,19 @@ public class LineBackgroundPainter extends DefaultHighlighter.DefaultHighlightPa
                         root.getElementIndex(editArea.getCaretPosition());
                 int lineStartOffset = root.getElement(lineNumber).
                         getStartOffset();
-                addHighlight(lineStartOffset);
+                if (lastHighlight == null) {
+                    addHighlight(lineStartOffset);
+                } else if (((Highlighter.Highlight) lastHighlight).
+                        getStartOffset() != lineStartOffset) {
+                    try {
+                        // Repaints the old and the new line.
+                        highlighter.changeHighlight(lastHighlight,
+                                lineStartOffset, lineStartOffset + 1);
+                    } catch (BadLocationException ex) {
+                        Logger.logWarning("Could not move line background highlight to offset: " +
+                                lineStartOffset, ex);
+                    }
+                }
             }
         });
     }
@@ -192,7 +237,13 @@ public class LineBackgroundPainter extends DefaultHighlighter.DefaultHighlightPa
             JTextComponent c, View view) {
         try {
             // Use the first offset to get the line to highlight
-            Rectangle lineArea = c.modelToView(offs0);
+            if (lineArea == null || lineAreaOffset != offs0) {
+                lineArea = c.modelToView(offs0);
+                lineAreaOffset = offs0;
+                if (lineArea == null) {
+                    return null;
+                }
+            }
             lineArea.x = 0;
             lineArea.width = c.getSize().width;
 
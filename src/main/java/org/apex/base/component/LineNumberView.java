@@ -25,14 +25,26 @@ import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Point;
 import java.awt.Rectangle;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import javax.swing.BorderFactory;
 import javax.swing.JComponent;
-import javax.swing.SizeSequence;
+import javax.swing.JViewport;
+import javax.swing.Timer;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import javax.swing.text.BadLocationException;
@@ -42,6 +54,8 @@ import javax.swing.text.JTextComponent;
 import org.apex.base.constant.FontConstants;
 import org.apex.base.core.EditorBase;
 import org.apex.base.data.HighlightCategories;
+import org.apex.base.data.MappedFileDocument;
+import org.apex.base.logging.Logger;
 import org.apex.base.settings.EditorConfiguration;
 import org.apex.base.settings.HighlightColor;
 import org.apex.base.settings.event.HighlightStyleConfigChangeEvent;
@@ -59,6 +73,20 @@ import org.apex.base.settings.event.HighlightStyleConfigChangeListener;
  *   JScrollPane sp = new JScrollPane(ta);
  *   sp.setRowHeaderView(new LineNumberView(ta));
  *</pre>
+ * <p>
+ * Painting is kept cheap while scrolling. The glyphs of recently painted
+ * line numbers and the tops of lines around the visible area are cached.
+ * The row header viewport moves painted numbers by copying them, so only
+ * the strip scrolled into view is painted. When the text jumps by more than
+ * a screen several times in quick succession, like when the scroll bar is
+ * dragged fast, numbers are not painted till the scrolling stops.
+ * <p>
+ * Line heights are measured only for lines being painted and are kept
+ * till the lines change. Lines added or removed by an edit are added to or
+ * removed from the measured heights, other heights are kept. Tops of lines
+ * are found from the position of a visible line in text, so heights of lines
+ * above the visible area need not be known. When lines are not wrapped all
+ * lines have the same height and none is measured.
  *
  * @author Alan Moore
  * @author Mrityunjoy Saha
@@ -79,6 +107,16 @@ public class LineNumberView extends JComponent {
      * The margin of line number area.
      */
     private static final int MARGIN = 3;
+    /**
+     * Number of line numbers whose glyphs are cached.
+     */
+    private static final int GLYPH_CACHE_SIZE = 512;
+    /**
+     * Time in milliseconds between jumps of text for them to be treated
+     * as fast scrolling, which is also the time after the last jump when
+     * the numbers are painted again.
+     */
+    private static final int SCROLL_BURST_DELAY = 80;
     /**
      * Font metrics.
      */
@@ -108,17 +146,74 @@ public class LineNumberView extends JComponent {
      */
     private JTextComponent text;
     /**
-     * Size sequence.
+     * Measured heights of lines. Height of a line not measured yet is zero.
+     */
+    private int[] lineHeights = new int[0];
+    /**
+     * Number of lines in {@link #lineHeights}.
+     */
+    private int lineCount;
+    /**
+     * Height of every line when all lines have the same height, zero if it
+     * is not measured yet.
+     */
+    private int uniformLineHeight;
+    /**
+     * Glyphs of recently painted line numbers.
+     */
+    private final Map<Integer, LineNumberGlyphs> glyphCache =
+            new LinkedHashMap<Integer, LineNumberGlyphs>(64, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(
+                        Map.Entry<Integer, LineNumberGlyphs> eldest) {
+                    return size() > GLYPH_CACHE_SIZE;
+                }
+            };
+    /**
+     * Font of the cached glyphs.
+     */
+    private Font glyphFont;
+    /**
+     * Font render context of the cached glyphs.
+     */
+    private FontRenderContext glyphContext;
+    /**
+     * Index of first line whose top is cached.
+     */
+    private int cachedTopsStart;
+    /**
+     * Number of lines whose tops are cached.
+     */
+    private int cachedTopsCount;
+    /**
+     * Cached tops of lines.
+     */
+    private int[] cachedTops = new int[0];
+    /**
+     * The handler of changes in text component.
+     */
+    private final UpdateHandler handler = new UpdateHandler();
+    /**
+     * The viewport of text component.
+     */
+    private JViewport textViewport;
+    /**
+     * View position of text when it was last scrolled.
+     */
+    private int lastViewY;
+    /**
+     * Time in milliseconds when text was last scrolled.
      */
-    private SizeSequence sizes;
+    private long lastScrollTime;
     /**
-     * Start line.
+     * A boolean that indicates whether or not text is being scrolled fast.
      */
-    private int startLine = 0;
+    private boolean scrollBurst;
     /**
-     * Indicates whether the structure is changed.
+     * Repaints the line numbers when fast scrolling stops.
      */
-    private boolean structureChanged = true;
+    private final Timer scrollBurstTimer;
 
     /**
      * Construct a LineNumberView and attach it to the given text component.
@@ -132,7 +227,11 @@ public class LineNumberView extends JComponent {
         }
         this.text = text;
         updateCachedMetrics();
-        UpdateHandler handler = new UpdateHandler();
+        this.lineCount = text.getDocument().getDefaultRootElement().
+                getElementCount();
+        this.lineHeights = new int[lineCount];
+        this.scrollBurstTimer = new Timer(SCROLL_BURST_DELAY, handler);
+        this.scrollBurstTimer.setRepeats(false);
         text.getDocument().addDocumentListener(handler);
         text.addPropertyChangeListener(handler);
         text.addComponentListener(handler);
@@ -164,38 +263,96 @@ public class LineNumberView extends JComponent {
     }
 
     /**
-     * Schedule a repaint because one or more line heights may have changed.
-     *
-     * @param startLine the line that changed, if there's only one
-     * @param structureChanged if <tt>true</tt>, ignore the line number and
-     *     update all the line heights.
+     * Forgets the heights of all lines and schedules a repaint, because
+     * the layout of the whole document may have changed.
      */
-    private void viewChanged(int startLine, boolean structureChanged) {
-        this.startLine = startLine;
-        this.structureChanged = structureChanged;
+    private void viewChanged() {
+        lineCount = text.getDocument().getDefaultRootElement().
+                getElementCount();
+        if (lineHeights.length < lineCount) {
+            lineHeights = new int[lineCount];
+        } else {
+            Arrays.fill(lineHeights, 0, lineCount, 0);
+        }
+        uniformLineHeight = 0;
+        cachedTopsCount = 0;
         revalidate();
         repaint();
     }
 
     /**
-     * Update the line heights as needed.
-     * @param g The graphics object.
+     * Updates the line heights after an edit and schedules a repaint.
+     * Heights of removed lines are dropped and added lines are not
+     * measured yet. The height of the line where the edit started is
+     * measured again, as it may wrap differently now.
+     * @param line The line where the edit started.
+     * @param change The change of lines, {@code null} if no line was
+     *        added or removed.
      */
-    private void updateSizes(Graphics g) {
-        if (startLine < 0) {
+    private void linesChanged(int line, DocumentEvent.ElementChange change) {
+        if (change != null) {
+            int index = change.getIndex();
+            int removed = change.getChildrenRemoved().length;
+            int added = change.getChildrenAdded().length;
+            int newCount = lineCount - removed + added;
+            if (newCount > lineHeights.length) {
+                int[] grown = new int[Math.max(newCount,
+                        lineHeights.length * 3 / 2)];
+                System.arraycopy(lineHeights, 0, grown, 0, index);
+                System.arraycopy(lineHeights, index + removed, grown,
+                        index + added, lineCount - index - removed);
+                lineHeights = grown;
+            } else {
+                System.arraycopy(lineHeights, index + removed, lineHeights,
+                        index + added, lineCount - index - removed);
+            }
+            Arrays.fill(lineHeights, index, index + added, 0);
+            lineCount = newCount;
+        }
+        if (lineCount != text.getDocument().getDefaultRootElement().
+                getElementCount()) {
+            // Missed an edit.
+            viewChanged();
             return;
         }
-        if (structureChanged || sizes == null) {
-            int count = getAdjustedLineCount();
-            sizes = new SizeSequence(count);
-            for (int i = 0; i < count; i++) {
-                sizes.setSize(i, getLineHeight(g, i));
+        if (line < lineCount) {
+            lineHeights[line] = 0;
+        }
+        cachedTopsCount = 0;
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Determines whether or not all lines have the same height. Lines are
+     * not wrapped when word wrap is disabled, and lines of a large file
+     * displayed read only are never wrapped.
+     * @return {@code true} if all lines have the same height; otherwise returns {@code false}.
+     */
+    private boolean isUniformLineHeight() {
+        return text.getDocument() instanceof MappedFileDocument ||
+                (text instanceof ApexTextPane &&
+                !((ApexTextPane) text).isWordWrapEnabled());
+    }
+
+    /**
+     * Returns the height of every line when all lines have the same height.
+     * It is measured from the first line, as the text may be displayed with
+     * a font other than the font of text component.
+     * @return The line height.
+     */
+    private int getUniformLineHeight() {
+        if (text.getDocument() instanceof MappedFileDocument) {
+            return textFontHeight;
+        }
+        if (uniformLineHeight == 0) {
+            int height = measureLineHeight(0);
+            if (height <= 0) {
+                return textFontHeight;
             }
-            structureChanged = false;
-        } else {
-            sizes.setSize(startLine, getLineHeight(g, startLine));
+            uniformLineHeight = height;
         }
-        startLine = -1;
+        return uniformLineHeight;
     }
 
     /* Copied from javax.swing.text.PlainDocument */
@@ -218,24 +375,58 @@ public class LineNumberView extends JComponent {
     }
 
     /**
-     * Get the height of a line from the JTextComponent.
-     * @param g The graphics object.
-     * @param index the line number.
+     * Returns the height of a line. It is measured when it is asked for the
+     * first time.
+     * @param index The line index.
      * @return The line height.
      */
-    private int getLineHeight(Graphics g, int index) {
-        int lastPos = sizes.getPosition(index) + textTopInset;
-        int height = textFontHeight;
+    private int getLineHeight(int index) {
+        if (index >= lineCount) {
+            return textFontHeight;
+        }
+        if (lineHeights[index] == 0) {
+            int height = measureLineHeight(index);
+            if (height <= 0) {
+                // Text is not laid out yet.
+                return textFontHeight;
+            }
+            lineHeights[index] = height;
+        }
+        return lineHeights[index];
+    }
+
+    /**
+     * Measures the height of a line from the JTextComponent.
+     * @param index The line index.
+     * @return The line height, zero if text is not laid out yet.
+     */
+    private int measureLineHeight(int index) {
         try {
-            Element map = text.getDocument().getDefaultRootElement();
-            int lastChar = map.getElement(index).getEndOffset() - 1;
-            Rectangle r = text.modelToView(lastChar);
-            height = (r.y - lastPos) + r.height;
+            Element line = text.getDocument().getDefaultRootElement().
+                    getElement(index);
+            Rectangle first = text.modelToView(line.getStartOffset());
+            Rectangle last = text.modelToView(Math.max(line.getStartOffset(),
+                    line.getEndOffset() - 1));
+            if (first == null || last == null) {
+                return 0;
+            }
+            return last.y + last.height - first.y;
         } catch (BadLocationException ex) {
-            ex.printStackTrace();
+            Logger.logWarning("Could not measure height of line " + index +
+                    ".", ex);
+            return 0;
         }
-        return height;
-        //return g.getFontMetrics(this.text.getFont()).getHeight();
+    }
+
+    /**
+     * Returns the index of line displayed at a vertical position of text.
+     * @param y The vertical position.
+     * @return The line index.
+     */
+    private int getLineAt(int y) {
+        int offset = text.viewToModel(new Point(0, y));
+        return Math.max(0, text.getDocument().getDefaultRootElement().
+                getElementIndex(offset));
     }
 
     /**
@@ -249,6 +440,100 @@ public class LineNumberView extends JComponent {
         this.textFontHeight = fm.getHeight();
         this.textFontAscent = fm.getAscent();
         this.textTopInset = text.getInsets().top;
+        this.cachedTopsCount = 0;
+    }
+
+    /**
+     * Starts listening to scrolling of text.
+     */
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (text.getParent() instanceof JViewport) {
+            textViewport = (JViewport) text.getParent();
+            textViewport.addChangeListener(handler);
+            lastViewY = textViewport.getViewPosition().y;
+        }
+    }
+
+    /**
+     * Stops listening to scrolling of text.
+     */
+    @Override
+    public void removeNotify() {
+        if (textViewport != null) {
+            textViewport.removeChangeListener(handler);
+            textViewport = null;
+        }
+        scrollBurstTimer.stop();
+        scrollBurst = false;
+        super.removeNotify();
+    }
+
+    /**
+     * Returns the top of a line relative to the top inset of text. Tops of
+     * the lines around the visible area are cached till the line heights
+     * change.
+     * @param line The line index.
+     * @param uniform Whether or not all lines have the same height.
+     * @return The top of line.
+     */
+    private int getLineTop(int line, boolean uniform) {
+        if (uniform) {
+            return line * getUniformLineHeight();
+        }
+        int index = line - cachedTopsStart;
+        if (index < 0 || index >= cachedTopsCount) {
+            // Cache the lines of a screen before and after the visible area.
+            Rectangle visible = getVisibleRect();
+            int start = Math.min(line, getLineAt(visible.y - visible.height));
+            int end = Math.max(line, getLineAt(visible.y + 2 *
+                    visible.height));
+            cachedTopsCount = end - start + 1;
+            if (cachedTops.length < cachedTopsCount) {
+                cachedTops = new int[cachedTopsCount];
+            }
+            try {
+                Rectangle r = text.modelToView(text.getDocument().
+                        getDefaultRootElement().getElement(start).
+                        getStartOffset());
+                cachedTops[0] = r == null ? start * textFontHeight
+                        : r.y - textTopInset;
+            } catch (BadLocationException ex) {
+                cachedTops[0] = start * textFontHeight;
+            }
+            for (int i = 1; i < cachedTopsCount; i++) {
+                cachedTops[i] = cachedTops[i - 1] + getLineHeight(start + i -
+                        1);
+            }
+            cachedTopsStart = start;
+            index = line - cachedTopsStart;
+        }
+        return cachedTops[index];
+    }
+
+    /**
+     * Returns the glyphs of a line number. Glyphs are cached while the font
+     * and the font render context do not change.
+     * @param g The graphics object.
+     * @param number The line number.
+     * @return The glyphs of line number.
+     */
+    private LineNumberGlyphs getGlyphs(Graphics2D g, int number) {
+        Font font = g.getFont();
+        FontRenderContext context = g.getFontRenderContext();
+        if (!font.equals(glyphFont) || !context.equals(glyphContext)) {
+            glyphCache.clear();
+            glyphFont = font;
+            glyphContext = context;
+        }
+        LineNumberGlyphs glyphs = glyphCache.get(number);
+        if (glyphs == null) {
+            glyphs = new LineNumberGlyphs(font.createGlyphVector(context,
+                    String.valueOf(number)));
+            glyphCache.put(number, glyphs);
+        }
+        return glyphs;
     }
 
     @Override
@@ -264,21 +549,58 @@ public class LineNumberView extends JComponent {
 
     @Override
     public void paintComponent(Graphics g) {
-        updateSizes(g);
         Rectangle clip = g.getClipBounds();
         g.setColor(getBackground());
         g.fillRect(clip.x, clip.y, clip.width, clip.height);
+        if (scrollBurst) {
+            // Painted when scrolling stops.
+            return;
+        }
         g.setColor(getForeground());
         int base = clip.y - textTopInset;
-        int first = sizes.getIndex(base);
-        int last = sizes.getIndex(base + clip.height);
-        String tempText = "";
+        boolean uniform = isUniformLineHeight();
+        int first;
+        int last;
+        if (uniform) {
+            int lineHeight = getUniformLineHeight();
+            first = Math.max(0, base / lineHeight);
+            last = Math.min(getAdjustedLineCount() - 1, (base + clip.height)
+                    / lineHeight);
+        } else {
+            first = getLineAt(clip.y);
+            last = Math.min(getAdjustedLineCount() - 1, getLineAt(clip.y +
+                    clip.height));
+        }
+        Graphics2D g2 = (Graphics2D) g;
         for (int i = first; i <= last; i++) {
-            tempText = String.valueOf(i + 1);
-            int x = MARGIN + maxNumberWidth - viewFontMetrics.stringWidth(
-                    tempText);
-            int y = sizes.getPosition(i) + textFontAscent + textTopInset;
-            g.drawString(tempText, x, y);
+            LineNumberGlyphs glyphs = getGlyphs(g2, i + 1);
+            int x = MARGIN + maxNumberWidth - glyphs.width;
+            int y = getLineTop(i, uniform) + textFontAscent + textTopInset;
+            g2.drawGlyphVector(glyphs.glyphs, x, y);
+        }
+    }
+
+    /**
+     * The glyphs of a line number and their width.
+     */
+    private static class LineNumberGlyphs {
+
+        /**
+         * The glyphs.
+         */
+        private final GlyphVector glyphs;
+        /**
+         * The width of glyphs.
+         */
+        private final int width;
+
+        /**
+         * Creates a new instance of {@code LineNumberGlyphs}.
+         * @param glyphs The glyphs.
+         */
+        LineNumberGlyphs(GlyphVector glyphs) {
+            this.glyphs = glyphs;
+            this.width = (int) Math.ceil(glyphs.getLogicalBounds().getWidth());
         }
     }
 
@@ -286,7 +608,39 @@ public class LineNumberView extends JComponent {
      * The document change tracker and line number component update handler.
      */
     class UpdateHandler extends ComponentAdapter
-            implements PropertyChangeListener, DocumentListener {
+            implements PropertyChangeListener, DocumentListener,
+            ChangeListener, ActionListener {
+
+        /**
+         * The text was scrolled. A jump of more than a screen soon after
+         * the last one starts fast scrolling.
+         * @param evt The change event.
+         */
+        public void stateChanged(ChangeEvent evt) {
+            int viewY = textViewport.getViewPosition().y;
+            long now = System.currentTimeMillis();
+            if (viewY == lastViewY) {
+                return;
+            }
+            if (Math.abs(viewY - lastViewY) > textViewport.getExtentSize().
+                    height && now - lastScrollTime < SCROLL_BURST_DELAY) {
+                scrollBurst = true;
+            }
+            lastViewY = viewY;
+            lastScrollTime = now;
+            if (scrollBurst) {
+                scrollBurstTimer.restart();
+            }
+        }
+
+        /**
+         * Fast scrolling stopped. Numbers are painted again.
+         * @param evt The action event.
+         */
+        public void actionPerformed(ActionEvent evt) {
+            scrollBurst = false;
+            repaint();
+        }
 
         /**
          * The text component was resized.
@@ -294,7 +648,7 @@ public class LineNumberView extends JComponent {
          */
         @Override
         public void componentResized(ComponentEvent evt) {
-            viewChanged(0, true);
+            viewChanged();
         }
 
         /**
@@ -315,7 +669,7 @@ public class LineNumberView extends JComponent {
                 }
             }
             updateCachedMetrics();
-            viewChanged(0, true);
+            viewChanged();
         }
 
         /**
@@ -345,16 +699,15 @@ public class LineNumberView extends JComponent {
             //update(evt);
         }
 
-        /**         
-         * If the edit was confined to a single line, invalidate that
-         * line's height.  Otherwise, invalidate them all.
+        /**
+         * Applies the lines added or removed by an edit to the line heights
+         * and invalidates the height of line where the edit started.
          * @param evt The document event.
          */
         private void update(DocumentEvent evt) {
             Element map = text.getDocument().getDefaultRootElement();
             int line = map.getElementIndex(evt.getOffset());
-            DocumentEvent.ElementChange ec = evt.getChange(map);
-            viewChanged(line, ec != null);
+            linesChanged(line, evt.getChange(map));
         }
     }
 }
@@ -28,11 +28,17 @@ import org.apex.base.settings.event.FontStyleConfigChangeEvent;
 import org.apex.base.settings.event.FontStyleConfigChangeListener;
 import org.apex.base.settings.event.GeneralSectionConfigChangeEvent;
 import org.apex.base.settings.event.GeneralSectionConfigChangeListener;
+import org.apex.base.data.HighlightedDocument;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
 import javax.swing.JComponent;
 import javax.swing.ScrollPaneConstants;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import javax.swing.text.Element;
 import javax.swing.text.StyledDocument;
 
 /**
@@ -123,6 +129,35 @@ public class LineNumberedTextEditor extends ApexPanel {
         editAreaScrollPane.setRowHeaderView(lineNoArea);
         this.setLayout(new BorderLayout());
         this.add(editAreaScrollPane, BorderLayout.CENTER);
+        // Let syntax highlighter know which part of document is displayed.
+        editAreaScrollPane.getViewport().addChangeListener(new ChangeListener() {
+
+            public void stateChanged(ChangeEvent e) {
+                updateVisibleRange();
+            }
+        });
+    }
+
+    /**
+     * Reports the part of document currently displayed in the scroll pane to the
+     * document, so that it gets colored first.
+     */
+    private void updateVisibleRange() {
+        if (!(editArea.getDocument() instanceof HighlightedDocument)) {
+            return;
+        }
+        HighlightedDocument doc = (HighlightedDocument) editArea.getDocument();
+        Rectangle viewRect = editAreaScrollPane.getViewport().getViewRect();
+        int start = editArea.viewToModel(new Point(0, viewRect.y));
+        int end = editArea.viewToModel(new Point(0, viewRect.y
+                + viewRect.height));
+        if (start < 0 || end < start) {
+            return;
+        }
+        // Whole lines are displayed irrespective of horizontal scrolling.
+        Element root = doc.getDefaultRootElement();
+        end = root.getElement(root.getElementIndex(end)).getEndOffset();
+        doc.setVisibleRange(start, Math.min(end, doc.getLength()));
     }
 
     /**
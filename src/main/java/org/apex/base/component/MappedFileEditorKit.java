@@ -0,0 +1,62 @@
+/*
+ * MappedFileEditorKit.java
+ *
+ * Copyright (C) 2010 Mrityunjoy Saha
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.apex.base.component;
+
+import org.apex.base.data.MappedFileDocument;
+import javax.swing.text.Element;
+import javax.swing.text.StyledEditorKit;
+import javax.swing.text.View;
+import javax.swing.text.ViewFactory;
+
+/**
+ * An editor kit to display a {@link MappedFileDocument} in a text editor.
+ * All lines of the document are displayed by a single view, instead of
+ * a view for each line.
+ * <p>
+ * Installing the kit in an editor replaces the document of editor by an
+ * empty default document, so the mapped file document should be set to the
+ * editor after the kit is installed.
+ * @author Mrityunjoy Saha
+ * @version 1.0
+ * @since Apex 1.2
+ */
+public class MappedFileEditorKit extends StyledEditorKit {
+
+    /**
+     * The view factory.
+     */
+    private final ViewFactory viewFactory = new ViewFactory() {
+
+        public View create(Element elem) {
+            return new MappedFileView(elem);
+        }
+    };
+
+    /**
+     * Creates a new instance of {@code MappedFileEditorKit}.
+     */
+    public MappedFileEditorKit() {
+    }
+
+    @Override
+    public ViewFactory getViewFactory() {
+        return viewFactory;
+    }
+}
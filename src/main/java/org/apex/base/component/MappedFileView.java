@@ -0,0 +1,236 @@
+/*
+ * MappedFileView.java
+ *
+ * Copyright (C) 2010 Mrityunjoy Saha
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.apex.base.component;
+
+import org.apex.base.data.MappedFileDocument;
+import java.awt.Component;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.Shape;
+import javax.swing.event.DocumentEvent;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Element;
+import javax.swing.text.JTextComponent;
+import javax.swing.text.PlainDocument;
+import javax.swing.text.Position;
+import javax.swing.text.Segment;
+import javax.swing.text.TabExpander;
+import javax.swing.text.Utilities;
+import javax.swing.text.View;
+import javax.swing.text.ViewFactory;
+
+/**
+ * A view of a {@link MappedFileDocument}. Lines are neither wrapped nor
+ * represented by views of their own. All lines have the same height, so
+ * the displayed lines are found without looking at the other lines and only
+ * they are read from the document.
+ * @author Mrityunjoy Saha
+ * @version 1.0
+ * @since Apex 1.2
+ */
+class MappedFileView extends View implements TabExpander {
+
+    /**
+     * Font used to measure text.
+     */
+    private Font font;
+    /**
+     * Metrics of the font.
+     */
+    private FontMetrics metrics;
+    /**
+     * Text of a line.
+     */
+    private Segment line = new Segment();
+    /**
+     * Position from where tab stops are measured.
+     */
+    private int tabBase;
+
+    /**
+     * Creates a new instance of {@code MappedFileView}.
+     * @param elem The root element of document.
+     */
+    MappedFileView(Element elem) {
+        super(elem);
+    }
+
+    @Override
+    public float getPreferredSpan(int axis) {
+        updateMetrics();
+        switch (axis) {
+            case View.X_AXIS:
+                int longestLine = 0;
+                if (getDocument() instanceof MappedFileDocument) {
+                    longestLine = ((MappedFileDocument) getDocument()).
+                            getLongestLineLength();
+                }
+                return longestLine * metrics.charWidth('m') + 1;
+            case View.Y_AXIS:
+                return getElement().getElementCount() * metrics.getHeight();
+            default:
+                throw new IllegalArgumentException("Invalid axis: " + axis);
+        }
+    }
+
+    @Override
+    public void paint(Graphics g, Shape a) {
+        Rectangle alloc = a.getBounds();
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = alloc;
+        }
+        updateMetrics();
+        tabBase = alloc.x;
+        int lineHeight = metrics.getHeight();
+        Element lines = getElement();
+        int first = Math.max(0, (clip.y - alloc.y) / lineHeight);
+        int last = Math.min(lines.getElementCount() - 1,
+                (clip.y + clip.height - alloc.y) / lineHeight);
+        JTextComponent host = (JTextComponent) getContainer();
+        g.setFont(font);
+        g.setColor(host.isEnabled() ? host.getForeground()
+                : host.getDisabledTextColor());
+        for (int i = first; i <= last; i++) {
+            Element lineElement = lines.getElement(i);
+            int start = lineElement.getStartOffset();
+            try {
+                getLineText(start, lineElement.getEndOffset() - 1);
+            } catch (BadLocationException ex) {
+                // Nothing to paint for this line. The paint() method must return quickly.
+                continue;
+            }
+            Utilities.drawTabbedText(line, alloc.x, alloc.y + i * lineHeight
+                    + metrics.getAscent(), g, this, start);
+        }
+    }
+
+    @Override
+    public Shape modelToView(int pos, Shape a, Position.Bias b) throws
+            BadLocationException {
+        if (pos < 0 || pos > getDocument().getLength()) {
+            throw new BadLocationException("Invalid position", pos);
+        }
+        Rectangle alloc = a.getBounds();
+        updateMetrics();
+        tabBase = alloc.x;
+        Element lines = getElement();
+        int index = lines.getElementIndex(pos);
+        Element lineElement = lines.getElement(index);
+        int start = lineElement.getStartOffset();
+        getLineText(start, pos);
+        int x = Utilities.getTabbedTextWidth(line, metrics, alloc.x, this,
+                start);
+        return new Rectangle(alloc.x + x, alloc.y + index * metrics.getHeight(),
+                1, metrics.getHeight());
+    }
+
+    @Override
+    public int viewToModel(float x, float y, Shape a, Position.Bias[] biasReturn) {
+        biasReturn[0] = Position.Bias.Forward;
+        Rectangle alloc = a.getBounds();
+        updateMetrics();
+        tabBase = alloc.x;
+        Element lines = getElement();
+        if (y < alloc.y) {
+            return 0;
+        }
+        int index = (int) (y - alloc.y) / metrics.getHeight();
+        if (index >= lines.getElementCount()) {
+            return getDocument().getLength();
+        }
+        Element lineElement = lines.getElement(index);
+        int start = lineElement.getStartOffset();
+        int end = lineElement.getEndOffset() - 1;
+        if (x < alloc.x) {
+            return start;
+        }
+        try {
+            getLineText(start, end);
+        } catch (BadLocationException ex) {
+            return start;
+        }
+        int offset = Utilities.getTabbedTextOffset(line, metrics, alloc.x,
+                (int) x, this, start);
+        return Math.min(start + offset, end);
+    }
+
+    public float nextTabStop(float x, int tabOffset) {
+        Object size = getDocument().getProperty(PlainDocument.tabSizeAttribute);
+        int tabSize = (size instanceof Integer ? (Integer) size : 8) * metrics.
+                charWidth('m');
+        if (tabSize == 0) {
+            return x;
+        }
+        int tabs = ((int) x - tabBase) / tabSize;
+        return tabBase + ((tabs + 1) * tabSize);
+    }
+
+    @Override
+    public void insertUpdate(DocumentEvent e, Shape a, ViewFactory f) {
+        documentChanged();
+    }
+
+    @Override
+    public void removeUpdate(DocumentEvent e, Shape a, ViewFactory f) {
+        documentChanged();
+    }
+
+    @Override
+    public void changedUpdate(DocumentEvent e, Shape a, ViewFactory f) {
+        documentChanged();
+    }
+
+    /**
+     * Updates the size and display after document is changed.
+     */
+    private void documentChanged() {
+        preferenceChanged(null, true, true);
+        Component host = getContainer();
+        if (host != null) {
+            host.repaint();
+        }
+    }
+
+    /**
+     * Reads a part of line into the line segment.
+     * @param start Start of the part.
+     * @param end End of the part.
+     * @throws javax.swing.text.BadLocationException If the text can not be read.
+     */
+    private void getLineText(int start, int end) throws
+            BadLocationException {
+        getDocument().getText(start, Math.max(0, end - start), line);
+    }
+
+    /**
+     * Updates the font metrics if the font of container is changed.
+     */
+    private void updateMetrics() {
+        Component host = getContainer();
+        Font hostFont = host.getFont();
+        if (font != hostFont) {
+            font = hostFont;
+            metrics = host.getFontMetrics(font);
+        }
+    }
+}
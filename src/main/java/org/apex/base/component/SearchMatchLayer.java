@@ -0,0 +1,379 @@
+/*
+ * SearchMatchLayer.java
+ *
+ * Copyright (C) 2010 Mrityunjoy Saha
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.apex.base.component;
+
+import org.apex.base.logging.Logger;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Element;
+import javax.swing.text.Highlighter;
+import javax.swing.text.JTextComponent;
+
+/**
+ * The search matches of a text editor. Matches are kept in ascending order
+ * as start and end offsets in two arrays, and are painted by one highlight
+ * of the editor's highlighter. Only the matches in the area being painted
+ * are painted, so a large number of matches costs neither a highlight
+ * object for each match nor painting the matches which are not visible.
+ * <p>
+ * Matches move with the text around them when the document is edited.
+ * Matches do not overlap.
+ * @author Mrityunjoy Saha
+ * @version 1.0
+ * @since Apex 1.2
+ */
+public class SearchMatchLayer implements Highlighter.HighlightPainter,
+        DocumentListener, PropertyChangeListener {
+
+    /**
+     * The text editor.
+     */
+    private final JTextComponent editArea;
+    /**
+     * Painter of a match.
+     */
+    private Highlighter.HighlightPainter painter;
+    /**
+     * Start offsets of matches.
+     */
+    private int[] starts = new int[0];
+    /**
+     * End offsets of matches.
+     */
+    private int[] ends = new int[0];
+    /**
+     * Number of matches.
+     */
+    private int size;
+    /**
+     * The highlighter painting this layer.
+     */
+    private Highlighter highlighter;
+    /**
+     * The highlight of this layer in highlighter.
+     */
+    private Object tag;
+
+    /**
+     * Creates a new instance of {@code SearchMatchLayer}.
+     * @param editArea The text editor.
+     */
+    public SearchMatchLayer(JTextComponent editArea) {
+        this.editArea = editArea;
+        this.editArea.getDocument().addDocumentListener(this);
+        this.editArea.addPropertyChangeListener("document", this);
+    }
+
+    /**
+     * Returns the number of matches.
+     * @return The number of matches.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns a boolean indicating whether or not there is any match.
+     * @return {@code true} if there is no match; otherwise returns {@code false}.
+     */
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the start offset of a match.
+     * @param index Index of the match.
+     * @return The start offset.
+     */
+    public synchronized int getStart(int index) {
+        return starts[index];
+    }
+
+    /**
+     * Returns the end offset of a match.
+     * @param index Index of the match.
+     * @return The end offset.
+     */
+    public synchronized int getEnd(int index) {
+        return ends[index];
+    }
+
+    /**
+     * Finds the first match ending at or after an offset.
+     * @param offset The offset.
+     * @return Index of the match, number of matches if there is none.
+     */
+    public synchronized int indexOfFirstEndingAtOrAfter(int offset) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ends[mid] < offset) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Sets the matches. The arrays are kept by this layer, they should not
+     * be changed by the caller. It should be called in event dispatch thread.
+     * @param starts Start offsets of matches in ascending order.
+     * @param ends End offsets of matches.
+     * @param count Number of matches.
+     * @param painter Painter of a match.
+     */
+    public void setMatches(int[] starts, int[] ends, int count,
+            Highlighter.HighlightPainter painter) {
+        synchronized (this) {
+            this.starts = starts;
+            this.ends = ends;
+            this.size = count;
+            this.painter = painter;
+        }
+        if (count == 0) {
+            uninstall();
+        } else {
+            install();
+        }
+        editArea.repaint();
+    }
+
+    /**
+     * Replaces a range of matches by other matches. It should be called in
+     * event dispatch thread.
+     * @param first Index of first match to replace.
+     * @param last Index next to the last match to replace.
+     * @param newStarts Start offsets of new matches in ascending order.
+     * @param newEnds End offsets of new matches.
+     * @param count Number of new matches.
+     */
+    public void replace(int first, int last, int[] newStarts, int[] newEnds,
+            int count) {
+        int damageStart;
+        int damageEnd;
+        synchronized (this) {
+            int newSize = size - (last - first) + count;
+            damageStart = Math.min(first < last ? starts[first]
+                    : Integer.MAX_VALUE, count > 0 ? newStarts[0]
+                    : Integer.MAX_VALUE);
+            damageEnd = Math.max(first < last ? ends[last - 1] : -1,
+                    count > 0 ? newEnds[count - 1] : -1);
+            if (newSize > starts.length) {
+                int capacity = Math.max(newSize, starts.length * 2);
+                int[] grownStarts = new int[capacity];
+                int[] grownEnds = new int[capacity];
+                System.arraycopy(starts, 0, grownStarts, 0, first);
+                System.arraycopy(ends, 0, grownEnds, 0, first);
+                System.arraycopy(starts, last, grownStarts, first + count,
+                        size - last);
+                System.arraycopy(ends, last, grownEnds, first + count,
+                        size - last);
+                starts = grownStarts;
+                ends = grownEnds;
+            } else {
+                System.arraycopy(starts, last, starts, first + count,
+                        size - last);
+                System.arraycopy(ends, last, ends, first + count, size - last);
+            }
+            System.arraycopy(newStarts, 0, starts, first, count);
+            System.arraycopy(newEnds, 0, ends, first, count);
+            size = newSize;
+        }
+        if (size == 0) {
+            uninstall();
+        } else {
+            install();
+        }
+        if (damageStart <= damageEnd) {
+            repaint(damageStart, damageEnd);
+        }
+    }
+
+    /**
+     * Removes all matches. It should be called in event dispatch thread.
+     */
+    public void clear() {
+        synchronized (this) {
+            if (size == 0 && tag == null) {
+                return;
+            }
+            starts = new int[0];
+            ends = new int[0];
+            size = 0;
+        }
+        uninstall();
+        editArea.repaint();
+    }
+
+    /**
+     * Paints the matches in the area being painted.
+     * @param g The graphics context.
+     * @param p0 The start offset of highlight, not used.
+     * @param p1 The end offset of highlight, not used.
+     * @param bounds The bounding box of the editor's text.
+     * @param c The text editor.
+     */
+    public void paint(Graphics g, int p0, int p1, Shape bounds,
+            JTextComponent c) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = c.getVisibleRect();
+        }
+        Document doc = c.getDocument();
+        Element root = doc.getDefaultRootElement();
+        int first = c.viewToModel(new Point(0, clip.y));
+        int last = c.viewToModel(new Point(0, clip.y + clip.height));
+        if (first < 0 || last < 0) {
+            return;
+        }
+        // Whole lines, a match may run past the painted area.
+        first = root.getElement(root.getElementIndex(first)).getStartOffset();
+        last = root.getElement(root.getElementIndex(last)).getEndOffset();
+        synchronized (this) {
+            if (painter == null) {
+                return;
+            }
+            for (int i = indexOfFirstEndingAtOrAfter(first); i < size &&
+                    starts[i] <= last; i++) {
+                if (ends[i] > starts[i]) {
+                    painter.paint(g, starts[i], ends[i], bounds, c);
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the matches after inserted text.
+     * @param e The document event.
+     */
+    public void insertUpdate(DocumentEvent e) {
+        int offset = e.getOffset();
+        int length = e.getLength();
+        synchronized (this) {
+            for (int i = indexOfFirstEndingAtOrAfter(offset); i < size; i++) {
+                if (starts[i] >= offset) {
+                    starts[i] += length;
+                    ends[i] += length;
+                } else if (ends[i] > offset) {
+                    ends[i] += length;
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the matches after removed text. Matches in removed text
+     * become empty.
+     * @param e The document event.
+     */
+    public void removeUpdate(DocumentEvent e) {
+        int offset = e.getOffset();
+        int length = e.getLength();
+        synchronized (this) {
+            for (int i = indexOfFirstEndingAtOrAfter(offset); i < size; i++) {
+                if (starts[i] > offset) {
+                    starts[i] = Math.max(offset, starts[i] - length);
+                }
+                if (ends[i] > offset) {
+                    ends[i] = Math.max(offset, ends[i] - length);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gives notification that an attribute or set of attributes changed.
+     * @param e The document event.
+     */
+    public void changedUpdate(DocumentEvent e) {
+    }
+
+    /**
+     * Moves to the new document of editor. Matches are removed.
+     * @param evt The property change event.
+     */
+    public void propertyChange(PropertyChangeEvent evt) {
+        if (evt.getOldValue() instanceof Document) {
+            ((Document) evt.getOldValue()).removeDocumentListener(this);
+        }
+        if (evt.getNewValue() instanceof Document) {
+            ((Document) evt.getNewValue()).addDocumentListener(this);
+        }
+        clear();
+    }
+
+    /**
+     * Adds the highlight of this layer to the editor's highlighter, if it
+     * is not added yet or the highlighter is replaced.
+     */
+    private void install() {
+        Highlighter current = editArea.getHighlighter();
+        if (current == null || (current == highlighter && tag != null)) {
+            return;
+        }
+        try {
+            tag = current.addHighlight(0, 0, this);
+            highlighter = current;
+        } catch (BadLocationException ex) {
+            Logger.logWarning("Could not add search match layer.", ex);
+        }
+    }
+
+    /**
+     * Removes the highlight of this layer from highlighter.
+     */
+    private void uninstall() {
+        if (tag != null) {
+            highlighter.removeHighlight(tag);
+            tag = null;
+        }
+    }
+
+    /**
+     * Repaints the lines of a range of text.
+     * @param start Start offset of the range.
+     * @param end End offset of the range.
+     */
+    private void repaint(int start, int end) {
+        try {
+            int length = editArea.getDocument().getLength();
+            Rectangle first = editArea.modelToView(Math.min(start, length));
+            Rectangle last = editArea.modelToView(Math.min(end, length));
+            if (first == null || last == null) {
+                return;
+            }
+            editArea.repaint(0, first.y, editArea.getWidth(),
+                    last.y + last.height - first.y);
+        } catch (BadLocationException ex) {
+            editArea.repaint();
+        }
+    }
+}
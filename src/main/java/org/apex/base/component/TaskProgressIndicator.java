@@ -75,6 +75,10 @@ public class TaskProgressIndicator extends JComponent implements MouseListener {
      * The message to be displayed in progress indicator.
      */
     protected String text = "";
+    /**
+     * Progress of the task in percent or -1 if it is not known.
+     */
+    protected int progress = -1;
     /**
      * Numbers of bars in progress indicator circle.
      */
@@ -192,6 +196,26 @@ public class TaskProgressIndicator extends JComponent implements MouseListener {
         return text;
     }
 
+    /**
+     * Sets the progress of the task. The progress is displayed after the
+     * progress message.
+     * @param progress Progress in percent or -1 if it is not known.
+     * @see #getProgress()
+     */
+    public void setProgress(int progress) {
+        this.progress = progress;
+        repaint();
+    }
+
+    /**
+     * Returns the progress of the task.
+     * @return Progress in percent or -1 if it is not known.
+     * @see #setProgress(int)
+     */
+    public int getProgress() {
+        return progress;
+    }
+
     /**
      * Starts the animation and makes the progress indicator visible.
      */
@@ -255,9 +279,14 @@ public class TaskProgressIndicator extends JComponent implements MouseListener {
                 }
             }
 
-            if (text != null && text.length() > 0) {
+            String message = text;
+            if (progress >= 0) {
+                message = (message == null ? "" : message + " ") + progress
+                        + "%";
+            }
+            if (message != null && message.length() > 0) {
                 FontRenderContext context = g2.getFontRenderContext();
-                TextLayout layout = new TextLayout(text, getFont(), context);
+                TextLayout layout = new TextLayout(message, getFont(), context);
                 Rectangle2D bounds = layout.getBounds();
                 g2.setColor(getForeground());
                 layout.draw(g2, (float) (width - bounds.getWidth()) / 2,
@@ -54,7 +54,6 @@ import javax.swing.event.CaretListener;
 import javax.swing.event.DocumentListener;
 import javax.swing.event.UndoableEditListener;
 import javax.swing.text.DefaultStyledDocument;
-import javax.swing.text.Highlighter;
 import javax.swing.text.StyledDocument;
 import org.apex.base.settings.GeneralSectionConfiguration;
 
@@ -69,7 +68,11 @@ public class TextEditor extends ApexTextPane {
     /**
      * Search highlights.
      */
-    private Highlighter.Highlight[] searchHighlights;
+    private final SearchMatchLayer searchMatches = new SearchMatchLayer(this);
+    /**
+     * The listener keeping search highlights up to date with edits.
+     */
+    private DocumentListener searchHighlightTracker;
     /**
      * A boolean that indicates whether or not right margin of editor should be visible or not.
      */
@@ -288,30 +291,44 @@ public class TextEditor extends ApexTextPane {
     }
 
     /**
-     * Returns search highlights.
-     * @return A list of search highlights.
-     * @see #setSearchHighlights(javax.swing.text.Highlighter.Highlight[])
+     * Returns the layer of search highlights.
+     * @return The search highlights.
      */
-    public Highlighter.Highlight[] getSearchHighlights() {
-        return searchHighlights;
+    public SearchMatchLayer getSearchMatches() {
+        return searchMatches;
     }
 
     /**
-     * Sets search highlights.
-     * @param searchHighlights Search highlights.
-     * @see #getSearchHighlights() 
+     * Clears search highlights from the editor.
      */
-    public void setSearchHighlights(Highlighter.Highlight[] searchHighlights) {
-        this.searchHighlights = searchHighlights;
+    public void clearSearchHighlights() {
+        setSearchHighlightTracker(null);
+        searchMatches.clear();
     }
 
     /**
-     * Clears all highlights from the editor including search highlights.
+     * Returns the listener keeping search highlights up to date with edits.
+     * @return The search highlight tracker.
+     * @see #setSearchHighlightTracker(javax.swing.event.DocumentListener)
      */
-    public void clearSearchHighlights() {
-        if (this.searchHighlights != null) {
-            this.getHighlighter().removeAllHighlights();
-            this.searchHighlights = null;
+    public DocumentListener getSearchHighlightTracker() {
+        return searchHighlightTracker;
+    }
+
+    /**
+     * Sets the listener keeping search highlights up to date with edits.
+     * It listens to the document till search highlights are cleared or
+     * another tracker is set.
+     * @param searchHighlightTracker The search highlight tracker.
+     * @see #getSearchHighlightTracker()
+     */
+    public void setSearchHighlightTracker(DocumentListener searchHighlightTracker) {
+        if (this.searchHighlightTracker != null) {
+            getDocument().removeDocumentListener(this.searchHighlightTracker);
+        }
+        this.searchHighlightTracker = searchHighlightTracker;
+        if (searchHighlightTracker != null) {
+            getDocument().addDocumentListener(searchHighlightTracker);
         }
     }
 
@@ -320,7 +337,7 @@ public class TextEditor extends ApexTextPane {
      * @return {@code true} if search highlights exist; otherwise returns {@code false}.
      */
     public boolean isSearchHighlightsEmpty() {
-        return this.searchHighlights == null || searchHighlights.length == 0;
+        return searchMatches.isEmpty();
     }
 
     /**
@@ -77,6 +77,11 @@ public class CommonConstants {
      * A key used to refer list of tabs to be added to a tabbed pane.
      */
     public static final String TABS = "tabs";
+    /**
+     * A key used to indicate that a document should be opened in read only
+     * large file mode.
+     */
+    public static final String LARGE_FILE = "largeFile";
 
     /**
      * Creates a new instance of {@code CommonConstants}.
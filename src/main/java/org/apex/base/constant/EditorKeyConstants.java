@@ -139,11 +139,55 @@ public class EditorKeyConstants {
      */
     public static final long APPLICATION_CONFIGURATION_FILE_MAX_SIZE = 2000;
     /**
-     * When a process is run, data from input (to program) stream and error stream
-     * are pulled by threads. A pause is given after each pull operation.
-     * Delay is in millisecond.
+     * Maximum time in milliseconds spent in adding text to console in a single
+     * task on event dispatch thread.
      */
-    public static final int RESULT_AREA_MESSAGE_PULL_DELAY = 5;
+    public static final int CONSOLE_FLUSH_TIME_SLICE = 20;
+    /**
+     * Maximum number of styled runs the syntax highlighter collects before
+     * applying them to a document in a single task on event dispatch thread.
+     */
+    public static final int SYNTAX_HIGHLIGHT_BATCH_SIZE = 512;
+    /**
+     * Maximum time the syntax highlighter keeps collecting styled runs before
+     * applying them to a document. It keeps the display updated when lexing
+     * is slow.
+     * <p>
+     * Time in milliseconds.
+     */
+    public static final int SYNTAX_HIGHLIGHT_BATCH_TIME = 50;
+    /**
+     * Maximum number of threads shared by all documents for syntax highlighting.
+     */
+    public static final int SYNTAX_HIGHLIGHT_THREADS = 2;
+    /**
+     * Maximum number of threads shared by all functions, like reading and
+     * writing files. Functions running tools are not counted.
+     */
+    public static final int FUNCTION_THREADS = 8;
+    /**
+     * Syntax highlighting of an edit waits for this period of typing inactivity
+     * so that consecutive edits are colored together.
+     * <p>
+     * Time in milliseconds.
+     */
+    public static final int SYNTAX_HIGHLIGHT_DEBOUNCE_DELAY = 30;
+    /**
+     * Maximum time syntax highlighting of an edit is delayed while typing continues.
+     * <p>
+     * Time in milliseconds.
+     */
+    public static final int SYNTAX_HIGHLIGHT_MAX_DELAY = 150;
+    /**
+     * Number of characters the syntax highlighter colors in a go before it lets
+     * other work run. The rest of the document is colored in following runs.
+     */
+    public static final int SYNTAX_HIGHLIGHT_CHUNK_SIZE = 64 * 1024;
+    /**
+     * Documents longer than this number of characters are colored lazily. Only
+     * the displayed part of such a document is colored.
+     */
+    public static final int SYNTAX_HIGHLIGHT_LAZY_THRESHOLD = 1024 * 1024;
     /**
      * Path of editor icon.
      */
@@ -156,6 +200,11 @@ public class EditorKeyConstants {
      * Number of undo allowed.
      */
     public static final int NUMBER_OF_UNDO_ALLOWED = 1000;
+    /**
+     * Number of characters from which the text of an undoable edit is kept
+     * on disk instead of memory.
+     */
+    public static final int UNDO_SPILL_THRESHOLD = 64 * 1024;
     /**
      * Path of application logo.
      */
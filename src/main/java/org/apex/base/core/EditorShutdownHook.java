@@ -22,6 +22,8 @@ package org.apex.base.core;
 
 import java.util.Properties;
 import org.apex.base.data.RecentFiles;
+import org.apex.base.function.FunctionExecutor;
+import org.apex.base.highlighter.HighlighterScheduler;
 
 /**
  * The shutdown hook of the editor. The process method of this class is
@@ -46,5 +48,9 @@ public class EditorShutdownHook {
         // Store recent files list.
         new RecentFilesConfigurationUpdater(RecentFiles.getSharedInstance().
                 getUpdatedRecentFilesConfiguration()).update((Properties) null);
+        // Stop syntax highlighting workers.
+        HighlighterScheduler.getSharedInstance().shutdown();
+        // Let running functions, like writing files, finish.
+        FunctionExecutor.getSharedInstance().shutdown();
     }
 }
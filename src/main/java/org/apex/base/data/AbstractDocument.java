@@ -63,6 +63,10 @@ public abstract class AbstractDocument extends File implements DocumentClass, Cl
      * The time when this file was last saved. 
      */
     private long lastSaved;
+    /**
+     * Number of edits made to this document.
+     */
+    private volatile int modificationCount;
     /**
      * The associated undo manager for this document.
      */
@@ -216,6 +220,7 @@ public abstract class AbstractDocument extends File implements DocumentClass, Cl
         clone.editor = this.editor;
         clone.component = this.component;
         clone.lastSaved = this.lastSaved;
+        clone.modificationCount = this.modificationCount;
         clone.undoManager = this.undoManager;
         clone.lineNumberArea = this.lineNumberArea;
         clone.currentyDisplayed = this.currentyDisplayed;
@@ -241,6 +246,22 @@ public abstract class AbstractDocument extends File implements DocumentClass, Cl
         this.getMenuState().setSaved(isSaved);
     }
 
+    /**
+     * Returns the number of edits made to this document. It tells whether
+     * the document was edited after its text was taken for saving.
+     * @return The number of edits.
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Counts an edit made to this document.
+     */
+    public void documentModified() {
+        modificationCount++;
+    }
+
     /**
      * Returns the time in millisecond when this document was last saved in editor.
      * @return The last saved time.
@@ -161,6 +161,18 @@ public interface ConfigurationOperator {
      * The key to deal with recent files list.
      */
     public static final String REUSE_CONSOLE = "reuse-console";
+    /**
+     * The key to deal with undo memory limit of a document.
+     */
+    public static final String UNDO_MEMORY_PER_DOCUMENT = "undo-memory-per-document";
+    /**
+     * The key to deal with undo memory limit of all documents.
+     */
+    public static final String UNDO_MEMORY_TOTAL = "undo-memory-total";
+    /**
+     * The key to deal with console scroll back limit.
+     */
+    public static final String CONSOLE_SCROLLBACK = "console-scrollback";
 
     /**
      * Returns the external (to code) directory where configuration data is stored.
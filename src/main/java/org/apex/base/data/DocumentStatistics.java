@@ -0,0 +1,646 @@
+/*
+ * DocumentStatistics.java
+ *
+ * Copyright (C) 2010 Mrityunjoy Saha
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.apex.base.data;
+
+import org.apex.base.function.FunctionExecutor;
+import org.apex.base.logging.Logger;
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.SwingUtilities;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.event.EventListenerList;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Element;
+import javax.swing.text.Segment;
+
+/**
+ * Character, word, line and non-blank line counts of a document. The
+ * counts are kept for the life of document and are shared by all views
+ * asking for them, see {@link #getStatistics(AbstractDocument)}.
+ * <p>
+ * The number of words of each line is kept. When the document is edited,
+ * only the lines added, removed or changed by the edit are counted again.
+ * At first the lines are counted in parts by background workers of
+ * {@link FunctionExecutor}, which do not delay functions like saving files. Counts are
+ * not available till then, see {@link #isReady()}. Edits made meanwhile are
+ * applied to the counts afterward. Lines touched by large edits are also
+ * counted by background workers, and are taken as having no word till then.
+ * Registered change listeners are notified in event dispatch thread when
+ * counts change.
+ * <p>
+ * A word is a part of line between word boundaries which does not start
+ * with white space. A line is blank if it has no word.
+ * @author Mrityunjoy Saha
+ * @version 1.0
+ * @since Apex 1.2
+ */
+public class DocumentStatistics implements DocumentListener {
+
+    /**
+     * Number of lines counted by a worker at a time.
+     */
+    private static final int LINES_PER_PART = 16 * 1024;
+    /**
+     * Maximum number of lines touched by an edit which are counted in
+     * event dispatch thread.
+     */
+    private static final int RECOUNT_THRESHOLD = 1024;
+    /**
+     * Number of words of a line which is not counted yet.
+     */
+    private static final int NOT_COUNTED = -1;
+    /**
+     * The document.
+     */
+    private final Document document;
+    /**
+     * The locale used to find word boundaries.
+     */
+    private final Locale locale;
+    /**
+     * Word boundaries finder used for edits.
+     */
+    private final BreakIterator wordIterator;
+    /**
+     * Segment used to read lines for edits.
+     */
+    private final Segment segment = new Segment();
+    /**
+     * Change listeners.
+     */
+    private final EventListenerList listenerList = new EventListenerList();
+    /**
+     * Number of words of each line, {@link #NOT_COUNTED} for lines to be
+     * counted again.
+     */
+    private int[] lineWords = new int[0];
+    /**
+     * Number of lines in {@link #lineWords}.
+     */
+    private int lineCount;
+    /**
+     * Total number of words.
+     */
+    private long words;
+    /**
+     * Number of lines having a word.
+     */
+    private int nonBlankLines;
+    /**
+     * Number of lines not counted yet.
+     */
+    private int notCountedLines;
+    /**
+     * A boolean that indicates whether or not counts are available.
+     */
+    private boolean ready;
+    /**
+     * Edits made while all lines are counted. They are applied to the
+     * counts once lines are counted.
+     */
+    private List<LineEdit> pendingEdits;
+    /**
+     * Number of times all lines were counted. Lines counted by workers are
+     * discarded if counting started again meanwhile.
+     */
+    private int countGeneration;
+    /**
+     * A boolean that indicates whether or not a worker is counting lines
+     * touched by edits.
+     */
+    private boolean recountScheduled;
+
+    /**
+     * Creates a new instance of {@code DocumentStatistics} and starts
+     * counting. It should be called in event dispatch thread.
+     * @param document The document.
+     * @param locale The locale used to find word boundaries.
+     */
+    private DocumentStatistics(Document document, Locale locale) {
+        this.document = document;
+        this.locale = locale;
+        this.wordIterator = BreakIterator.getWordInstance(locale);
+        document.addDocumentListener(this);
+        countAll();
+    }
+
+    /**
+     * Returns the statistics of a document. They are created when asked for
+     * the first time. It should be called in event dispatch thread.
+     * @param file The document.
+     * @return The statistics of document.
+     */
+    public static DocumentStatistics getStatistics(AbstractDocument file) {
+        Document doc = file.getDocument();
+        DocumentStatistics statistics =
+                (DocumentStatistics) doc.getProperty(DocumentStatistics.class);
+        if (statistics == null) {
+            statistics = new DocumentStatistics(doc,
+                    file.getEditor().getLocale());
+            doc.putProperty(DocumentStatistics.class, statistics);
+        }
+        return statistics;
+    }
+
+    /**
+     * Determines whether or not counts are available.
+     * @return {@code true} if lines are counted; otherwise returns {@code false}.
+     */
+    public synchronized boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the number of characters.
+     * @return The number of characters.
+     */
+    public int getCharacters() {
+        return document.getLength();
+    }
+
+    /**
+     * Returns the number of words.
+     * @return The number of words, zero if counts are not available.
+     */
+    public synchronized long getWords() {
+        return words;
+    }
+
+    /**
+     * Returns the number of lines.
+     * @return The number of lines.
+     */
+    public int getLines() {
+        return document.getDefaultRootElement().getElementCount();
+    }
+
+    /**
+     * Returns the number of lines which are not blank.
+     * @return The number of non-blank lines, zero if counts are not available.
+     */
+    public synchronized int getNonBlankLines() {
+        return nonBlankLines;
+    }
+
+    /**
+     * Adds a listener notified when counts change.
+     * @param listener The change listener.
+     */
+    public void addChangeListener(ChangeListener listener) {
+        listenerList.add(ChangeListener.class, listener);
+    }
+
+    /**
+     * Removes a change listener.
+     * @param listener The change listener.
+     */
+    public void removeChangeListener(ChangeListener listener) {
+        listenerList.remove(ChangeListener.class, listener);
+    }
+
+    /**
+     * Counts all lines in parts by function workers. The lines are taken
+     * when counting starts. Counts are set in event dispatch thread once
+     * all parts are counted, and edits made meanwhile are applied then.
+     */
+    private void countAll() {
+        final int generation;
+        final Element[] lines;
+        synchronized (this) {
+            ready = false;
+            pendingEdits = new ArrayList<LineEdit>();
+            generation = ++countGeneration;
+            Element root = document.getDefaultRootElement();
+            lines = new Element[root.getElementCount()];
+            for (int i = 0; i < lines.length; i++) {
+                lines[i] = root.getElement(i);
+            }
+        }
+        final int count = lines.length;
+        final int[] counted = new int[count];
+        final int parts = Math.max(1, (count + LINES_PER_PART - 1) /
+                LINES_PER_PART);
+        final AtomicInteger remaining = new AtomicInteger(parts);
+        for (int part = 0; part < parts; part++) {
+            final int first = part * LINES_PER_PART;
+            final int last = Math.min(count, first + LINES_PER_PART);
+            FunctionExecutor.getSharedInstance().submitBackground(new Runnable() {
+
+                public void run() {
+                    document.render(new Runnable() {
+
+                        public void run() {
+                            countLines(lines, counted, first, last);
+                        }
+                    });
+                    if (remaining.decrementAndGet() == 0) {
+                        SwingUtilities.invokeLater(new Runnable() {
+
+                            public void run() {
+                                setCounts(counted, generation);
+                            }
+                        });
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Counts the words of a range of lines. It is called by workers with
+     * document locked for reading. Lines removed by an edit meanwhile are
+     * counted too, the edit is applied to the counts afterward.
+     * @param lines The lines when counting started.
+     * @param counted Number of words of each line.
+     * @param first Index of first line to count.
+     * @param last Index next to the last line to count.
+     */
+    private void countLines(Element[] lines, int[] counted, int first,
+            int last) {
+        BreakIterator iterator = BreakIterator.getWordInstance(locale);
+        Segment text = new Segment();
+        try {
+            for (int i = first; i < last; i++) {
+                counted[i] = countWords(lines[i], text, iterator);
+            }
+        } catch (BadLocationException ex) {
+            Logger.logWarning("Could not count words of document.", ex);
+        }
+    }
+
+    /**
+     * Sets the counts of all lines, applies the edits made while they were
+     * counted and notifies change listeners.
+     * @param counted Number of words of each line.
+     * @param generation Number of times all lines were counted when
+     *        counting started.
+     */
+    private void setCounts(final int[] counted, final int generation) {
+        final boolean[] changed = new boolean[1];
+        document.render(new Runnable() {
+
+            public void run() {
+                synchronized (DocumentStatistics.this) {
+                    if (countGeneration != generation) {
+                        // Counting started again.
+                        return;
+                    }
+                    lineWords = counted;
+                    lineCount = counted.length;
+                    words = 0;
+                    nonBlankLines = 0;
+                    notCountedLines = 0;
+                    for (int i = 0; i < lineCount; i++) {
+                        words += counted[i];
+                        if (counted[i] > 0) {
+                            nonBlankLines++;
+                        }
+                    }
+                    for (LineEdit edit : pendingEdits) {
+                        applyEdit(edit);
+                    }
+                    pendingEdits = null;
+                    if (lineCount != document.getDefaultRootElement().
+                            getElementCount()) {
+                        // Missed an edit.
+                        countAll();
+                        return;
+                    }
+                    ready = true;
+                    if (notCountedLines <= RECOUNT_THRESHOLD) {
+                        recountLines(0, lineCount, Integer.MAX_VALUE);
+                    } else {
+                        scheduleRecount();
+                    }
+                    changed[0] = true;
+                }
+            }
+        });
+        if (changed[0]) {
+            fireStateChanged();
+        }
+    }
+
+    /**
+     * Counts the words of a line.
+     * @param line The line.
+     * @param text Segment to read the line.
+     * @param iterator Word boundaries finder.
+     * @return Number of words.
+     * @throws javax.swing.text.BadLocationException If line can not be read.
+     */
+    private int countWords(Element line, Segment text, BreakIterator iterator)
+            throws BadLocationException {
+        int lineStart = line.getStartOffset();
+        int lineEnd = Math.min(line.getEndOffset(), document.getLength());
+        if (lineEnd <= lineStart) {
+            return 0;
+        }
+        document.getText(lineStart, lineEnd - lineStart, text);
+        iterator.setText(text);
+        int count = 0;
+        int start = iterator.first();
+        for (int end = iterator.next(); end != BreakIterator.DONE; start =
+                        end, end = iterator.next()) {
+            if (!Character.isWhitespace(text.array[start])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts again the lines touched by an edit. If lines are being counted,
+     * the edit is kept to be applied afterward. Lines touched by a large
+     * edit are counted by a worker.
+     * @param e The document event.
+     */
+    private void update(DocumentEvent e) {
+        synchronized (this) {
+            Element root = document.getDefaultRootElement();
+            DocumentEvent.ElementChange change = e.getChange(root);
+            // Lines touched by the edit. Some documents change the line
+            // where the edit starts in place, not as an added line.
+            int first = root.getElementIndex(e.getOffset());
+            int last = e.getType() == DocumentEvent.EventType.INSERT
+                    ? root.getElementIndex(e.getOffset() + e.getLength())
+                    : first;
+            int index = first;
+            int removed = 0;
+            int added = 0;
+            if (change != null) {
+                index = change.getIndex();
+                removed = change.getChildrenRemoved().length;
+                added = change.getChildrenAdded().length;
+                first = Math.min(first, index);
+                last = Math.max(last, index + added - 1);
+            }
+            LineEdit edit = new LineEdit(index, removed, added, first, last);
+            if (!ready) {
+                if (pendingEdits != null) {
+                    pendingEdits.add(edit);
+                }
+                return;
+            }
+            applyEdit(edit);
+            if (lineCount != root.getElementCount()) {
+                // Missed an edit.
+                countAll();
+                return;
+            }
+            if (last - first < RECOUNT_THRESHOLD) {
+                recountLines(first, last + 1, Integer.MAX_VALUE);
+            } else {
+                scheduleRecount();
+            }
+        }
+        fireStateChanged();
+    }
+
+    /**
+     * Applies an edit to the counts. Lines added or changed by the edit
+     * are not counted.
+     * @param edit The edit.
+     */
+    private void applyEdit(LineEdit edit) {
+        if (edit.removed > 0 || edit.added > 0) {
+            replaceLines(edit.index, edit.removed, edit.added);
+        }
+        for (int i = edit.first; i <= edit.last; i++) {
+            if (lineWords[i] != NOT_COUNTED) {
+                words -= lineWords[i];
+                if (lineWords[i] > 0) {
+                    nonBlankLines--;
+                }
+                lineWords[i] = NOT_COUNTED;
+                notCountedLines++;
+            }
+        }
+    }
+
+    /**
+     * Counts the lines not counted yet in a range of lines.
+     * @param from Index of first line.
+     * @param to Index next to the last line.
+     * @param limit Maximum number of lines to count.
+     */
+    private void recountLines(int from, int to, int limit) {
+        Element root = document.getDefaultRootElement();
+        try {
+            for (int i = from; i < to && notCountedLines > 0 && limit > 0;
+                    i++) {
+                if (lineWords[i] == NOT_COUNTED) {
+                    recountLine(root.getElement(i), i);
+                    limit--;
+                }
+            }
+        } catch (BadLocationException ex) {
+            Logger.logWarning("Could not count words of document.", ex);
+        }
+    }
+
+    /**
+     * Counts the words of a line again.
+     * @param line The line.
+     * @param index Index of the line.
+     * @throws javax.swing.text.BadLocationException If line can not be read.
+     */
+    private void recountLine(Element line, int index) throws
+            BadLocationException {
+        if (lineWords[index] == NOT_COUNTED) {
+            notCountedLines--;
+        } else {
+            words -= lineWords[index];
+            if (lineWords[index] > 0) {
+                nonBlankLines--;
+            }
+        }
+        lineWords[index] = countWords(line, segment, wordIterator);
+        words += lineWords[index];
+        if (lineWords[index] > 0) {
+            nonBlankLines++;
+        }
+    }
+
+    /**
+     * Counts the lines not counted yet by a worker, unless one is counting
+     * already.
+     */
+    private void scheduleRecount() {
+        if (recountScheduled) {
+            return;
+        }
+        recountScheduled = true;
+        FunctionExecutor.getSharedInstance().submitBackground(new Runnable() {
+
+            public void run() {
+                final boolean[] more = new boolean[1];
+                document.render(new Runnable() {
+
+                    public void run() {
+                        synchronized (DocumentStatistics.this) {
+                            if (ready) {
+                                recountLines(0, lineCount, LINES_PER_PART);
+                            }
+                            more[0] = ready && notCountedLines > 0;
+                            recountScheduled = more[0];
+                        }
+                    }
+                });
+                if (more[0]) {
+                    FunctionExecutor.getSharedInstance().submitBackground(this);
+                } else {
+                    fireStateChanged();
+                }
+            }
+        });
+    }
+
+    /**
+     * Replaces the counts of a range of lines by lines not counted yet.
+     * @param index Index of first line.
+     * @param removed Number of lines removed.
+     * @param added Number of lines added.
+     */
+    private void replaceLines(int index, int removed, int added) {
+        for (int i = index; i < index + removed; i++) {
+            if (lineWords[i] == NOT_COUNTED) {
+                notCountedLines--;
+            } else {
+                words -= lineWords[i];
+                if (lineWords[i] > 0) {
+                    nonBlankLines--;
+                }
+            }
+        }
+        int newCount = lineCount - removed + added;
+        if (newCount > lineWords.length) {
+            int[] grown = new int[Math.max(newCount,
+                    lineWords.length * 3 / 2)];
+            System.arraycopy(lineWords, 0, grown, 0, index);
+            System.arraycopy(lineWords, index + removed, grown, index + added,
+                    lineCount - index - removed);
+            lineWords = grown;
+        } else {
+            System.arraycopy(lineWords, index + removed, lineWords,
+                    index + added, lineCount - index - removed);
+        }
+        for (int i = index; i < index + added; i++) {
+            lineWords[i] = NOT_COUNTED;
+        }
+        notCountedLines += added;
+        lineCount = newCount;
+    }
+
+    /**
+     * Notifies change listeners in event dispatch thread.
+     */
+    private void fireStateChanged() {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(new Runnable() {
+
+                public void run() {
+                    fireStateChanged();
+                }
+            });
+            return;
+        }
+        Object[] listeners = listenerList.getListenerList();
+        ChangeEvent event = new ChangeEvent(this);
+        for (int i = listeners.length - 2; i >= 0; i -= 2) {
+            if (listeners[i] == ChangeListener.class) {
+                ((ChangeListener) listeners[i + 1]).stateChanged(event);
+            }
+        }
+    }
+
+    /**
+     * Counts again the lines touched by inserted text.
+     * @param e The document event.
+     */
+    public void insertUpdate(DocumentEvent e) {
+        update(e);
+    }
+
+    /**
+     * Counts again the lines touched by removed text.
+     * @param e The document event.
+     */
+    public void removeUpdate(DocumentEvent e) {
+        update(e);
+    }
+
+    /**
+     * Gives notification that an attribute or set of attributes changed.
+     * @param e The document event.
+     */
+    public void changedUpdate(DocumentEvent e) {
+    }
+
+    /**
+     * Lines removed, added and changed by an edit.
+     */
+    private static class LineEdit {
+
+        /**
+         * Index of first line removed or added.
+         */
+        private final int index;
+        /**
+         * Number of lines removed.
+         */
+        private final int removed;
+        /**
+         * Number of lines added.
+         */
+        private final int added;
+        /**
+         * Index of first line touched.
+         */
+        private final int first;
+        /**
+         * Index of last line touched.
+         */
+        private final int last;
+
+        /**
+         * Creates a new instance of {@code LineEdit}.
+         * @param index Index of first line removed or added.
+         * @param removed Number of lines removed.
+         * @param added Number of lines added.
+         * @param first Index of first line touched.
+         * @param last Index of last line touched.
+         */
+        LineEdit(int index, int removed, int added, int first, int last) {
+            this.index = index;
+            this.removed = removed;
+            this.added = added;
+            this.first = first;
+            this.last = last;
+        }
+    }
+}
@@ -24,6 +24,7 @@
 package org.apex.base.data;
 
 import org.apex.base.highlighter.DocumentReader;
+import org.apex.base.highlighter.StyleRunBatch;
 import org.apex.base.highlighter.SyntaxHighlighter;
 import org.apex.base.highlighter.lexer.Lexer;
 import org.apex.base.highlighter.style.DocumentStyle;
@@ -33,11 +34,18 @@ import org.apex.base.settings.event.SyntaxStyleConfigChangeListener;
 import java.io.Reader;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
 import javax.swing.SwingUtilities;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.UndoableEditEvent;
 import javax.swing.text.AttributeSet;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.DefaultStyledDocument;
+import javax.swing.text.Element;
+import javax.swing.text.MutableAttributeSet;
 import javax.swing.text.SimpleAttributeSet;
+import javax.swing.text.StyleContext;
 import org.apex.base.logging.Logger;
 
 /**
@@ -64,7 +72,7 @@ public class HighlightedDocument extends DefaultStyledDocument {
      */
     private Lexer syntaxLexer;
     /**
-     * A thread that handles the actual coloring.
+     * The highlighter that handles the actual coloring.
      */
     private SyntaxHighlighter colorer;
     /**
@@ -81,18 +89,57 @@ public class HighlightedDocument extends DefaultStyledDocument {
      * Create a new {@code HighlightedDocument}.
      */
     public HighlightedDocument() {
-        // Start the thread that does the coloring.
+        super(new UndoSpillingContent(BUFFER_SIZE_DEFAULT), new StyleContext());
+        // Create the highlighter that does the coloring.
         colorer = new SyntaxHighlighter(this);
-        colorer.start();
         // create the new document.
         documentReader = new DocumentReader(this);
     }
 
+    /**
+     * Create a new {@code HighlightedDocument} which stores its text in the
+     * given content.
+     * @param content The content.
+     */
+    protected HighlightedDocument(Content content) {
+        super(content, new StyleContext());
+        colorer = new SyntaxHighlighter(this);
+        documentReader = new DocumentReader(this);
+    }
+
+    /**
+     * Determines whether or not this document is read only. Text of a read
+     * only document can not be changed by editing it.
+     * @return {@code true} if this document is read only; otherwise returns {@code false}.
+     */
+    public boolean isReadOnly() {
+        return false;
+    }
+
+    /**
+     * Stops syntax highlighting of this document. Pending coloring is
+     * discarded. It is called when the document is closed.
+     */
+    public void dispose() {
+        colorer.dispose();
+    }
+
     /**
      * Color or recolor the entire document.
      */
     public void colorAll() {
-        color(0, getLength());
+        colorer.colorAll();
+    }
+
+    /**
+     * Sets the part of the document which is currently displayed. Coloring of
+     * the displayed part is preferred and for a large document only the displayed
+     * parts are colored.
+     * @param start Start of the displayed part.
+     * @param end End of the displayed part.
+     */
+    public void setVisibleRange(int start, int end) {
+        colorer.setVisibleRange(start, end);
     }
 
     /**
@@ -120,10 +167,9 @@ public class HighlightedDocument extends DefaultStyledDocument {
             SwingUtilities.invokeLater(new Runnable() {
 
                 public void run() {
-                    setCharacterAttributes(0,
-                            getLength(),
-                            new SimpleAttributeSet(),
-                            true);
+                    StyleRunBatch batch = new StyleRunBatch(1);
+                    batch.add(0, getLength(), new SimpleAttributeSet());
+                    setCharacterAttributes(batch);
                 }
             });
             return;
@@ -200,6 +246,116 @@ public class HighlightedDocument extends DefaultStyledDocument {
         }
     }
 
+    /**
+     * Discards the text cached by document reader before listeners are
+     * notified. Undo and redo change the document without calling
+     * {@link #insertString(int, String, AttributeSet)}.
+     * @param e The document event.
+     */
+    @Override
+    protected void fireInsertUpdate(DocumentEvent e) {
+        documentReader.invalidate();
+        super.fireInsertUpdate(e);
+    }
+
+    /**
+     * Discards the text cached by document reader before listeners are
+     * notified. Undo and redo change the document without calling
+     * {@link #remove(int, int)}.
+     * @param e The document event.
+     */
+    @Override
+    protected void fireRemoveUpdate(DocumentEvent e) {
+        documentReader.invalidate();
+        super.fireRemoveUpdate(e);
+    }
+
+    /**
+     * Forgets the last large removal once undoable edit listeners have been
+     * notified, whether or not an undo manager spilled its text.
+     * @param e The undoable edit event.
+     */
+    @Override
+    protected void fireUndoableEditUpdate(UndoableEditEvent e) {
+        try {
+            super.fireUndoableEditUpdate(e);
+        } finally {
+            if (getContent() instanceof UndoSpillingContent) {
+                ((UndoSpillingContent) getContent()).forgetRemoval();
+            }
+        }
+    }
+
+    /**
+     * Writes the text of a large removal kept for undo to a temporary file,
+     * so that it does not stay in memory. Text of large insertions is
+     * written when they are undone. It can be done only for the latest
+     * removal, by an undo manager notified of it.
+     * @param event The document event of removal.
+     * @return {@code true} if the text is written; otherwise returns {@code false}.
+     */
+    public boolean spillRemovedText(DocumentEvent event) {
+        if (!(getContent() instanceof UndoSpillingContent)) {
+            return false;
+        }
+        return ((UndoSpillingContent) getContent()).spillRemoval(
+                event.getOffset(), event.getLength());
+    }
+
+    /**
+     * Creates the element structure of text to be loaded into this document
+     * by {@link #load(ElementSpec[], String)}. There is one paragraph for each
+     * line ending with a new line character. Text after the last new line
+     * character is not included.
+     * <p>
+     * It does not change the document and so can be called from any thread.
+     * The text array is referred to by the returned specifications and must
+     * not be changed till the document is loaded.
+     * @param text The text.
+     * @param length Number of characters of the text.
+     * @return The element specifications.
+     */
+    public ElementSpec[] createElementSpecs(char[] text, int length) {
+        SimpleAttributeSet paragraphAttributes = new SimpleAttributeSet();
+        paragraphAttributes.setResolveParent(getStyle(
+                StyleContext.DEFAULT_STYLE));
+        // Start and end tags hold no position, so they are shared by all lines
+        ElementSpec startTag = new ElementSpec(paragraphAttributes,
+                ElementSpec.StartTagType);
+        ElementSpec endTag = new ElementSpec(null, ElementSpec.EndTagType);
+        List<ElementSpec> specs = new ArrayList<ElementSpec>();
+        specs.add(new ElementSpec(null, ElementSpec.StartTagType));
+        int lineStart = 0;
+        for (int i = 0; i < length; i++) {
+            if (text[i] == '\n') {
+                specs.add(startTag);
+                specs.add(new LineSpec(text, lineStart, i + 1 - lineStart));
+                specs.add(endTag);
+                lineStart = i + 1;
+            }
+        }
+        return specs.toArray(new ElementSpec[specs.size()]);
+    }
+
+    /**
+     * Replaces the content of this document by text whose element structure
+     * is created by {@link #createElementSpecs(char[], int)}. Compared to
+     * inserting the text as a string, the element structure is not built
+     * while the document is locked.
+     * @param specs The element specifications.
+     * @param tail Text after the last new line character.
+     * @throws javax.swing.text.BadLocationException If the tail can not be inserted.
+     */
+    public void load(ElementSpec[] specs, String tail) throws
+            BadLocationException {
+        synchronized (docLock) {
+            create(specs);
+            color(0, getLength());
+            documentReader.update(0, getLength());
+        }
+        insertString(getLength(), tail, null);
+    }
+
     /**    
      * Ensures color in a segment of document starting at specified offset for
      * a number of specified characters. It is called when a document update happens.
@@ -216,6 +372,62 @@ public class HighlightedDocument extends DefaultStyledDocument {
         }
     }
 
+    /**
+     * Applies a batch of character styles to the document. Unlike applying
+     * each run with {@link #setCharacterAttributes(int, int, AttributeSet, boolean)},
+     * all runs of the batch are applied under a single write lock and reported to
+     * the listeners as a single change. Existing attributes of the runs are replaced.
+     * Runs lying beyond the end of the document are ignored.
+     * <p>
+     * Styles are presentation only, so no undoable edit is reported for them
+     * and they never take place in the undo history.
+     * @param batch A batch of styled runs in ascending order of offset.
+     */
+    public void setCharacterAttributes(StyleRunBatch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            writeLock();
+            int length = getLength();
+            int offset = batch.getStart(0);
+            int last = batch.size() - 1;
+            int end = Math.min(batch.getStart(last) + batch.getLength(last),
+                    length);
+            if (offset >= end) {
+                return;
+            }
+            DefaultDocumentEvent changes = new DefaultDocumentEvent(offset,
+                    end - offset, DocumentEvent.EventType.CHANGE);
+            for (int i = 0; i <= last; i++) {
+                int start = batch.getStart(i);
+                int runEnd = Math.min(start + batch.getLength(i), length);
+                if (start >= runEnd) {
+                    continue;
+                }
+                AttributeSet style = batch.getStyle(i);
+                // split elements that need it
+                buffer.change(start, runEnd - start, changes);
+                int lastEnd;
+                for (int pos = start; pos < runEnd; pos = lastEnd) {
+                    Element run = getCharacterElement(pos);
+                    lastEnd = run.getEndOffset();
+                    if (pos == lastEnd) {
+                        break;
+                    }
+                    MutableAttributeSet attr =
+                            (MutableAttributeSet) run.getAttributes();
+                    attr.removeAttributes(attr);
+                    attr.addAttributes(style);
+                }
+            }
+            changes.end();
+            fireChangedUpdate(changes);
+        } finally {
+            writeUnlock();
+        }
+    }
+
     /* Configuration Change Support  - Start */
     /**
      * Adds a syntax style configuration change listener to this document.
@@ -276,4 +488,43 @@ public class HighlightedDocument extends DefaultStyledDocument {
     public DocumentStyle getSyntaxStyle() {
         return syntaxStyle;
     }
+
+    /**
+     * Specification of the content of a line. Unlike a content specification
+     * created by the constructors of {@code ElementSpec}, it refers to the text
+     * array of all lines instead of a copy of it.
+     */
+    private static class LineSpec extends ElementSpec {
+
+        /**
+         * The text array of all lines.
+         */
+        private final char[] text;
+        /**
+         * Offset of the line in text array.
+         */
+        private final int offset;
+
+        /**
+         * Creates a new instance of {@code LineSpec}.
+         * @param text The text array of all lines.
+         * @param offset Offset of the line in text array.
+         * @param length Number of characters of the line.
+         */
+        LineSpec(char[] text, int offset, int length) {
+            super(null, ContentType, length);
+            this.text = text;
+            this.offset = offset;
+        }
+
+        @Override
+        public char[] getArray() {
+            return text;
+        }
+
+        @Override
+        public int getOffset() {
+            return offset;
+        }
+    }
 }
@@ -0,0 +1,643 @@
+/*
+ * MappedFileContent.java
+ *
+ * Copyright (C) 2010 Mrityunjoy Saha
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.apex.base.data;
+
+import org.apex.base.logging.Logger;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Position;
+import javax.swing.text.Segment;
+import javax.swing.undo.UndoableEdit;
+
+/**
+ * Read only content of a document which is read from a memory mapped file
+ * on demand. Only an index of the file is kept in memory: the start of each
+ * line and, for every block of about {@link #BLOCK_SIZE} characters, the
+ * position of the block in the file. Text is decoded a block at a time when
+ * it is asked for and a few decoded blocks are cached.
+ * <p>
+ * The index is built by {@link #indexNext()} a segment of the file at a time,
+ * usually in a background thread. Indexed text becomes part of the content
+ * only when it is published by {@link #publish()}.
+ * <p>
+ * Decoding a block starts afresh at its position in the file, so only
+ * character sets whose decoders do not keep state across characters, like
+ * UTF-8 or ISO-8859-1, are supported. A file having more characters than a
+ * document can hold is truncated.
+ * @author Mrityunjoy Saha
+ * @version 1.0
+ * @since Apex 1.2
+ */
+class MappedFileContent implements javax.swing.text.AbstractDocument.Content {
+
+    /**
+     * Number of characters decoded into a block.
+     */
+    private static final int BLOCK_SIZE = 16 * 1024;
+    /**
+     * Number of bytes decoded at a time while indexing.
+     */
+    private static final long SEGMENT_SIZE = 16L * 1024 * 1024;
+    /**
+     * Number of bytes of the file mapped by one window.
+     */
+    private static final long WINDOW_SIZE = 128L * 1024 * 1024;
+    /**
+     * Number of decoded blocks kept in cache.
+     */
+    private static final int CACHED_BLOCKS = 64;
+    /**
+     * Maximum number of characters. One more character, the implied new
+     * line at the end, must be addressable by the document.
+     */
+    private static final int MAX_LENGTH = Integer.MAX_VALUE - BLOCK_SIZE - 2;
+    /**
+     * The file.
+     */
+    private final File file;
+    /**
+     * Character set of the file.
+     */
+    private final Charset charset;
+    /**
+     * Channel to the file.
+     */
+    private FileChannel channel;
+    /**
+     * Size of the file when it is opened.
+     */
+    private long fileSize;
+    /**
+     * Windows mapping the file, each {@link #WINDOW_SIZE} bytes, mapped when
+     * they are used first and kept till the file is closed. Mapping small
+     * parts of the file on every read would leave a mapping behind for each
+     * of them till they are garbage collected.
+     */
+    private MappedByteBuffer[] windows;
+    /**
+     * A boolean that indicates whether or not the content is closed.
+     */
+    private boolean closed = false;
+    /**
+     * Start offsets of lines.
+     */
+    private int[] lineStarts = new int[1024];
+    /**
+     * Number of indexed lines.
+     */
+    private int lineCount;
+    /**
+     * Start offsets of blocks.
+     */
+    private int[] blockStarts = new int[64];
+    /**
+     * Positions of blocks in the file.
+     */
+    private long[] blockPositions = new long[64];
+    /**
+     * Number of blocks.
+     */
+    private int blockCount;
+    /**
+     * Number of indexed characters.
+     */
+    private int indexedLength;
+    /**
+     * Number of published characters.
+     */
+    private int length;
+    /**
+     * Length of the longest indexed line excluding the last one.
+     */
+    private int longestLine;
+    /**
+     * Decoded blocks in order of access.
+     */
+    private final Map<Integer, char[]> blocks =
+            new LinkedHashMap<Integer, char[]>(CACHED_BLOCKS, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(
+                        Map.Entry<Integer, char[]> eldest) {
+                    return size() > CACHED_BLOCKS;
+                }
+            };
+    /**
+     * Lock held while indexing a segment.
+     */
+    private final Object indexLock = new Object();
+    /**
+     * Decoder used for indexing.
+     */
+    private CharsetDecoder indexDecoder;
+    /**
+     * Characters of the block being indexed.
+     */
+    private CharBuffer indexBlock;
+    /**
+     * Number of characters of the block being indexed which are scanned for lines.
+     */
+    private int scanned;
+    /**
+     * Position in the file from where indexing continues.
+     */
+    private long indexPosition;
+    /**
+     * A boolean that indicates whether or not the whole file is indexed.
+     */
+    private boolean indexed;
+
+    /**
+     * Constructs a new instance of {@code MappedFileContent}.
+     * @param file The file.
+     * @param charset Character set of the file.
+     */
+    MappedFileContent(File file, Charset charset) {
+        this.file = file;
+        this.charset = charset;
+        clear();
+    }
+
+    /**
+     * Indexes the next segment of the file. The file is opened if it is
+     * not open.
+     * @return {@code true} if there is more to index; otherwise returns {@code false}.
+     * @throws java.io.IOException If the file can not be read.
+     */
+    boolean indexNext() throws IOException {
+        synchronized (indexLock) {
+            FileChannel fileChannel = open();
+            if (fileChannel == null || indexed) {
+                return false;
+            }
+            long mapSize = Math.min(SEGMENT_SIZE, fileSize - indexPosition);
+            boolean endOfInput = indexPosition + mapSize >= fileSize;
+            ByteBuffer bytes = getBytes(indexPosition, mapSize);
+            CoderResult result;
+            do {
+                result = indexDecoder.decode(bytes, indexBlock, endOfInput);
+                scan();
+                if (result.isOverflow()) {
+                    completeBlock(indexPosition + bytes.position());
+                }
+            } while (result.isOverflow() && !indexed);
+            indexPosition += bytes.position();
+            if (endOfInput && !indexed) {
+                while (indexDecoder.flush(indexBlock).isOverflow()) {
+                    scan();
+                    completeBlock(indexPosition);
+                }
+                scan();
+                indexed = true;
+            }
+            return !indexed;
+        }
+    }
+
+    /**
+     * Returns the progress of indexing.
+     * @return Progress in percent.
+     */
+    int getIndexProgress() {
+        synchronized (indexLock) {
+            if (indexed || fileSize == 0) {
+                return 100;
+            }
+            return (int) (indexPosition * 100 / fileSize);
+        }
+    }
+
+    /**
+     * Makes all indexed text part of the content.
+     * @return The new length of content excluding the implied new line.
+     */
+    synchronized int publish() {
+        length = indexedLength;
+        return length;
+    }
+
+    /**
+     * Removes all text and the index. The file is opened again when
+     * it is indexed next.
+     */
+    void reset() {
+        synchronized (indexLock) {
+            synchronized (this) {
+                closeChannel();
+                clear();
+            }
+        }
+    }
+
+    /**
+     * Closes the file. Indexing stops and text which is not cached can not
+     * be read any more.
+     */
+    synchronized void close() {
+        closed = true;
+        closeChannel();
+        blocks.clear();
+    }
+
+    /**
+     * Returns the number of published lines. The last line may not end with
+     * a new line character.
+     * @return The number of lines.
+     */
+    synchronized int getLineCount() {
+        int index = Arrays.binarySearch(lineStarts, 0, lineCount, length);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    /**
+     * Returns the index of line containing an offset.
+     * @param offset The offset.
+     * @return The line index.
+     */
+    synchronized int getLineIndex(int offset) {
+        int count = getLineCount();
+        int index = Arrays.binarySearch(lineStarts, 0, count, offset);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return Math.max(0, Math.min(index, count - 1));
+    }
+
+    /**
+     * Returns the start offset of a line.
+     * @param index The line index.
+     * @return The start offset.
+     */
+    synchronized int getLineStart(int index) {
+        return lineStarts[index];
+    }
+
+    /**
+     * Returns the end offset of a line, which is the offset after its new
+     * line character.
+     * @param index The line index.
+     * @return The end offset.
+     */
+    synchronized int getLineEnd(int index) {
+        if (index + 1 < getLineCount()) {
+            return lineStarts[index + 1];
+        }
+        return length + 1;
+    }
+
+    /**
+     * Returns the length of the longest published line.
+     * @return Number of characters of the longest line.
+     */
+    synchronized int getLongestLine() {
+        int lastLine = getLineCount() - 1;
+        return Math.max(Math.min(longestLine, length), length
+                - lineStarts[lastLine]);
+    }
+
+    public synchronized int length() {
+        return length + 1;
+    }
+
+    public UndoableEdit insertString(int where, String str) throws
+            BadLocationException {
+        throw new BadLocationException("Content is read only", where);
+    }
+
+    public UndoableEdit remove(int where, int nitems) throws
+            BadLocationException {
+        throw new BadLocationException("Content is read only", where);
+    }
+
+    public String getString(int where, int len) throws BadLocationException {
+        Segment text = new Segment();
+        getChars(where, len, text);
+        return new String(text.array, text.offset, text.count);
+    }
+
+    public synchronized void getChars(int where, int len, Segment txt) throws
+            BadLocationException {
+        if (where < 0 || len < 0 || where + len > length + 1) {
+            throw new BadLocationException("Invalid range", where);
+        }
+        if (len == 0) {
+            txt.array = new char[0];
+            txt.offset = 0;
+            txt.count = 0;
+            return;
+        }
+        int end = where + len;
+        int textEnd = Math.min(end, length);
+        try {
+            if (where < length) {
+                int index = getBlockIndex(where);
+                char[] block = getBlock(index);
+                int blockEnd = blockStarts[index] + block.length;
+                if (end <= blockEnd || txt.isPartialReturn()) {
+                    // Refer to the cached block, no copy required. A partial
+                    // return stops at the end of block.
+                    txt.array = block;
+                    txt.offset = where - blockStarts[index];
+                    txt.count = Math.min(end, Math.min(blockEnd, length))
+                            - where;
+                    return;
+                }
+            }
+            char[] chars = new char[len];
+            int offset = where;
+            while (offset < textEnd) {
+                int index = getBlockIndex(offset);
+                char[] block = getBlock(index);
+                int count = Math.min(textEnd, blockStarts[index]
+                        + block.length) - offset;
+                System.arraycopy(block, offset - blockStarts[index], chars,
+                        offset - where, count);
+                offset += count;
+            }
+            if (end > length) {
+                chars[len - 1] = '\n';
+            }
+            txt.array = chars;
+            txt.offset = 0;
+            txt.count = len;
+        } catch (IOException ex) {
+            Logger.logWarning("Could not read file '" + file.getAbsolutePath()
+                    + "'.", ex);
+            throw new BadLocationException("Could not read file", where);
+        }
+    }
+
+    public synchronized Position createPosition(int offset) throws
+            BadLocationException {
+        if (offset < 0 || offset > length + 1) {
+            throw new BadLocationException("Invalid position", offset);
+        }
+        if (offset <= length) {
+            return new FixedPosition(offset);
+        }
+        return new EndPosition();
+    }
+
+    /**
+     * Opens the file if it is not open.
+     * @return Channel to the file or {@code null} if the content is closed.
+     * @throws java.io.IOException If the file can not be opened.
+     */
+    private synchronized FileChannel open() throws IOException {
+        if (closed) {
+            return null;
+        }
+        if (channel == null) {
+            channel = new RandomAccessFile(file, "r").getChannel();
+            fileSize = channel.size();
+            windows = new MappedByteBuffer[(int) ((fileSize + WINDOW_SIZE - 1)
+                    / WINDOW_SIZE)];
+        }
+        return channel;
+    }
+
+    /**
+     * Returns bytes of the file. Bytes within a window are returned as a
+     * view of the window, bytes spanning two windows are copied.
+     * @param position Position of the bytes in file.
+     * @param size Number of bytes, at most {@link #SEGMENT_SIZE}.
+     * @return A buffer holding the bytes from its start to its limit.
+     * @throws java.io.IOException If the file can not be mapped.
+     */
+    private synchronized ByteBuffer getBytes(long position, long size)
+            throws IOException {
+        if (channel == null) {
+            throw new IOException("File is closed.");
+        }
+        int first = (int) (position / WINDOW_SIZE);
+        int last = (int) ((position + size - 1) / WINDOW_SIZE);
+        if (size == 0 || first == last) {
+            ByteBuffer bytes = getWindow(first).duplicate();
+            int offset = (int) (position - first * WINDOW_SIZE);
+            bytes.limit(offset + (int) size);
+            bytes.position(offset);
+            return bytes.slice();
+        }
+        ByteBuffer bytes = ByteBuffer.allocate((int) size);
+        for (int i = first; i <= last; i++) {
+            ByteBuffer window = getWindow(i).duplicate();
+            long windowStart = i * WINDOW_SIZE;
+            window.position((int) Math.max(0, position - windowStart));
+            window.limit((int) Math.min(window.capacity(), position + size
+                    - windowStart));
+            bytes.put(window);
+        }
+        bytes.flip();
+        return bytes;
+    }
+
+    /**
+     * Returns a window mapping the file. It is mapped if it is not mapped yet.
+     * @param index The window index.
+     * @return The window.
+     * @throws java.io.IOException If the file can not be mapped.
+     */
+    private MappedByteBuffer getWindow(int index) throws IOException {
+        if (windows[index] == null) {
+            long start = index * WINDOW_SIZE;
+            windows[index] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                    Math.min(WINDOW_SIZE, fileSize - start));
+        }
+        return windows[index];
+    }
+
+    /**
+     * Closes the channel to the file.
+     */
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                Logger.logWarning("Failed to close file channel.", ex);
+            }
+            channel = null;
+            windows = null;
+        }
+    }
+
+    /**
+     * Removes all text and the index.
+     */
+    private void clear() {
+        lineStarts[0] = 0;
+        lineCount = 1;
+        blockStarts[0] = 0;
+        blockPositions[0] = 0;
+        blockCount = 1;
+        indexedLength = 0;
+        length = 0;
+        longestLine = 0;
+        blocks.clear();
+        indexDecoder = newDecoder();
+        indexBlock = CharBuffer.allocate(BLOCK_SIZE);
+        scanned = 0;
+        indexPosition = 0;
+        indexed = false;
+    }
+
+    /**
+     * Adds the lines found in characters decoded since the last scan to
+     * the index.
+     */
+    private synchronized void scan() {
+        char[] chars = indexBlock.array();
+        int blockStart = blockStarts[blockCount - 1];
+        for (int i = scanned; i < indexBlock.position(); i++) {
+            if (chars[i] == '\n') {
+                int lineStart = blockStart + i + 1;
+                longestLine = Math.max(longestLine, lineStart
+                        - lineStarts[lineCount - 1] - 1);
+                if (lineCount == lineStarts.length) {
+                    lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+                }
+                lineStarts[lineCount++] = lineStart;
+            }
+        }
+        scanned = indexBlock.position();
+        indexedLength = blockStart + scanned;
+    }
+
+    /**
+     * Completes the block being indexed and starts the next one.
+     * @param position Position in file where the next block starts.
+     */
+    private synchronized void completeBlock(long position) {
+        if (indexedLength >= MAX_LENGTH) {
+            Logger.logInfo("File '" + file.getAbsolutePath()
+                    + "' is truncated as it is too large to be displayed.");
+            indexed = true;
+            return;
+        }
+        if (blockCount == blockStarts.length) {
+            blockStarts = Arrays.copyOf(blockStarts, blockCount * 2);
+            blockPositions = Arrays.copyOf(blockPositions, blockCount * 2);
+        }
+        blockStarts[blockCount] = indexedLength;
+        blockPositions[blockCount] = position;
+        blockCount++;
+        indexBlock.clear();
+        scanned = 0;
+    }
+
+    /**
+     * Returns the index of block containing an offset.
+     * @param offset The offset.
+     * @return The block index.
+     */
+    private int getBlockIndex(int offset) {
+        int index = Arrays.binarySearch(blockStarts, 0, blockCount, offset);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * Returns the decoded characters of a block. The block is decoded if
+     * it is not cached. The last block is decoded as far as it is indexed.
+     * @param index The block index.
+     * @return Characters of the block.
+     * @throws java.io.IOException If the file can not be read.
+     */
+    private char[] getBlock(int index) throws IOException {
+        int start = blockStarts[index];
+        int end = index + 1 < blockCount ? blockStarts[index + 1] : indexedLength;
+        char[] block = blocks.get(index);
+        if (block != null && block.length == end - start) {
+            return block;
+        }
+        long position = blockPositions[index];
+        long mapEnd = index + 1 < blockCount ? blockPositions[index + 1]
+                : Math.min(fileSize, position + 4L * (end - start) + 16);
+        ByteBuffer bytes = getBytes(position, mapEnd - position);
+        CharBuffer chars = CharBuffer.allocate(end - start);
+        CharsetDecoder decoder = newDecoder();
+        boolean endOfInput = mapEnd == fileSize;
+        decoder.decode(bytes, chars, endOfInput);
+        if (endOfInput) {
+            decoder.flush(chars);
+        }
+        if (chars.hasRemaining()) {
+            throw new IOException("File is changed after it is opened.");
+        }
+        block = chars.array();
+        blocks.put(index, block);
+        return block;
+    }
+
+    /**
+     * Creates a decoder for the character set of file. Malformed input is
+     * replaced as it is done while reading a file normally.
+     * @return A new decoder.
+     */
+    private CharsetDecoder newDecoder() {
+        return charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).
+                onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * A position which does not move as text is never inserted before it.
+     */
+    private static class FixedPosition implements Position {
+
+        /**
+         * The offset.
+         */
+        private final int offset;
+
+        /**
+         * Constructs a new instance of {@code FixedPosition}.
+         * @param offset The offset.
+         */
+        FixedPosition(int offset) {
+            this.offset = offset;
+        }
+
+        public int getOffset() {
+            return offset;
+        }
+    }
+
+    /**
+     * The position at end of content. It moves as text is published.
+     */
+    private class EndPosition implements Position {
+
+        public int getOffset() {
+            return length();
+        }
+    }
+}
@@ -0,0 +1,393 @@
+/*
+ * MappedFileDocument.java
+ *
+ * Copyright (C) 2010 Mrityunjoy Saha
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.apex.base.data;
+
+import org.apex.base.highlighter.StyleRunBatch;
+import org.apex.base.highlighter.style.DocumentStyle;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import javax.swing.event.DocumentEvent;
+import javax.swing.text.AttributeSet;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Element;
+import javax.swing.text.PlainDocument;
+import javax.swing.text.SimpleAttributeSet;
+import javax.swing.text.Style;
+
+/**
+ * A read only document for viewing files too large to be edited. Text is
+ * read from a memory mapped file when it is displayed, so memory used by the
+ * document does not depend on the size of file.
+ * <p>
+ * Lines are not stored as elements. An element for a line is created when it
+ * is asked for and character styles are not supported. Syntax highlighting is
+ * not done.
+ * <p>
+ * The document is empty when it is created. The file is indexed by calling
+ * {@link #indexNext()} repeatedly, usually in a background thread, and the
+ * indexed part is added to the document by {@link #publish()}.
+ * @author Mrityunjoy Saha
+ * @version 1.0
+ * @since Apex 1.2
+ */
+public class MappedFileDocument extends HighlightedDocument {
+
+    /**
+     * The root element. It is created when it is first asked for, which
+     * may happen while the document is being constructed.
+     */
+    private LinesElement root;
+
+    /**
+     * Creates a new instance of {@code MappedFileDocument}.
+     * @param file The file.
+     * @param characterSet The character set of file.
+     */
+    public MappedFileDocument(File file, String characterSet) {
+        super(new MappedFileContent(file, Charset.forName(characterSet)));
+        putProperty(PlainDocument.tabSizeAttribute, 8);
+    }
+
+    /**
+     * Indexes the next segment of the file. It can be called from any thread.
+     * @return {@code true} if there is more to index; otherwise returns {@code false}.
+     * @throws java.io.IOException If the file can not be read.
+     */
+    public boolean indexNext() throws IOException {
+        return getMappedContent().indexNext();
+    }
+
+    /**
+     * Returns the progress of indexing.
+     * @return Progress in percent.
+     */
+    public int getIndexProgress() {
+        return getMappedContent().getIndexProgress();
+    }
+
+    /**
+     * Adds the text indexed so far to this document. Document listeners are
+     * notified of the added text as an insertion at the end. It should be
+     * called in event dispatch thread.
+     */
+    public void publish() {
+        writeLock();
+        try {
+            int oldLength = getLength();
+            int newLength = getMappedContent().publish();
+            if (newLength > oldLength) {
+                DefaultDocumentEvent event = new DefaultDocumentEvent(oldLength,
+                        newLength - oldLength, DocumentEvent.EventType.INSERT);
+                event.end();
+                fireInsertUpdate(event);
+            }
+        } finally {
+            writeUnlock();
+        }
+    }
+
+    /**
+     * Removes all text, so that the file can be indexed again. Document
+     * listeners are notified of the removal. It should be called in event
+     * dispatch thread.
+     */
+    public void reload() {
+        writeLock();
+        try {
+            int oldLength = getLength();
+            getMappedContent().reset();
+            if (oldLength > 0) {
+                DefaultDocumentEvent event = new DefaultDocumentEvent(0,
+                        oldLength, DocumentEvent.EventType.REMOVE);
+                event.end();
+                fireRemoveUpdate(event);
+            }
+        } finally {
+            writeUnlock();
+        }
+    }
+
+    /**
+     * Returns the number of characters of the longest line.
+     * @return The number of characters of the longest line.
+     */
+    public int getLongestLineLength() {
+        return getMappedContent().getLongestLine();
+    }
+
+    /**
+     * Closes the file and stops indexing.
+     */
+    @Override
+    public void dispose() {
+        super.dispose();
+        getMappedContent().close();
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public Element getDefaultRootElement() {
+        if (root == null) {
+            root = new LinesElement();
+        }
+        return root;
+    }
+
+    @Override
+    public Element getParagraphElement(int pos) {
+        Element lines = getDefaultRootElement();
+        return lines.getElement(lines.getElementIndex(pos));
+    }
+
+    @Override
+    public Element getCharacterElement(int pos) {
+        return getParagraphElement(pos);
+    }
+
+    /**
+     * Does nothing as the document is read only.
+     * @param offs The starting offset.
+     * @param str The string to insert.
+     * @param a The attributes for the inserted content.
+     */
+    @Override
+    public void insertString(int offs, String str, AttributeSet a) {
+    }
+
+    /**
+     * Does nothing as the document is read only.
+     * @param offs The starting offset.
+     * @param len The number of characters to remove.
+     */
+    @Override
+    public void remove(int offs, int len) {
+    }
+
+    /**
+     * Does nothing as character styles are not supported.
+     * @param offset The start of the change.
+     * @param length The length of the change.
+     * @param s The attributes.
+     * @param replace Whether or not to replace the existing attributes.
+     */
+    @Override
+    public void setCharacterAttributes(int offset, int length, AttributeSet s,
+            boolean replace) {
+    }
+
+    /**
+     * Does nothing as character styles are not supported.
+     * @param batch A batch of styled runs.
+     */
+    @Override
+    public void setCharacterAttributes(StyleRunBatch batch) {
+    }
+
+    /**
+     * Does nothing as paragraph styles are not supported.
+     * @param offset The start of the change.
+     * @param length The length of the change.
+     * @param s The attributes.
+     * @param replace Whether or not to replace the existing attributes.
+     */
+    @Override
+    public void setParagraphAttributes(int offset, int length, AttributeSet s,
+            boolean replace) {
+    }
+
+    /**
+     * Does nothing as paragraph styles are not supported.
+     * @param pos The offset.
+     * @param s The logical style.
+     */
+    @Override
+    public void setLogicalStyle(int pos, Style s) {
+    }
+
+    /**
+     * Does nothing as the document is not highlighted.
+     * @param lexer The synatx lexer.
+     * @param style The syntax highlighting style info.
+     */
+    @Override
+    public void setHighlightStyle(Object lexer, DocumentStyle style) {
+    }
+
+    /**
+     * Does nothing as the document is not highlighted.
+     */
+    @Override
+    public void colorAll() {
+    }
+
+    /**
+     * Does nothing as the document is not highlighted.
+     * @param position The starting point.
+     * @param adjustment Amount of text inserted or removed.
+     */
+    @Override
+    public void color(int position, int adjustment) {
+    }
+
+    /**
+     * Does nothing as the document is not highlighted.
+     * @param start Start of the displayed part.
+     * @param end End of the displayed part.
+     */
+    @Override
+    public void setVisibleRange(int start, int end) {
+    }
+
+    /**
+     * Returns the content of this document.
+     * @return The content.
+     */
+    private MappedFileContent getMappedContent() {
+        return (MappedFileContent) getContent();
+    }
+
+    /**
+     * The root element. Its children are the lines of document.
+     */
+    private class LinesElement implements Element {
+
+        public javax.swing.text.Document getDocument() {
+            return MappedFileDocument.this;
+        }
+
+        public Element getParentElement() {
+            return null;
+        }
+
+        public String getName() {
+            return SectionElementName;
+        }
+
+        public AttributeSet getAttributes() {
+            return SimpleAttributeSet.EMPTY;
+        }
+
+        public int getStartOffset() {
+            return 0;
+        }
+
+        public int getEndOffset() {
+            return getMappedContent().length();
+        }
+
+        public int getElementIndex(int offset) {
+            return getMappedContent().getLineIndex(offset);
+        }
+
+        public int getElementCount() {
+            return getMappedContent().getLineCount();
+        }
+
+        public Element getElement(int index) {
+            MappedFileContent content = getMappedContent();
+            if (index < 0 || index >= content.getLineCount()) {
+                return null;
+            }
+            return new LineElement(this, content.getLineStart(index),
+                    content.getLineEnd(index));
+        }
+
+        public boolean isLeaf() {
+            return false;
+        }
+    }
+
+    /**
+     * A line of document. It is created when it is asked for and keeps the
+     * offsets it has been created with.
+     */
+    private class LineElement implements Element {
+
+        /**
+         * The root element.
+         */
+        private final Element parent;
+        /**
+         * Start offset of the line.
+         */
+        private final int start;
+        /**
+         * End offset of the line.
+         */
+        private final int end;
+
+        /**
+         * Creates a new instance of {@code LineElement}.
+         * @param parent The root element.
+         * @param start Start offset of the line.
+         * @param end End offset of the line.
+         */
+        LineElement(Element parent, int start, int end) {
+            this.parent = parent;
+            this.start = start;
+            this.end = end;
+        }
+
+        public javax.swing.text.Document getDocument() {
+            return MappedFileDocument.this;
+        }
+
+        public Element getParentElement() {
+            return parent;
+        }
+
+        public String getName() {
+            return ParagraphElementName;
+        }
+
+        public AttributeSet getAttributes() {
+            return SimpleAttributeSet.EMPTY;
+        }
+
+        public int getStartOffset() {
+            return start;
+        }
+
+        public int getEndOffset() {
+            return end;
+        }
+
+        public int getElementIndex(int offset) {
+            return -1;
+        }
+
+        public int getElementCount() {
+            return 0;
+        }
+
+        public Element getElement(int index) {
+            return null;
+        }
+
+        public boolean isLeaf() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * UndoSpillFile.java
+ *
+ * Copyright (C) 2010 Mrityunjoy Saha
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.apex.base.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A temporary file holding the text of large undoable edits, so that the
+ * text does not stay in memory. Text is written to the file as UTF-16 and
+ * read back from the position returned when it was written.
+ * <p>
+ * Space of text released by discarded edits is reused by later text, and
+ * the file is truncated when text at its end is released.
+ * <p>
+ * The file is created when text is written first and deleted when all
+ * text is released, this spill file is closed or the application exits.
+ * @author Mrityunjoy Saha
+ * @version 1.0
+ * @since Apex 1.2
+ */
+class UndoSpillFile {
+
+    /**
+     * Size in bytes of the buffer used for transferring text.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /**
+     * The temporary file.
+     */
+    private File file;
+    /**
+     * Channel to the temporary file.
+     */
+    private FileChannel channel;
+    /**
+     * Buffer used for transferring text.
+     */
+    private ByteBuffer buffer;
+    /**
+     * Released regions of the file, mapping position to size in bytes.
+     * Adjacent regions are merged.
+     */
+    private final TreeMap<Long, Long> freeRegions = new TreeMap<Long, Long>();
+
+    /**
+     * Constructs a new instance of {@code UndoSpillFile}.
+     */
+    UndoSpillFile() {
+    }
+
+    /**
+     * Writes text to the first released region large enough to hold it or
+     * at the end of this file.
+     * @param text The text.
+     * @return The position of the text in this file.
+     * @throws java.io.IOException If the text cannot be written.
+     */
+    synchronized long write(String text) throws IOException {
+        open();
+        long position = allocate(text.length() * 2L);
+        long writePosition = position;
+        int start = 0;
+        while (start < text.length()) {
+            buffer.clear();
+            while (start < text.length() && buffer.remaining() >= 2) {
+                buffer.putChar(text.charAt(start++));
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                writePosition += channel.write(buffer, writePosition);
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Reads text written to this file before.
+     * @param position The position of the text in this file.
+     * @param length The number of characters of the text.
+     * @return The text.
+     * @throws java.io.IOException If the text cannot be read.
+     */
+    synchronized String read(long position, int length) throws IOException {
+        if (channel == null) {
+            throw new IOException("Undo spill file is closed.");
+        }
+        char[] text = new char[length];
+        long readPosition = position;
+        int start = 0;
+        while (start < length) {
+            buffer.clear();
+            buffer.limit(Math.min(buffer.capacity(), (length - start) * 2));
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, readPosition);
+                if (read < 0) {
+                    throw new IOException("Undo spill file is truncated.");
+                }
+                readPosition += read;
+            }
+            buffer.flip();
+            while (buffer.remaining() >= 2) {
+                text[start++] = buffer.getChar();
+            }
+        }
+        return new String(text);
+    }
+
+    /**
+     * Releases the space of text written to this file before. The text can
+     * not be read any more.
+     * @param position The position of the text in this file.
+     * @param length The number of characters of the text.
+     * @throws java.io.IOException If the file cannot be truncated.
+     */
+    synchronized void release(long position, int length) throws IOException {
+        if (channel == null) {
+            return;
+        }
+        long start = position;
+        long end = position + length * 2L;
+        Map.Entry<Long, Long> previous = freeRegions.lowerEntry(start);
+        if (previous != null
+                && previous.getKey() + previous.getValue() == start) {
+            start = previous.getKey();
+            freeRegions.remove(start);
+        }
+        Long next = freeRegions.remove(end);
+        if (next != null) {
+            end += next;
+        }
+        if (start == 0 && end >= channel.size()) {
+            // Nothing left
+            close();
+        } else if (end >= channel.size()) {
+            channel.truncate(start);
+        } else {
+            freeRegions.put(start, end - start);
+        }
+    }
+
+    /**
+     * Closes and deletes this file. Text written before can not be read
+     * any more, but new text can be written.
+     */
+    synchronized void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                // Nothing to do, the file is deleted anyway.
+            }
+            channel = null;
+        }
+        if (file != null) {
+            file.delete();
+            file = null;
+        }
+        buffer = null;
+        freeRegions.clear();
+    }
+
+    /**
+     * Finds the position for text of given size. The first released region
+     * large enough is used, otherwise the text is placed at the end of file.
+     * @param size Size of the text in bytes.
+     * @return The position.
+     * @throws java.io.IOException If the file size cannot be read.
+     */
+    private long allocate(long size) throws IOException {
+        for (Map.Entry<Long, Long> region : freeRegions.entrySet()) {
+            long position = region.getKey();
+            long regionSize = region.getValue();
+            if (regionSize >= size) {
+                freeRegions.remove(position);
+                if (regionSize > size) {
+                    freeRegions.put(position + size, regionSize - size);
+                }
+                return position;
+            }
+        }
+        return channel.size();
+    }
+
+    /**
+     * Creates the temporary file if it is not there.
+     * @throws java.io.IOException If the file cannot be created.
+     */
+    private void open() throws IOException {
+        if (channel != null) {
+            return;
+        }
+        file = File.createTempFile("apex-undo", ".tmp");
+        file.deleteOnExit();
+        channel = new RandomAccessFile(file, "rw").getChannel();
+        buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    }
+}
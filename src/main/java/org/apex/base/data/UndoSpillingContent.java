@@ -0,0 +1,263 @@
+/*
+ * UndoSpillingContent.java
+ *
+ * Copyright (C) 2010 Mrityunjoy Saha
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.apex.base.data;
+
+import org.apex.base.constant.EditorKeyConstants;
+import org.apex.base.logging.Logger;
+import java.io.IOException;
+import java.util.Vector;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.GapContent;
+import javax.swing.undo.AbstractUndoableEdit;
+import javax.swing.undo.CannotRedoException;
+import javax.swing.undo.CannotUndoException;
+import javax.swing.undo.UndoableEdit;
+
+/**
+ * A gap content whose undoable edits for large insertions and removals keep
+ * their text in an {@link UndoSpillFile} instead of memory. The edits stay
+ * part of the document events, so undo and redo restore the lines of
+ * document as recorded and fire no new events.
+ * <p>
+ * The text of an insertion is still in the content, so it is written when
+ * the insertion is undone. The text of a removal is kept in memory until
+ * {@link #spillRemoval(int, int)} is called for it, as nobody may keep
+ * the edit.
+ * @author Mrityunjoy Saha
+ * @version 1.0
+ * @since Apex 1.2
+ */
+class UndoSpillingContent extends GapContent {
+
+    /**
+     * The file holding text of large edits.
+     */
+    private final UndoSpillFile spillFile = new UndoSpillFile();
+    /**
+     * The edit of last large removal, till its text is spilled or it is
+     * not kept.
+     */
+    private SpilledUndo lastRemoval;
+
+    /**
+     * Creates a new instance of {@code UndoSpillingContent}.
+     * @param initialLength The initial size of content.
+     */
+    UndoSpillingContent(int initialLength) {
+        super(initialLength);
+    }
+
+    @Override
+    public UndoableEdit insertString(int where, String str) throws
+            BadLocationException {
+        UndoableEdit edit = super.insertString(where, str);
+        if (str.length() < EditorKeyConstants.UNDO_SPILL_THRESHOLD) {
+            return edit;
+        }
+        return new SpilledUndo(where, str.length(), true, null);
+    }
+
+    @Override
+    public UndoableEdit remove(int where, int nitems) throws
+            BadLocationException {
+        if (nitems < EditorKeyConstants.UNDO_SPILL_THRESHOLD) {
+            return super.remove(where, nitems);
+        }
+        SpilledUndo edit = new SpilledUndo(where, nitems, false,
+                getString(where, nitems));
+        super.remove(where, nitems);
+        lastRemoval = edit;
+        return edit;
+    }
+
+    /**
+     * Writes the text of last large removal to the spill file.
+     * @param where The offset of removal.
+     * @param nitems The number of characters removed.
+     * @return {@code true} if the text is spilled; otherwise returns {@code false}.
+     */
+    boolean spillRemoval(int where, int nitems) {
+        SpilledUndo edit = lastRemoval;
+        lastRemoval = null;
+        if (edit == null || edit.offset != where || edit.length != nitems) {
+            return false;
+        }
+        try {
+            edit.spill();
+            return true;
+        } catch (IOException ex) {
+            Logger.logWarning("Could not write undo history to disk.", ex);
+            return false;
+        }
+    }
+
+    /**
+     * Forgets the edit of last large removal. Its text stays in memory
+     * as long as the edit is kept.
+     */
+    void forgetRemoval() {
+        lastRemoval = null;
+    }
+
+    /**
+     * An insertion or removal of text whose text is kept in the spill file
+     * while it is not in the content.
+     */
+    private class SpilledUndo extends AbstractUndoableEdit {
+
+        /**
+         * Offset of the text in content.
+         */
+        private final int offset;
+        /**
+         * Number of characters of the text.
+         */
+        private final int length;
+        /**
+         * A boolean that indicates whether the text was inserted or removed.
+         */
+        private final boolean insert;
+        /**
+         * The text if it is not in the content and not written to spill file.
+         */
+        private String text;
+        /**
+         * Position of the text in spill file or -1 if it is not written.
+         */
+        private long position = -1;
+        /**
+         * Positions inside the text when it was removed.
+         */
+        private Vector positions;
+
+        /**
+         * Creates a new instance of {@code SpilledUndo}.
+         * @param offset Offset of the text in content.
+         * @param length Number of characters of the text.
+         * @param insert {@code true} if the text was inserted, {@code false}
+         *               if it was removed.
+         * @param text The removed text or {@code null} for an insertion.
+         * @throws javax.swing.text.BadLocationException If the text is not
+         *               in the content.
+         */
+        SpilledUndo(int offset, int length, boolean insert, String text)
+                throws BadLocationException {
+            this.offset = offset;
+            this.length = length;
+            this.insert = insert;
+            this.text = text;
+            if (!insert) {
+                positions = getPositionsInRange(null, offset, length);
+            }
+        }
+
+        @Override
+        public void undo() throws CannotUndoException {
+            super.undo();
+            try {
+                if (insert) {
+                    removeText();
+                } else {
+                    insertText();
+                }
+            } catch (Exception ex) {
+                Logger.logWarning("Could not undo edit.", ex);
+                throw new CannotUndoException();
+            }
+        }
+
+        @Override
+        public void redo() throws CannotRedoException {
+            super.redo();
+            try {
+                if (insert) {
+                    insertText();
+                } else {
+                    removeText();
+                }
+            } catch (Exception ex) {
+                Logger.logWarning("Could not redo edit.", ex);
+                throw new CannotRedoException();
+            }
+        }
+
+        /**
+         * Releases the space taken by the text in spill file.
+         */
+        @Override
+        public void die() {
+            super.die();
+            text = null;
+            if (position < 0) {
+                return;
+            }
+            try {
+                spillFile.release(position, length);
+            } catch (IOException ex) {
+                Logger.logWarning("Could not release undo history on disk.",
+                        ex);
+            }
+            position = -1;
+        }
+
+        /**
+         * Writes the text kept in memory to the spill file.
+         * @throws java.io.IOException If the text cannot be written.
+         */
+        private void spill() throws IOException {
+            if (text != null) {
+                position = spillFile.write(text);
+                text = null;
+            }
+        }
+
+        /**
+         * Removes the text from content, writing it to the spill file first
+         * if it is not there.
+         * @throws java.io.IOException If the text cannot be written.
+         * @throws javax.swing.text.BadLocationException If the text is not
+         *               in the content.
+         */
+        private void removeText() throws IOException, BadLocationException {
+            if (position < 0) {
+                position = spillFile.write(getString(offset, length));
+            }
+            positions = getPositionsInRange(null, offset, length);
+            UndoSpillingContent.super.remove(offset, length);
+        }
+
+        /**
+         * Inserts the text read from the spill file into content.
+         * @throws java.io.IOException If the text cannot be read.
+         * @throws javax.swing.text.BadLocationException If the offset is not
+         *               in the content.
+         */
+        private void insertText() throws IOException, BadLocationException {
+            String inserted = text != null ? text
+                    : spillFile.read(position, length);
+            UndoSpillingContent.super.insertString(offset, inserted);
+            text = null;
+            if (positions != null) {
+                updateUndoPositions(positions, offset, length);
+                positions = null;
+            }
+        }
+    }
+}
@@ -26,32 +26,113 @@ import org.apex.base.core.ActionManager;
 import org.apex.base.data.AbstractDocument;
 import org.apex.base.data.EditorContext;
 import org.apex.base.logging.Logger;
-import javax.swing.SwingUtilities;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import javax.swing.Timer;
 import javax.swing.event.CaretEvent;
+import javax.swing.event.EventListenerList;
 import javax.swing.text.Caret;
 import javax.swing.text.Element;
 
 /**
  * A caret listener to update the editor status bar (caret position info) and cut, copy menus
  * enable status when caret moves in editor programmatically or moved by user.
+ * <p>
+ * Caret moves are not handled one by one. The last caret position is kept
+ * and handled once a frame, so holding an arrow key or extending a selection
+ * does not queue a task for each move. The caret position is sent to
+ * registered {@code CaretPositionListener}s like the status bar. Cut and
+ * copy menus are updated only when the selection becomes empty or not empty.
  * @author Mrityunjoy Saha
  * @version 1.0
  * @since Apex 1.0
  */
 public class CaretListenerImpl implements javax.swing.event.CaretListener {
 
+    /**
+     * Time in milliseconds caret moves are collected before they are handled.
+     */
+    private static final int UPDATE_DELAY = 16;
+    /**
+     * List of caret position listeners.
+     */
+    private static final EventListenerList listenerList =
+            new EventListenerList();
+    /**
+     * Handles the last caret position when update delay is over.
+     */
+    private static final Timer updateTimer = new Timer(UPDATE_DELAY,
+            new ActionListener() {
+
+                public void actionPerformed(ActionEvent e) {
+                    int dot;
+                    int mark;
+                    synchronized (CaretListenerImpl.class) {
+                        dot = pendingDot;
+                        mark = pendingMark;
+                        updatePending = false;
+                    }
+                    update(dot, mark);
+                }
+            });
+    /**
+     * The dot value of last caret position.
+     */
+    private static int pendingDot;
+    /**
+     * The mark value of last caret position.
+     */
+    private static int pendingMark;
+    /**
+     * A boolean that indicates whether or not the last caret position is
+     * waiting to be handled.
+     */
+    private static boolean updatePending;
+    /**
+     * The document for which cut and copy menus were last updated.
+     */
+    private static AbstractDocument menuDocument;
+    /**
+     * Whether or not selection was empty when cut and copy menus were
+     * last updated.
+     */
+    private static boolean menuSelectionEmpty;
+
+    static {
+        updateTimer.setRepeats(false);
+    }
+
     /**
      * Creates a new instance of {@code CaretListenerImpl}.
      */
     public CaretListenerImpl() {
     }
 
+    /**
+     * Adds a {@code CaretPositionListener} to be notified when the caret of
+     * current document moves.
+     * @param listener The {@code CaretPositionListener} to be added.
+     */
+    public static void addCaretPositionListener(
+            CaretPositionListener listener) {
+        listenerList.add(CaretPositionListener.class, listener);
+    }
+
+    /**
+     * Removes a {@code CaretPositionListener}.
+     * @param listener The {@code CaretPositionListener} to be removed.
+     */
+    public static void removeCaretPositionListener(
+            CaretPositionListener listener) {
+        listenerList.remove(CaretPositionListener.class, listener);
+    }
+
     /**
      * Updates the editor status bar (caret position info) and cut, copy menus enable status
      * when caret position is changed.
      * @param caretEvent The caret event.
      */
-    public void caretUpdate(CaretEvent caretEvent) {        
+    public void caretUpdate(CaretEvent caretEvent) {
         updateStatusBar(caretEvent.getDot(), caretEvent.getMark());
     }
 
@@ -66,72 +147,76 @@ public class CaretListenerImpl implements javax.swing.event.CaretListener {
 
     /**
      * Updates the editor status bar (caret position info) and cut, copy menus enable status
-     * using specified caret position.
+     * using specified caret position. The update is done in event dispatch
+     * thread within a frame, together with other caret moves made meanwhile.
      * @param dot The dot value of caret position.
      * @param mark The mark value of caret position.
      */
-    public static void updateStatusBar(final int dot, final int mark) {
-        SwingUtilities.invokeLater(new Runnable() {
-
-            public void run() {
-                Element root = null;
-                try {
-                    if (getContext().getEditorProperties().
-                            getCurrentDocument() == null) {
-                        return;
-                    }
-                    root = getContext().getEditorProperties().
-                            getCurrentDocument().getDocument().
-                            getDefaultRootElement();
-                    int row = root.getElementIndex(dot);
+    public static void updateStatusBar(int dot, int mark) {
+        synchronized (CaretListenerImpl.class) {
+            pendingDot = dot;
+            pendingMark = mark;
+            if (updatePending) {
+                return;
+            }
+            updatePending = true;
+        }
+        updateTimer.start();
+    }
 
-                    // @TODO Resolve column number issue when TAB key pressed.                    
-                    int column = dot - root.getElement(row).
-                            getStartOffset();
+    /**
+     * Sends the caret position to caret position listeners and updates cut
+     * and copy menus if selection became empty or not empty.
+     * @param dot The dot value of caret position.
+     * @param mark The mark value of caret position.
+     */
+    private static void update(int dot, int mark) {
+        AbstractDocument file = getContext().getEditorProperties().
+                getCurrentDocument();
+        if (file == null) {
+            return;
+        }
+        int row = 0;
+        int column = 0;
+        int selectedLines = 0;
+        try {
+            Element root = file.getDocument().getDefaultRootElement();
+            row = root.getElementIndex(dot);
+            // @TODO Resolve column number issue when TAB key pressed.
+            column = dot - root.getElement(row).getStartOffset();
+            if (dot != mark) {
+                selectedLines = root.getElementIndex(Math.max(dot, mark)) -
+                        root.getElementIndex(Math.min(dot, mark)) + 1;
+            }
+        } catch (Exception e) {
+            Logger.logWarning(
+                    "Failed to update line and column numbers in status bar.", e);
+            row = 0;
+            column = 0;
+        }
+        fireCaretPositionChanged(new CaretPositionEvent(file, dot, mark,
+                row + 1, column + 1, selectedLines));
+        boolean selectionEmpty = dot == mark;
+        if (file != menuDocument || selectionEmpty != menuSelectionEmpty) {
+            menuDocument = file;
+            menuSelectionEmpty = selectionEmpty;
+            updateMenus(!selectionEmpty);
+        }
+    }
 
-                    getContext().getEditorComponents().getStatusBar().
-                            setCaretPositionInfo((row + 1) + "  :  " + (column +
-                            1));
-                } catch (Exception e) {
-                    Logger.logWarning(
-                            "Failed to update line and column numbers in status bar.", e);
-                    getContext().getEditorComponents().getStatusBar().
-                            setCaretPositionInfo("1 : 1");
-                }
-                // Introduce selection listener and remove most of the operations
-                if (dot == mark) {
-                    getContext().getEditorComponents().getStatusBar().
-                            setGeneralInfo("");
-                    updateMenus(false);
-                } else {
-                    int start = Math.min(dot, mark);
-                    int end = Math.max(dot, mark);
-                    int startLineNumber = 0;
-                    int endLineNumber = 0;
-                    try {
-                        if (root != null) {
-                            startLineNumber = root.getElementIndex(start);
-                            endLineNumber = root.getElementIndex(end);
-                        }
-                    } catch (Exception ex) {
-                        Logger.logWarning(
-                                "Failed to update text selection info in status bar.", ex);
-                    }
-                    if (startLineNumber != endLineNumber) {
-                        getContext().getEditorComponents().getStatusBar().
-                                setGeneralInfo("Selected " + ((endLineNumber -
-                                startLineNumber) + 1) +
-                                " line(s)");
-                    } else {
-                        getContext().getEditorComponents().getStatusBar().
-                                setGeneralInfo("Selected " + (end -
-                                start) +
-                                " character(s)");
-                    }
-                    updateMenus(true);
-                }
+    /**
+     * Sends a caret position event to all registered
+     * {@code CaretPositionListener}s.
+     * @param event The caret position event.
+     */
+    private static void fireCaretPositionChanged(CaretPositionEvent event) {
+        Object[] listeners = listenerList.getListenerList();
+        for (int i = listeners.length - 2; i >= 0; i -= 2) {
+            if (listeners[i] == CaretPositionListener.class) {
+                ((CaretPositionListener) listeners[i + 1]).
+                        caretPositionChanged(event);
             }
-        });
+        }
     }
 
     /**
@@ -0,0 +1,139 @@
+/*
+ * CaretPositionEvent.java
+ *
+ * Copyright (C) 2010 Mrityunjoy Saha
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.apex.base.event;
+
+import org.apex.base.data.AbstractDocument;
+import java.util.EventObject;
+
+/**
+ * Caret position event, generated when the caret of current document moves.
+ * Caret events received in quick succession are delivered as one event
+ * carrying the last caret position.
+ * @author Mrityunjoy Saha
+ * @version 1.0
+ * @since Apex 1.2
+ * @see CaretPositionListener
+ */
+public class CaretPositionEvent extends EventObject {
+
+    /**
+     * The dot value of caret position.
+     */
+    private final int dot;
+    /**
+     * The mark value of caret position.
+     */
+    private final int mark;
+    /**
+     * The line number of caret.
+     */
+    private final int lineNumber;
+    /**
+     * The column number of caret.
+     */
+    private final int column;
+    /**
+     * The number of lines selected.
+     */
+    private final int selectedLines;
+
+    /**
+     * Constructs a caret position event.
+     * @param document The document whose caret moved.
+     * @param dot The dot value of caret position.
+     * @param mark The mark value of caret position.
+     * @param lineNumber The line number of caret, starting from 1.
+     * @param column The column number of caret, starting from 1.
+     * @param selectedLines The number of lines selected.
+     */
+    public CaretPositionEvent(AbstractDocument document, int dot, int mark,
+            int lineNumber, int column, int selectedLines) {
+        super(document);
+        this.dot = dot;
+        this.mark = mark;
+        this.lineNumber = lineNumber;
+        this.column = column;
+        this.selectedLines = selectedLines;
+    }
+
+    /**
+     * Returns the document whose caret moved.
+     * @return The document.
+     */
+    public AbstractDocument getDocument() {
+        return (AbstractDocument) getSource();
+    }
+
+    /**
+     * Returns the dot value of caret position.
+     * @return The dot value.
+     */
+    public int getDot() {
+        return dot;
+    }
+
+    /**
+     * Returns the mark value of caret position.
+     * @return The mark value.
+     */
+    public int getMark() {
+        return mark;
+    }
+
+    /**
+     * Returns the line number of caret.
+     * @return The line number, starting from 1.
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Returns the column number of caret.
+     * @return The column number, starting from 1.
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * Determines whether or not any text is selected.
+     * @return {@code true} if no text is selected; otherwise returns {@code false}.
+     */
+    public boolean isSelectionEmpty() {
+        return dot == mark;
+    }
+
+    /**
+     * Returns the number of lines selected.
+     * @return The number of lines, zero if no text is selected.
+     */
+    public int getSelectedLines() {
+        return selectedLines;
+    }
+
+    /**
+     * Returns the number of characters selected.
+     * @return The number of characters.
+     */
+    public int getSelectedCharacters() {
+        return Math.abs(dot - mark);
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * CaretPositionListener.java
+ *
+ * Copyright (C) 2010 Mrityunjoy Saha
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.apex.base.event;
+
+import java.util.EventListener;
+
+/**
+ * The listener interface for receiving caret position events of the current
+ * document. The class that is interested in processing a caret position event
+ * implements this interface and is registered using
+ * {@link CaretListenerImpl#addCaretPositionListener(CaretPositionListener)}.
+ * When the caret moves, that object's <code>caretPositionChanged</code>
+ * method is invoked in event dispatch thread.
+ * @author Mrityunjoy Saha
+ * @version 1.0
+ * @since Apex 1.2
+ * @see CaretPositionEvent
+ */
+public interface CaretPositionListener extends EventListener {
+
+    /**
+     * Invoked when the caret of current document moves.
+     * @param event The caret position event.
+     */
+    void caretPositionChanged(CaretPositionEvent event);
+}
@@ -62,6 +62,7 @@ public class DocumentSaveListener implements DocumentListener {
      * @param e The document event.
      */
     public void insertUpdate(DocumentEvent e) {
+        this.documentWrapper.getDocument().documentModified();
         FileUtil.markAsUnsaved(context, this.documentWrapper.getDocument());
     }
 
@@ -70,6 +71,7 @@ public class DocumentSaveListener implements DocumentListener {
      * @param e The document event.
      */
     public void removeUpdate(DocumentEvent e) {
+        this.documentWrapper.getDocument().documentModified();
         FileUtil.markAsUnsaved(context, this.documentWrapper.getDocument());
     }
 
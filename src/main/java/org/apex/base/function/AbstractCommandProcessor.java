@@ -23,7 +23,6 @@ package org.apex.base.function;
 import java.lang.reflect.InvocationTargetException;
 import org.apex.base.data.InputParams;
 import org.apex.base.data.OutputParams;
-import org.apex.base.constant.EditorKeyConstants;
 import org.apex.base.constant.MenuConstants;
 import org.apex.base.core.ActionManager;
 import org.apex.base.core.MenuManager;
@@ -36,9 +35,10 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.Charset;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import javax.swing.SwingUtilities;
 import javax.swing.text.AttributeSet;
-import javax.swing.text.BadLocationException;
 import javax.swing.text.SimpleAttributeSet;
 import javax.swing.text.StyleConstants;
 import org.apex.base.component.Console;
@@ -156,13 +156,24 @@ public abstract class AbstractCommandProcessor extends Function {
         }
     }
 
+    /**
+     * Returns {@code true} as the function waits till the process ends.
+     * @return {@code true}.
+     */
+    @Override
+    protected boolean isLongRunning() {
+        return true;
+    }
+
     /**
      * Reads the input (to program) stream and error stream from process and directs to
      * specified result area. If result area is not specified editor console is used 
      * by default.
      * <p>
      * Data from input (to program) stream and error stream
-     * are pulled by separate threads. A pause is given after each pull operation.
+     * are pulled by separate stream readers of {@link FunctionExecutor} and
+     * queued in console, which adds them to its result area in batches. The
+     * process is destroyed if this function is cancelled.
      * @param in Input parameters.
      * @param out Output parameters.
      */
@@ -172,9 +183,9 @@ public abstract class AbstractCommandProcessor extends Function {
             appendMessage(getCommandCompletionMessage());
             return;
         }
-        Thread error = new Thread() {
+        FunctionExecutor executor = FunctionExecutor.getSharedInstance();
+        Future<?> error = executor.submitStreamReader(new Runnable() {
 
-            @Override
             public void run() {
                 BufferedReader errorStream = null;
                 try {
@@ -185,7 +196,6 @@ public abstract class AbstractCommandProcessor extends Function {
                     while ((readData = errorStream.readLine()) != null) {
                         successful = false;
                         appendError(readData);
-                        sleep(EditorKeyConstants.RESULT_AREA_MESSAGE_PULL_DELAY);
                     }
                 } catch (IOException ex) {
                     Logger.logError(
@@ -199,11 +209,9 @@ public abstract class AbstractCommandProcessor extends Function {
                     FileUtil.closeIOStream(errorStream);
                 }
             }
-        };
-        error.start();
-        Thread output = new Thread() {
+        });
+        Future<?> output = executor.submitStreamReader(new Runnable() {
 
-            @Override
             public void run() {
                 BufferedReader outStream = null;
                 try {
@@ -213,7 +221,6 @@ public abstract class AbstractCommandProcessor extends Function {
                             getInputStream()));
                     while ((readData = outStream.readLine()) != null) {
                         appendOutput(readData);
-                        sleep(EditorKeyConstants.RESULT_AREA_MESSAGE_PULL_DELAY);
                     }
                 } catch (IOException ex) {
                     Logger.logError(
@@ -227,14 +234,21 @@ public abstract class AbstractCommandProcessor extends Function {
                     FileUtil.closeIOStream(outStream);
                 }
             }
-        };
-        output.start();
+        });
 
-        // Ensure that output and error threads finished their execution.
+        // Ensure that output and error readers finished their execution.
         try {
-            error.join();
-            output.join();
+            error.get();
+            output.get();
         } catch (InterruptedException ex) {
+            // The function is cancelled.
+            p.destroy();
+            error.cancel(true);
+            output.cancel(true);
+            Logger.logError(
+                    "Error while reading output and error streams of process: "
+                    + p, ex);
+        } catch (ExecutionException ex) {
             Logger.logError(
                     "Error while reading output and error streams of process: "
                     + p, ex);
@@ -282,28 +296,9 @@ public abstract class AbstractCommandProcessor extends Function {
      * @param data The text to be appended.
      * @param attr The style to be applied to text.
      */
-    private void appendData(final String data, final AttributeSet attr) {
-        if (resultAreaToBeShown && console != null && console.getResultArea() != null) {
-            SwingUtilities.invokeLater(new Runnable() {
-
-                public void run() {
-                    try {                        
-                        console.getResultArea().getDocument().
-                                insertString(
-                                console.getResultArea().getDocument().getLength(),
-                                data,
-                                attr);
-                        console.getResultArea().getDocument().
-                                insertString(
-                                console.getResultArea().getDocument().getLength(),
-                                EditorUtil.getLineSeparator(), attr);
-                    } catch (BadLocationException ex) {
-                        Logger.logError(
-                                "Failed to append data to console.",
-                                ex);
-                    }
-                }
-            });
+    private void appendData(String data, AttributeSet attr) {
+        if (resultAreaToBeShown && console != null) {
+            console.append(data + EditorUtil.getLineSeparator(), attr);
         }
     }
 
@@ -0,0 +1,245 @@
+/*
+ * AtomicFileWriter.java
+ *
+ * Copyright (C) 2010 Mrityunjoy Saha
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.apex.base.function;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes text to a file without leaving the file partly written. Text is
+ * encoded to a temporary file in the directory of the file. The temporary
+ * file is forced to the storage device and then renamed to the file, so the
+ * file has either its old or its new content even if writing fails.
+ * <p>
+ * A file which is replaced keeps its permissions. A new file gets the
+ * default permissions of files created by the editor.
+ * <p>
+ * Characters which can not be encoded are replaced by the replacement of
+ * character set.
+ * @author Mrityunjoy Saha
+ * @version 1.0
+ * @since Apex 1.2
+ */
+class AtomicFileWriter {
+
+    /**
+     * Size in bytes of the buffer used for encoded text.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /**
+     * The file to write.
+     */
+    private final Path target;
+    /**
+     * The temporary file.
+     */
+    private final File temp;
+    /**
+     * Channel to the temporary file.
+     */
+    private final FileChannel channel;
+    /**
+     * Encoder for the character set of file.
+     */
+    private final CharsetEncoder encoder;
+    /**
+     * Buffer for encoded text.
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    /**
+     * A high surrogate kept till the low surrogate following it is written.
+     */
+    private final CharBuffer carry = CharBuffer.allocate(2);
+
+    /**
+     * Creates a new instance of {@code AtomicFileWriter} and its temporary file.
+     * @param file The file to write.
+     * @param characterSet The character set of file.
+     * @throws java.io.IOException If the temporary file can not be created.
+     * @throws java.lang.IllegalArgumentException If the character set is not supported.
+     */
+    AtomicFileWriter(File file, String characterSet) throws IOException {
+        this.encoder = Charset.forName(characterSet).newEncoder().
+                onMalformedInput(CodingErrorAction.REPLACE).
+                onUnmappableCharacter(CodingErrorAction.REPLACE);
+        Path path = file.getAbsoluteFile().toPath();
+        boolean exists = Files.exists(path);
+        // Replace the file a link points to, not the link.
+        this.target = exists ? path.toRealPath() : path;
+        String prefix = "." + target.getFileName();
+        if (exists) {
+            // Readable only by owner till it gets the permissions of file.
+            this.temp = File.createTempFile(prefix, ".tmp",
+                    target.getParent().toFile());
+        } else {
+            this.temp = createTempFile(prefix);
+        }
+        this.channel = new RandomAccessFile(temp, "rw").getChannel();
+    }
+
+    /**
+     * Creates a temporary file with default permissions in the directory of
+     * file to write.
+     * @param prefix The prefix of temporary file name.
+     * @return The temporary file.
+     * @throws java.io.IOException If the temporary file can not be created.
+     */
+    private File createTempFile(String prefix) throws IOException {
+        while (true) {
+            Path path = target.resolveSibling(prefix + Long.toString(
+                    ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE) +
+                    ".tmp");
+            try {
+                return Files.createFile(path).toFile();
+            } catch (FileAlreadyExistsException ex) {
+                // Try another name.
+            }
+        }
+    }
+
+    /**
+     * Encodes characters and writes them to the temporary file. A high
+     * surrogate at the end of the characters is kept till the next write.
+     * @param text The array of characters.
+     * @param offset The offset of first character.
+     * @param count The number of characters.
+     * @throws java.io.IOException If the characters can not be written.
+     */
+    void write(char[] text, int offset, int count) throws IOException {
+        while (carry.position() > 0 && count > 0) {
+            carry.put(text[offset++]);
+            count--;
+            carry.flip();
+            encode(carry, false);
+            carry.compact();
+        }
+        CharBuffer chars = CharBuffer.wrap(text, offset, count);
+        encode(chars, false);
+        if (chars.hasRemaining()) {
+            carry.put(chars.get());
+        }
+    }
+
+    /**
+     * Finishes writing and replaces the file by the temporary file. The
+     * temporary file gets the permissions of file.
+     * @throws java.io.IOException If the file can not be replaced.
+     */
+    void commit() throws IOException {
+        try {
+            carry.flip();
+            encode(carry, true);
+            CoderResult result;
+            do {
+                result = encoder.flush(buffer);
+                writeBuffer();
+            } while (result.isOverflow());
+            channel.force(true);
+            channel.close();
+            copyPermissions();
+            try {
+                Files.move(temp.toPath(), target,
+                        StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp.toPath(), target,
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException ex) {
+            abort();
+            throw ex;
+        }
+    }
+
+    /**
+     * Stops writing and deletes the temporary file. The file is not changed.
+     */
+    void abort() {
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            // Nothing to do, the temporary file is deleted anyway.
+        }
+        temp.delete();
+    }
+
+    /**
+     * Encodes characters into the buffer and writes the buffer whenever
+     * it is full. Characters which can be encoded only with the characters
+     * following them are left in the character buffer.
+     * @param chars The characters.
+     * @param endOfInput Whether or not there are more characters to write.
+     * @throws java.io.IOException If the characters can not be written.
+     */
+    private void encode(CharBuffer chars, boolean endOfInput) throws
+            IOException {
+        CoderResult result;
+        do {
+            result = encoder.encode(chars, buffer, endOfInput);
+            if (result.isOverflow()) {
+                writeBuffer();
+            }
+        } while (result.isOverflow());
+    }
+
+    /**
+     * Writes the encoded text of buffer to the temporary file.
+     * @throws java.io.IOException If the text can not be written.
+     */
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Gives the temporary file the permissions of file, if the file exists
+     * and its file system supports POSIX permissions.
+     */
+    private void copyPermissions() {
+        if (!Files.exists(target)) {
+            return;
+        }
+        try {
+            Files.setPosixFilePermissions(temp.toPath(),
+                    Files.getPosixFilePermissions(target));
+        } catch (UnsupportedOperationException ex) {
+            // Permissions are not supported by the file system.
+        } catch (IOException ex) {
+            // The file gets default permissions.
+        }
+    }
+}
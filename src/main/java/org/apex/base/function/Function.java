@@ -24,9 +24,11 @@ import org.apex.base.core.EditorBase;
 import org.apex.base.data.EditorContext;
 import org.apex.base.data.InputParams;
 import org.apex.base.data.OutputParams;
+import java.util.concurrent.Future;
 
 /**
- * An abstract class represents a function. Generally the task is executed in a separate thread.
+ * An abstract class represents a function. Generally the task is executed in a separate thread
+ * taken from the pool of {@link FunctionExecutor}.
  * <p>
  * After initializing required data it executes the original task and then performs post
  * processing stuff.
@@ -43,7 +45,7 @@ public abstract class Function {
     }
 
     /**
-     * Processes the function in a new thread.
+     * Processes the function in a worker thread of {@link FunctionExecutor}.
      * <p>
      * It calls following methods sequentially:
      * <ul>
@@ -54,17 +56,45 @@ public abstract class Function {
      * </ul>
      * @param in Input parameters. 
      * @param out Output parameters.
+     * @return A handle to wait for or cancel the function. Cancelling a running
+     *         function interrupts its thread.
      */
-    public final void process(final InputParams in, final OutputParams out) {
-        new Thread() {
+    public final Future<?> process(final InputParams in, final OutputParams out) {
+        Runnable task = new Runnable() {
 
-            @Override
             public void run() {
                 init(in, out);
                 doExecute(in, out);
-                postExecute(in, out);                
+                postExecute(in, out);
             }
-        }.start();
+        };
+        FunctionExecutor executor = FunctionExecutor.getSharedInstance();
+        if (isFileWrite()) {
+            return executor.submitWrite(getName(), task);
+        }
+        if (isLongRunning()) {
+            return executor.submitLongRunning(getName(), task);
+        }
+        return executor.submit(getName(), task);
+    }
+
+    /**
+     * Returns whether or not this function may run for an unknown time, like
+     * waiting for an external process to end. Such a function does not take
+     * one of the limited function workers.
+     * @return {@code true} if this function may run for long; otherwise returns {@code false}.
+     */
+    protected boolean isLongRunning() {
+        return false;
+    }
+
+    /**
+     * Returns whether or not this function writes files. Such a function is
+     * always let finish when editor shuts down.
+     * @return {@code true} if this function writes files; otherwise returns {@code false}.
+     */
+    protected boolean isFileWrite() {
+        return false;
     }
 
     /**
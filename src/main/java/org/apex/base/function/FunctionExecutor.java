@@ -0,0 +1,389 @@
+/*
+ * FunctionExecutor.java
+ *
+ * Copyright (C) 2010 Mrityunjoy Saha
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.apex.base.function;
+
+import org.apex.base.constant.EditorKeyConstants;
+import org.apex.base.logging.Logger;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs functions on a pool of worker threads shared by all functions. At
+ * most {@link EditorKeyConstants#FUNCTION_THREADS} functions run at the same
+ * time, others wait in a queue. Workers are started on demand and stop when
+ * there is nothing to run for a while.
+ * <p>
+ * Functions writing files are submitted by {@link #submitWrite(String, Runnable)}.
+ * At shut down they are always let finish, so that no edit being saved is
+ * lost. Other functions are given a short time to finish.
+ * <p>
+ * Functions waiting for external processes and readers of process streams
+ * block till the process ends, so they are run on a separate pool which is
+ * not bounded and never delay other functions. Its threads are reused as
+ * well. Background tasks run on a third pool of low priority workers.
+ * @author Mrityunjoy Saha
+ * @version 1.0
+ * @since Apex 1.2
+ */
+public class FunctionExecutor {
+
+    /**
+     * Time in seconds an idle worker waits for new work before it stops.
+     */
+    private static final long WORKER_KEEP_ALIVE = 30;
+    /**
+     * Time in milliseconds functions are given to finish at shut down.
+     */
+    private static final long SHUTDOWN_TIMEOUT = 2000;
+    /**
+     * Time in milliseconds file writes are given to finish at shut down.
+     */
+    private static final long WRITE_SHUTDOWN_TIMEOUT = 60000;
+    /**
+     * The shared instance.
+     */
+    private static FunctionExecutor sharedInstance;
+    /**
+     * Pool running functions.
+     */
+    private final ThreadPoolExecutor functions;
+    /**
+     * Pool running functions waiting for processes and readers of process
+     * streams.
+     */
+    private final ThreadPoolExecutor longRunningTasks;
+    /**
+     * Pool running background tasks.
+     */
+    private final ThreadPoolExecutor backgroundTasks;
+    /**
+     * Number of file writes submitted and not finished yet.
+     */
+    private int pendingWrites;
+
+    /**
+     * Constructs a new instance of {@code FunctionExecutor}.
+     */
+    private FunctionExecutor() {
+        this.functions = new ThreadPoolExecutor(
+                EditorKeyConstants.FUNCTION_THREADS,
+                EditorKeyConstants.FUNCTION_THREADS, WORKER_KEEP_ALIVE,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                new WorkerFactory("Function"));
+        this.functions.allowCoreThreadTimeOut(true);
+        this.longRunningTasks = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+                WORKER_KEEP_ALIVE, TimeUnit.SECONDS,
+                new SynchronousQueue<Runnable>(),
+                new WorkerFactory("Long Running"));
+        int processors = Runtime.getRuntime().availableProcessors();
+        this.backgroundTasks = new ThreadPoolExecutor(processors, processors,
+                WORKER_KEEP_ALIVE, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                new WorkerFactory("Background", Thread.MIN_PRIORITY));
+        this.backgroundTasks.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Returns the shared instance of {@code FunctionExecutor}.
+     * @return The shared instance.
+     */
+    public static synchronized FunctionExecutor getSharedInstance() {
+        if (sharedInstance == null) {
+            sharedInstance = new FunctionExecutor();
+        }
+        return sharedInstance;
+    }
+
+    /**
+     * Submits a task to be run by a function worker.
+     * @param task The task.
+     * @return A handle to wait for or cancel the task.
+     * @throws java.util.concurrent.RejectedExecutionException If this
+     *         executor has been shut down.
+     */
+    public Future<?> submit(Runnable task) {
+        return submit("Function", task);
+    }
+
+    /**
+     * Submits a named task to be run by a function worker. The name is
+     * logged if the task is discarded at shut down.
+     * @param name Name of the task.
+     * @param task The task.
+     * @return A handle to wait for or cancel the task.
+     * @throws java.util.concurrent.RejectedExecutionException If this
+     *         executor has been shut down.
+     */
+    public Future<?> submit(String name, Runnable task) {
+        NamedTask future = new NamedTask(name, task);
+        functions.execute(future);
+        return future;
+    }
+
+    /**
+     * Submits a task writing files. Shut down waits till all such tasks
+     * are finished.
+     * @param name Name of the task.
+     * @param task The task.
+     * @return A handle to wait for or cancel the task.
+     * @throws java.util.concurrent.RejectedExecutionException If this
+     *         executor has been shut down.
+     */
+    public Future<?> submitWrite(String name, final Runnable task) {
+        synchronized (this) {
+            pendingWrites++;
+        }
+        try {
+            return submit(name, new Runnable() {
+
+                public void run() {
+                    try {
+                        task.run();
+                    } finally {
+                        writeFinished();
+                    }
+                }
+            });
+        } catch (RuntimeException ex) {
+            writeFinished();
+            throw ex;
+        }
+    }
+
+    /**
+     * Submits a named task which may run for an unknown time, like waiting
+     * for an external process. It is started at once by a worker which is
+     * not counted in the bound of function workers. It is interrupted at
+     * shut down.
+     * @param name Name of the task.
+     * @param task The task.
+     * @return A handle to wait for or cancel the task.
+     * @throws java.util.concurrent.RejectedExecutionException If this
+     *         executor has been shut down.
+     */
+    public Future<?> submitLongRunning(String name, Runnable task) {
+        NamedTask future = new NamedTask(name, task);
+        longRunningTasks.execute(future);
+        return future;
+    }
+
+    /**
+     * Counts a finished file write and wakes up shut down waiting for it.
+     */
+    private synchronized void writeFinished() {
+        pendingWrites--;
+        notifyAll();
+    }
+
+    /**
+     * Submits a reader of a process stream. It is started at once.
+     * @param reader The stream reader.
+     * @return A handle to wait for or cancel the reader.
+     * @throws java.util.concurrent.RejectedExecutionException If this
+     *         executor has been shut down.
+     */
+    Future<?> submitStreamReader(Runnable reader) {
+        return longRunningTasks.submit(reader);
+    }
+
+    /**
+     * Submits a background task, like counting the words of a document. It
+     * is run by a low priority worker of a separate pool, so it does not
+     * delay functions. Background tasks are discarded at shut down.
+     * @param task The task.
+     * @return A handle to wait for or cancel the task.
+     * @throws java.util.concurrent.RejectedExecutionException If this
+     *         executor has been shut down.
+     */
+    public Future<?> submitBackground(Runnable task) {
+        return backgroundTasks.submit(task);
+    }
+
+    /**
+     * Returns the number of functions waiting to be run.
+     * @return The number of waiting functions.
+     */
+    public int getQueuedCount() {
+        return functions.getQueue().size();
+    }
+
+    /**
+     * Returns the approximate number of functions being run.
+     * @return The number of running functions.
+     */
+    public int getActiveCount() {
+        return functions.getActiveCount();
+    }
+
+    /**
+     * Returns the approximate number of functions run so far.
+     * @return The number of completed functions.
+     */
+    public long getCompletedCount() {
+        return functions.getCompletedTaskCount();
+    }
+
+    /**
+     * Shuts down this executor. It first waits till all file writes are
+     * finished, including writes submitted meanwhile, but not longer than
+     * a minute. Then no more functions are accepted. Running and waiting functions are
+     * given a short time to finish, then the remaining functions are
+     * discarded and running ones are interrupted. Each discarded function
+     * is logged.
+     */
+    public void shutdown() {
+        backgroundTasks.shutdownNow();
+        try {
+            waitForWrites();
+            functions.shutdown();
+            longRunningTasks.shutdown();
+            if (!functions.awaitTermination(SHUTDOWN_TIMEOUT,
+                    TimeUnit.MILLISECONDS)) {
+                Logger.logInfo("Functions still running at shut down: " +
+                        getActiveCount(), getClass().getName(), "shutdown");
+                logDiscarded(functions.shutdownNow());
+            }
+        } catch (InterruptedException ex) {
+            Logger.logWarning("Interrupted while shutting down functions.", ex);
+            longRunningTasks.shutdown();
+            logDiscarded(functions.shutdownNow());
+        }
+        if (longRunningTasks.getActiveCount() > 0) {
+            Logger.logInfo("Long running functions interrupted at shut down: "
+                    + longRunningTasks.getActiveCount(), getClass().getName(),
+                    "shutdown");
+        }
+        longRunningTasks.shutdownNow();
+        Logger.logInfo("Function executor shut down. Functions run: " +
+                getCompletedCount(), getClass().getName(), "shutdown");
+    }
+
+    /**
+     * Waits till all file writes are finished or the write time out elapses.
+     * @throws java.lang.InterruptedException If interrupted while waiting.
+     */
+    private synchronized void waitForWrites() throws InterruptedException {
+        if (pendingWrites > 0) {
+            Logger.logInfo("Waiting for " + pendingWrites +
+                    " file writes to finish.", getClass().getName(),
+                    "waitForWrites");
+        }
+        long deadline = System.currentTimeMillis() + WRITE_SHUTDOWN_TIMEOUT;
+        while (pendingWrites > 0) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                Logger.logInfo("File writes not finished at shut down: " +
+                        pendingWrites, getClass().getName(), "waitForWrites");
+                return;
+            }
+            wait(remaining);
+        }
+    }
+
+    /**
+     * Logs the functions discarded at shut down.
+     * @param discarded The discarded functions.
+     */
+    private void logDiscarded(List<Runnable> discarded) {
+        for (Runnable task : discarded) {
+            Logger.logInfo("Function discarded at shut down: " + task,
+                    getClass().getName(), "shutdown");
+        }
+    }
+
+    /**
+     * A task with a name, which is shown when the task is logged.
+     */
+    private static class NamedTask extends FutureTask<Object> {
+
+        /**
+         * Name of the task.
+         */
+        private final String name;
+
+        /**
+         * Creates a new instance of {@code NamedTask}.
+         * @param name Name of the task.
+         * @param task The task.
+         */
+        NamedTask(String name, Runnable task) {
+            super(task, null);
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * Creates named daemon worker threads.
+     */
+    private static class WorkerFactory implements ThreadFactory {
+
+        /**
+         * Name of workers.
+         */
+        private final String name;
+        /**
+         * Number of workers created.
+         */
+        private final AtomicInteger count = new AtomicInteger();
+        /**
+         * Priority of workers.
+         */
+        private final int priority;
+
+        /**
+         * Creates a new instance of {@code WorkerFactory}.
+         * @param name Name of workers.
+         */
+        WorkerFactory(String name) {
+            this(name, Thread.NORM_PRIORITY);
+        }
+
+        /**
+         * Creates a new instance of {@code WorkerFactory} creating workers
+         * with a given priority.
+         * @param name Name of workers.
+         * @param priority Priority of workers.
+         */
+        WorkerFactory(String name, int priority) {
+            this.name = name;
+            this.priority = priority;
+        }
+
+        public Thread newThread(Runnable task) {
+            Thread worker = new Thread(task, name + " Worker " + count.
+                    incrementAndGet());
+            worker.setDaemon(true);
+            worker.setPriority(priority);
+            return worker;
+        }
+    }
+}
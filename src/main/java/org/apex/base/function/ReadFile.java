@@ -20,29 +20,45 @@
  */
 package org.apex.base.function;
 
+import org.apex.base.component.TaskProgressIndicator;
 import org.apex.base.constant.EditorKeyConstants;
 import org.apex.base.data.AbstractDocument;
+import org.apex.base.data.HighlightedDocument;
 import org.apex.base.data.InputParams;
 import org.apex.base.data.OutputParams;
 import org.apex.base.logging.Logger;
 import org.apex.base.util.FileUtil;
-import java.io.BufferedInputStream;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.CoderResult;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import javax.swing.SwingUtilities;
 import javax.swing.text.BadLocationException;
-import javax.swing.text.DefaultStyledDocument;
-import javax.swing.text.SimpleAttributeSet;
+import javax.swing.text.DefaultStyledDocument.ElementSpec;
 
 /**
  * Reads a file from file system with a specified character set. If character
  * set is not specified, 'UTF-8' is used as default encoding.
  * <p>
- * After reading the file, content is inserted to given document's underlying data model.
+ * The file is decoded and the element structure of its content is created
+ * in the thread of this function. Only the prepared content is inserted to given
+ * document's underlying data model in event dispatch thread. Reading a file
+ * can be cancelled by {@link #cancel(AbstractDocument)} till its content is
+ * inserted.
  * @author Mrityunjoy Saha
- * @version 1.0
+ * @version 1.1
  * @since Apex 1.0
  */
 public class ReadFile extends Function {
@@ -50,11 +66,17 @@ public class ReadFile extends Function {
     /**
      * The length of intermediary data storage.
      */
-    private final int bufferSize = 2048;
+    private final int bufferSize = 64 * 1024;
     /**
-     * The intermediary data storage.
+     * Files being read and the functions reading them.
      */
-    private byte[] inputData = new byte[bufferSize];
+    private static final Map<AbstractDocument, ReadFile> readingFiles =
+            Collections.synchronizedMap(
+            new IdentityHashMap<AbstractDocument, ReadFile>());
+    /**
+     * A boolean that indicates whether or not reading is cancelled.
+     */
+    private volatile boolean cancelled = false;
 
     /**
      * Creates a new instance of ReadFile.
@@ -62,6 +84,33 @@ public class ReadFile extends Function {
     public ReadFile() {
     }
 
+    /**
+     * Cancels reading of a given file if it is being read.
+     * @param file The file.
+     */
+    public static void cancel(AbstractDocument file) {
+        ReadFile reader = readingFiles.get(file);
+        if (reader != null) {
+            reader.cancel();
+        }
+    }
+
+    /**
+     * Cancels reading. Content of the document is not changed if reading
+     * is cancelled before the content is inserted.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * Returns whether or not reading is cancelled.
+     * @return {@code true} if reading is cancelled; otherwise returns {@code false}.
+     */
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
     /**
      * Reads a file from file system with a specified character set. If character
      * set is not specified, 'UTF-8' is used as default encoding.
@@ -72,32 +121,55 @@ public class ReadFile extends Function {
         final AbstractDocument file = (AbstractDocument) in.get("OPENING_FILE");
         final String characterSet = in.get("CHARACTER_SET") == null ? EditorKeyConstants.DEFAULT_CHARACTER_ENCODING
                 : (String) in.get("CHARACTER_SET");
-        final DefaultStyledDocument doc = file.getDocument();
-        final SimpleAttributeSet simpleAttr = new SimpleAttributeSet();
-        final StringBuilder data = new StringBuilder("");
-        BufferedInputStream openFileBuffStream = null;
+        Charset charset;
+        try {
+            charset = Charset.forName(characterSet);
+        } catch (UnsupportedCharsetException ex) {
+            Logger.logError("Unsupported encoding '" + characterSet +
+                    "' while loading document. Document: " +
+                    file.getAbsolutePath(), ex);
+            return;
+        } catch (IllegalCharsetNameException ex) {
+            Logger.logError("Unsupported encoding '" + characterSet +
+                    "' while loading document. Document: " +
+                    file.getAbsolutePath(), ex);
+            return;
+        }
         FileInputStream openFileStream = null;
+        readingFiles.put(file, this);
         try {
             Logger.logInfo("Loading file '" + file.getAbsolutePath() +
                     "' from disk. Encoding used: " + characterSet, getClass().
                     getName(), "doExecute");
+            CharsetDecoder decoder = charset.newDecoder().
+                    onMalformedInput(CodingErrorAction.REPLACE).
+                    onUnmappableCharacter(CodingErrorAction.REPLACE);
             openFileStream = new FileInputStream(file);
-            openFileBuffStream = new BufferedInputStream(openFileStream,
-                    bufferSize);
-            int count = 0;
-            while ((count = openFileBuffStream.read(inputData, 0, bufferSize)) !=
-                    -1) {
-                data.append(new String(inputData, 0, count,
-                        characterSet));
+            CharBuffer data = decode(openFileStream.getChannel(), decoder,
+                    file);
+            if (isCancelled()) {
+                Logger.logInfo("Loading file '" + file.getAbsolutePath() +
+                        "' is cancelled.", getClass().getName(), "doExecute");
+                return;
+            }
+            final HighlightedDocument doc = file.getDocument();
+            final char[] text = data.array();
+            final int length = data.position();
+            final ElementSpec[] specs = doc.createElementSpecs(text, length);
+            int lineStart = length;
+            while (lineStart > 0 && text[lineStart - 1] != '\n') {
+                lineStart--;
             }
+            final String tail = new String(text, lineStart, length - lineStart);
             SwingUtilities.invokeAndWait(new Runnable() {
 
                 public void run() {
+                    if (isCancelled()) {
+                        return;
+                    }
                     try {
-                        // Clear the document
-                        doc.remove(0, doc.getLength());
-                        doc.insertString(doc.getLength(), data.toString(),
-                                simpleAttr);
+                        // Replace the content of document
+                        doc.load(specs, tail);
                         // Remove all undoable edits happened during opening a file from disk
                         file.getUndoManager().discardAllEdits();
                         // Mark the file as saved
@@ -112,7 +184,6 @@ public class ReadFile extends Function {
                     }
                 }
             });
-        //file.getEditor().scrollRectToVisible(file.getEditor().modelToView(0));            
         } catch (FileNotFoundException ex) {
             Logger.logError("Error while loading document text to editor. Document: " +
                     file.getAbsolutePath(), ex);
@@ -126,10 +197,102 @@ public class ReadFile extends Function {
             Logger.logError("Error while loading document text to editor. Document: " +
                     file.getAbsolutePath(), ite);
         } finally {
-            data.delete(0, data.length());
-            FileUtil.closeIOStream(openFileBuffStream);
+            readingFiles.remove(file);
             FileUtil.closeIOStream(openFileStream);
+            showProgress(file, -1);
+        }
+    }
+
+    /**
+     * Decodes the content of a file. Characters split across two reads are
+     * decoded correctly, as the decoder keeps incomplete input till the rest
+     * of it is read.
+     * @param channel The channel to read the file.
+     * @param decoder The decoder for character set of the file.
+     * @param file The file being read.
+     * @return The decoded characters from start of the buffer to its position.
+     *         The characters are incomplete if reading is cancelled.
+     * @throws java.io.IOException If the file can not be read.
+     */
+    private CharBuffer decode(FileChannel channel, CharsetDecoder decoder,
+            AbstractDocument file) throws IOException {
+        long size = channel.size();
+        long read = 0;
+        int progress = 0;
+        ByteBuffer bytes = ByteBuffer.allocate(bufferSize);
+        CharBuffer chars = CharBuffer.allocate((int) Math.min(
+                size * decoder.averageCharsPerByte() + 16,
+                Integer.MAX_VALUE - 16));
+        showProgress(file, progress);
+        boolean endOfInput = false;
+        while (!endOfInput && !isCancelled()) {
+            int count = channel.read(bytes);
+            if (count == -1) {
+                endOfInput = true;
+            } else {
+                read += count;
+            }
+            bytes.flip();
+            CoderResult result = decoder.decode(bytes, chars, endOfInput);
+            while (result.isOverflow()) {
+                chars = grow(chars);
+                result = decoder.decode(bytes, chars, endOfInput);
+            }
+            bytes.compact();
+            if (size > 0 && read * 100 / size > progress) {
+                progress = (int) (read * 100 / size);
+                showProgress(file, progress);
+            }
+        }
+        if (isCancelled()) {
+            // The decoder can not be flushed before the end of input.
+            return chars;
+        }
+        while (decoder.flush(chars).isOverflow()) {
+            chars = grow(chars);
+        }
+        return chars;
+    }
+
+    /**
+     * Returns a larger buffer with the characters of a given buffer.
+     * @param chars The buffer.
+     * @return The larger buffer.
+     */
+    private static CharBuffer grow(CharBuffer chars) {
+        CharBuffer larger = CharBuffer.allocate(Math.max(chars.capacity() * 2,
+                1024));
+        chars.flip();
+        larger.put(chars);
+        return larger;
+    }
+
+    /**
+     * Shows the progress of reading in task progress indicator.
+     * @param file The file being read.
+     * @param progress Progress in percent or -1 if reading is over.
+     */
+    protected void showProgress(final AbstractDocument file, final int progress) {
+        final TaskProgressIndicator indicator = getContext().
+                getEditorComponents().getTaskProgressIndicator();
+        if (indicator == null) {
+            return;
         }
+        SwingUtilities.invokeLater(new Runnable() {
+
+            public void run() {
+                if (progress < 0) {
+                    indicator.setProgress(-1);
+                    indicator.stop();
+                    return;
+                }
+                if (progress == 0) {
+                    indicator.setText("Loading " + file.getName());
+                    indicator.start();
+                }
+                indicator.setProgress(progress);
+            }
+        });
     }
 
     protected void postExecute(InputParams in, OutputParams out) {
@@ -0,0 +1,106 @@
+/*
+ * ReadMappedFile.java
+ *
+ * Copyright (C) 2010 Mrityunjoy Saha
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.apex.base.function;
+
+import org.apex.base.data.AbstractDocument;
+import org.apex.base.data.InputParams;
+import org.apex.base.data.MappedFileDocument;
+import org.apex.base.data.OutputParams;
+import org.apex.base.logging.Logger;
+import org.apex.base.util.FileUtil;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import javax.swing.SwingUtilities;
+
+/**
+ * Reads a large file into a {@link MappedFileDocument}. The file is indexed
+ * a segment at a time and each indexed segment is added to the document, so
+ * the beginning of file is displayed before the whole file is read.
+ * <p>
+ * Reading stops when the document is disposed.
+ * @author Mrityunjoy Saha
+ * @version 1.0
+ * @since Apex 1.2
+ */
+public class ReadMappedFile extends ReadFile {
+
+    /**
+     * Creates a new instance of ReadMappedFile.
+     */
+    public ReadMappedFile() {
+    }
+
+    /**
+     * Indexes the file and adds its text to the document.
+     * @param in Input parameters.
+     * @param out Output parameters.
+     */
+    @Override
+    protected void doExecute(InputParams in, OutputParams out) {
+        final AbstractDocument file = (AbstractDocument) in.get("OPENING_FILE");
+        final MappedFileDocument doc = (MappedFileDocument) file.getDocument();
+        Logger.logInfo("Loading large file '" + file.getAbsolutePath() +
+                "' from disk.", getClass().getName(), "doExecute");
+        try {
+            SwingUtilities.invokeAndWait(new Runnable() {
+
+                public void run() {
+                    // Remove the text of file if it is read before
+                    doc.reload();
+                }
+            });
+            showProgress(file, 0);
+            boolean more = true;
+            while (more) {
+                more = doc.indexNext();
+                showProgress(file, doc.getIndexProgress());
+                SwingUtilities.invokeLater(new Runnable() {
+
+                    public void run() {
+                        if (file.getEditor() == null) {
+                            // The document is closed
+                            return;
+                        }
+                        doc.publish();
+                        // Adding text is not a change made by user
+                        FileUtil.markAsSaved(getContext(), file);
+                        file.setLastSaved(file.lastModified());
+                    }
+                });
+            }
+        } catch (IOException ex) {
+            Logger.logError("Error while loading large document to editor. Document: " +
+                    file.getAbsolutePath(), ex);
+        } catch (InterruptedException ie) {
+            Logger.logError("Error while loading large document to editor. Document: " +
+                    file.getAbsolutePath(), ie);
+        } catch (InvocationTargetException ite) {
+            Logger.logError("Error while loading large document to editor. Document: " +
+                    file.getAbsolutePath(), ite);
+        } finally {
+            showProgress(file, -1);
+        }
+    }
+
+    @Override
+    protected String getName() {
+        return "Read Mapped File";
+    }
+}
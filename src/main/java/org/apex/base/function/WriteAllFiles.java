@@ -0,0 +1,272 @@
+/*
+ * WriteAllFiles.java
+ *
+ * Copyright (C) 2010 Mrityunjoy Saha
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.apex.base.function;
+
+import org.apex.base.component.TaskProgressIndicator;
+import org.apex.base.constant.EditorKeyConstants;
+import org.apex.base.constant.MenuConstants;
+import org.apex.base.core.ActionManager;
+import org.apex.base.data.AbstractDocument;
+import org.apex.base.data.InputParams;
+import org.apex.base.data.OutputParams;
+import org.apex.base.logging.Logger;
+import org.apex.base.util.FileUtil;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.SwingUtilities;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Segment;
+
+/**
+ * Writes a number of files to file system at the same time. The text of
+ * each file is taken as a snapshot in event dispatch thread by
+ * {@link #snapshot(AbstractDocument)}, so the documents can be edited while
+ * the files are written. Each file is written by a worker of
+ * {@link FunctionExecutor}.
+ * <p>
+ * The progress of writing is shown in task progress indicator and the result
+ * is shown in status bar. A file is marked as saved once it is written, unless
+ * it was edited after its snapshot was taken. Files which can not be written
+ * are marked as unsaved.
+ * @author Mrityunjoy Saha
+ * @version 1.0
+ * @since Apex 1.2
+ */
+public class WriteAllFiles extends Function {
+
+    /**
+     * Creates a new instance of WriteAllFiles.
+     */
+    public WriteAllFiles() {
+    }
+
+    /**
+     * Returns a copy of the text of a document. It should be called in
+     * event dispatch thread.
+     * @param file The document.
+     * @return The text of document.
+     * @throws javax.swing.text.BadLocationException If the text can not be read.
+     */
+    public static char[] snapshot(AbstractDocument file) throws
+            BadLocationException {
+        Document doc = file.getDocument();
+        char[] text = new char[doc.getLength()];
+        Segment segment = new Segment();
+        segment.setPartialReturn(true);
+        int offs = 0;
+        while (offs < text.length) {
+            doc.getText(offs, text.length - offs, segment);
+            System.arraycopy(segment.array, segment.offset, text, offs,
+                    segment.count);
+            offs += segment.count;
+        }
+        return text;
+    }
+
+    /**
+     * Writes the files with a specified character set. If character set is
+     * not specified, 'UTF-8' is used as default encoding.
+     * <p>
+     * Files are given as a map of documents and their text snapshots, with
+     * a map of documents and their modification counts when the snapshots
+     * were taken. Documents which could not be saved before may be given as
+     * a list of failed files, so that they are reported with the files
+     * failed here.
+     * @param in Input parameters.
+     * @param out Output parameters.
+     */
+    @SuppressWarnings("unchecked")
+    protected void doExecute(InputParams in, OutputParams out) {
+        final Map<AbstractDocument, char[]> files =
+                (Map<AbstractDocument, char[]>) in.get("SAVING_FILES");
+        final Map<AbstractDocument, Integer> modifications =
+                (Map<AbstractDocument, Integer>) in.get("SAVING_MODIFICATIONS");
+        final String characterSet = in.get("CHARACTER_SET") == null ? EditorKeyConstants.DEFAULT_CHARACTER_ENCODING
+                : (String) in.get("CHARACTER_SET");
+        final List<AbstractDocument> failedFiles =
+                Collections.synchronizedList(new ArrayList<AbstractDocument>());
+        if (in.get("FAILED_FILES") != null) {
+            failedFiles.addAll((List<AbstractDocument>) in.get("FAILED_FILES"));
+        }
+        final int total = files.size();
+        final AtomicInteger written = new AtomicInteger();
+        final List<AbstractDocument> savedFiles =
+                Collections.synchronizedList(new ArrayList<AbstractDocument>());
+        if (total == 0) {
+            showResult(savedFiles, modifications, failedFiles);
+            return;
+        }
+        showProgress(total, 0);
+        for (final Map.Entry<AbstractDocument, char[]> entry : files.entrySet()) {
+            FunctionExecutor.getSharedInstance().submitWrite(getName() +
+                    ": " + entry.getKey().getAbsolutePath(), new Runnable() {
+
+                        public void run() {
+                            AbstractDocument file = entry.getKey();
+                            if (write(file, entry.getValue(), characterSet)) {
+                                savedFiles.add(file);
+                            } else {
+                                failedFiles.add(file);
+                            }
+                            int count = written.incrementAndGet();
+                            showProgress(total, count);
+                            if (count == total) {
+                                showResult(savedFiles, modifications,
+                                        failedFiles);
+                            }
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Writes a file.
+     * @param file The file.
+     * @param text The text of file.
+     * @param characterSet The character set of file.
+     * @return {@code true} if the file is written; otherwise returns {@code false}.
+     */
+    private boolean write(AbstractDocument file, char[] text,
+            String characterSet) {
+        AtomicFileWriter writer = null;
+        try {
+            Logger.logInfo("Writing file '" + file.getAbsolutePath() +
+                    "' to disk. Encoding used: " + characterSet, getClass().
+                    getName(), "write");
+            writer = new AtomicFileWriter(file, characterSet);
+            writer.write(text, 0, text.length);
+            writer.commit();
+            writer = null;
+            // Update the last modification time - as by default it will be current timestamp.
+            file.setLastSaved(file.lastModified());
+            return true;
+        } catch (IllegalArgumentException ex) {
+            Logger.logError("Unsupported encoding '" + characterSet +
+                    "' while writing document. Document: " +
+                    file.getAbsolutePath(), ex);
+        } catch (IOException io) {
+            Logger.logError("Error while writing document text to file system. Document: " +
+                    file.getAbsolutePath(), io);
+        } finally {
+            if (writer != null) {
+                writer.abort();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Shows the progress of writing in task progress indicator.
+     * @param total The number of files to write.
+     * @param written The number of files written so far.
+     */
+    private void showProgress(final int total, final int written) {
+        final TaskProgressIndicator indicator = getContext().
+                getEditorComponents().getTaskProgressIndicator();
+        if (indicator == null) {
+            return;
+        }
+        SwingUtilities.invokeLater(new Runnable() {
+
+            public void run() {
+                if (written == 0) {
+                    indicator.setText("Saving " + total + " files");
+                    indicator.start();
+                }
+                indicator.setProgress(total == 0 ? 100 : written * 100 / total);
+            }
+        });
+    }
+
+    /**
+     * Stops the task progress indicator, marks the written files as saved
+     * and the failed files as unsaved, and shows the result of writing in
+     * status bar. A written file edited after its snapshot was taken stays
+     * unsaved.
+     * @param savedFiles The files written.
+     * @param modifications Modification counts of files when their
+     *        snapshots were taken.
+     * @param failedFiles The files which could not be saved.
+     */
+    private void showResult(List<AbstractDocument> savedFiles,
+            final Map<AbstractDocument, Integer> modifications,
+            List<AbstractDocument> failedFiles) {
+        final List<AbstractDocument> saved =
+                new ArrayList<AbstractDocument>(savedFiles);
+        final List<AbstractDocument> failed =
+                new ArrayList<AbstractDocument>(failedFiles);
+        SwingUtilities.invokeLater(new Runnable() {
+
+            public void run() {
+                TaskProgressIndicator indicator = getContext().
+                        getEditorComponents().getTaskProgressIndicator();
+                if (indicator != null) {
+                    indicator.setProgress(-1);
+                    indicator.stop();
+                }
+                for (AbstractDocument file : saved) {
+                    Integer modificationCount = modifications == null ? null
+                            : modifications.get(file);
+                    if (modificationCount != null && modificationCount.
+                            intValue() == file.getModificationCount()) {
+                        FileUtil.markAsSaved(getContext(), file);
+                    }
+                }
+                // Marking a file as saved disables 'Save' menu, which is
+                // for the current file.
+                AbstractDocument current = getContext().getEditorProperties().
+                        getCurrentDocument();
+                ActionManager.setActionEnabled(MenuConstants.SAVE_FILE,
+                        current != null && !current.isSaved());
+                StringBuilder message = new StringBuilder();
+                message.append("Saved ").append(saved.size()).append(" files.");
+                if (!failed.isEmpty()) {
+                    message.append(" Failed to save:");
+                    for (AbstractDocument file : failed) {
+                        FileUtil.markAsUnsaved(getContext(), file);
+                        message.append(' ').append(file.getName());
+                    }
+                }
+                getContext().getEditorComponents().getStatusBar().
+                        setGeneralInfo(message.toString());
+            }
+        });
+    }
+
+    protected void postExecute(InputParams in, OutputParams out) {
+    }
+
+    @Override
+    protected boolean isFileWrite() {
+        return true;
+    }
+
+    public String getName() {
+        return "Write All Files";
+    }
+
+    protected void init(InputParams in, OutputParams out) {
+    }
+}
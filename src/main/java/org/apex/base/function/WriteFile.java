@@ -25,21 +25,21 @@ import org.apex.base.data.AbstractDocument;
 import org.apex.base.data.InputParams;
 import org.apex.base.data.OutputParams;
 import org.apex.base.logging.Logger;
-import java.io.BufferedOutputStream;
-import java.io.FileOutputStream;
+import java.io.File;
 import java.io.IOException;
 import javax.swing.text.BadLocationException;
-import javax.swing.text.DefaultStyledDocument;
+import javax.swing.text.Document;
 import javax.swing.text.Segment;
-import org.apex.base.util.FileUtil;
 
 /**
  * Writes a file to file system with a specified character set. If character
  * set is not specified, 'UTF-8' is used as default encoding.
  * <p>
  * The content to be written is fetched from given document's underlying data model.
+ * It is encoded to a temporary file which replaces the file after it is
+ * completely written, so the file is not left partly written if saving fails.
  * @author Mrityunjoy Saha
- * @version 1.0
+ * @version 1.1
  * @since Apex 1.0
  */
 public class WriteFile extends Function {
@@ -62,45 +62,68 @@ public class WriteFile extends Function {
         AbstractDocument savingFile = (AbstractDocument) in.get("SAVING_FILE");
         String characterSet = in.get("CHARACTER_SET") == null ? EditorKeyConstants.DEFAULT_CHARACTER_ENCODING
                 : (String) in.get("CHARACTER_SET");
-        DefaultStyledDocument doc = savingFile.getDocument();
-        BufferedOutputStream saveAsFileBuffStream = null;
-        FileOutputStream saveAsFileStream = null;
         try {
             Logger.logInfo("Writing file '" + savingFile.getAbsolutePath() +
                     "' to disk. Encoding used: " + characterSet, getClass().
                     getName(), "doExecute");
-            saveAsFileStream = new FileOutputStream(savingFile);
-            saveAsFileBuffStream = new BufferedOutputStream(saveAsFileStream);
+            write(savingFile.getDocument(), savingFile, characterSet);
+            // Update the last modification time - as by default it will be current timestamp.
+            savingFile.setLastSaved(savingFile.lastModified());
+        } catch (IllegalArgumentException ex) {
+            Logger.logError("Unsupported encoding '" + characterSet +
+                    "' while writing document. Document: " +
+                    savingFile.getAbsolutePath(), ex);
+        } catch (IOException io) {
+            Logger.logError("Error while writing document text to file system. Document: " +
+                    savingFile.getAbsolutePath(), io);
+        } catch (BadLocationException ble) {
+            Logger.logError("Error while writing document text to file system. Document: " +
+                    savingFile.getAbsolutePath(), ble);
+        }
+    }
+
+    /**
+     * Writes the text of a document to a file. The text is encoded directly
+     * from the segments of document's data model.
+     * @param doc The document.
+     * @param file The file.
+     * @param characterSet The character set of file.
+     * @throws java.io.IOException If the file can not be written.
+     * @throws javax.swing.text.BadLocationException If the text can not be read.
+     * @throws java.lang.IllegalArgumentException If the character set is not supported.
+     */
+    static void write(Document doc, File file, String characterSet) throws
+            IOException, BadLocationException {
+        AtomicFileWriter writer = new AtomicFileWriter(file, characterSet);
+        boolean written = false;
+        try {
             int nleft = doc.getLength();
             Segment text = new Segment();
             int offs = 0;
             text.setPartialReturn(true);
             while (nleft > 0) {
                 doc.getText(offs, nleft, text);
-                saveAsFileBuffStream.write(text.subSequence(0, text.length()).
-                        toString().getBytes(
-                        characterSet));
+                writer.write(text.array, text.offset, text.count);
                 nleft -= text.count;
                 offs += text.count;
             }
-            saveAsFileBuffStream.flush();
-            // Update the last modification time - as by default it will be current timestamp.
-            savingFile.setLastSaved(savingFile.lastModified());
-        } catch (IOException io) {
-            Logger.logError("Error while writing document text to file system. Document: " +
-                    savingFile.getAbsolutePath(), io);
-        } catch (BadLocationException ble) {
-            Logger.logError("Error while writing document text to file system. Document: " +
-                    savingFile.getAbsolutePath(), ble);
+            writer.commit();
+            written = true;
         } finally {
-            FileUtil.closeIOStream(saveAsFileBuffStream);
-            FileUtil.closeIOStream(saveAsFileStream);
+            if (!written) {
+                writer.abort();
+            }
         }
     }
 
     protected void postExecute(InputParams in, OutputParams out) {
     }
 
+    @Override
+    protected boolean isFileWrite() {
+        return true;
+    }
+
     public String getName() {
         return "Write File";
     }
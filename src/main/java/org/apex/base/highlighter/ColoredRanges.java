@@ -0,0 +1,179 @@
+/*
+ * ColoredRanges.java
+ *
+ * Copyright (C) 2010 Mrityunjoy Saha
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.apex.base.highlighter;
+
+import java.util.Arrays;
+
+/**
+ * Keeps track of the parts of a document which have already been colored.
+ * The parts are kept as sorted, non overlapping ranges which are adjusted as
+ * text is inserted into or removed from the document.
+ * @author Mrityunjoy Saha
+ * @version 1.0
+ * @since Apex 1.2
+ */
+class ColoredRanges {
+
+    /**
+     * Start offsets of the ranges.
+     */
+    private int[] starts = new int[8];
+    /**
+     * End offsets (exclusive) of the ranges.
+     */
+    private int[] ends = new int[8];
+    /**
+     * Number of ranges.
+     */
+    private int size = 0;
+
+    /**
+     * Constructs a new instance of {@code ColoredRanges}.
+     */
+    ColoredRanges() {
+    }
+
+    /**
+     * Removes all ranges.
+     */
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Marks a range as colored. Overlapping and adjacent ranges are merged.
+     * @param start The start offset.
+     * @param end The end offset (exclusive).
+     */
+    void add(int start, int end) {
+        if (start >= end) {
+            return;
+        }
+        // first range which ends at or after start
+        int i = 0;
+        while (i < size && ends[i] < start) {
+            i++;
+        }
+        // ranges from i up to j (exclusive) touch the new range
+        int j = i;
+        while (j < size && starts[j] <= end) {
+            start = Math.min(start, starts[j]);
+            end = Math.max(end, ends[j]);
+            j++;
+        }
+        if (i == j) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            System.arraycopy(starts, i, starts, i + 1, size - i);
+            System.arraycopy(ends, i, ends, i + 1, size - i);
+            size++;
+        } else if (j > i + 1) {
+            System.arraycopy(starts, j, starts, i + 1, size - j);
+            System.arraycopy(ends, j, ends, i + 1, size - j);
+            size -= j - i - 1;
+        }
+        starts[i] = start;
+        ends[i] = end;
+    }
+
+    /**
+     * Returns the end of the colored range which contains the given offset.
+     * An offset at the end of a range is considered to be contained by it.
+     * @param offset An offset in document.
+     * @return The end offset of the containing range or -1 if the offset is
+     *               not colored.
+     */
+    int getEnd(int offset) {
+        for (int i = 0; i < size; i++) {
+            if (starts[i] > offset) {
+                break;
+            }
+            if (offset <= ends[i]) {
+                return ends[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Determines whether a range is colored completely.
+     * @param start The start offset.
+     * @param end The end offset (exclusive).
+     * @return {@code true} if the range is colored; otherwise returns {@code false}.
+     */
+    boolean isColored(int start, int end) {
+        int rangeEnd = getEnd(start);
+        return rangeEnd != -1 && rangeEnd >= end;
+    }
+
+    /**
+     * Adjusts the ranges for text inserted into or removed from the document.
+     * Text inserted into a colored range, including at its start or end,
+     * becomes part of that range.
+     * @param position The position of change.
+     * @param adjustment Number of characters inserted (positive) or removed (negative).
+     */
+    void update(int position, int adjustment) {
+        if (adjustment == 0) {
+            return;
+        }
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            int start = starts[i];
+            int end = ends[i];
+            if (adjustment > 0) {
+                if (start > position) {
+                    start += adjustment;
+                }
+                if (end >= position) {
+                    end += adjustment;
+                }
+            } else {
+                start = shift(start, position, adjustment);
+                end = shift(end, position, adjustment);
+            }
+            if (start < end) {
+                starts[j] = start;
+                ends[j] = end;
+                j++;
+            }
+        }
+        size = j;
+    }
+
+    /**
+     * Maps an offset for removal of text.
+     * @param offset The offset.
+     * @param position The start of removed text.
+     * @param adjustment Negative number of characters removed.
+     * @return The mapped offset.
+     */
+    private static int shift(int offset, int position, int adjustment) {
+        if (offset <= position) {
+            return offset;
+        }
+        if (offset >= position - adjustment) {
+            return offset + adjustment;
+        }
+        return position;
+    }
+}
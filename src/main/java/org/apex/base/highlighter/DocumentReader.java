@@ -27,6 +27,7 @@ import java.io.Reader;
 
 import javax.swing.text.AbstractDocument;
 import javax.swing.text.BadLocationException;
+import javax.swing.text.Segment;
 
 /**
  * A reader interface for an abstract document.  Since
@@ -37,6 +38,12 @@ import javax.swing.text.BadLocationException;
  * improvements through reuse.  It can be used even after the
  * lexer explicitly closes it by seeking to the place that
  * we want to read next, and reseting the lexer.
+ * <p>
+ * Text is pulled out of the document through {@code Segment}s with
+ * partial return enabled, so characters are copied straight from the
+ * document content into the caller's buffer without creating intermediate
+ * strings. A caller that only needs to look at the text can borrow a window
+ * of the document without any copy using {@link #read(Segment, int)}.
  * @author Stephen Ostermiller
  * @author Mrityunjoy Saha
  * @version 1.0
@@ -54,6 +61,9 @@ public class DocumentReader extends Reader {
      * @param adjustment The offset.
      */
     public void update(int position, int adjustment) {
+        // The document content may have been moved, so the cached window is
+        // no longer reliable.
+        invalidateWindow();
         if (position < this.position) {
             if (this.position < position - adjustment) {
                 this.position = position;
@@ -75,6 +85,29 @@ public class DocumentReader extends Reader {
      * The document that we are working with.
      */
     private AbstractDocument document;
+    /**
+     * Size of the window fetched from the document by single character reads.
+     */
+    private static final int WINDOW_SIZE = 1024;
+    /**
+     * The segment used to transfer text from the document to the caller's buffer.
+     * It refers directly to the document content and is never exposed.
+     */
+    private final Segment transfer = new Segment();
+    /**
+     * A window of document text used to serve single character reads.
+     */
+    private final Segment window = new Segment();
+    /**
+     * Whether the window still refers to current document content. It is
+     * cleared by {@link #invalidate()} whenever the document changes, which
+     * may happen on another thread.
+     */
+    private volatile boolean windowValid = false;
+    /**
+     * The document offset of the first character in window.
+     */
+    private int windowStart = 0;
 
     /**
      * Construct a reader on the given document.
@@ -83,6 +116,8 @@ public class DocumentReader extends Reader {
      */
     public DocumentReader(AbstractDocument document) {
         this.document = document;
+        this.transfer.setPartialReturn(true);
+        this.window.setPartialReturn(true);
     }
 
     /**
@@ -119,17 +154,27 @@ public class DocumentReader extends Reader {
      */
     @Override
     public int read() {
-        if (position < document.getLength()) {
+        int offset = windowStart + window.count;
+        if (!windowValid || position < windowStart || position >= offset) {
+            if (position >= document.getLength()) {
+                return -1;
+            }
             try {
-                char c = document.getText((int) position, 1).charAt(0);
-                position++;
-                return c;
+                // Marked valid before fetching, so that a change made while
+                // fetching makes the next read fetch again.
+                windowValid = true;
+                windowStart = (int) position;
+                document.getText(windowStart,
+                        Math.min(WINDOW_SIZE,
+                        document.getLength() - windowStart), window);
             } catch (BadLocationException x) {
+                invalidateWindow();
                 return -1;
             }
-        } else {
-            return -1;
         }
+        char c = window.array[window.offset + (int) position - windowStart];
+        position++;
+        return c;
     }
 
     /**
@@ -159,16 +204,59 @@ public class DocumentReader extends Reader {
             if (position + length >= document.getLength()) {
                 length = document.getLength() - (int) position;
             }
-            if (off + length >= cbuf.length) {
+            if (off + length > cbuf.length) {
                 length = cbuf.length - off;
             }
             try {
-                String s = document.getText((int) position, length);
-                position += length;
-                for (int i = 0; i < length; i++) {
-                    cbuf[off + i] = s.charAt(i);
+                int copied = 0;
+                // The document content may be split around its gap, in which
+                // case the segment is returned in more than one piece.
+                while (copied < length) {
+                    document.getText((int) position + copied, length - copied,
+                            transfer);
+                    System.arraycopy(transfer.array, transfer.offset, cbuf,
+                            off + copied, transfer.count);
+                    copied += transfer.count;
                 }
-                return length;
+                position += copied;
+                return copied;
+            } catch (BadLocationException x) {
+                return -1;
+            } finally {
+                transfer.array = null;
+            }
+        } else {
+            return -1;
+        }
+    }
+
+    /**
+     * Borrows a window of the document starting at current position without
+     * copying any text. The given segment is set to refer to at most
+     * {@code len} characters of the document content and the position of this
+     * reader is advanced by the number of characters made available. Fewer
+     * characters than requested may be returned when the document content is
+     * split internally; callers should keep reading until they have all they need.
+     * <p>
+     * The segment refers to the internal document content. It must not be
+     * modified and is valid only until the document is changed next.
+     *
+     * @param txt The segment to be set to the borrowed window.
+     * @param len Maximum number of characters to borrow.
+     * @return The number of characters available in the segment or -1 if no
+     *         more characters are available in the document.
+     */
+    public int read(Segment txt, int len) {
+        if (position < document.getLength()) {
+            int length = len;
+            if (position + length >= document.getLength()) {
+                length = document.getLength() - (int) position;
+            }
+            try {
+                txt.setPartialReturn(true);
+                document.getText((int) position, length, txt);
+                position += txt.count;
+                return txt.count;
             } catch (BadLocationException x) {
                 return -1;
             }
@@ -230,4 +318,25 @@ public class DocumentReader extends Reader {
             position = document.getLength();
         }
     }
+
+    /**
+     * Discards the window of text cached for single character reads, so that
+     * the next read fetches it again from the document. It must be called
+     * whenever the document is changed, including changes made by undo and
+     * redo, and can be called from any thread.
+     */
+    public void invalidate() {
+        windowValid = false;
+    }
+
+    /**
+     * Discards the window of text cached for single character reads.
+     */
+    private void invalidateWindow() {
+        windowValid = false;
+        window.array = null;
+        window.offset = 0;
+        window.count = 0;
+        windowStart = 0;
+    }
 }
@@ -0,0 +1,272 @@
+/*
+ * HighlighterScheduler.java
+ *
+ * Copyright (C) 2010 Mrityunjoy Saha
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.apex.base.highlighter;
+
+import java.lang.ref.WeakReference;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Set;
+import org.apex.base.constant.EditorKeyConstants;
+import org.apex.base.data.HighlightedDocument;
+import org.apex.base.logging.Logger;
+
+/**
+ * Runs the syntax highlighting of all open documents on a small pool of
+ * worker threads shared by all documents. A syntax highlighter which has
+ * something to color is scheduled here and picked up by a worker once its
+ * debounce delay is over. The highlighter of currently displayed document
+ * is always served before others.
+ * <p>
+ * A highlighter is processed by one worker at a time and only one recolor
+ * event is processed in a go, so that a large document does not hold a worker
+ * while the displayed document waits. Workers are started on demand and stop
+ * themselves when there is nothing to color for a while.
+ * @author Mrityunjoy Saha
+ * @version 1.0
+ * @since Apex 1.2
+ */
+public class HighlighterScheduler {
+
+    /**
+     * Time in milliseconds an idle worker waits for new work before it stops.
+     */
+    private static final long WORKER_KEEP_ALIVE = 5000;
+    /**
+     * The shared instance.
+     */
+    private static HighlighterScheduler sharedInstance;
+    /**
+     * Highlighters waiting to be processed.
+     */
+    private final LinkedList<SyntaxHighlighter> pending =
+            new LinkedList<SyntaxHighlighter>();
+    /**
+     * Highlighters currently being processed by workers.
+     */
+    private final Set<SyntaxHighlighter> running =
+            new HashSet<SyntaxHighlighter>();
+    /**
+     * Lock guarding the pending and running highlighters and worker counts.
+     */
+    private final Object lock = new Object();
+    /**
+     * Maximum number of workers.
+     */
+    private final int poolSize;
+    /**
+     * Number of live workers.
+     */
+    private int workers = 0;
+    /**
+     * Number of workers waiting for work.
+     */
+    private int idleWorkers = 0;
+    /**
+     * The currently displayed document.
+     */
+    private volatile WeakReference<HighlightedDocument> displayedDocument =
+            new WeakReference<HighlightedDocument>(null);
+    /**
+     * A boolean that indicates whether or not this scheduler has been shut down.
+     */
+    private volatile boolean shutdown = false;
+
+    /**
+     * Constructs a new instance of {@code HighlighterScheduler}.
+     */
+    private HighlighterScheduler() {
+        this.poolSize = Math.max(1, Math.min(
+                EditorKeyConstants.SYNTAX_HIGHLIGHT_THREADS,
+                Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Returns the shared instance of {@code HighlighterScheduler}.
+     * @return The shared instance.
+     */
+    public static synchronized HighlighterScheduler getSharedInstance() {
+        if (sharedInstance == null) {
+            sharedInstance = new HighlighterScheduler();
+        }
+        return sharedInstance;
+    }
+
+    /**
+     * Sets the currently displayed document. Its highlighter gets priority
+     * over highlighters of other documents.
+     * @param document The currently displayed document or {@code null} if no
+     *               document is displayed.
+     */
+    public void setDisplayedDocument(HighlightedDocument document) {
+        this.displayedDocument = new WeakReference<HighlightedDocument>(
+                document);
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Schedules a highlighter which has recolor events to be processed.
+     * @param highlighter The syntax highlighter.
+     */
+    void schedule(SyntaxHighlighter highlighter) {
+        synchronized (lock) {
+            if (shutdown) {
+                return;
+            }
+            if (!running.contains(highlighter) && !pending.contains(
+                    highlighter)) {
+                pending.add(highlighter);
+            }
+            if (idleWorkers == 0 && workers < poolSize) {
+                startWorker();
+            }
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Removes a highlighter from this scheduler. Pending work of the
+     * highlighter is not processed any more.
+     * @param highlighter The syntax highlighter.
+     */
+    void cancel(SyntaxHighlighter highlighter) {
+        synchronized (lock) {
+            pending.remove(highlighter);
+        }
+    }
+
+    /**
+     * Shuts down this scheduler. Workers stop after finishing their
+     * current work and no more work is accepted.
+     */
+    public void shutdown() {
+        synchronized (lock) {
+            shutdown = true;
+            pending.clear();
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Starts a new worker. Must be called holding the lock.
+     */
+    private void startWorker() {
+        workers++;
+        Thread worker = new Thread("Syntax Highlighter " + workers) {
+
+            @Override
+            public void run() {
+                work();
+            }
+        };
+        worker.setDaemon(true);
+        worker.setPriority(Thread.NORM_PRIORITY - 1);
+        worker.start();
+    }
+
+    /**
+     * The worker loop. Takes the next ready highlighter, processes one of its
+     * recolor events and puts it back if it has more to do.
+     */
+    private void work() {
+        while (true) {
+            SyntaxHighlighter highlighter = take();
+            if (highlighter == null) {
+                return;
+            }
+            try {
+                highlighter.processNextEvent();
+            } catch (RuntimeException ex) {
+                Logger.logWarning("Syntax highlighting failed.", ex);
+            } finally {
+                synchronized (lock) {
+                    running.remove(highlighter);
+                    if (!shutdown && highlighter.hasPendingEvents()
+                            && !pending.contains(highlighter)) {
+                        pending.add(highlighter);
+                    }
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for and returns the next highlighter to be processed. The
+     * highlighter of displayed document is preferred, otherwise the one
+     * which became ready first is returned.
+     * @return The next highlighter or {@code null} if the worker should stop.
+     */
+    private SyntaxHighlighter take() {
+        synchronized (lock) {
+            long idleSince = System.currentTimeMillis();
+            while (!shutdown) {
+                long now = System.currentTimeMillis();
+                HighlightedDocument displayed = displayedDocument.get();
+                SyntaxHighlighter selected = null;
+                long nextDue = Long.MAX_VALUE;
+                Iterator<SyntaxHighlighter> it = pending.iterator();
+                while (it.hasNext()) {
+                    SyntaxHighlighter highlighter = it.next();
+                    if (!highlighter.hasPendingEvents()) {
+                        it.remove();
+                        continue;
+                    }
+                    long due = highlighter.getDueTime();
+                    if (due > now) {
+                        nextDue = Math.min(nextDue, due);
+                    } else if (selected == null) {
+                        selected = highlighter;
+                    } else if (displayed != null
+                            && highlighter.getDocument() == displayed) {
+                        selected = highlighter;
+                        break;
+                    }
+                }
+                if (selected != null) {
+                    pending.remove(selected);
+                    running.add(selected);
+                    return selected;
+                }
+                long wait;
+                if (nextDue != Long.MAX_VALUE) {
+                    wait = nextDue - now;
+                } else {
+                    wait = idleSince + WORKER_KEEP_ALIVE - now;
+                    if (wait <= 0) {
+                        break;
+                    }
+                }
+                idleWorkers++;
+                try {
+                    lock.wait(wait);
+                } catch (InterruptedException ex) {
+                    break;
+                } finally {
+                    idleWorkers--;
+                }
+            }
+            workers--;
+            return null;
+        }
+    }
+}
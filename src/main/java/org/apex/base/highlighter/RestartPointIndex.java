@@ -0,0 +1,281 @@
+/*
+ * RestartPointIndex.java
+ *
+ * Copyright (C) 2010 Mrityunjoy Saha
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.apex.base.highlighter;
+
+import java.util.Arrays;
+
+/**
+ * A sorted set of document positions at which the lexer can be restarted.
+ * Positions are kept in a primitive array, so no object is created per
+ * position.
+ * <p>
+ * Shifting all positions after an edit is done lazily. A pending delta is
+ * kept which applies to all positions from a given index onwards. A new
+ * shift near the previous one only moves the boundary of the pending delta,
+ * which makes shifting for consecutive edits at nearly the same place cheap
+ * irrespective of the number of positions after it.
+ * <p>
+ * The boundary is moved by updating every position between its old and new
+ * index, so a shift costs O(log n) for the lookup plus time proportional
+ * to how far the boundary moves, up to O(n) for an edit far from the
+ * previous one. This is no worse than shifting all following positions
+ * eagerly, and a balanced tree with O(log n) shifts is not worth an
+ * object per position for the usual pattern of typing at one place.
+ * <p>
+ * This class does not depend on Swing and is not thread safe.
+ * @author Mrityunjoy Saha
+ * @version 1.0
+ * @since Apex 1.2
+ */
+public class RestartPointIndex {
+
+    /**
+     * Stored positions. A position at or after {@code deltaFrom} is stored
+     * without the pending delta.
+     */
+    private int[] positions;
+    /**
+     * Number of positions.
+     */
+    private int size = 0;
+    /**
+     * Index of the first position the pending delta applies to.
+     */
+    private int deltaFrom = 0;
+    /**
+     * The pending delta.
+     */
+    private int delta = 0;
+
+    /**
+     * Constructs a new instance of {@code RestartPointIndex}.
+     */
+    public RestartPointIndex() {
+        this(64);
+    }
+
+    /**
+     * Constructs a new instance of {@code RestartPointIndex}.
+     * @param capacity The initial number of positions the index can hold.
+     */
+    public RestartPointIndex(int capacity) {
+        positions = new int[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Returns the number of positions.
+     * @return The number of positions.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the position at a given index.
+     * @param index An index from 0 to {@code size() - 1}.
+     * @return The position.
+     */
+    public int get(int index) {
+        if (index >= deltaFrom) {
+            return positions[index] + delta;
+        }
+        return positions[index];
+    }
+
+    /**
+     * Returns the index of the first position which is greater than or equal to
+     * the given position.
+     * @param position A document position.
+     * @return The index or {@code size()} if all positions are less than the given one.
+     */
+    public int ceilingIndex(int position) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (get(mid) < position) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the greatest position strictly less than the given position.
+     * @param position A document position.
+     * @return The position or -1 if there is no such position.
+     */
+    public int lower(int position) {
+        int index = ceilingIndex(position);
+        if (index == 0) {
+            return -1;
+        }
+        return get(index - 1);
+    }
+
+    /**
+     * Adds an amount to all positions greater than or equal to the given position.
+     * It takes time proportional to the number of positions between the given
+     * position and the one of previous shift.
+     * @param from A document position.
+     * @param adjustment The amount to be added.
+     */
+    public void shift(int from, int adjustment) {
+        if (adjustment == 0) {
+            return;
+        }
+        moveDeltaFrom(ceilingIndex(from));
+        delta += adjustment;
+    }
+
+    /**
+     * Removes all positions from {@code from} (inclusive) to {@code to} (exclusive).
+     * @param from Start of the range.
+     * @param to End of the range.
+     */
+    public void remove(int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int start = ceilingIndex(from);
+        int end = ceilingIndex(to);
+        if (start >= end) {
+            return;
+        }
+        // removed positions must not split the delta
+        if (deltaFrom > start && deltaFrom < end) {
+            moveDeltaFrom(end);
+        }
+        System.arraycopy(positions, end, positions, start, size - end);
+        size -= end - start;
+        if (deltaFrom >= end) {
+            deltaFrom -= end - start;
+        }
+    }
+
+    /**
+     * Removes all positions greater than or equal to the given position.
+     * @param from A document position.
+     */
+    public void removeFrom(int from) {
+        size = ceilingIndex(from);
+        if (deltaFrom > size) {
+            deltaFrom = size;
+        }
+    }
+
+    /**
+     * Adds positions to this index. Positions already present are ignored.
+     * @param values Positions in ascending order.
+     * @param count Number of positions to be taken from {@code values}.
+     */
+    public void addAll(int[] values, int count) {
+        if (count <= 0) {
+            return;
+        }
+        int index = ceilingIndex(values[0]);
+        if (index == size || get(index) >= values[count - 1]) {
+            // the new positions fit in between two existing positions
+            if (index < size && get(index) == values[count - 1]) {
+                count--;
+            }
+            ensureCapacity(size + count);
+            System.arraycopy(positions, index, positions, index + count,
+                    size - index);
+            int storedDelta = index >= deltaFrom ? delta : 0;
+            for (int i = 0; i < count; i++) {
+                positions[index + i] = values[i] - storedDelta;
+            }
+            size += count;
+            if (deltaFrom > index) {
+                deltaFrom += count;
+            }
+            return;
+        }
+        merge(values, count);
+    }
+
+    /**
+     * Removes all positions.
+     */
+    public void clear() {
+        size = 0;
+        deltaFrom = 0;
+        delta = 0;
+    }
+
+    /**
+     * Merges positions spread across the existing positions.
+     * @param values Positions in ascending order.
+     * @param count Number of positions to be taken from {@code values}.
+     */
+    private void merge(int[] values, int count) {
+        int[] merged = new int[Math.max(positions.length, size + count)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < size || j < count) {
+            int value;
+            if (j == count || (i < size && get(i) <= values[j])) {
+                value = get(i++);
+            } else {
+                value = values[j++];
+            }
+            if (k == 0 || merged[k - 1] != value) {
+                merged[k++] = value;
+            }
+        }
+        positions = merged;
+        size = k;
+        deltaFrom = size;
+        delta = 0;
+    }
+
+    /**
+     * Moves the boundary of the pending delta to the given index without
+     * changing any position.
+     * @param index The new boundary.
+     */
+    private void moveDeltaFrom(int index) {
+        if (index < deltaFrom) {
+            for (int i = index; i < deltaFrom; i++) {
+                positions[i] -= delta;
+            }
+        } else {
+            for (int i = deltaFrom; i < index; i++) {
+                positions[i] += delta;
+            }
+        }
+        deltaFrom = index;
+    }
+
+    /**
+     * Grows the storage to hold at least the given number of positions.
+     * @param capacity The required capacity.
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > positions.length) {
+            positions = Arrays.copyOf(positions, Math.max(capacity,
+                    positions.length * 2));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * StyleRunBatch.java
+ *
+ * Copyright (C) 2010 Mrityunjoy Saha
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.apex.base.highlighter;
+
+import java.util.Arrays;
+import javax.swing.text.AttributeSet;
+
+/**
+ * A batch of styled runs to be applied to a document in one go. Runs are
+ * expected to be added in ascending order of offset. A run which starts where
+ * the previous run ends and uses the same attribute set is merged into the
+ * previous run.
+ * @author Mrityunjoy Saha
+ * @version 1.0
+ * @since Apex 1.2
+ */
+public class StyleRunBatch {
+
+    /**
+     * Start offsets of the runs.
+     */
+    private int[] starts;
+    /**
+     * Lengths of the runs.
+     */
+    private int[] lengths;
+    /**
+     * Styles of the runs.
+     */
+    private AttributeSet[] styles;
+    /**
+     * Number of runs in this batch.
+     */
+    private int size = 0;
+
+    /**
+     * Constructs a new instance of {@code StyleRunBatch}.
+     * @param capacity The initial number of runs the batch can hold.
+     */
+    public StyleRunBatch(int capacity) {
+        capacity = Math.max(capacity, 1);
+        this.starts = new int[capacity];
+        this.lengths = new int[capacity];
+        this.styles = new AttributeSet[capacity];
+    }
+
+    /**
+     * Adds a styled run to this batch.
+     * @param start The start offset of the run.
+     * @param length The length of the run.
+     * @param style The style of the run.
+     */
+    public void add(int start, int length, AttributeSet style) {
+        if (length <= 0) {
+            return;
+        }
+        if (size > 0) {
+            int last = size - 1;
+            if (styles[last] == style
+                    && starts[last] + lengths[last] == start) {
+                lengths[last] += length;
+                return;
+            }
+        }
+        if (size == starts.length) {
+            int capacity = size * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            styles = Arrays.copyOf(styles, capacity);
+        }
+        starts[size] = start;
+        lengths[size] = length;
+        styles[size] = style;
+        size++;
+    }
+
+    /**
+     * Returns the number of runs in this batch.
+     * @return The number of runs.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a boolean that indicates whether or not this batch is empty.
+     * @return {@code true} if there is no run in this batch; otherwise
+     *               returns {@code false}.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the start offset of a run.
+     * @param index The index of the run.
+     * @return The start offset.
+     */
+    public int getStart(int index) {
+        return starts[index];
+    }
+
+    /**
+     * Returns the length of a run.
+     * @param index The index of the run.
+     * @return The length.
+     */
+    public int getLength(int index) {
+        return lengths[index];
+    }
+
+    /**
+     * Returns the style of a run.
+     * @param index The index of the run.
+     * @return The style.
+     */
+    public AttributeSet getStyle(int index) {
+        return styles[index];
+    }
+}
@@ -23,31 +23,31 @@
  */
 package org.apex.base.highlighter;
 
+import org.apex.base.constant.EditorKeyConstants;
 import org.apex.base.data.HighlightedDocument;
 import org.apex.base.highlighter.lexer.Lexer;
+import org.apex.base.highlighter.lexer.ReusableTokenLexer;
 import org.apex.base.highlighter.lexer.Token;
 import org.apex.base.highlighter.style.DocumentStyle;
 import java.io.IOException;
 import java.lang.ref.WeakReference;
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.LinkedList;
-import java.util.NoSuchElementException;
-import java.util.SortedSet;
-import java.util.TreeSet;
 
 import javax.swing.SwingUtilities;
 import javax.swing.text.AttributeSet;
+import javax.swing.text.Element;
 
 /**
- * Run the Syntax Highlighting as a separate thread. Things that need to be
- * colored are messaged to the thread and put in a list.
+ * Run the Syntax Highlighting in background. Things that need to be
+ * colored are put in a list and the highlighter is scheduled with the
+ * shared {@link HighlighterScheduler} which processes the list.
  * @author Stephen Ostermiller
  * @author Mrityunjoy Saha
  * @version 1.0
  * @since Apex 1.0
  */
-public class SyntaxHighlighter extends Thread {
+public class SyntaxHighlighter {
 
     /**
      * A simple wrapper representing something that needs to be colored. Placed
@@ -63,6 +63,21 @@ public class SyntaxHighlighter extends Thread {
          * The offset.
          */
         public int adjustment;
+        /**
+         * The position up to which coloring is requested, or -1 if only the
+         * changed text is to be colored.
+         */
+        public int end;
+        /**
+         * A boolean that indicates whether or not the whole document is to be
+         * colored again.
+         */
+        public boolean all;
+        /**
+         * A boolean that indicates whether or not this event continues a
+         * coloring run which stopped at its limit.
+         */
+        public boolean resume;
 
         /**
          * Constructs a new instance of {@code RecolorEvent}.
@@ -70,36 +85,50 @@ public class SyntaxHighlighter extends Thread {
          * @param adjustment The offset.
          */
         public RecolorEvent(int position, int adjustment) {
+            this(position, adjustment, -1);
+        }
+
+        /**
+         * Constructs a new instance of {@code RecolorEvent}.
+         * @param position Current position in the document.
+         * @param adjustment The offset.
+         * @param end The position up to which coloring is requested.
+         */
+        public RecolorEvent(int position, int adjustment, int end) {
             this.position = position;
             this.adjustment = adjustment;
+            this.end = end;
         }
     }
     /**
      * Stores the document we are coloring. We use a WeakReference
      * so that the document is eligible for garbage collection when
-     * it is no longer being used. At that point, this thread will
-     * shut down itself.
+     * it is no longer being used. At that point, pending events are
+     * simply discarded.
      */
     private WeakReference document;
     /**
      * Keep a list of places in the file that it is safe to restart the
      * highlighting. This happens whenever the lexer reports that it has
-     * returned to its initial state. Since this list needs to be sorted and
-     * we need to be able to retrieve ranges from it, it is stored in a
-     * balanced tree.
+     * returned to its initial state. Since this list needs to be sorted,
+     * we need to be able to retrieve ranges from it and it has to be shifted
+     * on every edit, it is stored in a dedicated index of primitive positions.
      */
-    @SuppressWarnings("unchecked")
-    private TreeSet iniPositions = new TreeSet(DocPositionComparator.instance);
+    private final RestartPointIndex iniPositions = new RestartPointIndex();
     /**
      * As we go through and remove invalid positions we will also be finding
      * new valid positions. Since the position list cannot be deleted from
      * and written to at the same time, we will keep a list of the new
      * positions and simply add it to the list of positions once all the old
-     * positions have been removed.
+     * positions have been removed. Positions are found in ascending order.
      */
-    private HashSet newPositions = new HashSet();
+    private int[] newPositions = new int[64];
     /**
-     * Vector that stores the communication between the two threads.
+     * Number of new positions found.
+     */
+    private int newPositionCount = 0;
+    /**
+     * List that stores the recolor events waiting to be processed.
      */
     private volatile LinkedList events = new LinkedList();
     /**
@@ -117,6 +146,38 @@ public class SyntaxHighlighter extends Thread {
      * The last position colored.
      */
     private volatile int lastPosition = -1;
+    /**
+     * The time in milliseconds after which pending events are processed.
+     * Every new event pushes it back by the debounce delay, but never beyond
+     * the maximum delay counted from the oldest pending event.
+     */
+    private long dueTime = 0;
+    /**
+     * The time in milliseconds the oldest pending event was posted.
+     */
+    private long firstEventTime = 0;
+    /**
+     * A boolean that indicates whether or not this highlighter has been disposed.
+     */
+    private volatile boolean disposed = false;
+    /**
+     * The parts of the document which are already colored. Used only by the
+     * highlighting worker.
+     */
+    private final ColoredRanges coloredRanges = new ColoredRanges();
+    /**
+     * Start of the displayed part of the document.
+     */
+    private volatile int visibleStart = 0;
+    /**
+     * End of the displayed part of the document.
+     */
+    private volatile int visibleEnd = 0;
+    /**
+     * The request to color the displayed part which is still waiting to be
+     * processed, or {@code null}. Guarded by the events lock.
+     */
+    private RecolorEvent visibleRangeEvent;
 
     /**
      * Creates the coloring thread for the given document.
@@ -128,6 +189,53 @@ public class SyntaxHighlighter extends Thread {
         this.document = new WeakReference(document);
     }
 
+    /**
+     * Color or recolor the entire document. Large documents are colored
+     * lazily, starting from the displayed part.
+     */
+    public void colorAll() {
+        RecolorEvent re = new RecolorEvent(0, 0, 0);
+        re.all = true;
+        post(re);
+    }
+
+    /**
+     * Sets the part of the document which is currently displayed. It is
+     * colored first and, for large documents, it is the only part colored.
+     * @param start Start of the displayed part.
+     * @param end End of the displayed part.
+     */
+    public void setVisibleRange(int start, int end) {
+        if (start == visibleStart && end == visibleEnd) {
+            return;
+        }
+        visibleStart = start;
+        visibleEnd = end;
+        postVisibleRange(start, end);
+    }
+
+    /**
+     * Requests coloring of the displayed part. While an earlier request is
+     * waiting its range is replaced, so scrolling quickly queues only one
+     * request for the latest displayed part.
+     * @param start Start of the displayed part.
+     * @param end End of the displayed part.
+     */
+    private void postVisibleRange(int start, int end) {
+        if (disposed) {
+            return;
+        }
+        synchronized (eventsLock) {
+            if (visibleRangeEvent != null) {
+                visibleRangeEvent.position = start;
+                visibleRangeEvent.end = end;
+                return;
+            }
+            visibleRangeEvent = new RecolorEvent(start, 0, end);
+        }
+        post(visibleRangeEvent);
+    }
+
     /**
      * Tell the Syntax Highlighting thread to take another look at this
      * section of the document. It will process this as a FIFO. This method
@@ -147,11 +255,24 @@ public class SyntaxHighlighter extends Thread {
                 change += adjustment;
             }
         }
+        if (disposed) {
+            return;
+        }
         synchronized (eventsLock) {
+            long now = System.currentTimeMillis();
+            if (events.isEmpty()) {
+                firstEventTime = now;
+            }
+            dueTime = Math.min(now
+                    + EditorKeyConstants.SYNTAX_HIGHLIGHT_DEBOUNCE_DELAY,
+                    firstEventTime
+                    + EditorKeyConstants.SYNTAX_HIGHLIGHT_MAX_DELAY);
             if (!events.isEmpty()) {
                 // check whether to coalesce with current last element
                 RecolorEvent curLast = (RecolorEvent) events.getLast();
-                if (adjustment < 0 && curLast.adjustment < 0) {
+                if (curLast.end != -1) {
+                    // coloring requests are never coalesced
+                } else if (adjustment < 0 && curLast.adjustment < 0) {
                     // both are removals
                     if (position == curLast.position) {
                         curLast.adjustment += adjustment;
@@ -170,48 +291,112 @@ public class SyntaxHighlighter extends Thread {
                 }
             }
             events.add(new RecolorEvent(position, adjustment));
-            eventsLock.notifyAll();
         }
+        HighlighterScheduler.getSharedInstance().schedule(this);
     }
 
     /**
-     * The colorer runs forever and may sleep for long periods of time. It
-     * should be interrupted every time there is something for it to do.
-     */
-    @Override
-    public void run() {
-        while (document.get() != null) {
-            try {
-                RecolorEvent re;
-                synchronized (eventsLock) {
-                    // get the next event to process - stalling until the
-                    // event becomes available
-                    while (events.isEmpty() && document.get() != null) {
-                        // stop waiting after a second in case document
-                        // has been cleared.
-                        eventsLock.wait(1000);
-                    }
-                    re = (RecolorEvent) events.removeFirst();
-                }
-                processEvent(re.position, re.adjustment);
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
+     * Adds a coloring request which is not caused by a change in the document
+     * to the end of pending events. It is not delayed by typing.
+     * @param re The coloring request.
+     */
+    @SuppressWarnings("unchecked")
+    private void post(RecolorEvent re) {
+        if (disposed) {
+            return;
+        }
+        synchronized (eventsLock) {
+            if (events.isEmpty()) {
+                firstEventTime = System.currentTimeMillis();
+                dueTime = firstEventTime;
             }
+            events.add(re);
+        }
+        HighlighterScheduler.getSharedInstance().schedule(this);
+    }
+
+    /**
+     * Processes the oldest pending recolor event. Called by a worker of
+     * {@link HighlighterScheduler}.
+     */
+    void processNextEvent() {
+        RecolorEvent re;
+        synchronized (eventsLock) {
+            if (events.isEmpty()) {
+                return;
+            }
+            re = (RecolorEvent) events.removeFirst();
+            if (re == visibleRangeEvent) {
+                visibleRangeEvent = null;
+            }
+        }
+        if (disposed) {
+            return;
+        }
+        processEvent(re);
+    }
+
+    /**
+     * Returns a boolean that indicates whether or not there are recolor
+     * events to be processed.
+     * @return {@code true} if there are pending recolor events; otherwise
+     *               returns {@code false}.
+     */
+    boolean hasPendingEvents() {
+        synchronized (eventsLock) {
+            return !disposed && !events.isEmpty() && document.get() != null;
+        }
+    }
+
+    /**
+     * Returns the time in milliseconds after which pending events are to be processed.
+     * @return The due time.
+     */
+    long getDueTime() {
+        synchronized (eventsLock) {
+            return dueTime;
+        }
+    }
+
+    /**
+     * Returns the document colored by this highlighter.
+     * @return The document or {@code null} if it is no longer available.
+     */
+    HighlightedDocument getDocument() {
+        return (HighlightedDocument) document.get();
+    }
+
+    /**
+     * Stops this highlighter. Pending events are discarded and no more
+     * events are accepted. It is called when the document is closed.
+     */
+    public void dispose() {
+        disposed = true;
+        synchronized (eventsLock) {
+            events.clear();
+            visibleRangeEvent = null;
         }
+        HighlighterScheduler.getSharedInstance().cancel(this);
     }
 
     /**
      * Processes the color event.
-     * @param position Current position in the document.
-     * @param adjustment The offset.
+     * @param re The color event.
      */
     @SuppressWarnings("unchecked")
-    private void processEvent(int position, int adjustment) {
+    private void processEvent(RecolorEvent re) {
         final HighlightedDocument doc =
                 (HighlightedDocument) document.get();
         if (doc == null) {
             return;
         }
+        int position = re.position;
+        int adjustment = re.adjustment;
+        // keep track of the parts already colored
+        coloredRanges.update(position, adjustment);
+        if (re.all) {
+            coloredRanges.clear();
+        }
         Lexer syntaxLexer = doc.getSyntaxLexer();
         if (syntaxLexer == null) {
             return;
@@ -227,64 +412,119 @@ public class SyntaxHighlighter extends Thread {
         if (globalStyle != null) {
             int start = Math.min(position, position + adjustment);
             int stop = Math.max(position, position + adjustment);
+            StyleRunBatch batch = new StyleRunBatch(1);
+            batch.add(start, stop - start, globalStyle);
             synchronized (docLock) {
-                doc.setCharacterAttributes(start, stop - start,
-                        globalStyle, true);
+                doc.setCharacterAttributes(batch);
             }
             return;
         }
 
-        SortedSet workingSet;
-        Iterator workingIt;
-        DocPosition startRequest = new DocPosition(position);
-        DocPosition endRequest =
-                new DocPosition(position + Math.abs(adjustment));
-        DocPosition dp;
-        DocPosition dpStart = null;
-        DocPosition dpEnd = null;
+        int length = doc.getLength();
+        boolean lazy =
+                length > EditorKeyConstants.SYNTAX_HIGHLIGHT_LAZY_THRESHOLD;
+        // the position up to which coloring must go on
+        int requestEnd = position + Math.abs(adjustment);
+        // the position from which coloring must start in a part of a large
+        // document which has never been colored, or -1
+        int freshStart = -1;
+        if (re.all) {
+            if (lazy) {
+                position = Math.min(visibleStart, length);
+                requestEnd = Math.min(visibleEnd, length);
+                freshStart = lineStart(doc, position);
+            } else {
+                requestEnd = length;
+            }
+        } else if (re.end != -1) {
+            // a request to color a part of the document
+            requestEnd = Math.min(re.end, length);
+            if (position > length) {
+                return;
+            }
+            if (!re.resume) {
+                if (coloredRanges.isColored(position, requestEnd)) {
+                    return;
+                }
+                int coloredEnd = coloredRanges.getEnd(position);
+                if (coloredEnd != -1) {
+                    position = coloredEnd;
+                } else if (lazy) {
+                    freshStart = lineStart(doc, position);
+                }
+            }
+        }
+        // the lexer stops at the first restart point beyond limit
+        int limit = -1;
+        boolean skip = false;
+        if (!lazy) {
+            // decided once the start is known
+        } else if (re.end != -1 || re.all) {
+            limit = requestEnd;
+        } else {
+            // an edit in a large document; only already colored text
+            // is colored again
+            limit = coloredRanges.getEnd(position);
+            skip = limit == -1;
+        }
+
+        int dp;
+        int dpIndex;
+        int dpStart;
+        int dpEnd;
 
         // find the starting position. We must start at least one
         // token before the current position
-        try {
-            // all the good positions before
-            workingSet = iniPositions.headSet(startRequest);
-            // the last of the stuff before
-            dpStart = (DocPosition) workingSet.last();
-        } catch (NoSuchElementException x) {
-            // if there were no good positions before the requested
-            // start,
-            // we can always start at the very beginning.
-            dpStart = new DocPosition(0);
+        if (freshStart != -1) {
+            // nothing is known about this part of the document, assume the
+            // lexer is in initial state at the start of line
+            dpStart = freshStart;
+        } else {
+            // the last of the good positions before
+            dpStart = iniPositions.lower(position);
+            if (dpStart == -1) {
+                // if there were no good positions before the requested
+                // start,
+                // we can always start at the very beginning.
+                dpStart = 0;
+            }
         }
 
         // if stuff was removed, take any removed positions off the
         // list.
         if (adjustment < 0) {
-            workingSet = iniPositions.subSet(startRequest,
-                    endRequest);
-            workingIt = workingSet.iterator();
-            while (workingIt.hasNext()) {
-                workingIt.next();
-                workingIt.remove();
-            }
+            iniPositions.remove(position, position - adjustment);
         }
 
         // adjust the positions of everything after the
         // insertion/removal.
-        workingSet = iniPositions.tailSet(startRequest);
-        workingIt = workingSet.iterator();
-        while (workingIt.hasNext()) {
-            ((DocPosition) workingIt.next()).adjustPosition(adjustment);
+        iniPositions.shift(position, adjustment);
+        if (!lazy) {
+            limit = dpStart
+                    + EditorKeyConstants.SYNTAX_HIGHLIGHT_CHUNK_SIZE;
+        }
+        if (skip) {
+            // the change is not displayed, color it once it is displayed
+            if (visibleEnd > visibleStart && !coloredRanges.isColored(
+                    visibleStart, Math.min(visibleEnd, length))) {
+                postVisibleRange(visibleStart, visibleEnd);
+            }
+            return;
         }
 
         // now go through and highlight as much as needed
-        workingSet = iniPositions.tailSet(dpStart);
-        workingIt = workingSet.iterator();
-        dp = null;
-        if (workingIt.hasNext()) {
-            dp = (DocPosition) workingIt.next();
+        dpIndex = iniPositions.ceilingIndex(dpStart);
+        dp = -1;
+        if (dpIndex < iniPositions.size()) {
+            dp = iniPositions.get(dpIndex++);
         }
         try {
+            // a lexer which can fill the same token over and over again
+            // spares creating an object per token
+            Token reusableToken = null;
+            if (syntaxLexer instanceof ReusableTokenLexer) {
+                reusableToken = ((ReusableTokenLexer) syntaxLexer).createToken();
+            }
             Token t;
             boolean done = false;
             dpEnd = dpStart;
@@ -302,11 +542,11 @@ public class SyntaxHighlighter extends Thread {
                 // to be called but because the close() method has
                 // no effect on the
                 // DocumentReader, we can do this.
-                syntaxLexer.reset(documentReader, 0, dpStart.getPosition(), 0);
+                syntaxLexer.reset(documentReader, 0, dpStart, 0);
                 // After the lexer has been set up, scroll the
                 // reader so that it
                 // is in the correct spot as well.
-                documentReader.seek(dpStart.getPosition());
+                documentReader.seek(dpStart);
                 // we will highlight tokens until we reach a good
                 // stopping place.
                 // the first obvious stopping place is the end of
@@ -314,28 +554,34 @@ public class SyntaxHighlighter extends Thread {
                 // the lexer will return null at the end of the
                 // document and wee
                 // need to stop there.
-                t = syntaxLexer.getNextToken();
+                t = nextToken(syntaxLexer, reusableToken);
             }
-            newPositions.add(dpStart);
+            newPositionCount = 0;
+            addNewPosition(dpStart);
+            StyleRunBatch batch = new StyleRunBatch(
+                    EditorKeyConstants.SYNTAX_HIGHLIGHT_BATCH_SIZE);
+            long batchStarted = System.currentTimeMillis();
             while (!done && t != null) {
                 // this is the actual command that colors the stuff.
                 // Color stuff with the description of the styles
-                // stored in tokenStyles.
+                // stored in tokenStyles. Styled runs are collected and
+                // applied together to keep the event dispatch thread free.
                 if (t.getCharEnd() <= doc.getLength()) {
-                    final Token t1 = t;
-                    SwingUtilities.invokeLater(new Runnable() {
-
-                        public void run() {
-                            doc.setCharacterAttributes(t1.getCharBegin() +
-                                    change,
-                                    t1.getCharEnd() - t1.getCharBegin(),
-                                    syntaxStyle.getStyle(t1.getDescription()),
-                                    true);
-                        // record the position of the last bit of
-                        // text that we colored                            
-                        }
-                    });
-                    dpEnd = new DocPosition(t.getCharEnd());
+                    batch.add(t.getCharBegin() + change,
+                            t.getCharEnd() - t.getCharBegin(),
+                            syntaxStyle.getStyle(t));
+                    if (batch.size()
+                            >= EditorKeyConstants.SYNTAX_HIGHLIGHT_BATCH_SIZE
+                            || System.currentTimeMillis() - batchStarted
+                            >= EditorKeyConstants.SYNTAX_HIGHLIGHT_BATCH_TIME) {
+                        applyStyles(doc, batch);
+                        batch = new StyleRunBatch(
+                                EditorKeyConstants.SYNTAX_HIGHLIGHT_BATCH_SIZE);
+                        batchStarted = System.currentTimeMillis();
+                    }
+                    // record the position of the last bit of
+                    // text that we colored
+                    dpEnd = t.getCharEnd();
                 }
                 lastPosition = (t.getCharEnd() + change);
                 // The other more complicated reason for doing no
@@ -355,59 +601,65 @@ public class SyntaxHighlighter extends Thread {
                     // look at all the positions from last time that
                     // are less than or
                     // equal to the current position
-                    while (dp != null && dp.getPosition() <= t.getCharEnd()) {
-                        if (dp.getPosition() == t.getCharEnd() &&
-                                dp.getPosition() >= endRequest.getPosition()) {
+                    while (dp != -1 && dp <= t.getCharEnd()) {
+                        if (dp == t.getCharEnd() && dp >= requestEnd) {
                             // we have found a state that is the
                             // same
                             done = true;
-                            dp = null;
-                        } else if (workingIt.hasNext()) {
+                            dp = -1;
+                        } else if (dpIndex < iniPositions.size()) {
                             // didn't find it, try again.
-                            dp = (DocPosition) workingIt.next();
+                            dp = iniPositions.get(dpIndex++);
                         } else {
                             // didn't find it, and there is no more
                             // info from last
                             // time. This means that we will just
                             // continue
                             // until the end of the document.
-                            dp = null;
+                            dp = -1;
                         }
                     }
                     // so that we can do this check next time,
                     // record all the
                     // initial states from this time.
-                    newPositions.add(dpEnd);
+                    addNewPosition(dpEnd);
+                }
+                // Stop at the limit. In a large document the rest is
+                // colored when displayed, otherwise it is colored
+                // in the next run.
+                if (!done && t.getCharEnd() >= limit && (lazy || t.getState()
+                        == Token.INITIAL_STATE)) {
+                    break;
                 }
                 synchronized (docLock) {
-                    t = syntaxLexer.getNextToken();
+                    t = nextToken(syntaxLexer, reusableToken);
                 }
             }
+            applyStyles(doc, batch);
 
             // remove all the old initial positions from the place
             // where
             // we started doing the highlighting right up through
             // the last
             // bit of text we touched.
-            workingIt = iniPositions.subSet(dpStart, dpEnd).iterator();
-            while (workingIt.hasNext()) {
-                workingIt.next();
-                workingIt.remove();
-            }
+            iniPositions.remove(dpStart, dpEnd);
 
             // Remove all the positions that are after the end of
             // the file.:
-            workingIt = iniPositions.tailSet(
-                    new DocPosition(doc.getLength())).iterator();
-            while (workingIt.hasNext()) {
-                workingIt.next();
-                workingIt.remove();
-            }
+            iniPositions.removeFrom(doc.getLength());
 
             // and put the new initial positions that we have found
             // on the list.
-            iniPositions.addAll(newPositions);
-            newPositions.clear();
+            iniPositions.addAll(newPositions, newPositionCount);
+            newPositionCount = 0;
+            coloredRanges.add(dpStart, dpEnd);
+            if (!done && t != null && !lazy) {
+                // continue with the rest of the document in the next run
+                RecolorEvent next = new RecolorEvent(dpEnd, 0,
+                        Math.max(dpEnd, requestEnd));
+                next.resume = true;
+                post(next);
+            }
         } catch (IOException x) {
         }
         synchronized (docLock) {
@@ -415,4 +667,72 @@ public class SyntaxHighlighter extends Thread {
             change = 0;
         }
     }
+
+    /**
+     * Reads the next token from a lexer. Must be called holding the
+     * document lock.
+     * @param syntaxLexer The lexer.
+     * @param reusableToken A token to be filled by the lexer or {@code null}
+     *               if the lexer does not support reusing tokens.
+     * @return The next token or {@code null} at the end of document.
+     * @throws java.io.IOException If an error occurs while reading the document.
+     */
+    private static Token nextToken(Lexer syntaxLexer, Token reusableToken)
+            throws IOException {
+        if (reusableToken == null) {
+            return syntaxLexer.getNextToken();
+        }
+        if (((ReusableTokenLexer) syntaxLexer).getNextToken(reusableToken)) {
+            return reusableToken;
+        }
+        return null;
+    }
+
+    /**
+     * Records a position at which the lexer was found in initial state
+     * during the current run.
+     * @param position The position.
+     */
+    private void addNewPosition(int position) {
+        if (newPositionCount > 0
+                && newPositions[newPositionCount - 1] >= position) {
+            return;
+        }
+        if (newPositionCount == newPositions.length) {
+            newPositions = Arrays.copyOf(newPositions, newPositionCount * 2);
+        }
+        newPositions[newPositionCount++] = position;
+    }
+
+    /**
+     * Returns the start of the line containing the given offset.
+     * @param doc The document.
+     * @param offset An offset in the document.
+     * @return The start offset of the line.
+     */
+    private int lineStart(HighlightedDocument doc, int offset) {
+        synchronized (doc.getDocumentLock()) {
+            Element root = doc.getDefaultRootElement();
+            return root.getElement(root.getElementIndex(offset)).
+                    getStartOffset();
+        }
+    }
+
+    /**
+     * Applies a batch of styled runs to the document on event dispatch thread.
+     * @param doc The document to be colored.
+     * @param batch The batch of styled runs.
+     */
+    private void applyStyles(final HighlightedDocument doc,
+            final StyleRunBatch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        SwingUtilities.invokeLater(new Runnable() {
+
+            public void run() {
+                doc.setCharacterAttributes(batch);
+            }
+        });
+    }
 }
@@ -49,7 +49,7 @@ import java.io.*;
  */ 
 
 
-public class CLexer implements Lexer {
+public class CLexer implements ReusableTokenLexer {
 
   /** This character denotes the end of file */
   public static final int YYEOF = -1;
@@ -1394,6 +1394,49 @@ public class CLexer implements Lexer {
 		this.yychar = yychar;
 		this.yycolumn = yycolumn;
 	}
+    /**
+     * Token to be filled by the next match, if the caller supplied one.
+     */
+    private CToken reusableToken;
+
+    /**
+     * Creates a token which can be passed to {@link #getNextToken(Token)}.
+     *
+     * @return a new token
+     */
+    public Token createToken(){
+        return new CToken();
+    }
+
+    /**
+     * Reads the next token into the given token instead of creating a new one.
+     * The contents of the token are valid only until the next token is read.
+     *
+     * @param token a token created by {@link #createToken()}
+     * @return true if a token is read, false at the end of input
+     * @throws IOException if an IOExecption occurs while reading input.
+     */
+    public boolean getNextToken(Token token) throws IOException{
+        reusableToken = (CToken) token;
+        try {
+            return getNextToken() != null;
+        } finally {
+            reusableToken = null;
+        }
+    }
+
+    /**
+     * Returns a token for the current match. The token supplied by the caller
+     * is filled if there is one, otherwise a new token is created.
+     */
+    private CToken token(int ID, int lineNumber, int charBegin, int charEnd, int state){
+        if (reusableToken == null){
+            return new CToken(ID, yytext(), lineNumber, charBegin, charEnd, state);
+        }
+        reusableToken.set(ID, zzBuffer, zzStartRead, zzMarkedPos-zzStartRead, lineNumber, charBegin, charEnd, state);
+        return reusableToken;
+    }
+
 
 
   /**
@@ -1717,8 +1760,7 @@ public class CLexer implements Lexer {
         case 35: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_DIVIDE_ASSIGN;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -1726,8 +1768,7 @@ public class CLexer implements Lexer {
         case 83: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.ERROR_MALFORMED_STRING;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -1735,8 +1776,7 @@ public class CLexer implements Lexer {
         case 45: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_BITWISE_OR_ASSIGN;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -1744,8 +1784,7 @@ public class CLexer implements Lexer {
         case 48: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_SUBTRACT_ASSIGN;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -1753,8 +1792,7 @@ public class CLexer implements Lexer {
         case 10: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_DIVIDE;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -1762,8 +1800,7 @@ public class CLexer implements Lexer {
         case 105: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_STATIC;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -1771,8 +1808,7 @@ public class CLexer implements Lexer {
         case 117: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_MUTABLE;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -1780,8 +1816,7 @@ public class CLexer implements Lexer {
         case 106: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_SIGNED;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -1789,8 +1824,7 @@ public class CLexer implements Lexer {
         case 102: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_EXPLICIT;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -1798,8 +1832,7 @@ public class CLexer implements Lexer {
         case 42: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_SHIFT_LEFT;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -1807,8 +1840,7 @@ public class CLexer implements Lexer {
         case 50: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_DECREMENT;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -1816,8 +1848,7 @@ public class CLexer implements Lexer {
         case 31: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.SEPARATOR_COMMA;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -1825,8 +1856,7 @@ public class CLexer implements Lexer {
         case 118: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_WCHAR_T;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -1834,8 +1864,7 @@ public class CLexer implements Lexer {
         case 5: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_ASSIGN;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -1843,8 +1872,7 @@ public class CLexer implements Lexer {
         case 122: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_UNSIGNED;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -1852,8 +1880,7 @@ public class CLexer implements Lexer {
         case 97: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_CONST;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -1861,8 +1888,7 @@ public class CLexer implements Lexer {
         case 60: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_IF;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -1870,24 +1896,21 @@ public class CLexer implements Lexer {
         case 39: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.ERROR_UNCLOSED_CHARACTER;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
         case 150: break;
         case 23: 
           { lastToken = CToken.WHITE_SPACE;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	return (t);
           }
         case 151: break;
         case 43: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_GREATER_THAN_OR_EQUAL;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -1895,8 +1918,7 @@ public class CLexer implements Lexer {
         case 49: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.SEPARATOR_ARROW;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -1904,8 +1926,7 @@ public class CLexer implements Lexer {
         case 41: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_LESS_THAN_OR_EQUAL;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -1913,8 +1934,7 @@ public class CLexer implements Lexer {
         case 82: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_VOID;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -1922,8 +1942,7 @@ public class CLexer implements Lexer {
         case 101: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_EXTERN;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -1931,8 +1950,7 @@ public class CLexer implements Lexer {
         case 40: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.ERROR_MALFORMED_CHARACTER;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -1945,8 +1963,7 @@ public class CLexer implements Lexer {
      */ 
     nextState = MIDDLE_OF_LINE;
     lastToken = CToken.ERROR_UNCLOSED_STRING;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -1954,8 +1971,7 @@ public class CLexer implements Lexer {
         case 54: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_MOD_ASSIGN;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -1963,8 +1979,7 @@ public class CLexer implements Lexer {
         case 114: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_VIRTUAL;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -1972,8 +1987,7 @@ public class CLexer implements Lexer {
         case 109: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_INLINE;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -1981,8 +1995,7 @@ public class CLexer implements Lexer {
         case 19: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_BITWISE_COMPLIMENT;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -1990,8 +2003,7 @@ public class CLexer implements Lexer {
         case 27: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_MULTIPLY;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -1999,8 +2011,7 @@ public class CLexer implements Lexer {
         case 116: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_PRIVATE;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2008,8 +2019,7 @@ public class CLexer implements Lexer {
         case 70: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_ASM;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2017,8 +2027,7 @@ public class CLexer implements Lexer {
         case 81: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_BOOL;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2026,8 +2035,7 @@ public class CLexer implements Lexer {
         case 22: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.LITERAL_INTEGER_DECIMAL;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2035,8 +2043,7 @@ public class CLexer implements Lexer {
         case 91: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_UNION;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2044,8 +2051,7 @@ public class CLexer implements Lexer {
         case 125: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_OVERLOAD;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2053,8 +2059,7 @@ public class CLexer implements Lexer {
         case 44: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_SHIFT_RIGHT;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2062,8 +2067,7 @@ public class CLexer implements Lexer {
         case 128: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_PROTECTED;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2071,8 +2075,7 @@ public class CLexer implements Lexer {
         case 67: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_SHIFT_RIGHT_ASSIGN;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2080,8 +2083,7 @@ public class CLexer implements Lexer {
         case 29: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.SEPARATOR_PERIOD;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2089,8 +2091,7 @@ public class CLexer implements Lexer {
         case 96: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_CLASS;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2098,8 +2099,7 @@ public class CLexer implements Lexer {
         case 12: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.ERROR_MALFORMED_UNCLOSED_CHARACTER;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2107,8 +2107,7 @@ public class CLexer implements Lexer {
         case 89: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_THROW;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2116,8 +2115,7 @@ public class CLexer implements Lexer {
         case 77: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_ELSE;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2125,8 +2123,7 @@ public class CLexer implements Lexer {
         case 112: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_PUBLIC;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2134,8 +2131,7 @@ public class CLexer implements Lexer {
         case 4: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_QUESTION;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2143,8 +2139,7 @@ public class CLexer implements Lexer {
         case 36: 
           { nextState = YYINITIAL;
     lastToken = CToken.COMMENT_END_OF_LINE;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2152,8 +2147,7 @@ public class CLexer implements Lexer {
         case 92: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_FLOAT;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2161,8 +2155,7 @@ public class CLexer implements Lexer {
         case 62: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_BITWISE_AND_ASSIGN;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2170,24 +2163,21 @@ public class CLexer implements Lexer {
         case 126: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_OPERATOR;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
         case 183: break;
         case 87: 
           { lastToken = CToken.COMMENT_TRADITIONAL;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 184: break;
         case 78: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_ENUM;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2195,8 +2185,7 @@ public class CLexer implements Lexer {
         case 63: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_LOGICAL_AND;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2204,8 +2193,7 @@ public class CLexer implements Lexer {
         case 100: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_RETURN;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2213,8 +2201,7 @@ public class CLexer implements Lexer {
         case 57: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_MULTIPLY_ASSIGN;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2222,8 +2209,7 @@ public class CLexer implements Lexer {
         case 56: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.LITERAL_STRING;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2231,8 +2217,7 @@ public class CLexer implements Lexer {
         case 95: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_CATCH;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2240,8 +2225,7 @@ public class CLexer implements Lexer {
         case 2: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.ERROR_IDENTIFIER;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2249,8 +2233,7 @@ public class CLexer implements Lexer {
         case 73: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_INT;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2258,8 +2241,7 @@ public class CLexer implements Lexer {
         case 113: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_TYPEDEF;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2267,8 +2249,7 @@ public class CLexer implements Lexer {
         case 58: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_ADD_ASSIGN;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2276,8 +2257,7 @@ public class CLexer implements Lexer {
         case 65: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.LITERAL_CHARACTER;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2285,8 +2265,7 @@ public class CLexer implements Lexer {
         case 130: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_STATIC_CAST;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2294,8 +2273,7 @@ public class CLexer implements Lexer {
         case 51: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.ERROR_FLOAT;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2303,8 +2281,7 @@ public class CLexer implements Lexer {
         case 33: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_BITWISE_AND;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2312,8 +2289,7 @@ public class CLexer implements Lexer {
         case 14: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_LESS_THAN;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2321,8 +2297,7 @@ public class CLexer implements Lexer {
         case 80: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_LONG;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2330,8 +2305,7 @@ public class CLexer implements Lexer {
         case 93: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_SHORT;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2339,8 +2313,7 @@ public class CLexer implements Lexer {
         case 72: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_NEW;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2348,8 +2321,7 @@ public class CLexer implements Lexer {
         case 79: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_AUTO;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2357,8 +2329,7 @@ public class CLexer implements Lexer {
         case 3: 
           { nextState = PREPROCESSOR;
 	lastToken = CToken.ERROR_MALFORMED_PREPROCESSOR_DIRECTIVE;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -2366,8 +2337,7 @@ public class CLexer implements Lexer {
         case 7: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.SEPARATOR_LPAREN;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2375,8 +2345,7 @@ public class CLexer implements Lexer {
         case 94: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_BREAK;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2384,8 +2353,7 @@ public class CLexer implements Lexer {
         case 13: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.SEPARATOR_LBRACE;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2393,8 +2361,7 @@ public class CLexer implements Lexer {
         case 21: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.IDENTIFIER;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2402,8 +2369,7 @@ public class CLexer implements Lexer {
         case 37: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.ERROR_UNCLOSED_COMMENT;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2411,8 +2377,7 @@ public class CLexer implements Lexer {
         case 6: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.SEPARATOR_LBRACKET;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2420,24 +2385,21 @@ public class CLexer implements Lexer {
         case 52: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.LITERAL_FLOATING_POINT;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
         case 211: break;
         case 1: 
           { lastToken = CToken.PREPROCESSOR_DIRECTIVE;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	return(t);
           }
         case 212: break;
         case 20: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_SUBTRACT;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2445,24 +2407,21 @@ public class CLexer implements Lexer {
         case 76: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_THIS;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
         case 214: break;
         case 59: 
           { lastToken = CToken.OPERATOR_INCREMENT;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 215: break;
         case 88: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.COMMENT_TRADITIONAL;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2470,8 +2429,7 @@ public class CLexer implements Lexer {
         case 9: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.SEPARATOR_RPAREN;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2479,8 +2437,7 @@ public class CLexer implements Lexer {
         case 64: 
           { nextState = PREPROCESSOR;
 	lastToken = CToken.PREPROCESSOR_DIRECTIVE;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -2488,8 +2445,7 @@ public class CLexer implements Lexer {
         case 124: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_CONTINUE;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2497,8 +2453,7 @@ public class CLexer implements Lexer {
         case 15: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.SEPARATOR_RBRACE;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2506,8 +2461,7 @@ public class CLexer implements Lexer {
         case 85: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_CHAR;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2515,8 +2469,7 @@ public class CLexer implements Lexer {
         case 34: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_EQUAL;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2524,8 +2477,7 @@ public class CLexer implements Lexer {
         case 74: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.COMMENT_DOCUMENTATION;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2533,8 +2485,7 @@ public class CLexer implements Lexer {
         case 17: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_BITWISE_OR;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2542,8 +2493,7 @@ public class CLexer implements Lexer {
         case 131: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_DYNAMIC_CAST;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2551,8 +2501,7 @@ public class CLexer implements Lexer {
         case 30: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.SEPARATOR_SEMICOLON;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2560,8 +2509,7 @@ public class CLexer implements Lexer {
         case 115: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_DEFAULT;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2569,8 +2517,7 @@ public class CLexer implements Lexer {
         case 47: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_NOT_EQUAL;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2578,8 +2525,7 @@ public class CLexer implements Lexer {
         case 132: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_REINTERPRET_CAST;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2587,8 +2533,7 @@ public class CLexer implements Lexer {
         case 108: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_SWITCH;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2596,8 +2541,7 @@ public class CLexer implements Lexer {
         case 121: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_REGISTER;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2605,8 +2549,7 @@ public class CLexer implements Lexer {
         case 16: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_GREATER_THAN;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2614,8 +2557,7 @@ public class CLexer implements Lexer {
         case 8: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.SEPARATOR_RBRACKET;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2623,8 +2565,7 @@ public class CLexer implements Lexer {
         case 71: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.LITERAL_INTEGER_HEXIDECIMAL;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2632,8 +2573,7 @@ public class CLexer implements Lexer {
         case 66: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_SHIFT_LEFT_ASSIGN;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2641,8 +2581,7 @@ public class CLexer implements Lexer {
         case 55: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.ERROR_MALFORMED_UNCLOSED_STRING;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2650,8 +2589,7 @@ public class CLexer implements Lexer {
         case 104: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_STRUCT;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2659,8 +2597,7 @@ public class CLexer implements Lexer {
         case 127: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_NAMESPACE;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2668,8 +2605,7 @@ public class CLexer implements Lexer {
         case 119: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_TEMPLATE;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2677,8 +2613,7 @@ public class CLexer implements Lexer {
         case 86: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_GOTO;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2686,8 +2621,7 @@ public class CLexer implements Lexer {
         case 61: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_DO;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2695,8 +2629,7 @@ public class CLexer implements Lexer {
         case 90: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_USING;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2704,8 +2637,7 @@ public class CLexer implements Lexer {
         case 28: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_ADD;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2713,8 +2645,7 @@ public class CLexer implements Lexer {
         case 25: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_MOD;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2722,8 +2653,7 @@ public class CLexer implements Lexer {
         case 99: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_TYPEID;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2731,8 +2661,7 @@ public class CLexer implements Lexer {
         case 98: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_WHILE;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2740,8 +2669,7 @@ public class CLexer implements Lexer {
         case 53: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.LITERAL_INTEGER_OCTAL;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2749,8 +2677,7 @@ public class CLexer implements Lexer {
         case 103: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_FRIEND;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2758,8 +2685,7 @@ public class CLexer implements Lexer {
         case 46: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_LOGICAL_OR;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2767,8 +2693,7 @@ public class CLexer implements Lexer {
         case 129: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_CONST_CAST;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2776,8 +2701,7 @@ public class CLexer implements Lexer {
         case 11: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_BITWISE_XOR;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2785,8 +2709,7 @@ public class CLexer implements Lexer {
         case 24: 
           { nextState = YYINITIAL;
     lastToken = CToken.WHITE_SPACE;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return (t);
           }
@@ -2794,8 +2717,7 @@ public class CLexer implements Lexer {
         case 38: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_BITWISE_XOR_ASSIGN;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2803,8 +2725,7 @@ public class CLexer implements Lexer {
         case 84: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_CASE;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2812,8 +2733,7 @@ public class CLexer implements Lexer {
         case 69: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_FOR;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2821,8 +2741,7 @@ public class CLexer implements Lexer {
         case 111: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_DOUBLE;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2830,8 +2749,7 @@ public class CLexer implements Lexer {
         case 123: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_VOLATILE;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2839,8 +2757,7 @@ public class CLexer implements Lexer {
         case 110: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_DELETE;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2848,8 +2765,7 @@ public class CLexer implements Lexer {
         case 75: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.LITERAL_BOOLEAN;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2857,8 +2773,7 @@ public class CLexer implements Lexer {
         case 18: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_LOGICAL_NOT;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2866,8 +2781,7 @@ public class CLexer implements Lexer {
         case 107: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_SIZEOF;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2875,8 +2789,7 @@ public class CLexer implements Lexer {
         case 32: 
           { nextState = MIDDLE_OF_LINE;
     lastToken = CToken.OPERATOR_COLON;
-    String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -2884,8 +2797,7 @@ public class CLexer implements Lexer {
         case 120: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_TYPENAME;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -2893,8 +2805,7 @@ public class CLexer implements Lexer {
         case 68: 
           { nextState = MIDDLE_OF_LINE;
 	lastToken = CToken.RESERVED_WORD_TRY;
-	String text = yytext();
-	CToken t = (new CToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	CToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
     return(t);
           }
@@ -182,6 +182,12 @@ public class CToken extends Token {
   private int charBegin;
   private int charEnd;
   private int state;
+  /** Buffer the contents of a reused token are taken from. */
+  private char[] buffer;
+  /** Offset of the contents in buffer. */
+  private int offset;
+  /** Length of the contents in buffer. */
+  private int length;
   
   /**
    * Create a new token.
@@ -210,13 +216,50 @@ public class CToken extends Token {
    */
   public CToken(int ID, String contents, int lineNumber, int charBegin, int charEnd, int state){
 	this.ID = ID;
-	this.contents = new String(contents);
+	this.contents = contents;
 	this.lineNumber = lineNumber;
 	this.charBegin = charBegin;
 	this.charEnd = charEnd;
     this.state = state;
   }
 
+  /**
+   * Create a new token to be filled by a lexer.
+   * The token is typically created by a lexer which reuses it for all
+   * the tokens it returns.
+   *
+   * @see ReusableTokenLexer
+   */
+  public CToken(){
+    this.state = Token.UNDEFINED_STATE;
+  }
+
+  /**
+   * Fill this token with a match of the lexer.
+   * The contents are not copied. They are built from the buffer only when
+   * asked for, so the buffer must not change before that.
+   *
+   * @param ID the id number of the token
+   * @param buffer the buffer holding the text of the token
+   * @param offset the offset of the text in buffer
+   * @param length the length of the text
+   * @param lineNumber the line number of the input on which this token started
+   * @param charBegin the offset into the input in characters at which this token started
+   * @param charEnd the offset into the input in characters at which this token ended
+   * @param state the state the tokenizer is in after returning this token.
+   */
+  void set(int ID, char[] buffer, int offset, int length, int lineNumber, int charBegin, int charEnd, int state){
+    this.ID = ID;
+    this.contents = null;
+    this.buffer = buffer;
+    this.offset = offset;
+    this.length = length;
+    this.lineNumber = lineNumber;
+    this.charBegin = charBegin;
+    this.charEnd = charEnd;
+    this.state = state;
+  }
+
   /**
      * Get an integer representing the state the tokenizer is in after
      * returning this token.
@@ -245,7 +288,11 @@ public class CToken extends Token {
    * @return A string representing the text of the token
    */
   public String getContents(){
-  	return (new String(contents));
+    if (contents == null && buffer != null){
+      contents = new String(buffer, offset, length);
+      buffer = null;
+    }
+  	return contents;
   }
 
   /** 
@@ -400,26 +447,26 @@ public class CToken extends Token {
   		s = "Error on line " + lineNumber + ": ";
   		switch (ID){
   		case ERROR_IDENTIFIER:
-  			s += "Unrecognized Identifier: " + contents;
+  			s += "Unrecognized Identifier: " + getContents();
   		break; 
 		case ERROR_UNCLOSED_STRING:
-  			s += "'\"' expected after " + contents;
+  			s += "'\"' expected after " + getContents();
   		break; 		
 		case ERROR_MALFORMED_STRING:
 		case ERROR_MALFORMED_UNCLOSED_STRING:
-  			s += "Illegal character in " + contents;
+  			s += "Illegal character in " + getContents();
   		break;
 		case ERROR_UNCLOSED_CHARACTER:
-  			s += "\"'\" expected after " + contents;
+  			s += "\"'\" expected after " + getContents();
   		break; 		
 		case ERROR_MALFORMED_CHARACTER:
 		case ERROR_MALFORMED_UNCLOSED_CHARACTER:
-  			s += "Illegal character in " + contents;
+  			s += "Illegal character in " + getContents();
   		break;
 		case ERROR_INTEGER_DECIMIAL_SIZE:
 		case ERROR_INTEGER_OCTAL_SIZE:
 		case ERROR_FLOAT:
-  			s += "Illegal character in " + contents;
+  			s += "Illegal character in " + getContents();
   		break;
 		case ERROR_INTEGER_HEXIDECIMAL_SIZE:
 		case ERROR_LONG_DECIMIAL_SIZE:
@@ -427,13 +474,13 @@ public class CToken extends Token {
 		case ERROR_LONG_HEXIDECIMAL_SIZE:
 		case ERROR_FLOAT_SIZE:
 		case ERROR_DOUBLE_SIZE:
-  			s += "Literal out of bounds: " + contents;
+  			s += "Literal out of bounds: " + getContents();
   		break;		
 		case ERROR_UNCLOSED_COMMENT:
-  			s += "*/ expected after " + contents;
+  			s += "*/ expected after " + getContents();
   		break;
   		case ERROR_MALFORMED_PREPROCESSOR_DIRECTIVE:
-  			s += "Unrecognized preprocessor command " + contents;
+  			s += "Unrecognized preprocessor command " + getContents();
   		break;
 		}
   			
@@ -452,7 +499,7 @@ public class CToken extends Token {
    */  
   public String toString() {
       return ("Token #" + Integer.toHexString(ID) + ": " + getDescription() + " Line " + 
-      	lineNumber + " from " +charBegin + " to " + charEnd + " : " + contents);
+      	lineNumber + " from " +charBegin + " to " + charEnd + " : " + getContents());
   }
   
 }
@@ -55,7 +55,7 @@ import java.io.*;
  */ 
 
 
-public class HTMLLexer1 implements Lexer {
+public class HTMLLexer1 implements ReusableTokenLexer {
 
   /** This character denotes the end of file */
   public static final int YYEOF = -1;
@@ -811,6 +811,49 @@ public class HTMLLexer1 implements Lexer {
 		this.yychar = yychar;
 		this.yycolumn = yycolumn;
 	}
+    /**
+     * Token to be filled by the next match, if the caller supplied one.
+     */
+    private HTMLToken1 reusableToken;
+
+    /**
+     * Creates a token which can be passed to {@link #getNextToken(Token)}.
+     *
+     * @return a new token
+     */
+    public Token createToken(){
+        return new HTMLToken1();
+    }
+
+    /**
+     * Reads the next token into the given token instead of creating a new one.
+     * The contents of the token are valid only until the next token is read.
+     *
+     * @param token a token created by {@link #createToken()}
+     * @return true if a token is read, false at the end of input
+     * @throws IOException if an IOExecption occurs while reading input.
+     */
+    public boolean getNextToken(Token token) throws IOException{
+        reusableToken = (HTMLToken1) token;
+        try {
+            return getNextToken() != null;
+        } finally {
+            reusableToken = null;
+        }
+    }
+
+    /**
+     * Returns a token for the current match. The token supplied by the caller
+     * is filled if there is one, otherwise a new token is created.
+     */
+    private HTMLToken1 token(int ID, int lineNumber, int charBegin, int charEnd, int state){
+        if (reusableToken == null){
+            return new HTMLToken1(ID, yytext(), lineNumber, charBegin, charEnd, state);
+        }
+        reusableToken.set(ID, zzBuffer, zzStartRead, zzMarkedPos-zzStartRead, lineNumber, charBegin, charEnd, state);
+        return reusableToken;
+    }
+
 
 
   /**
@@ -1138,16 +1181,14 @@ public class HTMLLexer1 implements Lexer {
         case 1: 
           { nextState = YYINITIAL;
 	lastToken = HTMLToken1.WORD;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	return(t);
           }
         case 44: break;
         case 27: 
           { nextState = PRE_TAG;
 	lastToken = HTMLToken1.VALUE;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1155,8 +1196,7 @@ public class HTMLLexer1 implements Lexer {
         case 24: 
           { nextState = START_PRE_EQUAL;
 	lastToken = HTMLToken1.NAME;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1165,8 +1205,7 @@ public class HTMLLexer1 implements Lexer {
           { nextState = TEXTAREA;
 	lastToken = HTMLToken1.ERROR_MALFORMED_TAG;
 	
-    String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1174,8 +1213,7 @@ public class HTMLLexer1 implements Lexer {
         case 40: 
           { nextState = SCRIPT_TAG;
 	lastToken = HTMLToken1.TAG_NAME;	
-    String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1183,8 +1221,7 @@ public class HTMLLexer1 implements Lexer {
         case 9: 
           { nextState = TAG;
 	lastToken = HTMLToken1.TAG_NAME;
-    String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1192,8 +1229,7 @@ public class HTMLLexer1 implements Lexer {
         case 31: 
           { nextState = START_TEXTAREA_VALUE;
 	lastToken = HTMLToken1.EQUAL;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1201,8 +1237,7 @@ public class HTMLLexer1 implements Lexer {
         case 22: 
           { nextState = SCRIPT_TAG;
 	lastToken = HTMLToken1.VALUE;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1210,8 +1245,7 @@ public class HTMLLexer1 implements Lexer {
         case 8: 
           { nextState = YYINITIAL;
 	lastToken = HTMLToken1.ERROR_MALFORMED_TAG;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1219,8 +1253,7 @@ public class HTMLLexer1 implements Lexer {
         case 26: 
           { nextState = START_PRE_VALUE;
 	lastToken = HTMLToken1.EQUAL;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1264,8 +1297,7 @@ public class HTMLLexer1 implements Lexer {
         case 29: 
           { nextState = START_TEXTAREA_EQUAL;
 	lastToken = HTMLToken1.NAME;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1273,8 +1305,7 @@ public class HTMLLexer1 implements Lexer {
         case 11: 
           { nextState = COMMENT_DEF;
 	lastToken = HTMLToken1.ERROR_MALFORMED_TAG;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1282,8 +1313,7 @@ public class HTMLLexer1 implements Lexer {
         case 10: 
           { nextState = FINISH_END_TAG;
 	lastToken = HTMLToken1.END_TAG_NAME;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1291,8 +1321,7 @@ public class HTMLLexer1 implements Lexer {
         case 37: 
           { nextState = PRE_TAG;
 	lastToken = HTMLToken1.TAG_NAME;
-    String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1300,8 +1329,7 @@ public class HTMLLexer1 implements Lexer {
         case 19: 
           { nextState = SCRIPT;
 	lastToken = HTMLToken1.TAG_END;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1309,8 +1337,7 @@ public class HTMLLexer1 implements Lexer {
         case 42: 
           { nextState = DOCTYPE;
 	lastToken = HTMLToken1.TAG_NAME;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1318,16 +1345,14 @@ public class HTMLLexer1 implements Lexer {
         case 6: 
           { nextState = YYINITIAL;
 	lastToken = HTMLToken1.ERROR_MALFORMED_TAG;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	return(t);
           }
         case 61: break;
         case 20: 
           { nextState = SCRIPT;
 	lastToken = HTMLToken1.ERROR_MALFORMED_TAG;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1335,8 +1360,7 @@ public class HTMLLexer1 implements Lexer {
         case 34: 
           { nextState = START_END_TAG;
 	lastToken = HTMLToken1.TAG_START;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1344,8 +1368,7 @@ public class HTMLLexer1 implements Lexer {
         case 33: 
           { nextState = TEXTAREA_TAG;
 	lastToken = HTMLToken1.VALUE;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1354,8 +1377,7 @@ public class HTMLLexer1 implements Lexer {
           { nextState = SCRIPT;
 	lastToken = HTMLToken1.ERROR_MALFORMED_TAG;
 	
-    String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1363,16 +1385,14 @@ public class HTMLLexer1 implements Lexer {
         case 38: 
           { nextState = YYINITIAL;
 	lastToken = HTMLToken1.SCRIPT;
-    String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	return(t);
           }
         case 66: break;
         case 21: 
           { nextState = START_SCRIPT_VALUE;
 	lastToken = HTMLToken1.EQUAL;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1380,24 +1400,21 @@ public class HTMLLexer1 implements Lexer {
         case 43: 
           { nextState = TEXTAREA_TAG;
 	lastToken = HTMLToken1.TAG_NAME;
-    String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
         case 68: break;
         case 5: 
           { lastToken = HTMLToken1.WHITE_SPACE;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	return(t);
           }
         case 69: break;
         case 41: 
           { nextState = YYINITIAL;
 	lastToken = HTMLToken1.END_TAG_NAME;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1405,8 +1422,7 @@ public class HTMLLexer1 implements Lexer {
         case 14: 
           { nextState = YYINITIAL;
 	lastToken = HTMLToken1.TAG_END;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1414,8 +1430,7 @@ public class HTMLLexer1 implements Lexer {
         case 7: 
           { nextState = START_TAG;
 	lastToken = HTMLToken1.TAG_START;	
-    String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1423,8 +1438,7 @@ public class HTMLLexer1 implements Lexer {
         case 32: 
           { nextState = TEXTAREA;
 	lastToken = HTMLToken1.ERROR_MALFORMED_TAG;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1432,16 +1446,14 @@ public class HTMLLexer1 implements Lexer {
         case 35: 
           { nextState = START_DOC_TAG;
 	lastToken = HTMLToken1.TAG_START;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
         case 74: break;
         case 4: 
           { lastToken = HTMLToken1.NAME;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	return(t);
           }
         case 75: break;
@@ -1449,8 +1461,7 @@ public class HTMLLexer1 implements Lexer {
           { nextState = PRE;
 	lastToken = HTMLToken1.ERROR_MALFORMED_TAG;
 	
-    String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1458,8 +1469,7 @@ public class HTMLLexer1 implements Lexer {
         case 18: 
           { nextState = START_SCRIPT_EQUAL;
 	lastToken = HTMLToken1.NAME;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1467,8 +1477,7 @@ public class HTMLLexer1 implements Lexer {
         case 30: 
           { nextState = TEXTAREA;
 	lastToken = HTMLToken1.TAG_END;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1476,40 +1485,35 @@ public class HTMLLexer1 implements Lexer {
         case 16: 
           { nextState = TAG;
 	lastToken = HTMLToken1.VALUE;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
         case 79: break;
         case 2: 
           { lastToken = HTMLToken1.SCRIPT;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	return(t);
           }
         case 80: break;
         case 25: 
           { nextState = PRE;
 	lastToken = HTMLToken1.TAG_END;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
         case 81: break;
         case 3: 
           { lastToken = HTMLToken1.WORD;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	return(t);
           }
         case 82: break;
         case 15: 
           { nextState = START_VALUE;
 	lastToken = HTMLToken1.EQUAL;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1517,8 +1521,7 @@ public class HTMLLexer1 implements Lexer {
         case 39: 
           { nextState = COMMENT_DEF;
 	lastToken = HTMLToken1.COMMENT;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -1526,16 +1529,14 @@ public class HTMLLexer1 implements Lexer {
         case 36: 
           { nextState = YYINITIAL;
 	lastToken = HTMLToken1.CHAR_REF;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	return(t);
           }
         case 85: break;
         case 13: 
           { nextState = START_EQUAL;
 	lastToken = HTMLToken1.NAME;
-	String text = yytext();
-	HTMLToken1 t = (new HTMLToken1(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	HTMLToken1 t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
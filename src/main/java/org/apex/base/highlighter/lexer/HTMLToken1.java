@@ -40,6 +40,12 @@ public class HTMLToken1 extends Token {
   private int charBegin;
   private int charEnd;
   private int state;
+  /** Buffer the contents of a reused token are taken from. */
+  private char[] buffer;
+  /** Offset of the contents in buffer. */
+  private int offset;
+  /** Length of the contents in buffer. */
+  private int length;
 
   /**
    * Create a new token.
@@ -68,13 +74,50 @@ public class HTMLToken1 extends Token {
    */
   public HTMLToken1(int ID, String contents, int lineNumber, int charBegin, int charEnd, int state){
 	this.ID = ID;
-	this.contents = new String(contents);
+	this.contents = contents;
 	this.lineNumber = lineNumber;
 	this.charBegin = charBegin;
 	this.charEnd = charEnd;
     this.state = state;
   }
 
+  /**
+   * Create a new token to be filled by a lexer.
+   * The token is typically created by a lexer which reuses it for all
+   * the tokens it returns.
+   *
+   * @see ReusableTokenLexer
+   */
+  public HTMLToken1(){
+    this.state = Token.UNDEFINED_STATE;
+  }
+
+  /**
+   * Fill this token with a match of the lexer.
+   * The contents are not copied. They are built from the buffer only when
+   * asked for, so the buffer must not change before that.
+   *
+   * @param ID the id number of the token
+   * @param buffer the buffer holding the text of the token
+   * @param offset the offset of the text in buffer
+   * @param length the length of the text
+   * @param lineNumber the line number of the input on which this token started
+   * @param charBegin the offset into the input in characters at which this token started
+   * @param charEnd the offset into the input in characters at which this token ended
+   * @param state the state the tokenizer is in after returning this token.
+   */
+  void set(int ID, char[] buffer, int offset, int length, int lineNumber, int charBegin, int charEnd, int state){
+    this.ID = ID;
+    this.contents = null;
+    this.buffer = buffer;
+    this.offset = offset;
+    this.length = length;
+    this.lineNumber = lineNumber;
+    this.charBegin = charBegin;
+    this.charEnd = charEnd;
+    this.state = state;
+  }
+
   /**
      * Get an integer representing the state the tokenizer is in after
      * returning this token.
@@ -103,7 +146,11 @@ public class HTMLToken1 extends Token {
    * @return A string representing the text of the token
    */
   public String getContents(){
-  	return (new String(contents));
+    if (contents == null && buffer != null){
+      contents = new String(buffer, offset, length);
+      buffer = null;
+    }
+  	return contents;
   }
 
   /** 
@@ -271,7 +318,7 @@ public class HTMLToken1 extends Token {
   		s = "Error on line " + lineNumber + ": ";
   		switch (ID){
   		case ERROR_MALFORMED_TAG:
-  			s += "Malformed Tag: " + contents;
+  			s += "Malformed Tag: " + getContents();
   		break;
 		}
   			
@@ -290,7 +337,7 @@ public class HTMLToken1 extends Token {
    */  
   public String toString() {
       return ("Token #" + Integer.toHexString(ID) + ": " + getDescription() + " Line " + 
-      	lineNumber + " from " +charBegin + " to " + charEnd + " : " + contents);
+      	lineNumber + " from " +charBegin + " to " + charEnd + " : " + getContents());
   }
   
 }
@@ -50,7 +50,7 @@ import java.io.*;
  */ 
 
 
-public class JavaLexer implements Lexer {
+public class JavaLexer implements ReusableTokenLexer {
 
   /** This character denotes the end of file */
   public static final int YYEOF = -1;
@@ -773,6 +773,49 @@ public class JavaLexer implements Lexer {
 		this.yychar = yychar;
 		this.yycolumn = yycolumn;
 	}
+    /**
+     * Token to be filled by the next match, if the caller supplied one.
+     */
+    private JavaToken reusableToken;
+
+    /**
+     * Creates a token which can be passed to {@link #getNextToken(Token)}.
+     *
+     * @return a new token
+     */
+    public Token createToken(){
+        return new JavaToken();
+    }
+
+    /**
+     * Reads the next token into the given token instead of creating a new one.
+     * The contents of the token are valid only until the next token is read.
+     *
+     * @param token a token created by {@link #createToken()}
+     * @return true if a token is read, false at the end of input
+     * @throws IOException if an IOExecption occurs while reading input.
+     */
+    public boolean getNextToken(Token token) throws IOException{
+        reusableToken = (JavaToken) token;
+        try {
+            return getNextToken() != null;
+        } finally {
+            reusableToken = null;
+        }
+    }
+
+    /**
+     * Returns a token for the current match. The token supplied by the caller
+     * is filled if there is one, otherwise a new token is created.
+     */
+    private JavaToken token(int ID, int lineNumber, int charBegin, int charEnd, int state){
+        if (reusableToken == null){
+            return new JavaToken(ID, yytext(), lineNumber, charBegin, charEnd, state);
+        }
+        reusableToken.set(ID, zzBuffer, zzStartRead, zzMarkedPos-zzStartRead, lineNumber, charBegin, charEnd, state);
+        return reusableToken;
+    }
+
 
 
   /**
@@ -1095,120 +1138,103 @@ public class JavaLexer implements Lexer {
       switch (zzAction < 0 ? zzAction : ZZ_ACTION[zzAction]) {
         case 23: 
           { lastToken = JavaToken.OPERATOR_LESS_THAN;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 123: break;
         case 14: 
           { lastToken = JavaToken.SEPARATOR_RPAREN;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 124: break;
         case 15: 
           { lastToken = JavaToken.SEPARATOR_LBRACE;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 125: break;
         case 52: 
           { lastToken = JavaToken.OPERATOR_EQUAL;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 126: break;
         case 62: 
           { lastToken = JavaToken.OPERATOR_BITWISE_XOR_ASSIGN;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 127: break;
         case 5: 
           { lastToken = JavaToken.OPERATOR_MOD;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 128: break;
         case 61: 
           { lastToken = JavaToken.OPERATOR_LOGICAL_OR;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 129: break;
         case 48: 
           { lastToken = JavaToken.OPERATOR_ADD_ASSIGN;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 130: break;
         case 93: 
           { lastToken = JavaToken.RESERVED_WORD_SUPER;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 131: break;
         case 83: 
           { lastToken = JavaToken.OPERATOR_SHIFT_RIGHT_UNSIGNED_ASSIGN;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 132: break;
         case 55: 
           { lastToken = JavaToken.OPERATOR_LESS_THAN_OR_EQUAL;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 133: break;
         case 100: 
           { lastToken = JavaToken.RESERVED_WORD_NATIVE;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 134: break;
         case 39: 
           { lastToken = JavaToken.ERROR_UNCLOSED_CHARACTER;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 135: break;
         case 89: 
           { lastToken = JavaToken.RESERVED_WORD_FLOAT;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 136: break;
         case 75: 
           { lastToken = JavaToken.LITERAL_NULL;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 137: break;
         case 118: 
           { lastToken = JavaToken.RESERVED_WORD_INTERFACE;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 138: break;
         case 38: 
           { lastToken = JavaToken.OPERATOR_MOD_ASSIGN;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 139: break;
@@ -1224,148 +1250,127 @@ public class JavaLexer implements Lexer {
     } catch (NumberFormatException e){
         lastToken = JavaToken.ERROR_DOUBLE_SIZE;
     } 
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 140: break;
         case 44: 
           { lastToken = JavaToken.ERROR_UNCLOSED_COMMENT;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 141: break;
         case 54: 
           { lastToken = JavaToken.OPERATOR_SHIFT_RIGHT;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 142: break;
         case 96: 
           { lastToken = JavaToken.RESERVED_WORD_CATCH;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 143: break;
         case 107: 
           { lastToken = JavaToken.RESERVED_WORD_BOOLEAN;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 144: break;
         case 86: 
           { lastToken = JavaToken.RESERVED_WORD_GOTO;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 145: break;
         case 59: 
           { lastToken = JavaToken.OPERATOR_LOGICAL_AND;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 146: break;
         case 60: 
           { lastToken = JavaToken.OPERATOR_BITWISE_OR_ASSIGN;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 147: break;
         case 69: 
           { lastToken = JavaToken.LITERAL_CHARACTER;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 148: break;
         case 27: 
           { lastToken = JavaToken.OPERATOR_COLON;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 149: break;
         case 117: 
           { lastToken = JavaToken.RESERVED_WORD_TRANSIENT;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 150: break;
         case 10: 
           { lastToken = JavaToken.OPERATOR_ADD;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 151: break;
         case 110: 
           { lastToken = JavaToken.RESERVED_WORD_DEFAULT;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 152: break;
         case 58: 
           { lastToken = JavaToken.OPERATOR_BITWISE_AND_ASSIGN;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 153: break;
         case 121: 
           { lastToken = JavaToken.RESERVED_WORD_IMPLEMENTS;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 154: break;
         case 81: 
           { lastToken = JavaToken.RESERVED_WORD_LONG;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 155: break;
         case 84: 
           { lastToken = JavaToken.RESERVED_WORD_CASE;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 156: break;
         case 49: 
           { lastToken = JavaToken.OPERATOR_DECREMENT;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 157: break;
         case 40: 
           { lastToken = JavaToken.ERROR_MALFORMED_CHARACTER;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 158: break;
         case 120: 
           { lastToken = JavaToken.RESERVED_WORD_INSTANCEOF;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 159: break;
         case 53: 
           { lastToken = JavaToken.OPERATOR_GREATER_THAN_OR_EQUAL;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 160: break;
@@ -1376,120 +1381,103 @@ public class JavaLexer implements Lexer {
      * to slip through the cracks. 
      */ 
     lastToken = JavaToken.ERROR_UNCLOSED_STRING;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 161: break;
         case 77: 
           { lastToken = JavaToken.LITERAL_BOOLEAN;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 162: break;
         case 18: 
           { lastToken = JavaToken.SEPARATOR_RBRACKET;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 163: break;
         case 66: 
           { lastToken = JavaToken.RESERVED_WORD_NEW;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 164: break;
         case 102: 
           { lastToken = JavaToken.RESERVED_WORD_DOUBLE;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 165: break;
         case 78: 
           { lastToken = JavaToken.RESERVED_WORD_THIS;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 166: break;
         case 30: 
           { lastToken = JavaToken.OPERATOR_BITWISE_XOR;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 167: break;
         case 31: 
           { lastToken = JavaToken.ERROR_FLOAT;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 168: break;
         case 37: 
           { lastToken = JavaToken.LITERAL_DOUBLE;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 169: break;
         case 8: 
           { lastToken = JavaToken.OPERATOR_DIVIDE;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 170: break;
         case 29: 
           { lastToken = JavaToken.OPERATOR_BITWISE_OR;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 171: break;
         case 19: 
           { lastToken = JavaToken.SEPARATOR_SEMICOLON;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 172: break;
         case 63: 
           { lastToken = JavaToken.RESERVED_WORD_IF;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 173: break;
         case 97: 
           { lastToken = JavaToken.RESERVED_WORD_CONST;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 174: break;
         case 88: 
           { lastToken = JavaToken.RESERVED_WORD_BREAK;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 175: break;
         case 17: 
           { lastToken = JavaToken.SEPARATOR_LBRACKET;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 176: break;
         case 20: 
           { lastToken = JavaToken.SEPARATOR_COMMA;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 177: break;
@@ -1498,8 +1486,7 @@ public class JavaLexer implements Lexer {
      * give an error that a number was rounded to zero
      */
     lastToken = JavaToken.LITERAL_FLOATING_POINT;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 178: break;
@@ -1529,63 +1516,55 @@ public class JavaLexer implements Lexer {
         }
     }
     // Otherwise, it should be OK  
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 179: break;
         case 101: 
           { lastToken = JavaToken.RESERVED_WORD_THROWS;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 180: break;
         case 16: 
           { lastToken = JavaToken.SEPARATOR_RBRACE;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 181: break;
         case 111: 
           { lastToken = JavaToken.RESERVED_WORD_PRIVATE;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 182: break;
         case 104: 
           { lastToken = JavaToken.RESERVED_WORD_SWITCH;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 183: break;
         case 67: 
           { lastToken = JavaToken.RESERVED_WORD_FOR;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 184: break;
         case 68: 
           { lastToken = JavaToken.RESERVED_WORD_TRY;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 185: break;
         case 22: 
           { lastToken = JavaToken.OPERATOR_GREATER_THAN;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 186: break;
         case 47: 
           { lastToken = JavaToken.OPERATOR_INCREMENT;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 187: break;
@@ -1609,42 +1588,37 @@ public class JavaLexer implements Lexer {
     } catch (NumberFormatException e){
         lastToken = JavaToken.ERROR_INTEGER_DECIMIAL_SIZE;
     }
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 188: break;
         case 42: 
           { lastToken = JavaToken.LITERAL_STRING;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 189: break;
         case 108: 
           { lastToken = JavaToken.RESERVED_WORD_FINALLY;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 190: break;
         case 43: 
           { lastToken = JavaToken.COMMENT_END_OF_LINE;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 191: break;
         case 90: 
           { lastToken = JavaToken.RESERVED_WORD_FINAL;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 192: break;
         case 13: 
           { lastToken = JavaToken.SEPARATOR_LPAREN;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 193: break;
@@ -1666,91 +1640,79 @@ public class JavaLexer implements Lexer {
     if (length - i > 17){
         lastToken = JavaToken.ERROR_LONG_HEXIDECIMAL_SIZE;
     }
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 194: break;
         case 73: 
           { lastToken = JavaToken.RESERVED_WORD_INT;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 195: break;
         case 92: 
           { lastToken = JavaToken.COMMENT_TRADITIONAL;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 196: break;
         case 85: 
           { lastToken = JavaToken.RESERVED_WORD_CHAR;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 197: break;
         case 4: 
           { lastToken = JavaToken.WHITE_SPACE;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 198: break;
         case 116: 
           { lastToken = JavaToken.RESERVED_WORD_VOLATILE;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 199: break;
         case 113: 
           { lastToken = JavaToken.RESERVED_WORD_ABSTRACT;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 200: break;
         case 9: 
           { lastToken = JavaToken.OPERATOR_MULTIPLY;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 201: break;
         case 45: 
           { lastToken = JavaToken.OPERATOR_DIVIDE_ASSIGN;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 202: break;
         case 106: 
           { lastToken = JavaToken.RESERVED_WORD_PUBLIC;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 203: break;
         case 95: 
           { lastToken = JavaToken.RESERVED_WORD_CLASS;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 204: break;
         case 79: 
           { lastToken = JavaToken.ERROR_MALFORMED_STRING;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 205: break;
         case 25: 
           { lastToken = JavaToken.OPERATOR_BITWISE_COMPLIMENT;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 206: break;
@@ -1780,21 +1742,19 @@ public class JavaLexer implements Lexer {
         }
     }
     // Otherwise, it should be OK  
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 207: break;
         case 99: 
           { lastToken = JavaToken.RESERVED_WORD_RETURN;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 208: break;
         case 1: 
           { lastToken = JavaToken.ERROR_IDENTIFIER;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 209: break;
@@ -1815,28 +1775,25 @@ public class JavaLexer implements Lexer {
     if (length - i > 8){
         lastToken = JavaToken.ERROR_INTEGER_HEXIDECIMAL_SIZE;
     }
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 210: break;
         case 46: 
           { lastToken = JavaToken.OPERATOR_MULTIPLY_ASSIGN;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 211: break;
         case 28: 
           { lastToken = JavaToken.OPERATOR_BITWISE_AND;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 212: break;
         case 109: 
           { lastToken = JavaToken.RESERVED_WORD_EXTENDS;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 213: break;
@@ -1856,50 +1813,43 @@ public class JavaLexer implements Lexer {
     } catch (NumberFormatException e){
         lastToken = JavaToken.ERROR_FLOAT_SIZE;
     }
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 214: break;
         case 6: 
           { lastToken = JavaToken.ERROR_MALFORMED_UNCLOSED_CHARACTER;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 215: break;
         case 24: 
           { lastToken = JavaToken.OPERATOR_LOGICAL_NOT;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 216: break;
         case 119: 
           { lastToken = JavaToken.RESERVED_WORD_PROTECTED;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 217: break;
         case 11: 
           { lastToken = JavaToken.OPERATOR_SUBTRACT;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 218: break;
         case 71: 
           { lastToken = JavaToken.OPERATOR_SHIFT_RIGHT_UNSIGNED;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 219: break;
         case 12: 
           { lastToken = JavaToken.SEPARATOR_PERIOD;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 220: break;
@@ -1915,168 +1865,145 @@ public class JavaLexer implements Lexer {
     } catch (NumberFormatException e){  
         lastToken = JavaToken.ERROR_LONG_DECIMIAL_SIZE;
     }
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 221: break;
         case 103: 
           { lastToken = JavaToken.RESERVED_WORD_STATIC;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 222: break;
         case 57: 
           { lastToken = JavaToken.OPERATOR_NOT_EQUAL;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 223: break;
         case 82: 
           { lastToken = JavaToken.RESERVED_WORD_ELSE;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 224: break;
         case 70: 
           { lastToken = JavaToken.OPERATOR_SHIFT_RIGHT_ASSIGN;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 225: break;
         case 51: 
           { lastToken = JavaToken.RESERVED_WORD_DO;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 226: break;
         case 122: 
           { lastToken = JavaToken.RESERVED_WORD_SYNCHRONIZED;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 227: break;
         case 105: 
           { lastToken = JavaToken.RESERVED_WORD_IMPORT;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 228: break;
         case 98: 
           { lastToken = JavaToken.RESERVED_WORD_WHILE;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 229: break;
         case 21: 
           { lastToken = JavaToken.OPERATOR_ASSIGN;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 230: break;
         case 91: 
           { lastToken = JavaToken.RESERVED_WORD_THROW;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 231: break;
         case 80: 
           { lastToken = JavaToken.COMMENT_DOCUMENTATION;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 232: break;
         case 56: 
           { lastToken = JavaToken.OPERATOR_SHIFT_LEFT;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 233: break;
         case 112: 
           { lastToken = JavaToken.RESERVED_WORD_PACKAGE;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 234: break;
         case 87: 
           { lastToken = JavaToken.RESERVED_WORD_VOID;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 235: break;
         case 76: 
           { lastToken = JavaToken.RESERVED_WORD_BYTE;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 236: break;
         case 41: 
           { lastToken = JavaToken.ERROR_MALFORMED_UNCLOSED_STRING;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 237: break;
         case 50: 
           { lastToken = JavaToken.OPERATOR_SUBTRACT_ASSIGN;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 238: break;
         case 115: 
           { lastToken = JavaToken.RESERVED_WORD_CONTINUE;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 239: break;
         case 26: 
           { lastToken = JavaToken.OPERATOR_QUESTION;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 240: break;
         case 94: 
           { lastToken = JavaToken.RESERVED_WORD_SHORT;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 241: break;
         case 114: 
           { lastToken = JavaToken.RESERVED_WORD_STRICTFP;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 242: break;
         case 72: 
           { lastToken = JavaToken.OPERATOR_SHIFT_LEFT_ASSIGN;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 243: break;
         case 2: 
           { lastToken = JavaToken.IDENTIFIER;
-    String text = yytext();
-    JavaToken t = (new JavaToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    JavaToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 244: break;
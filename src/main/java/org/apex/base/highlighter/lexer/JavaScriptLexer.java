@@ -50,7 +50,7 @@ import java.io.*;
  */ 
 
 
-public class JavaScriptLexer implements Lexer {
+public class JavaScriptLexer implements ReusableTokenLexer {
 
   /** This character denotes the end of file */
   public static final int YYEOF = -1;
@@ -765,6 +765,49 @@ public class JavaScriptLexer implements Lexer {
 		this.yychar = yychar;
 		this.yycolumn = yycolumn;
 	}
+    /**
+     * Token to be filled by the next match, if the caller supplied one.
+     */
+    private JavaScriptToken reusableToken;
+
+    /**
+     * Creates a token which can be passed to {@link #getNextToken(Token)}.
+     *
+     * @return a new token
+     */
+    public Token createToken(){
+        return new JavaScriptToken();
+    }
+
+    /**
+     * Reads the next token into the given token instead of creating a new one.
+     * The contents of the token are valid only until the next token is read.
+     *
+     * @param token a token created by {@link #createToken()}
+     * @return true if a token is read, false at the end of input
+     * @throws IOException if an IOExecption occurs while reading input.
+     */
+    public boolean getNextToken(Token token) throws IOException{
+        reusableToken = (JavaScriptToken) token;
+        try {
+            return getNextToken() != null;
+        } finally {
+            reusableToken = null;
+        }
+    }
+
+    /**
+     * Returns a token for the current match. The token supplied by the caller
+     * is filled if there is one, otherwise a new token is created.
+     */
+    private JavaScriptToken token(int ID, int lineNumber, int charBegin, int charEnd, int state){
+        if (reusableToken == null){
+            return new JavaScriptToken(ID, yytext(), lineNumber, charBegin, charEnd, state);
+        }
+        reusableToken.set(ID, zzBuffer, zzStartRead, zzMarkedPos-zzStartRead, lineNumber, charBegin, charEnd, state);
+        return reusableToken;
+    }
+
 
 
   /**
@@ -1087,49 +1130,49 @@ public class JavaScriptLexer implements Lexer {
       switch (zzAction < 0 ? zzAction : ZZ_ACTION[zzAction]) {
         case 21: 
           { lastToken = JavaScriptToken.SEPARATOR_SEMICOLON;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+1, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+1,nextState);
     return (t);
           }
         case 124: break;
         case 16: 
           { lastToken = JavaScriptToken.SEPARATOR_RPAREN;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+1, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+1,nextState);
     return (t);
           }
         case 125: break;
         case 22: 
           { lastToken = JavaScriptToken.SEPARATOR_COMMA;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+1, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+1,nextState);
     return (t);
           }
         case 126: break;
         case 100: 
           { lastToken = JavaScriptToken.RESERVED_WORD_CONST;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+5, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+5,nextState);
     return (t);
           }
         case 127: break;
         case 85: 
           { lastToken = JavaScriptToken.OPERATOR_SHIFT_RIGHT_UNSIGNED_ASSIGN;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+4, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+4,nextState);
     return (t);
           }
         case 128: break;
         case 39: 
           { lastToken = JavaScriptToken.ERROR_UNCLOSED_CHARACTER;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar + yytext().length(), nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 129: break;
         case 73: 
           { lastToken = JavaScriptToken.OPERATOR_SHIFT_RIGHT_UNSIGNED;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+3, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+3,nextState);
     return (t);
           }
         case 130: break;
         case 43: 
           { lastToken = JavaScriptToken.OPERATOR_SHIFT_LEFT;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+2, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+2,nextState);
     return (t);
           }
         case 131: break;
@@ -1149,67 +1192,67 @@ public class JavaScriptLexer implements Lexer {
     if (length - i > 8){
         lastToken = JavaScriptToken.ERROR_INTEGER_HEXIDECIMAL_SIZE;
     }
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar + yytext().length(), nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 132: break;
         case 2: 
           { lastToken = JavaScriptToken.IDENTIFIER;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar + yytext().length(), nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 133: break;
         case 8: 
           { lastToken = JavaScriptToken.OPERATOR_LESS_THAN;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+1, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+1,nextState);
     return (t);
           }
         case 134: break;
         case 119: 
           { lastToken = JavaScriptToken.RESERVED_WORD_INTERFACE;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+9, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+9,nextState);
     return (t);
           }
         case 135: break;
         case 19: 
           { lastToken = JavaScriptToken.SEPARATOR_LBRACKET;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+1, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+1,nextState);
     return (t);
           }
         case 136: break;
         case 96: 
           { lastToken = JavaScriptToken.RESERVED_WORD_SUPER;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+5, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+5,nextState);
     return (t);
           }
         case 137: break;
         case 53: 
           { lastToken = JavaScriptToken.OPERATOR_ADD_ASSIGN;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+2, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+2,nextState);
     return (t);
           }
         case 138: break;
         case 4: 
           { lastToken = JavaScriptToken.WHITE_SPACE;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar + yytext().length(), nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 139: break;
         case 112: 
           { lastToken = JavaScriptToken.RESERVED_WORD_EXTENDS;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+7, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+7,nextState);
     return (t);
           }
         case 140: break;
         case 102: 
           { lastToken = JavaScriptToken.RESERVED_WORD_RETURN;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+6, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+6,nextState);
     return (t);
           }
         case 141: break;
         case 89: 
           { lastToken = JavaScriptToken.RESERVED_WORD_VOID;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+4, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+4,nextState);
     return (t);
           }
         case 142: break;
@@ -1224,97 +1267,97 @@ public class JavaScriptLexer implements Lexer {
     } catch (NumberFormatException e){  
         lastToken = JavaScriptToken.ERROR_LONG_DECIMIAL_SIZE;
     }
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar + yytext().length(), nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 143: break;
         case 1: 
           { lastToken = JavaScriptToken.ERROR_IDENTIFIER;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar + yytext().length(), nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 144: break;
         case 93: 
           { lastToken = JavaScriptToken.LITERAL_BOOLEAN;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+5, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+5,nextState);
     return (t);
           }
         case 145: break;
         case 79: 
           { lastToken = JavaScriptToken.LITERAL_BOOLEAN;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+4, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+4,nextState);
     return (t);
           }
         case 146: break;
         case 48: 
           { lastToken = JavaScriptToken.COMMENT_END_OF_LINE;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar + yytext().length(), nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 147: break;
         case 75: 
           { lastToken = JavaScriptToken.RESERVED_WORD_VAR;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+3, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+3,nextState);
     return (t);
           }
         case 148: break;
         case 117: 
           { lastToken = JavaScriptToken.RESERVED_WORD_ABSTRACT;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+7, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+7,nextState);
     return (t);
           }
         case 149: break;
         case 17: 
           { lastToken = JavaScriptToken.SEPARATOR_LBRACE;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+1, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+1,nextState);
     return (t);
           }
         case 150: break;
         case 116: 
           { lastToken = JavaScriptToken.RESERVED_WORD_FUNCTION;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+8, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+8,nextState);
     return (t);
           }
         case 151: break;
         case 51: 
           { lastToken = JavaScriptToken.OPERATOR_MULTIPLY_ASSIGN;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+2, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+2,nextState);
     return (t);
           }
         case 152: break;
         case 55: 
           { lastToken = JavaScriptToken.OPERATOR_EQUAL;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+2, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+2,nextState);
     return (t);
           }
         case 153: break;
         case 10: 
           { lastToken = JavaScriptToken.OPERATOR_SUBTRACT;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+1, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+1,nextState);
     return (t);
           }
         case 154: break;
         case 41: 
           { lastToken = JavaScriptToken.ERROR_MALFORMED_UNCLOSED_STRING;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar + yytext().length(), nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 155: break;
         case 82: 
           { lastToken = JavaScriptToken.COMMENT_TRADITIONAL;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar + yytext().length(), nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 156: break;
         case 50: 
           { lastToken = JavaScriptToken.OPERATOR_DIVIDE_ASSIGN;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+2, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+2,nextState);
     return (t);
           }
         case 157: break;
         case 91: 
           { lastToken = JavaScriptToken.RESERVED_WORD_BREAK;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+5, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+5,nextState);
     return (t);
           }
         case 158: break;
@@ -1343,13 +1386,13 @@ public class JavaScriptLexer implements Lexer {
         }
     }
     // Otherwise, it should be OK   
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar + yytext().length(), nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 159: break;
         case 120: 
           { lastToken = JavaScriptToken.RESERVED_WORD_PROTECTED;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+9, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+9,nextState);
     return (t);
           }
         case 160: break;
@@ -1370,97 +1413,97 @@ public class JavaScriptLexer implements Lexer {
     if (length - i > 17){
         lastToken = JavaScriptToken.ERROR_LONG_HEXIDECIMAL_SIZE;
     }
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar + yytext().length(), nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 161: break;
         case 29: 
           { lastToken = JavaScriptToken.OPERATOR_BITWISE_OR;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+1, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+1,nextState);
     return (t);
           }
         case 162: break;
         case 23: 
           { lastToken = JavaScriptToken.OPERATOR_ASSIGN;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+1, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+1,nextState);
     return (t);
           }
         case 163: break;
         case 11: 
           { lastToken = JavaScriptToken.OPERATOR_DIVIDE;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+1, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+1,nextState);
     return (t);
           }
         case 164: break;
         case 72: 
           { lastToken = JavaScriptToken.OPERATOR_SHIFT_RIGHT_ASSIGN;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+3, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+3,nextState);
     return (t);
           }
         case 165: break;
         case 71: 
           { lastToken = JavaScriptToken.OPERATOR_SHIFT_LEFT_ASSIGN;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+3, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+3,nextState);
     return (t);
           }
         case 166: break;
         case 59: 
           { lastToken = JavaScriptToken.OPERATOR_LOGICAL_AND;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+2, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+2,nextState);
     return (t);
           }
         case 167: break;
         case 30: 
           { lastToken = JavaScriptToken.OPERATOR_BITWISE_XOR;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+1, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+1,nextState);
     return (t);
           }
         case 168: break;
         case 122: 
           { lastToken = JavaScriptToken.RESERVED_WORD_IMPLEMENTS;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+10, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+10,nextState);
     return (t);
           }
         case 169: break;
         case 68: 
           { lastToken = JavaScriptToken.RESERVED_WORD_FOR;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+3, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+3,nextState);
     return (t);
           }
         case 170: break;
         case 107: 
           { lastToken = JavaScriptToken.RESERVED_WORD_SWITCH;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+6, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+6,nextState);
     return (t);
           }
         case 171: break;
         case 28: 
           { lastToken = JavaScriptToken.OPERATOR_BITWISE_AND;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+1, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+1,nextState);
     return (t);
           }
         case 172: break;
         case 27: 
           { lastToken = JavaScriptToken.OPERATOR_COLON;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+1, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+1,nextState);
     return (t);
           }
         case 173: break;
         case 45: 
           { lastToken = JavaScriptToken.OPERATOR_NOT_EQUAL;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+2, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+2,nextState);
     return (t);
           }
         case 174: break;
         case 5: 
           { lastToken = JavaScriptToken.OPERATOR_MOD;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+1, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+1,nextState);
     return (t);
           }
         case 175: break;
         case 6: 
           { lastToken = JavaScriptToken.ERROR_MALFORMED_UNCLOSED_CHARACTER;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar + yytext().length(), nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 176: break;
@@ -1483,91 +1526,91 @@ public class JavaScriptLexer implements Lexer {
     } catch (NumberFormatException e){
         lastToken = JavaScriptToken.ERROR_INTEGER_DECIMIAL_SIZE;
     }
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar + yytext().length(), nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 177: break;
         case 69: 
           { lastToken = JavaScriptToken.RESERVED_WORD_TRY;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+3, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+3,nextState);
     return (t);
           }
         case 178: break;
         case 92: 
           { lastToken = JavaScriptToken.RESERVED_WORD_FLOAT;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+5, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+5,nextState);
     return (t);
           }
         case 179: break;
         case 99: 
           { lastToken = JavaScriptToken.RESERVED_WORD_CATCH;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+5, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+5,nextState);
     return (t);
           }
         case 180: break;
         case 37: 
           { lastToken = JavaScriptToken.LITERAL_DOUBLE;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar + yytext().length(), nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 181: break;
         case 74: 
           { lastToken = JavaScriptToken.RESERVED_WORD_INT;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+3, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+3,nextState);
     return (t);
           }
         case 182: break;
         case 98: 
           { lastToken = JavaScriptToken.RESERVED_WORD_CLASS;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+5, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+5,nextState);
     return (t);
           }
         case 183: break;
         case 101: 
           { lastToken = JavaScriptToken.RESERVED_WORD_TRANSIENT;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+9, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+9,nextState);
     return (t);
           }
         case 184: break;
         case 63: 
           { lastToken = JavaScriptToken.RESERVED_WORD_IN;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+2, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+2,nextState);
     return (t);
           }
         case 185: break;
         case 58: 
           { lastToken = JavaScriptToken.OPERATOR_BITWISE_AND_ASSIGN;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+2, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+2,nextState);
     return (t);
           }
         case 186: break;
         case 9: 
           { lastToken = JavaScriptToken.OPERATOR_LOGICAL_NOT;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+1, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+1,nextState);
     return (t);
           }
         case 187: break;
         case 61: 
           { lastToken = JavaScriptToken.OPERATOR_LOGICAL_OR;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+2, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+2,nextState);
     return (t);
           }
         case 188: break;
         case 18: 
           { lastToken = JavaScriptToken.SEPARATOR_RBRACE;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+1, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+1,nextState);
     return (t);
           }
         case 189: break;
         case 87: 
           { lastToken = JavaScriptToken.RESERVED_WORD_CHAR;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+4, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+4,nextState);
     return (t);
           }
         case 190: break;
         case 78: 
           { lastToken = JavaScriptToken.RESERVED_WORD_BYTE;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+4, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+4,nextState);
     return (t);
           }
         case 191: break;
@@ -1587,145 +1630,145 @@ public class JavaScriptLexer implements Lexer {
     } catch (NumberFormatException e){
         lastToken = JavaScriptToken.ERROR_FLOAT_SIZE;
     }
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar + yytext().length(), nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 192: break;
         case 54: 
           { lastToken = JavaScriptToken.RESERVED_WORD_DO;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+2, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+2,nextState);
     return (t);
           }
         case 193: break;
         case 60: 
           { lastToken = JavaScriptToken.OPERATOR_BITWISE_OR_ASSIGN;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+2, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+2,nextState);
     return (t);
           }
         case 194: break;
         case 13: 
           { lastToken = JavaScriptToken.OPERATOR_ADD;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+1, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+1,nextState);
     return (t);
           }
         case 195: break;
         case 94: 
           { lastToken = JavaScriptToken.RESERVED_WORD_FINAL;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+5, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+5,nextState);
     return (t);
           }
         case 196: break;
         case 26: 
           { lastToken = JavaScriptToken.OPERATOR_QUESTION;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+1, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+1,nextState);
     return (t);
           }
         case 197: break;
         case 90: 
           { lastToken = JavaScriptToken.RESERVED_WORD_WITH;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+4, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+4,nextState);
     return (t);
           }
         case 198: break;
         case 67: 
           { lastToken = JavaScriptToken.RESERVED_WORD_NEW;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+3, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+3,nextState);
     return (t);
           }
         case 199: break;
         case 70: 
           { lastToken = JavaScriptToken.LITERAL_CHARACTER;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar + yytext().length(), nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 200: break;
         case 118: 
           { lastToken = JavaScriptToken.RESERVED_WORD_CONTINUE;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+8, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+8,nextState);
     return (t);
           }
         case 201: break;
         case 88: 
           { lastToken = JavaScriptToken.RESERVED_WORD_GOTO;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+4, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+4,nextState);
     return (t);
           }
         case 202: break;
         case 109: 
           { lastToken = JavaScriptToken.RESERVED_WORD_PUBLIC;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+6, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+6,nextState);
     return (t);
           }
         case 203: break;
         case 84: 
           { lastToken = JavaScriptToken.RESERVED_WORD_ELSE;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+4, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+4,nextState);
     return (t);
           }
         case 204: break;
         case 44: 
           { lastToken = JavaScriptToken.OPERATOR_LESS_THAN_OR_EQUAL;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+2, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+2,nextState);
     return (t);
           }
         case 205: break;
         case 115: 
           { lastToken = JavaScriptToken.RESERVED_WORD_PACKAGE;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+7, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+7,nextState);
     return (t);
           }
         case 206: break;
         case 113: 
           { lastToken = JavaScriptToken.RESERVED_WORD_DEFAULT;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+7, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+7,nextState);
     return (t);
           }
         case 207: break;
         case 110: 
           { lastToken = JavaScriptToken.RESERVED_WORD_BOOLEAN;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+7, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+7,nextState);
     return (t);
           }
         case 208: break;
         case 123: 
           { lastToken = JavaScriptToken.RESERVED_WORD_SYNCHRONIZED;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+12, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+12,nextState);
     return (t);
           }
         case 209: break;
         case 83: 
           { lastToken = JavaScriptToken.RESERVED_WORD_LONG;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+4, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+4,nextState);
     return (t);
           }
         case 210: break;
         case 108: 
           { lastToken = JavaScriptToken.RESERVED_WORD_IMPORT;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+6, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+6,nextState);
     return (t);
           }
         case 211: break;
         case 56: 
           { lastToken = JavaScriptToken.OPERATOR_GREATER_THAN_OR_EQUAL;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+2, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+2,nextState);
     return (t);
           }
         case 212: break;
         case 25: 
           { lastToken = JavaScriptToken.OPERATOR_BITWISE_COMPLIMENT;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+1, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+1,nextState);
     return (t);
           }
         case 213: break;
         case 47: 
           { lastToken = JavaScriptToken.OPERATOR_SUBTRACT_ASSIGN;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+2, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+2,nextState);
     return (t);
           }
         case 214: break;
         case 14: 
           { lastToken = JavaScriptToken.SEPARATOR_PERIOD;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+1, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+1,nextState);
     return (t);
           }
         case 215: break;
@@ -1736,67 +1779,67 @@ public class JavaScriptLexer implements Lexer {
      * to slip through the cracks. 
      */ 
     lastToken = JavaScriptToken.ERROR_UNCLOSED_STRING;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar + yytext().length(), nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 216: break;
         case 12: 
           { lastToken = JavaScriptToken.OPERATOR_MULTIPLY;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+1, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+1,nextState);
     return (t);
           }
         case 217: break;
         case 52: 
           { lastToken = JavaScriptToken.OPERATOR_INCREMENT;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+2, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+2,nextState);
     return (t);
           }
         case 218: break;
         case 81: 
           { lastToken = JavaScriptToken.ERROR_MALFORMED_STRING;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar + yytext().length(), nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 219: break;
         case 86: 
           { lastToken = JavaScriptToken.RESERVED_WORD_CASE;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+4, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+4,nextState);
     return (t);
           }
         case 220: break;
         case 77: 
           { lastToken = JavaScriptToken.LITERAL_NULL;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+4, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+4,nextState);
     return (t);
           }
         case 221: break;
         case 105: 
           { lastToken = JavaScriptToken.RESERVED_WORD_DOUBLE;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+6, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+6,nextState);
     return (t);
           }
         case 222: break;
         case 95: 
           { lastToken = JavaScriptToken.RESERVED_WORD_THROW;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+5, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+5,nextState);
     return (t);
           }
         case 223: break;
         case 103: 
           { lastToken = JavaScriptToken.RESERVED_WORD_NATIVE;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+6, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+6,nextState);
     return (t);
           }
         case 224: break;
         case 104: 
           { lastToken = JavaScriptToken.RESERVED_WORD_THROWS;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+6, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+6,nextState);
     return (t);
           }
         case 225: break;
         case 42: 
           { lastToken = JavaScriptToken.LITERAL_STRING;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar + yytext().length(), nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 226: break;
@@ -1805,67 +1848,67 @@ public class JavaScriptLexer implements Lexer {
      * give an error that a number was rounded to zero
      */
     lastToken = JavaScriptToken.LITERAL_FLOATING_POINT;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar + yytext().length(), nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 227: break;
         case 114: 
           { lastToken = JavaScriptToken.RESERVED_WORD_PRIVATE;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+7, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+7,nextState);
     return (t);
           }
         case 228: break;
         case 57: 
           { lastToken = JavaScriptToken.OPERATOR_SHIFT_RIGHT;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+2, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+2,nextState);
     return (t);
           }
         case 229: break;
         case 121: 
           { lastToken = JavaScriptToken.RESERVED_WORD_INSTANCEOF;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+10, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+10,nextState);
     return (t);
           }
         case 230: break;
         case 49: 
           { lastToken = JavaScriptToken.ERROR_UNCLOSED_COMMENT;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar + yytext().length(), nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 231: break;
         case 38: 
           { lastToken = JavaScriptToken.OPERATOR_MOD_ASSIGN;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+2, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+2,nextState);
     return (t);
           }
         case 232: break;
         case 80: 
           { lastToken = JavaScriptToken.RESERVED_WORD_THIS;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+4, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+4,nextState);
     return (t);
           }
         case 233: break;
         case 31: 
           { lastToken = JavaScriptToken.ERROR_FLOAT;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar + yytext().length(), nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 234: break;
         case 106: 
           { lastToken = JavaScriptToken.RESERVED_WORD_STATIC;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+6, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+6,nextState);
     return (t);
           }
         case 235: break;
         case 24: 
           { lastToken = JavaScriptToken.OPERATOR_GREATER_THAN;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+1, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+1,nextState);
     return (t);
           }
         case 236: break;
         case 97: 
           { lastToken = JavaScriptToken.RESERVED_WORD_SHORT;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+5, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+5,nextState);
     return (t);
           }
         case 237: break;
@@ -1881,37 +1924,37 @@ public class JavaScriptLexer implements Lexer {
     } catch (NumberFormatException e){
         lastToken = JavaScriptToken.ERROR_DOUBLE_SIZE;
     } 
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar + yytext().length(), nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 238: break;
         case 15: 
           { lastToken = JavaScriptToken.SEPARATOR_LPAREN;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+1, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+1,nextState);
     return (t);
           }
         case 239: break;
         case 20: 
           { lastToken = JavaScriptToken.SEPARATOR_RBRACKET;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+1, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+1,nextState);
     return (t);
           }
         case 240: break;
         case 40: 
           { lastToken = JavaScriptToken.ERROR_MALFORMED_CHARACTER;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar + yytext().length(), nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 241: break;
         case 62: 
           { lastToken = JavaScriptToken.OPERATOR_BITWISE_XOR_ASSIGN;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+2, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+2,nextState);
     return (t);
           }
         case 242: break;
         case 46: 
           { lastToken = JavaScriptToken.OPERATOR_DECREMENT;
-    JavaScriptToken t = (new JavaScriptToken(lastToken,yytext(),yyline,yychar,yychar+2, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+2,nextState);
     return (t);
           }
         case 243: break;
@@ -1940,19 +1983,19 @@ public class JavaScriptLexer implements Lexer {
         }
     }
     // Otherwise, it should be OK   
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar + yytext().length(), nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 244: break;
         case 111: 
           { lastToken = JavaScriptToken.RESERVED_WORD_FINALLY;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+7, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+7,nextState);
     return (t);
           }
         case 245: break;
         case 64: 
           { lastToken = JavaScriptToken.RESERVED_WORD_IF;
-    JavaScriptToken t = (new JavaScriptToken(lastToken, yytext(), yyline, yychar, yychar+2, nextState));
+    JavaScriptToken t = token(lastToken,yyline,yychar,yychar+2,nextState);
     return (t);
           }
         case 246: break;
@@ -49,7 +49,7 @@ import java.io.*;
  */ 
 
 
-public class LatexLexer implements Lexer {
+public class LatexLexer implements ReusableTokenLexer {
 
   /** This character denotes the end of file */
   public static final int YYEOF = -1;
@@ -333,6 +333,49 @@ public class LatexLexer implements Lexer {
 		this.yychar = yychar;
 		this.yycolumn = yycolumn;
 	}
+    /**
+     * Token to be filled by the next match, if the caller supplied one.
+     */
+    private LatexToken reusableToken;
+
+    /**
+     * Creates a token which can be passed to {@link #getNextToken(Token)}.
+     *
+     * @return a new token
+     */
+    public Token createToken(){
+        return new LatexToken();
+    }
+
+    /**
+     * Reads the next token into the given token instead of creating a new one.
+     * The contents of the token are valid only until the next token is read.
+     *
+     * @param token a token created by {@link #createToken()}
+     * @return true if a token is read, false at the end of input
+     * @throws IOException if an IOExecption occurs while reading input.
+     */
+    public boolean getNextToken(Token token) throws IOException{
+        reusableToken = (LatexToken) token;
+        try {
+            return getNextToken() != null;
+        } finally {
+            reusableToken = null;
+        }
+    }
+
+    /**
+     * Returns a token for the current match. The token supplied by the caller
+     * is filled if there is one, otherwise a new token is created.
+     */
+    private LatexToken token(int ID, int lineNumber, int charBegin, int charEnd, int state){
+        if (reusableToken == null){
+            return new LatexToken(ID, yytext(), lineNumber, charBegin, charEnd, state);
+        }
+        reusableToken.set(ID, zzBuffer, zzStartRead, zzMarkedPos-zzStartRead, lineNumber, charBegin, charEnd, state);
+        return reusableToken;
+    }
+
 
 
   /**
@@ -655,29 +698,25 @@ public class LatexLexer implements Lexer {
       switch (zzAction < 0 ? zzAction : ZZ_ACTION[zzAction]) {
         case 4: 
           { lastToken = LatexToken.COMMAND;
-    String text = yytext();    
-    LatexToken t = (new LatexToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    LatexToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return(t);
           }
         case 5: break;
         case 2: 
           { lastToken = LatexToken.COMMAND_CHAR;
-    String text = yytext();    
-    LatexToken t = (new LatexToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    LatexToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return(t);
           }
         case 6: break;
         case 3: 
           { lastToken = LatexToken.COMMENT;
-    String text = yytext();    
-    LatexToken t = (new LatexToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    LatexToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return(t);
           }
         case 7: break;
         case 1: 
           { lastToken = LatexToken.TEXT;
-    String text = yytext();    
-    LatexToken t = (new LatexToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    LatexToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return(t);
           }
         case 8: break;
@@ -26,6 +26,12 @@ public class LatexToken extends Token {
   private int charBegin;
   private int charEnd;
   private int state;
+  /** Buffer the contents of a reused token are taken from. */
+  private char[] buffer;
+  /** Offset of the contents in buffer. */
+  private int offset;
+  /** Length of the contents in buffer. */
+  private int length;
 
   /**
    * Create a new token.
@@ -54,13 +60,50 @@ public class LatexToken extends Token {
    */
   public LatexToken(int ID, String contents, int lineNumber, int charBegin, int charEnd, int state){
 	this.ID = ID;
-	this.contents = new String(contents);
+	this.contents = contents;
 	this.lineNumber = lineNumber;
 	this.charBegin = charBegin;
 	this.charEnd = charEnd;
     this.state = state;
   }
 
+  /**
+   * Create a new token to be filled by a lexer.
+   * The token is typically created by a lexer which reuses it for all
+   * the tokens it returns.
+   *
+   * @see ReusableTokenLexer
+   */
+  public LatexToken(){
+    this.state = Token.UNDEFINED_STATE;
+  }
+
+  /**
+   * Fill this token with a match of the lexer.
+   * The contents are not copied. They are built from the buffer only when
+   * asked for, so the buffer must not change before that.
+   *
+   * @param ID the id number of the token
+   * @param buffer the buffer holding the text of the token
+   * @param offset the offset of the text in buffer
+   * @param length the length of the text
+   * @param lineNumber the line number of the input on which this token started
+   * @param charBegin the offset into the input in characters at which this token started
+   * @param charEnd the offset into the input in characters at which this token ended
+   * @param state the state the tokenizer is in after returning this token.
+   */
+  void set(int ID, char[] buffer, int offset, int length, int lineNumber, int charBegin, int charEnd, int state){
+    this.ID = ID;
+    this.contents = null;
+    this.buffer = buffer;
+    this.offset = offset;
+    this.length = length;
+    this.lineNumber = lineNumber;
+    this.charBegin = charBegin;
+    this.charEnd = charEnd;
+    this.state = state;
+  }
+
   /**
      * Get an integer representing the state the tokenizer is in after
      * returning this token.
@@ -89,7 +132,11 @@ public class LatexToken extends Token {
    * @return A string representing the text of the token
    */
   public String getContents(){
-  	return (new String(contents));
+    if (contents == null && buffer != null){
+      contents = new String(buffer, offset, length);
+      buffer = null;
+    }
+  	return contents;
   }
 
   /**
@@ -193,7 +240,7 @@ public class LatexToken extends Token {
   		s = "Error on line " + lineNumber + ": ";
   		switch (ID){
   		case ERROR_UNEXPECTED_COMMAND_CHAR:
-  			s += "Unexpected command character: " + contents;
+  			s += "Unexpected command character: " + getContents();
   		break;
 		}
   			
@@ -212,7 +259,7 @@ public class LatexToken extends Token {
    */  
   public String toString() {
       return ("Token #" + Integer.toHexString(ID) + ": " + getDescription() + " Line " + 
-      	lineNumber + " from " +charBegin + " to " + charEnd + " : " + contents);
+      	lineNumber + " from " +charBegin + " to " + charEnd + " : " + getContents());
   }
   
 }
@@ -47,7 +47,7 @@ import java.io.*;
  */ 
 
 
-public class PlainLexer implements Lexer {
+public class PlainLexer implements ReusableTokenLexer {
 
   /** This character denotes the end of file */
   public static final int YYEOF = -1;
@@ -324,6 +324,49 @@ public class PlainLexer implements Lexer {
 		this.yychar = yychar;
 		this.yycolumn = yycolumn;
 	}
+    /**
+     * Token to be filled by the next match, if the caller supplied one.
+     */
+    private PlainToken reusableToken;
+
+    /**
+     * Creates a token which can be passed to {@link #getNextToken(Token)}.
+     *
+     * @return a new token
+     */
+    public Token createToken(){
+        return new PlainToken();
+    }
+
+    /**
+     * Reads the next token into the given token instead of creating a new one.
+     * The contents of the token are valid only until the next token is read.
+     *
+     * @param token a token created by {@link #createToken()}
+     * @return true if a token is read, false at the end of input
+     * @throws IOException if an IOExecption occurs while reading input.
+     */
+    public boolean getNextToken(Token token) throws IOException{
+        reusableToken = (PlainToken) token;
+        try {
+            return getNextToken() != null;
+        } finally {
+            reusableToken = null;
+        }
+    }
+
+    /**
+     * Returns a token for the current match. The token supplied by the caller
+     * is filled if there is one, otherwise a new token is created.
+     */
+    private PlainToken token(int ID, int lineNumber, int charBegin, int charEnd, int state){
+        if (reusableToken == null){
+            return new PlainToken(ID, yytext(), lineNumber, charBegin, charEnd, state);
+        }
+        reusableToken.set(ID, zzBuffer, zzStartRead, zzMarkedPos-zzStartRead, lineNumber, charBegin, charEnd, state);
+        return reusableToken;
+    }
+
 
 
   /**
@@ -650,15 +693,13 @@ public class PlainLexer implements Lexer {
       switch (zzAction < 0 ? zzAction : ZZ_ACTION[zzAction]) {
         case 1: 
           { lastToken = PlainToken.TEXT;
-    String text = yytext();
-    PlainToken t = (new PlainToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    PlainToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 3: break;
         case 2: 
           { lastToken = PlainToken.WHITE_SPACE;
-    String text = yytext();
-    PlainToken t = (new PlainToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    PlainToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 4: break;
@@ -47,7 +47,7 @@ import java.io.*;
  */ 
 
 
-public class PropertiesLexer implements Lexer {
+public class PropertiesLexer implements ReusableTokenLexer {
 
   /** This character denotes the end of file */
   public static final int YYEOF = -1;
@@ -344,6 +344,49 @@ public class PropertiesLexer implements Lexer {
 		this.yychar = yychar;
 		this.yycolumn = yycolumn;
 	}
+    /**
+     * Token to be filled by the next match, if the caller supplied one.
+     */
+    private PropertiesToken reusableToken;
+
+    /**
+     * Creates a token which can be passed to {@link #getNextToken(Token)}.
+     *
+     * @return a new token
+     */
+    public Token createToken(){
+        return new PropertiesToken();
+    }
+
+    /**
+     * Reads the next token into the given token instead of creating a new one.
+     * The contents of the token are valid only until the next token is read.
+     *
+     * @param token a token created by {@link #createToken()}
+     * @return true if a token is read, false at the end of input
+     * @throws IOException if an IOExecption occurs while reading input.
+     */
+    public boolean getNextToken(Token token) throws IOException{
+        reusableToken = (PropertiesToken) token;
+        try {
+            return getNextToken() != null;
+        } finally {
+            reusableToken = null;
+        }
+    }
+
+    /**
+     * Returns a token for the current match. The token supplied by the caller
+     * is filled if there is one, otherwise a new token is created.
+     */
+    private PropertiesToken token(int ID, int lineNumber, int charBegin, int charEnd, int state){
+        if (reusableToken == null){
+            return new PropertiesToken(ID, yytext(), lineNumber, charBegin, charEnd, state);
+        }
+        reusableToken.set(ID, zzBuffer, zzStartRead, zzMarkedPos-zzStartRead, lineNumber, charBegin, charEnd, state);
+        return reusableToken;
+    }
+
 
 
   /**
@@ -689,8 +732,7 @@ public class PropertiesLexer implements Lexer {
         case 1: 
           { nextState = NAME;
     lastToken = PropertiesToken.NAME;
-    String text = yytext();
-    PropertiesToken t = (new PropertiesToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    PropertiesToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -698,8 +740,7 @@ public class PropertiesLexer implements Lexer {
         case 3: 
           { nextState = WHITE_SPACE;    
     lastToken = PropertiesToken.WHITE_SPACE;
-    String text = yytext();
-    PropertiesToken t = (new PropertiesToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    PropertiesToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -707,8 +748,7 @@ public class PropertiesLexer implements Lexer {
         case 7: 
           { nextState = LINE_END;
     lastToken = PropertiesToken.COMMENT;
-    String text = yytext();
-    PropertiesToken t = (new PropertiesToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    PropertiesToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -716,8 +756,7 @@ public class PropertiesLexer implements Lexer {
         case 10: 
           { nextState = MID_NAME;
     lastToken = PropertiesToken.WHITE_SPACE;
-    String text = yytext();
-    PropertiesToken t = (new PropertiesToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    PropertiesToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -725,8 +764,7 @@ public class PropertiesLexer implements Lexer {
         case 5: 
           { nextState = YYINITIAL;
     lastToken = PropertiesToken.WHITE_SPACE;
-    String text = yytext();
-    PropertiesToken t = (new PropertiesToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    PropertiesToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -734,8 +772,7 @@ public class PropertiesLexer implements Lexer {
         case 11: 
           { nextState = MID_NAME_NEW_LINE;
     lastToken = PropertiesToken.LINE_CONTINUE;
-    String text = yytext();
-    PropertiesToken t = (new PropertiesToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    PropertiesToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -763,8 +800,7 @@ public class PropertiesLexer implements Lexer {
         case 6: 
           { nextState = SEPARATOR;
     lastToken = PropertiesToken.EQUAL;
-    String text = yytext();
-    PropertiesToken t = (new PropertiesToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    PropertiesToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -772,8 +808,7 @@ public class PropertiesLexer implements Lexer {
         case 8: 
           { nextState = SEPARATOR;
     lastToken = PropertiesToken.COLON;
-    String text = yytext();
-    PropertiesToken t = (new PropertiesToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    PropertiesToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -781,24 +816,21 @@ public class PropertiesLexer implements Lexer {
         case 2: 
           { nextState = VALUE;
     lastToken = PropertiesToken.VALUE;
-    String text = yytext();
-    PropertiesToken t = (new PropertiesToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    PropertiesToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
         case 22: break;
         case 9: 
           { lastToken = PropertiesToken.WHITE_SPACE;
-    String text = yytext();
-    PropertiesToken t = (new PropertiesToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    PropertiesToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     return (t);
           }
         case 23: break;
         case 12: 
           { nextState = MID_VALUE;
     lastToken = PropertiesToken.LINE_CONTINUE;
-    String text = yytext();
-    PropertiesToken t = (new PropertiesToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+    PropertiesToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
     yybegin(nextState);
     return (t);
           }
@@ -0,0 +1,51 @@
+/*
+ * ReusableTokenLexer.java
+ *
+ * Copyright (C) 2010 Mrityunjoy Saha
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.apex.base.highlighter.lexer;
+
+import java.io.IOException;
+
+/**
+ * A lexer which can fill a token supplied by the caller instead of creating
+ * a new token for each match. It lets the syntax highlighter tokenize a
+ * document without creating any object per token.
+ * <p>
+ * The contents of a reused token are not copied from the lexer's buffer. They
+ * are built only when {@link Token#getContents()} is called and so must be
+ * asked for before the next token is read.
+ * @author Mrityunjoy Saha
+ * @version 1.0
+ * @since Apex 1.2
+ */
+public interface ReusableTokenLexer extends Lexer {
+
+    /**
+     * Creates a token which can be passed to {@link #getNextToken(Token)}.
+     * @return A new token.
+     */
+    public Token createToken();
+
+    /**
+     * Reads the next token into the given token.
+     * @param token A token created by {@link #createToken()}.
+     * @return {@code true} if a token is read; {@code false} at the end of input.
+     * @throws java.io.IOException If an error occurs while reading input.
+     */
+    public boolean getNextToken(Token token) throws IOException;
+}
@@ -48,7 +48,7 @@ import java.io.*;
  */ 
 
 
-public class SQLLexer implements Lexer {
+public class SQLLexer implements ReusableTokenLexer {
 
   /** This character denotes the end of file */
   public static final int YYEOF = -1;
@@ -1701,6 +1701,60 @@ public class SQLLexer implements Lexer {
 		this.yychar = yychar;
 		this.yycolumn = yycolumn;
 	}
+    /**
+     * Token to be filled by the next match, if the caller supplied one.
+     */
+    private SQLToken reusableToken;
+
+    /**
+     * Creates a token which can be passed to {@link #getNextToken(Token)}.
+     *
+     * @return a new token
+     */
+    public Token createToken(){
+        return new SQLToken();
+    }
+
+    /**
+     * Reads the next token into the given token instead of creating a new one.
+     * The contents of the token are valid only until the next token is read.
+     *
+     * @param token a token created by {@link #createToken()}
+     * @return true if a token is read, false at the end of input
+     * @throws IOException if an IOExecption occurs while reading input.
+     */
+    public boolean getNextToken(Token token) throws IOException{
+        reusableToken = (SQLToken) token;
+        try {
+            return getNextToken() != null;
+        } finally {
+            reusableToken = null;
+        }
+    }
+
+    /**
+     * Returns a token for the current match. The token supplied by the caller
+     * is filled if there is one, otherwise a new token is created.
+     */
+    private SQLToken token(int ID, int lineNumber, int charBegin, int charEnd, int state){
+        if (reusableToken == null){
+            return new SQLToken(ID, yytext(), lineNumber, charBegin, charEnd, state);
+        }
+        reusableToken.set(ID, zzBuffer, zzStartRead, zzMarkedPos-zzStartRead, lineNumber, charBegin, charEnd, state);
+        return reusableToken;
+    }
+
+    /**
+     * Returns a token for text the lexer has built itself, such as a comment.
+     */
+    private SQLToken token(int ID, String contents, int lineNumber, int charBegin, int charEnd, int state){
+        if (reusableToken == null){
+            return new SQLToken(ID, contents, lineNumber, charBegin, charEnd, state);
+        }
+        reusableToken.set(ID, contents, lineNumber, charBegin, charEnd, state);
+        return reusableToken;
+    }
+
 
 
   /**
@@ -2024,8 +2078,7 @@ public class SQLLexer implements Lexer {
         case 16: 
           { nextState = YYINITIAL;
 	lastToken = SQLToken.ERROR_UNCLOSED_BIT_STRING;
-    String text = yytext();
-	SQLToken t = (new SQLToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	SQLToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -2043,8 +2096,7 @@ public class SQLLexer implements Lexer {
         case 17: 
           { nextState = YYINITIAL;
 	lastToken = SQLToken.ERROR_BAD_BIT_STRING;
-    String text = yytext();
-	SQLToken t = (new SQLToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	SQLToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -2055,7 +2107,7 @@ public class SQLLexer implements Lexer {
 	if (commentNestCount == 0){
 		nextState = YYINITIAL;	
 		lastToken = SQLToken.COMMENT_TRADITIONAL;
-		SQLToken t = (new SQLToken(lastToken,commentBuffer.toString(),commentStartLine,commentStartChar,commentStartChar+commentBuffer.length(),nextState));
+		SQLToken t = token(lastToken,commentBuffer.toString(),commentStartLine,commentStartChar,commentStartChar+commentBuffer.length(),nextState);
 		yybegin(nextState);
 		return(t);
 	}
@@ -2064,8 +2116,7 @@ public class SQLLexer implements Lexer {
         case 12: 
           { nextState = YYINITIAL;
 	lastToken = SQLToken.LITERAL_STRING;
-    String text = yytext();
-	SQLToken t = (new SQLToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	SQLToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -2073,8 +2124,7 @@ public class SQLLexer implements Lexer {
         case 11: 
           { nextState = YYINITIAL;
 	lastToken = SQLToken.LITERAL_FLOAT;
-    String text = yytext();
-	SQLToken t = (new SQLToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	SQLToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -2082,8 +2132,7 @@ public class SQLLexer implements Lexer {
         case 10: 
           { nextState = YYINITIAL;
 	lastToken = SQLToken.COMMENT_END_OF_LINE;
-    String text = yytext();
-	SQLToken t = (new SQLToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	SQLToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -2091,8 +2140,7 @@ public class SQLLexer implements Lexer {
         case 8: 
           { nextState = YYINITIAL;
 	lastToken = SQLToken.SEPARATOR;
-    String text = yytext();
-	SQLToken t = (new SQLToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	SQLToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -2100,8 +2148,7 @@ public class SQLLexer implements Lexer {
         case 3: 
           { nextState = YYINITIAL;
 	lastToken = SQLToken.IDENTIFIER;
-    String text = yytext();
-	SQLToken t = (new SQLToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	SQLToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -2109,8 +2156,7 @@ public class SQLLexer implements Lexer {
         case 13: 
           { nextState = YYINITIAL;
 	lastToken = SQLToken.ERROR_UNCLOSED_STRING;
-    String text = yytext();
-	SQLToken t = (new SQLToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	SQLToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -2124,8 +2170,7 @@ public class SQLLexer implements Lexer {
         case 1: 
           { nextState = YYINITIAL;
 	lastToken = SQLToken.WHITE_SPACE;
-    String text = yytext();
-	SQLToken t = (new SQLToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	SQLToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -2133,8 +2178,7 @@ public class SQLLexer implements Lexer {
         case 4: 
           { nextState = YYINITIAL;
 	lastToken = SQLToken.RESERVED_WORD;
-    String text = yytext();
-	SQLToken t = (new SQLToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	SQLToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -2149,8 +2193,7 @@ public class SQLLexer implements Lexer {
         case 7: 
           { nextState = YYINITIAL;
 	lastToken = SQLToken.LITERAL_INTEGER;
-    String text = yytext();
-	SQLToken t = (new SQLToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	SQLToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -2158,8 +2201,7 @@ public class SQLLexer implements Lexer {
         case 6: 
           { nextState = YYINITIAL;
 	lastToken = SQLToken.OPERATOR;
-    String text = yytext();
-	SQLToken t = (new SQLToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	SQLToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -2167,8 +2209,7 @@ public class SQLLexer implements Lexer {
         case 18: 
           { nextState = YYINITIAL;
 	lastToken = SQLToken.LITERAL_BIT_STRING;
-    String text = yytext();
-	SQLToken t = (new SQLToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	SQLToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -2176,8 +2217,7 @@ public class SQLLexer implements Lexer {
         case 5: 
           { nextState = YYINITIAL;
 	lastToken = SQLToken.ERROR;
-    String text = yytext();
-	SQLToken t = (new SQLToken(lastToken,text,yyline,yychar,yychar+text.length(),nextState));
+	SQLToken t = token(lastToken,yyline,yychar,yychar+yylength(),nextState);
 	yybegin(nextState);
 	return(t);
           }
@@ -2189,7 +2229,7 @@ public class SQLLexer implements Lexer {
             case COMMENT: {
               nextState = YYINITIAL;	
 	lastToken = SQLToken.ERROR_UNCLOSED_COMMENT;
-	SQLToken t = (new SQLToken(lastToken,commentBuffer.toString(),commentStartLine,commentStartChar,commentStartChar+commentBuffer.length(),nextState));
+	SQLToken t = token(lastToken,commentBuffer.toString(),commentStartLine,commentStartChar,commentStartChar+commentBuffer.length(),nextState);
 	yybegin(nextState);
 	return(t);
             }
@@ -104,6 +104,12 @@ public class SQLToken extends Token {
   private int charBegin;
   private int charEnd;
   private int state;
+  /** Buffer the contents of a reused token are taken from. */
+  private char[] buffer;
+  /** Offset of the contents in buffer. */
+  private int offset;
+  /** Length of the contents in buffer. */
+  private int length;
 
   /**
    * Create a new token.
@@ -132,13 +138,65 @@ public class SQLToken extends Token {
    */
   public SQLToken(int ID, String contents, int lineNumber, int charBegin, int charEnd, int state){
 	this.ID = ID;
-	this.contents = new String(contents);
+	this.contents = contents;
 	this.lineNumber = lineNumber;
 	this.charBegin = charBegin;
 	this.charEnd = charEnd;
     this.state = state;
   }
 
+  /**
+   * Create a new token to be filled by a lexer.
+   * The token is typically created by a lexer which reuses it for all
+   * the tokens it returns.
+   *
+   * @see ReusableTokenLexer
+   */
+  public SQLToken(){
+    this.state = Token.UNDEFINED_STATE;
+  }
+
+  /**
+   * Fill this token with a match of the lexer.
+   * The contents are not copied. They are built from the buffer only when
+   * asked for, so the buffer must not change before that.
+   *
+   * @param ID the id number of the token
+   * @param buffer the buffer holding the text of the token
+   * @param offset the offset of the text in buffer
+   * @param length the length of the text
+   * @param lineNumber the line number of the input on which this token started
+   * @param charBegin the offset into the input in characters at which this token started
+   * @param charEnd the offset into the input in characters at which this token ended
+   * @param state the state the tokenizer is in after returning this token.
+   */
+  void set(int ID, char[] buffer, int offset, int length, int lineNumber, int charBegin, int charEnd, int state){
+    this.ID = ID;
+    this.contents = null;
+    this.buffer = buffer;
+    this.offset = offset;
+    this.length = length;
+    this.lineNumber = lineNumber;
+    this.charBegin = charBegin;
+    this.charEnd = charEnd;
+    this.state = state;
+  }
+
+  /**
+   * Fill this token with text the lexer has already built.
+   *
+   * @param ID the id number of the token
+   * @param contents A string representing the text of the token
+   * @param lineNumber the line number of the input on which this token started
+   * @param charBegin the offset into the input in characters at which this token started
+   * @param charEnd the offset into the input in characters at which this token ended
+   * @param state the state the tokenizer is in after returning this token.
+   */
+  void set(int ID, String contents, int lineNumber, int charBegin, int charEnd, int state){
+    set(ID, null, 0, 0, lineNumber, charBegin, charEnd, state);
+    this.contents = contents;
+  }
+
   /**
      * Get an integer representing the state the tokenizer is in after
      * returning this token.
@@ -167,7 +225,11 @@ public class SQLToken extends Token {
    * @return A string representing the text of the token
    */
   public String getContents(){
-  	return (new String(contents));
+    if (contents == null && buffer != null){
+      contents = new String(buffer, offset, length);
+      buffer = null;
+    }
+  	return contents;
   }
 
   /** 
@@ -321,19 +383,19 @@ public class SQLToken extends Token {
   		s = "Error on line " + lineNumber + ": ";
   		switch (ID){
   		case ERROR:
-  			s += "Unexpected token: " + contents;
+  			s += "Unexpected token: " + getContents();
   		break; 
 		case ERROR_UNCLOSED_COMMENT:
-			s += "Unclosed comment: " + contents;
+			s += "Unclosed comment: " + getContents();
 		break;
 		case ERROR_UNCLOSED_STRING:
-			s += "Unclosed string literal: " + contents;
+			s += "Unclosed string literal: " + getContents();
 		break;
 		case ERROR_UNCLOSED_BIT_STRING:
-			s += "Unclosed bit-string literal: " + contents;
+			s += "Unclosed bit-string literal: " + getContents();
 		break;
 		case ERROR_BAD_BIT_STRING:
-			s += "Bit-strings can only contain 0 and 1: " + contents;
+			s += "Bit-strings can only contain 0 and 1: " + getContents();
 		break;
 		}
   			
@@ -352,7 +414,7 @@ public class SQLToken extends Token {
    */  
   public String toString() {
       return ("Token #" + Integer.toHexString(ID) + ": " + getDescription() + " Line " + 
-      	lineNumber + " from " +charBegin + " to " + charEnd + " : " + contents);
+      	lineNumber + " from " +charBegin + " to " + charEnd + " : " + getContents());
   }
   
 }
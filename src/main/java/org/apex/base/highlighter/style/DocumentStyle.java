@@ -32,6 +32,7 @@ import javax.swing.text.AttributeSet;
 import javax.swing.text.SimpleAttributeSet;
 import javax.swing.text.StyleConstants;
 import org.apex.base.data.IDocumentType;
+import org.apex.base.highlighter.lexer.Token;
 
 /**
  * A base class for document type based synatx styles.
@@ -47,6 +48,17 @@ public class DocumentStyle {
      */
     private Map<String, AttributeSet> styles =
             new HashMap<String, AttributeSet>();
+    /**
+     * Number of token IDs for which styles are kept in the token style table.
+     */
+    private static final int TOKEN_STYLES_SIZE = 0x1000;
+    /**
+     * Syntax style information indexed by token ID. An entry is filled when a
+     * token of that ID is styled first and the table is discarded whenever
+     * styles are added.
+     */
+    private volatile AttributeSet[] tokenStyles =
+            new AttributeSet[TOKEN_STYLES_SIZE];
     /**
      * The associated document type.
      */
@@ -89,6 +101,27 @@ public class DocumentStyle {
         return SimpleAttributeSet.EMPTY;
     }
 
+    /**
+     * Returns the synatx style information for a token. The syntax category
+     * of a token is determined by its ID, so the style is looked up by ID
+     * which avoids hashing the category name for each token.
+     * @param token The token.
+     * @return The syntax style information.
+     */
+    public AttributeSet getStyle(Token token) {
+        int id = token.getID();
+        AttributeSet[] table = tokenStyles;
+        if (id < 0 || id >= table.length) {
+            return getStyle(token.getDescription());
+        }
+        AttributeSet style = table[id];
+        if (style == null) {
+            style = getStyle(token.getDescription());
+            table[id] = style;
+        }
+        return style;
+    }
+
     /**
      * For a given syntax style category adds the style information to
      * the table using specified background color, foreground color, bold
@@ -113,6 +146,7 @@ public class DocumentStyle {
 
         StyleConstants.setLeftIndent(style, 2.0f);
         this.styles.put(name, style);
+        this.tokenStyles = new AttributeSet[TOKEN_STYLES_SIZE];
     }
 
     /**
@@ -21,12 +21,14 @@
 package org.apex.base.menu;
 
 import javax.swing.text.BadLocationException;
+import org.apex.base.component.CompoundUndoManager;
 import org.apex.base.component.DocumentTabComponent;
 import org.apex.base.constant.MenuConstants;
 import org.apex.base.core.MenuManager;
 import org.apex.base.data.AbstractDocument;
 import org.apex.base.data.InputParams;
 import org.apex.base.data.OutputParams;
+import org.apex.base.function.ReadFile;
 import org.apex.base.logging.Logger;
 import org.apex.base.util.DocumentData;
 import org.apex.base.util.DocumentSelection;
@@ -219,7 +221,13 @@ public class CloseFileMenu extends UILessMenu {
      * @param file The document being closed.
      */
     private void cleanUp(AbstractDocument file) {
-        file.getUndoManager().discardAllEdits();
+        // Stop reading the file from disk if it is not read yet
+        ReadFile.cancel(file);
+        if (file.getUndoManager() instanceof CompoundUndoManager) {
+            ((CompoundUndoManager) file.getUndoManager()).dispose();
+        } else {
+            file.getUndoManager().discardAllEdits();
+        }
         file.getEditor().removeListeners();
         try {
             file.getEditor().getDocument().
@@ -227,8 +235,10 @@ public class CloseFileMenu extends UILessMenu {
         } catch (BadLocationException ex) {
             Logger.logError("Error while cleaning up closed document.", ex);
         }
-        ((HighlightedDocument) file.getEditor().getDocument()).setHighlightStyle(
-                null, null);
+        HighlightedDocument doc =
+                (HighlightedDocument) file.getEditor().getDocument();
+        doc.setHighlightStyle(null, null);
+        doc.dispose();
         file.getEditor().removeAll();
         file.getEditor().clearSearchHighlights();
         file.setEditor(null);
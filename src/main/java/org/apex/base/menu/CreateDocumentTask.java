@@ -24,11 +24,14 @@ import org.apex.base.data.AbstractDocument;
 import org.apex.base.component.CompoundUndoManager;
 import org.apex.base.common.Task;
 import org.apex.base.component.LineNumberedTextEditor;
+import org.apex.base.component.MappedFileEditorKit;
 import org.apex.base.constant.CommonConstants;
+import org.apex.base.constant.EditorKeyConstants;
 import org.apex.base.core.EditorBase;
 import org.apex.base.data.EditorContext;
 import org.apex.base.data.HighlightedDocument;
 import org.apex.base.data.InputParams;
+import org.apex.base.data.MappedFileDocument;
 import org.apex.base.data.OutputParams;
 import org.apex.base.util.TabUtil;
 import org.apex.base.component.DocumentTabComponent;
@@ -73,8 +76,16 @@ public class CreateDocumentTask implements Task {
                 context.getEditorComponents().getEditorBody().
                 getDocsWindow().
                 getDocsTabbedPane();
-        final HighlightedDocument doc =
-                new HighlightedDocument();
+        final HighlightedDocument doc;
+        if (Boolean.TRUE.equals(in.get(CommonConstants.LARGE_FILE))) {
+            // Decode the file as ReadFile does for other documents
+            String characterSet = in.get("CHARACTER_SET") == null
+                    ? EditorKeyConstants.DEFAULT_CHARACTER_ENCODING
+                    : (String) in.get("CHARACTER_SET");
+            doc = new MappedFileDocument(file, characterSet);
+        } else {
+            doc = new HighlightedDocument();
+        }
         // Set the highlight style
         doc.setHighlightStyle(file.getLexer(),
                 file.getDocumentStyle());
@@ -83,6 +94,11 @@ public class CreateDocumentTask implements Task {
         LineNumberedTextEditor lineNumberedTextPane =
                 new LineNumberedTextEditor(doc);
         TextEditor editArea = lineNumberedTextPane.getEditArea();
+        if (doc instanceof MappedFileDocument) {
+            // Display all lines of a large file by a single view
+            editArea.setEditorKit(new MappedFileEditorKit());
+            editArea.setDocument(doc);
+        }
         String toolTip = null;
         if (file.isTemporary()) {
             toolTip = file.getName();
@@ -128,7 +144,7 @@ public class CreateDocumentTask implements Task {
         editArea.requestFocusInWindow();
 
         // If the file is read only make the edit area non-editable.
-        if (!file.isTemporary() && !file.canWrite()) {
+        if (doc.isReadOnly() || (!file.isTemporary() && !file.canWrite())) {
             editArea.setEditable(false);
         }
     }
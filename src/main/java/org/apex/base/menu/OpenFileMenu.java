@@ -27,9 +27,11 @@ import org.apex.base.component.DocumentChangeTracker;
 import org.apex.base.constant.CommonConstants;
 import org.apex.base.data.DocumentWrapper;
 import org.apex.base.data.InputParams;
+import org.apex.base.data.MappedFileDocument;
 import org.apex.base.data.OutputParams;
 import org.apex.base.function.Function;
 import org.apex.base.function.ReadFile;
+import org.apex.base.function.ReadMappedFile;
 import org.apex.base.util.DocumentCreator;
 import org.apex.base.util.DocumentData;
 import org.apex.base.util.DocumentSelection;
@@ -266,6 +268,8 @@ public class OpenFileMenu extends BasicUIMenu {
                     + file.getAbsolutePath());
             return false;
         }
+        // A large file is opened read only in a memory mapped document
+        boolean largeFile = false;
         if (file.getAbsoluteFile().length() > EditorKeyConstants.USUAL_FILE_MAX_SIZE) {
             int choice = MenuMessageManager.showConfirmMessage(getContext().
                     getEditorComponents().getFrame(), 1011, "FILENAME="
@@ -273,10 +277,15 @@ public class OpenFileMenu extends BasicUIMenu {
             if (choice == JOptionPane.CANCEL_OPTION) {
                 return false;
             }
+            largeFile = true;
         }
         DocumentWrapper documentWrapper = new DocumentWrapper(file);
         InputParams input = new InputParams();
         input.put(CommonConstants.FILE_WRAPPER, documentWrapper);
+        input.put(CommonConstants.LARGE_FILE, largeFile);
+        // The document and the function reading it decode the file alike
+        String characterSet = EditorKeyConstants.DEFAULT_CHARACTER_ENCODING;
+        input.put("CHARACTER_SET", characterSet);
         Task task = new CreateDocumentTask();
         // Pre process
         task.preProcess(input, new OutputParams());
@@ -288,7 +297,7 @@ public class OpenFileMenu extends BasicUIMenu {
          * saved time is updated even before attempting to open the document from disk.
          */
         file.setLastSaved(file.lastModified());
-        openFileFromDisk(file);
+        openFileFromDisk(file, characterSet);
         DocumentData.addFileToList(getContext(), documentWrapper);
         int selectionIndex =
                 DocumentSelection.getSelectionIndexAfterOpen(getContext());
@@ -315,15 +324,35 @@ public class OpenFileMenu extends BasicUIMenu {
      * display in editor.
      * @param file The document to be opened.
      * @see ReadFile
+     * @see ReadMappedFile
      */
-    @SuppressWarnings("unchecked")
     public void openFileFromDisk(
             AbstractDocument file) {
+        openFileFromDisk(file, EditorKeyConstants.DEFAULT_CHARACTER_ENCODING);
+    }
+
+    /**
+     * Reads the file content from disk with given character set and inserts
+     * content into document's data model to display in editor. A large file
+     * is decoded with the character set its document is created with.
+     * @param file The document to be opened.
+     * @param characterSet The character set of file.
+     * @see ReadFile
+     * @see ReadMappedFile
+     */
+    @SuppressWarnings("unchecked")
+    public void openFileFromDisk(AbstractDocument file, String characterSet) {
         /* Open file from disk -Start */
         InputParams input = new InputParams();
         input.put("OPENING_FILE",
                 file);
-        Function read = new ReadFile();
+        input.put("CHARACTER_SET", characterSet);
+        Function read;
+        if (file.getDocument() instanceof MappedFileDocument) {
+            read = new ReadMappedFile();
+        } else {
+            read = new ReadFile();
+        }
         read.process(input, null);
         /* Open file from disk -End */
     }
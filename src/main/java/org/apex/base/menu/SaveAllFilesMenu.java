@@ -20,20 +20,30 @@
  */
 package org.apex.base.menu;
 
-import org.apex.base.constant.MenuConstants;
-import org.apex.base.core.MenuManager;
 import org.apex.base.data.AbstractDocument;
 import org.apex.base.data.InputParams;
 import org.apex.base.data.OutputParams;
+import org.apex.base.function.Function;
+import org.apex.base.function.WriteAllFiles;
+import org.apex.base.logging.Logger;
 import org.apex.base.util.DateTime;
+import org.apex.base.util.FileUtil;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.text.BadLocationException;
 
 /**
  * Saves all unsaved documents opened in editor.
  * <p>
- * It does not consider non-persistent (temporary) documents.
+ * It does not consider non-persistent (temporary) documents. The text of
+ * documents is copied in event dispatch thread and the files are written
+ * at the same time in background.
  * @author Mrityunjoy Saha
- * @version 1.0
+ * @version 1.1
  * @since Apex 1.0
  */
 public class SaveAllFilesMenu extends UILessMenu {
@@ -66,7 +76,13 @@ public class SaveAllFilesMenu extends UILessMenu {
      * @param in Input parameters.
      * @param out Output parameters.
      */
+    @SuppressWarnings("unchecked")
     private void saveAllUnsavedFilesToDisk(InputParams in, OutputParams out) {
+        Map<AbstractDocument, char[]> savingFiles =
+                new LinkedHashMap<AbstractDocument, char[]>();
+        Map<AbstractDocument, Integer> modifications =
+                new HashMap<AbstractDocument, Integer>();
+        List<AbstractDocument> failedFiles = new ArrayList<AbstractDocument>();
         Iterator itr = getContext().getEditorProperties().
                 getOpenDocumentIterator();
         // Get all the keys of the Map and count.
@@ -76,12 +92,31 @@ public class SaveAllFilesMenu extends UILessMenu {
                     getOpenDocument(key);
             if (!file.isTemporary() && (file.isSaved() == false || (file.isSaved() == true
                     && DateTime.isFileExternallyModified(file)))) {
-                SaveFileMenu saveFileMenu =
-                        (SaveFileMenu) MenuManager.getMenuById(
-                        MenuConstants.SAVE_FILE);
-                saveFileMenu.doSave(file, in, out);
-
+                if (!FileUtil.isDocumentWritable(file)) {
+                    failedFiles.add(file);
+                    continue;
+                }
+                try {
+                    savingFiles.put(file, WriteAllFiles.snapshot(file));
+                    modifications.put(file, file.getModificationCount());
+                } catch (BadLocationException ex) {
+                    Logger.logError("Error while reading document text. Document: " +
+                            file.getAbsolutePath(), ex);
+                    failedFiles.add(file);
+                    continue;
+                }
+                // See SaveFileMenu: avoids document change notification while saving.
+                file.setLastSaved(file.lastModified());
+                // The file stays unsaved till it is written.
             }
         }
+        if (savingFiles.isEmpty() && failedFiles.isEmpty()) {
+            return;
+        }
+        in.put("SAVING_FILES", savingFiles);
+        in.put("SAVING_MODIFICATIONS", modifications);
+        in.put("FAILED_FILES", failedFiles);
+        Function write = new WriteAllFiles();
+        write.process(in, new OutputParams());
     }
 }
@@ -20,12 +20,18 @@
  */
 package org.apex.base.search;
 
+import org.apex.base.component.CompoundUndoManager;
 import org.apex.base.core.EditorBase;
 import org.apex.base.data.EditorContext;
 import org.apex.base.logging.Logger;
+import org.apex.base.util.StringUtil;
 import java.lang.reflect.InvocationTargetException;
 import javax.swing.SwingUtilities;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.AbstractDocument;
 import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
 
 /**
  * A basic text replacer implementation.
@@ -59,7 +65,8 @@ public class BasicTextReplacer extends TextReplacerSupport {
             searchKey = searchKey.toLowerCase();
             replaceKey = replaceKey.toLowerCase();
         }
-        if (searchKey.equals(replaceKey)) {
+        // A regular expression may match text other than the key itself.
+        if (!model.isRegularExpression() && searchKey.equals(replaceKey)) {
             return false;
         }
         /*
@@ -94,61 +101,52 @@ public class BasicTextReplacer extends TextReplacerSupport {
      * First it determines if there is any selected text in the document by checking absolute value of 
      * {@code (dot-mark)}. This checks whether or not 'find' event was fired just before this event.
      * If selection exists in editor, verify the selected text against search key. If the selected text
-     * is same as search key of this event replace it and return.
+     * matches the search key of this event replace it and return.
+     * <p>
+     * For a regular expression the references to groups in replace key are replaced
+     * by the groups of selected text.
      * @param model The search data model.
      * @return {@code true} if selected text is replaced; otherwise returns {@code false}.
      */
     private boolean replaceSelectedText(final SearchTextModel model) {
-        String searchKey = model.getSearchKey();
-        String replaceKey = model.getReplaceKey();
-        if (!model.isCaseSensitive()) {
-            searchKey = searchKey.toLowerCase();
-            replaceKey = replaceKey.toLowerCase();
-        }
         int dot = this.getEditArea().getCaret().getDot();
         int mark = this.getEditArea().getCaret().getMark();
-        if (Math.abs(dot - mark) > 0 && Math.abs(dot - mark)
-                == searchKey.length()) {
-            // Selection exists. Get selected text and compare
-            String selectedText = "";
-            // Is it forward selection?
-            try {
-                if (dot > mark) {
-                    selectedText =
-                            this.getEditArea().getDocument().
-                            getText(mark, searchKey.length());
-
-                } else {
-                    // it is backward
-                    selectedText = this.getEditArea().getDocument().getText(dot,
-                            searchKey.length());
-                }
-            } catch (BadLocationException ex) {
-                Logger.logWarning(
-                        "While replacing failed to get currently selected text.",
-                        ex);
-            }
-            if (!model.isCaseSensitive()) {
-                selectedText = selectedText.toLowerCase();
+        if (dot == mark) {
+            return false;
+        }
+        // Selection exists. Match the selected text in place.
+        TextMatcher matcher = TextMatcher.compile(model);
+        final String replacement;
+        try {
+            if (!matcher.matches(new DocumentCharSequence(getEditArea().
+                    getDocument()), Math.min(dot, mark), Math.max(dot, mark))) {
+                return false;
             }
-            if (searchKey.equals(selectedText)) {
-                try {
-                    SwingUtilities.invokeAndWait(new Runnable() {
+            replacement = matcher.replacement(model.getReplaceKey());
+        } catch (IndexOutOfBoundsException ex) {
+            Logger.logWarning(
+                    "While replacing failed to get currently selected text.",
+                    ex);
+            return false;
+        } catch (IllegalArgumentException ex) {
+            Logger.logWarning("Invalid replace text: " + model.getReplaceKey(),
+                    ex);
+            return false;
+        }
+        try {
+            SwingUtilities.invokeAndWait(new Runnable() {
 
-                        public void run() {
-                            // Currently selected text may be replaced
-                            getEditArea().replaceSelection(model.getReplaceKey());
-                        }
-                    });
-                } catch (InterruptedException ie) {
-                    Logger.logWarning("Failed to replace text.", ie);
-                } catch (InvocationTargetException ite) {
-                    Logger.logWarning("Failed to replace text.", ite);
+                public void run() {
+                    // Currently selected text may be replaced
+                    getEditArea().replaceSelection(replacement);
                 }
-                return true;
-            }
+            });
+        } catch (InterruptedException ie) {
+            Logger.logWarning("Failed to replace text.", ie);
+        } catch (InvocationTargetException ite) {
+            Logger.logWarning("Failed to replace text.", ite);
         }
-        return false;
+        return true;
     }
 
     public boolean replaceNext(SearchTextModel model) {
@@ -159,44 +157,179 @@ public class BasicTextReplacer extends TextReplacerSupport {
         return false;
     }
 
+    /**
+     * Replaces all matches of search key in one pass. The matches and their
+     * replacements are found in the calling thread with one scan of the
+     * document. Then the text from first match to last match is replaced in
+     * event dispatch thread by one write to the document, which is one
+     * undoable edit. The number of replacements is shown in status bar once
+     * the caret has moved to the end of last replacement.
+     * @param model The search data model.
+     * @return {@code true} if any text is replaced; otherwise returns {@code false}.
+     */
     public boolean replaceAll(SearchTextModel model) {
         String searchKey = model.getSearchKey();
         String replaceKey = model.getReplaceKey();
+        if (StringUtil.isNullOrEmpty(searchKey) || replaceKey == null) {
+            return false;
+        }
         if (!model.isCaseSensitive()) {
             searchKey = searchKey.toLowerCase();
             replaceKey = replaceKey.toLowerCase();
         }
-        if (searchKey.equals(replaceKey)) {
+        // A regular expression may match text other than the key itself.
+        if (!model.isRegularExpression() && searchKey.equals(replaceKey)) {
+            return false;
+        }
+        final Document doc = getEditArea().getDocument();
+        final boolean[] changed = new boolean[1];
+        DocumentListener changeListener = new DocumentListener() {
+
+            public void insertUpdate(DocumentEvent e) {
+                changed[0] = true;
+            }
+
+            public void removeUpdate(DocumentEvent e) {
+                changed[0] = true;
+            }
+
+            public void changedUpdate(DocumentEvent e) {
+            }
+        };
+        doc.addDocumentListener(changeListener);
+        final MatchList replacements;
+        try {
+            replacements = findReplacements(model, doc);
+        } catch (IllegalArgumentException ex) {
+            doc.removeDocumentListener(changeListener);
+            Logger.logWarning("Invalid replace text: " + model.getReplaceKey(),
+                    ex);
             return false;
         }
-        boolean isWrapsearch = model.isWrapSearch();
-        boolean isBackwardSearch = model.isBackwardSearch();
-        boolean isHighlightSearch = model.isHighlightSearch();
-        model.setWrapSearch(false);
-        model.setBackwardSearch(false);
-        model.setHighlightSearch(false);
+        final org.apex.base.data.AbstractDocument file = getContext().
+                getEditorProperties().getCurrentDocument();
+        final int[] count = new int[1];
         try {
             SwingUtilities.invokeAndWait(new Runnable() {
 
                 public void run() {
-                    // Move the caret to begining of document
-                    getEditArea().setCaretPosition(0);
+                    doc.removeDocumentListener(changeListener);
+                    if (replacements == null || changed[0]) {
+                        // The document is edited while it was scanned.
+                        return;
+                    }
+                    count[0] = applyReplacements(replacements, doc, file);
+                    if (count[0] == 0) {
+                        return;
+                    }
+                    // After the caret moves made by the edit.
+                    SwingUtilities.invokeLater(new Runnable() {
+
+                        public void run() {
+                            getContext().getEditorComponents().getStatusBar().
+                                    setGeneralInfo("Replaced " + count[0] +
+                                    " occurrences.");
+                        }
+                    });
                 }
             });
         } catch (InterruptedException ie) {
-            Logger.logWarning("While replacing failed to move caret.", ie);
+            Logger.logWarning("Failed to replace text.", ie);
         } catch (InvocationTargetException ite) {
-            Logger.logWarning("While replacing failed to move caret.", ite);
+            Logger.logWarning("Failed to replace text.", ite);
         }
-        boolean isReplaced = false;
-        do {
-            isReplaced = replace(model, false);
-        } while (isReplaced);
-        model.setWrapSearch(isWrapsearch);
-        model.setBackwardSearch(isBackwardSearch);
-        model.setHighlightSearch(isHighlightSearch);
+        return count[0] > 0;
+    }
 
-        return isReplaced;
+    /**
+     * Finds all matches of search key in a document and their replacements.
+     * @param model The search data model.
+     * @param doc The document.
+     * @return The replacements, {@code null} if the document could not be read.
+     * @throws java.lang.IllegalArgumentException If the replace key refers
+     *         to a group which does not exist.
+     */
+    private MatchList findReplacements(SearchTextModel model, Document doc) {
+        MatchList replacements = new MatchList();
+        TextMatcher matcher = TextMatcher.compile(model);
+        CharSequence content = new DocumentCharSequence(doc);
+        int index = 0;
+        try {
+            while (matcher.find(content, index)) {
+                int start = matcher.start();
+                int end = matcher.end();
+                index = end;
+                // Here check for whole word. If the word found is not a complete word skip it.
+                if (model.isWholeWord() && !BasicTextSearcher.isWholeWord(
+                        getEditArea(), start, end)) {
+                    continue;
+                }
+                replacements.add(start, end, matcher.replacement(model.
+                        getReplaceKey()));
+            }
+        } catch (IndexOutOfBoundsException ex) {
+            Logger.logWarning(
+                    "While replacing failed to get text from edit area. Search text: " +
+                    model.getSearchKey(), ex);
+            return null;
+        }
+        return replacements;
+    }
+
+    /**
+     * Replaces the matches in a document. Only the matched text is replaced,
+     * starting from the last match, so offsets of matches not yet replaced
+     * stay valid and text between matches is not touched. The replacements
+     * are grouped in one undoable edit. The caret is moved to the end of last
+     * replacement. It should be called in event dispatch thread.
+     * @param replacements The replacements.
+     * @param doc The document.
+     * @param file The editor document having the undo manager.
+     * @return The number of matches replaced.
+     */
+    private int applyReplacements(MatchList replacements, Document doc,
+            org.apex.base.data.AbstractDocument file) {
+        if (replacements.size == 0) {
+            return 0;
+        }
+        CompoundUndoManager undoManager = null;
+        if (file != null && file.getUndoManager() instanceof CompoundUndoManager) {
+            undoManager = (CompoundUndoManager) file.getUndoManager();
+            undoManager.beginEditGroup();
+        }
+        int last = replacements.size - 1;
+        int replaced = 0;
+        // The last replacement is shifted by the change in length of all
+        // replacements before it.
+        int caretPosition = replacements.starts[last]
+                + replacements.texts[last].length();
+        for (int i = 0; i < last; i++) {
+            caretPosition += replacements.texts[i].length()
+                    - (replacements.ends[i] - replacements.starts[i]);
+        }
+        try {
+            for (int i = last; i >= 0; i--) {
+                int start = replacements.starts[i];
+                int length = replacements.ends[i] - start;
+                if (doc instanceof AbstractDocument) {
+                    ((AbstractDocument) doc).replace(start, length,
+                            replacements.texts[i], null);
+                } else {
+                    doc.remove(start, length);
+                    doc.insertString(start, replacements.texts[i], null);
+                }
+                replaced++;
+            }
+        } catch (BadLocationException ex) {
+            Logger.logWarning("Failed to replace text.", ex);
+        } finally {
+            if (undoManager != null) {
+                undoManager.endEditGroup();
+            }
+        }
+        getEditArea().clearSearchHighlights();
+        getEditArea().setCaretPosition(Math.min(caretPosition, doc.getLength()));
+        return replaced;
     }
 
     /**
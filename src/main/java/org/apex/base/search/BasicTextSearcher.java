@@ -20,21 +20,25 @@
  */
 package org.apex.base.search;
 
+import org.apex.base.component.SearchMatchLayer;
 import org.apex.base.logging.Logger;
 import java.lang.reflect.InvocationTargetException;
-import java.util.Vector;
 import javax.swing.SwingUtilities;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.Document;
 import javax.swing.text.Highlighter;
 import javax.swing.text.Highlighter.Highlight;
+import javax.swing.text.JTextComponent;
 import javax.swing.text.Utilities;
 import org.apex.base.util.StringUtil;
 
 /**
- * A basic text searcher implementation.
+ * A basic text searcher implementation. The document is scanned in place
+ * by a {@link TextMatcher}, its text is not copied for searching.
  * @author Mrityunjoy Saha
- * @version 1.1
+ * @version 1.2
  * @since Apex 1.0
  */
 public class BasicTextSearcher extends TextSearcherSupport {
@@ -48,120 +52,177 @@ public class BasicTextSearcher extends TextSearcherSupport {
     }
 
     /**
-     * Marks all highlights in editor.
-     * @param model A data model for text search.
-     * @param painter A highlight painter.
-     * @return all found highlights, empty array if nothing is found
+     * Number of times the document is scanned for highlighting all matches.
      */
-    private Highlight[] markHighlights(SearchTextModel model,
-            Highlighter.HighlightPainter painter) {
-        Vector<Highlight> highlights = new Vector<Highlight>();
-        final Highlighter highlighter = getEditArea().getHighlighter();
-        // @TODO Remove only existing relevant highlights for last word
-        try {
-            SwingUtilities.invokeAndWait(new Runnable() {
-
-                public void run() {
-                    getEditArea().clearSearchHighlights();
-                }
-            });
-        } catch (InterruptedException ie) {
-            Logger.logWarning("Failed to clear previous highlights. Search text: " +
-                    model.getSearchKey(), ie);
-        } catch (InvocationTargetException ite) {
-            Logger.logWarning("Failed to clear previous highlights. Search text: " +
-                    model.getSearchKey(), ite);
-        }
+    private static final int SCAN_ATTEMPTS = 3;
 
+    /**
+     * Finds all matches in editor.
+     * @param model A data model for text search.
+     * @return All matches found.
+     */
+    private MatchList findAll(SearchTextModel model) {
+        MatchList matches = new MatchList();
         String text = model.getSearchKey();
         if (text == null || text.equals("")) {
-            return null;
+            return matches;
         }
-
-        String content = null;
+        CharSequence content = new DocumentCharSequence(getEditArea().
+                getDocument());
+        TextMatcher matcher = TextMatcher.compile(model);
+        int lastIndex = 0;
         try {
-            Document d = getEditArea().getDocument();
-            // @TODO - This is heavy operation. Replace this in future version.
-            content = d.getText(0, d.getLength());
-        } catch (BadLocationException e) {
+            while (matcher.find(content, lastIndex)) {
+                lastIndex = matcher.start();
+                int endIndex = matcher.end();
+                // Here check for whole word. If the word found is not a complete word skip it.
+                if (!model.isWholeWord() || isWholeWord(getEditArea(),
+                        lastIndex, endIndex)) {
+                    matches.add(lastIndex, endIndex);
+                }
+                lastIndex = endIndex;
+            }
+        } catch (IndexOutOfBoundsException e) {
             Logger.logWarning(
                     "While searching failed to get text from edit area. Search text: " +
                     text, e);
-            return null;
-        }
-        if (!model.isCaseSensitive()) {
-            // @TODO - This is heavy operation. Replace this in future version.
-            content = content.toLowerCase();
-            text = text.toLowerCase();
         }
-        int lastIndex = 0;
-        int wordSize = text.length();
-        // @TODO - This is heavy operation. Replace this in future version.
-        while ((lastIndex = content.indexOf(text, lastIndex)) != -1) {
-            int endIndex = lastIndex + wordSize;
-            try {
+        return matches;
+    }
 
-                boolean validResult = true;
-                // Here check for whole word. If the word found is not a complete word skip it.
-                if (model.isWholeWord()) {
-                    if (lastIndex != Utilities.getWordStart(getEditArea(),
-                            lastIndex) ||
-                            endIndex != Utilities.getWordEnd(getEditArea(),
-                            lastIndex)) {
-                        validResult = false;
-                    }
-                }
-                if (validResult) {
-                    highlights.add((Highlight) highlighter.addHighlight(
-                            lastIndex,
-                            endIndex,
-                            painter));
-                }
-            } catch (BadLocationException e) {
-                Logger.logWarning(
-                        "Error while adding highlight for a given search text: " +
-                        text, e);
-            }
-            lastIndex = endIndex;
+    /**
+     * Tells whether or not a match is a complete word.
+     * @param editArea The text editor.
+     * @param start Start offset of match.
+     * @param end End offset of match.
+     * @return {@code true} if the match is a word; otherwise returns {@code false}.
+     */
+    static boolean isWholeWord(JTextComponent editArea, int start, int end) {
+        try {
+            return start == Utilities.getWordStart(editArea, start) &&
+                    end == Utilities.getWordEnd(editArea, start);
+        } catch (BadLocationException ex) {
+            return false;
         }
-        Highlight[] value = new Highlight[0];
-        return highlights.toArray(value);
     }
 
     /**
-     * Finds all matches, but don't highlight them.
+     * Finds all matches, but don't highlight them. If the document is changed
+     * while it is scanned, it is scanned again in event dispatch thread.
      * @param model The search data model.
      * @return All matching highlights.
      */
-    public Highlight[] searchAll(SearchTextModel model) {
-        return markHighlights(model, null);
+    public Highlight[] searchAll(final SearchTextModel model) {
+        Document doc = getEditArea().getDocument();
+        ChangeFlag change = new ChangeFlag();
+        doc.addDocumentListener(change);
+        MatchList found = findAll(model);
+        doc.removeDocumentListener(change);
+        if (change.changed) {
+            final MatchList[] rescanned = new MatchList[1];
+            try {
+                SwingUtilities.invokeAndWait(new Runnable() {
+
+                    public void run() {
+                        rescanned[0] = findAll(model);
+                    }
+                });
+                found = rescanned[0];
+            } catch (InterruptedException ie) {
+                Logger.logWarning("Failed to search text: " +
+                        model.getSearchKey(), ie);
+            } catch (InvocationTargetException ite) {
+                Logger.logWarning("Failed to search text: " +
+                        model.getSearchKey(), ite);
+            }
+        }
+        Highlight[] highlights = new Highlight[found.size];
+        for (int i = 0; i < found.size; i++) {
+            highlights[i] = new SearchHighlight(found.starts[i],
+                    found.ends[i], null);
+        }
+        return highlights;
     }
 
     /**
-     * Search and highlight all matches.
+     * Search and highlight all matches. Previous highlights are cleared
+     * first. The highlights are kept up to date with edits by a
+     * {@link SearchHighlightTracker}.
+     * <p>
+     * The document is scanned outside event dispatch thread. If it is
+     * changed before the matches are highlighted, the offsets found may be
+     * wrong, so it is scanned again. When typing goes on, the last attempt
+     * scans in event dispatch thread, where the document can not change.
      * @param model The search data model.
-     * @return All matching highlights.
+     * @return The number of matches.
      */
-    public Highlight[] highlightSearchAll(SearchTextModel model) {
-        return markHighlights(model, this.getPainter());
+    public int highlightSearchAll(final SearchTextModel model) {
+        // @TODO Remove only existing relevant highlights for last word
+        try {
+            SwingUtilities.invokeAndWait(new Runnable() {
+
+                public void run() {
+                    getEditArea().clearSearchHighlights();
+                }
+            });
+        } catch (InterruptedException ie) {
+            Logger.logWarning("Failed to clear previous highlights. Search text: " +
+                    model.getSearchKey(), ie);
+        } catch (InvocationTargetException ite) {
+            Logger.logWarning("Failed to clear previous highlights. Search text: " +
+                    model.getSearchKey(), ite);
+        }
+        final Document doc = getEditArea().getDocument();
+        final int[] count = {-1};
+        for (int attempt = 1; count[0] < 0 && attempt <= SCAN_ATTEMPTS;
+                attempt++) {
+            final ChangeFlag change = new ChangeFlag();
+            doc.addDocumentListener(change);
+            final MatchList scanned = attempt < SCAN_ATTEMPTS ? findAll(model)
+                    : null;
+            try {
+                SwingUtilities.invokeAndWait(new Runnable() {
+
+                    public void run() {
+                        doc.removeDocumentListener(change);
+                        MatchList matches = scanned;
+                        if (matches == null) {
+                            matches = findAll(model);
+                        } else if (change.changed) {
+                            // Scan again
+                            return;
+                        }
+                        getEditArea().getSearchMatches().setMatches(
+                                matches.starts, matches.ends, matches.size,
+                                getPainter());
+                        getEditArea().setSearchHighlightTracker(
+                                new SearchHighlightTracker(getEditArea(), model));
+                        count[0] = matches.size;
+                    }
+                });
+            } catch (InterruptedException ie) {
+                Logger.logWarning("Failed to highlight matches. Search text: " +
+                        model.getSearchKey(), ie);
+                break;
+            } catch (InvocationTargetException ite) {
+                Logger.logWarning("Failed to highlight matches. Search text: " +
+                        model.getSearchKey(), ite);
+                break;
+            }
+        }
+        return Math.max(count[0], 0);
     }
 
     public Highlight search(SearchTextModel model) {
         Highlight result = null;
         int currentCaretPosition = this.getEditArea().getCaretPosition();
         if (model.isHighlightSearch()) {
-            if (SearchTextUtility.isSearchTextChanged()) {
-                this.getEditArea().setSearchHighlights(highlightSearchAll(model));
-            } else {
-                // Though same text, but highlights may be removed due to edit or some other reason.
-                if (this.getEditArea().isSearchHighlightsEmpty()) {
-                    this.getEditArea().setSearchHighlights(highlightSearchAll(
-                            model));
-                }
+            // Highlights are kept up to date with edits by the tracker,
+            // but they may be removed for some other reason.
+            if (SearchTextUtility.isSearchTextChanged() ||
+                    this.getEditArea().isSearchHighlightsEmpty()) {
+                highlightSearchAll(model);
             }
-            // @TODO There can be a scenario where search text is not changed, highlight list is not empty,
-            // but due to edit the locations (offset) of highlights are changed. This scenario is not handled
-            // presently.
             // Really no match found.
             if (this.getEditArea().isSearchHighlightsEmpty()) {
                 return null;
@@ -270,26 +331,13 @@ public class BasicTextSearcher extends TextSearcherSupport {
         Document d = getEditArea().getDocument();
         referenceCaretPosition = updateReferenceCaretPosition(d,
                 referenceCaretPosition, true);
-        String content = null;
+        TextMatcher matcher = TextMatcher.compile(model);
         try {
-
-            // @TODO - This is heavy operation. Replace this in future version.
-            content = d.getText(referenceCaretPosition, (d.getLength() -
-                    referenceCaretPosition));
-        } catch (BadLocationException e) {
+            if (matcher.find(new DocumentCharSequence(d), referenceCaretPosition)) {
+                return new SearchHighlight(matcher.start(), matcher.end(), null);
+            }
+        } catch (IndexOutOfBoundsException e) {
             Logger.logWarning("Failed to get next matching text.", e);
-            return null;
-        }
-        if (!model.isCaseSensitive()) {
-            // @TODO - This is heavy operation. Replace this in future version.
-            content = content.toLowerCase();
-            text = text.toLowerCase();
-        }
-        int matchIndex = 0;
-        // @TODO - This is heavy operation. Replace this in future version.
-        if ((matchIndex = content.indexOf(text)) != -1) {
-            return new SearchHighlight((referenceCaretPosition + matchIndex),
-                    (referenceCaretPosition + matchIndex + text.length()), null);
         }
         return null;
     }
@@ -303,113 +351,162 @@ public class BasicTextSearcher extends TextSearcherSupport {
         Document d = getEditArea().getDocument();
         referenceCaretPosition = updateReferenceCaretPosition(d,
                 referenceCaretPosition, false);
-        String content = null;
+        TextMatcher matcher = TextMatcher.compile(model);
         try {
-            // @TODO - This is heavy operation. Replace this in future version.
-            content = d.getText(0, referenceCaretPosition);
-        } catch (BadLocationException e) {
+            if (matcher.findBackward(new DocumentCharSequence(d),
+                    referenceCaretPosition)) {
+                return new SearchHighlight(matcher.start(), matcher.end(), null);
+            }
+        } catch (IndexOutOfBoundsException e) {
             Logger.logWarning("Failed to get previous matching text.", e);
-            return null;
-        }
-        if (!model.isCaseSensitive()) {
-            // @TODO - This is heavy operation. Replace this in future version.
-            content = content.toLowerCase();
-            text = text.toLowerCase();
-        }
-
-        int matchIndex = 0;
-        // @TODO - This is heavy operation. Replace this in future version.
-        if ((matchIndex = content.lastIndexOf(text)) != -1) {
-            return new SearchHighlight(matchIndex, (matchIndex + text.length()),
-                    null);
         }
         return null;
     }
 
     public Highlight searchNextHighlight(SearchTextModel model,
             int referenceCaretPosition) {
-        Highlight[] highlights = this.getEditArea().getSearchHighlights();
+        SearchMatchLayer highlights = this.getEditArea().getSearchMatches();
         referenceCaretPosition = updateReferenceCaretPosition(getEditArea().
                 getDocument(),
                 referenceCaretPosition, true);
+        // Matches may change in event dispatch thread while searching.
+        synchronized (highlights) {
+            int index = nextHighlight(highlights, referenceCaretPosition);
+            return index < 0 ? null : new SearchHighlight(highlights.getStart(
+                    index), highlights.getEnd(index), null);
+        }
+    }
+
+    /**
+     * Finds the first highlight starting at or after a given caret position.
+     * @param highlights The search highlights.
+     * @param referenceCaretPosition The reference caret position.
+     * @return Index of the highlight, {@code -1} if there is none.
+     */
+    private int nextHighlight(SearchMatchLayer highlights,
+            int referenceCaretPosition) {
         int startIndex = 0;
-        int endIndex = highlights.length - 1;
+        int endIndex = highlights.size() - 1;
         int guessIndex = 0;
+        if (endIndex < 0) {
+            return -1;
+        }
         if (endIndex == 0) {
             if (referenceCaretPosition <=
-                    highlights[startIndex].getStartOffset()) {
-                return highlights[startIndex];
+                    highlights.getStart(startIndex)) {
+                return startIndex;
             } else {
-                return null;
+                return -1;
             }
         }
         while (true) {
             if ((endIndex - startIndex) == 1) {
                 if (referenceCaretPosition <=
-                        highlights[startIndex].getStartOffset()) {
-                    return highlights[startIndex];
+                        highlights.getStart(startIndex)) {
+                    return startIndex;
                 } else if (referenceCaretPosition <=
-                        highlights[endIndex].getStartOffset()) {
-                    return highlights[endIndex];
+                        highlights.getStart(endIndex)) {
+                    return endIndex;
                 } else {
-                    return null;
+                    return -1;
                 }
             } else if ((endIndex - startIndex) < 0) {
-                return null;
+                return -1;
             }
             guessIndex = (endIndex + startIndex + 1) / 2;
-            if (referenceCaretPosition < highlights[guessIndex].getStartOffset()) {
+            if (referenceCaretPosition < highlights.getStart(guessIndex)) {
                 endIndex = guessIndex;
             } else if (referenceCaretPosition >
-                    highlights[guessIndex].getStartOffset()) {
+                    highlights.getStart(guessIndex)) {
                 startIndex = guessIndex;
             } else {
-                return highlights[guessIndex + 1];
+                return guessIndex + 1 < highlights.size() ? guessIndex + 1 : -1;
             }
         }
     }
 
     public Highlight searchPreviousHighlight(SearchTextModel model,
             int referenceCaretPosition) {
-        Highlight[] highlights = this.getEditArea().getSearchHighlights();
+        SearchMatchLayer highlights = this.getEditArea().getSearchMatches();
         referenceCaretPosition = updateReferenceCaretPosition(getEditArea().
                 getDocument(),
                 referenceCaretPosition, false);
+        // Matches may change in event dispatch thread while searching.
+        synchronized (highlights) {
+            int index = previousHighlight(highlights, referenceCaretPosition);
+            return index < 0 ? null : new SearchHighlight(highlights.getStart(
+                    index), highlights.getEnd(index), null);
+        }
+    }
+
+    /**
+     * Finds the last highlight ending at or before a given caret position.
+     * @param highlights The search highlights.
+     * @param referenceCaretPosition The reference caret position.
+     * @return Index of the highlight, {@code -1} if there is none.
+     */
+    private int previousHighlight(SearchMatchLayer highlights,
+            int referenceCaretPosition) {
         int startIndex = 0;
-        int endIndex = highlights.length - 1;
+        int endIndex = highlights.size() - 1;
         int guessIndex = 0;
+        if (endIndex < 0) {
+            return -1;
+        }
         if (endIndex == 0) {
             if (referenceCaretPosition >=
-                    highlights[endIndex].getEndOffset()) {
-                return highlights[startIndex];
+                    highlights.getEnd(endIndex)) {
+                return startIndex;
             } else {
-                return null;
+                return -1;
             }
         }
         while (true) {
             if ((endIndex - startIndex) == 1) {
                 if (referenceCaretPosition >=
-                        highlights[endIndex].getEndOffset()) {
-                    return highlights[endIndex];
+                        highlights.getEnd(endIndex)) {
+                    return endIndex;
                 } else if (referenceCaretPosition >=
-                        highlights[startIndex].getEndOffset()) {
-                    return highlights[startIndex];
+                        highlights.getEnd(startIndex)) {
+                    return startIndex;
                 } else {
-                    return null;
+                    return -1;
                 }
             } else if ((endIndex - startIndex) < 0) {
-                return null;
+                return -1;
             }
             guessIndex = (endIndex + startIndex + 1) / 2;
-            if (referenceCaretPosition < highlights[guessIndex].getEndOffset()) {
+            if (referenceCaretPosition < highlights.getEnd(guessIndex)) {
                 endIndex = guessIndex;
             } else if (referenceCaretPosition >
-                    highlights[guessIndex].getEndOffset()) {
+                    highlights.getEnd(guessIndex)) {
                 startIndex = guessIndex;
             } else {
-                return highlights[guessIndex - 1];
+                return guessIndex - 1;
             }
         }
 
     }
+
+    /**
+     * Records whether or not a document is changed.
+     */
+    private static class ChangeFlag implements DocumentListener {
+
+        /**
+         * A boolean that indicates whether or not the document is changed.
+         */
+        private volatile boolean changed;
+
+        public void insertUpdate(DocumentEvent e) {
+            changed = true;
+        }
+
+        public void removeUpdate(DocumentEvent e) {
+            changed = true;
+        }
+
+        public void changedUpdate(DocumentEvent e) {
+        }
+    }
 }
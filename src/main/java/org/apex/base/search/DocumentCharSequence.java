@@ -0,0 +1,163 @@
+/*
+ * DocumentCharSequence.java
+ *
+ * Copyright (C) 2010 Mrityunjoy Saha
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.apex.base.search;
+
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Segment;
+
+/**
+ * A character sequence view of a document. Characters are read from the
+ * document's data model a chunk at a time with partial return, so for a gap
+ * buffer the characters are read in place and the text of document is never
+ * copied to a string.
+ * <p>
+ * The length of sequence is fixed when it is created. The document should
+ * not be changed while the sequence is used.
+ * @author Mrityunjoy Saha
+ * @version 1.0
+ * @since Apex 1.2
+ */
+class DocumentCharSequence implements CharSequence {
+
+    /**
+     * Maximum number of characters asked from the document at a time.
+     */
+    private static final int CHUNK_SIZE = 256 * 1024;
+    /**
+     * The document.
+     */
+    private final Document document;
+    /**
+     * Offset of first character of this sequence in the document.
+     */
+    private final int start;
+    /**
+     * Number of characters of this sequence.
+     */
+    private final int length;
+    /**
+     * The current chunk of characters.
+     */
+    private final Segment chunk = new Segment();
+    /**
+     * Document offset of first character of the current chunk.
+     */
+    private int chunkStart;
+    /**
+     * Document offset next to the last character of the current chunk.
+     */
+    private int chunkEnd;
+
+    /**
+     * Creates a new instance of {@code DocumentCharSequence} for the whole document.
+     * @param document The document.
+     */
+    DocumentCharSequence(Document document) {
+        this(document, 0, document.getLength());
+    }
+
+    /**
+     * Creates a new instance of {@code DocumentCharSequence} for a part of document.
+     * @param document The document.
+     * @param start Offset of the part.
+     * @param length Length of the part.
+     */
+    DocumentCharSequence(Document document, int start, int length) {
+        this.document = document;
+        this.start = start;
+        this.length = length;
+        this.chunk.setPartialReturn(true);
+    }
+
+    /**
+     * Returns the document.
+     * @return The document.
+     */
+    Document getDocument() {
+        return document;
+    }
+
+    /**
+     * Returns the document offset of first character of this sequence.
+     * @return The document offset.
+     */
+    int getStart() {
+        return start;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+        int offset = start + index;
+        if (offset < chunkStart || offset >= chunkEnd) {
+            // Keep the characters before as well, as they are asked for
+            // when scanning backward.
+            load(offset, Math.max(start, offset - CHUNK_SIZE / 2));
+        }
+        return chunk.array[chunk.offset + offset - chunkStart];
+    }
+
+    public CharSequence subSequence(int from, int to) {
+        if (from < 0 || to > length || from > to) {
+            throw new IndexOutOfBoundsException("Range: " + from + ", " + to);
+        }
+        return new DocumentCharSequence(document, start + from, to - from);
+    }
+
+    @Override
+    public String toString() {
+        try {
+            return document.getText(start, length);
+        } catch (BadLocationException ex) {
+            throw new IndexOutOfBoundsException(ex.getMessage());
+        }
+    }
+
+    /**
+     * Reads the chunk containing a given offset. Reading starts at a given
+     * offset before and continues till the chunk read contains the offset.
+     * @param offset The document offset to be contained in the chunk.
+     * @param from Document offset from where to start reading.
+     */
+    private void load(int offset, int from) {
+        int end = start + length;
+        try {
+            do {
+                document.getText(from, Math.min(CHUNK_SIZE, end - from), chunk);
+                if (chunk.count == 0) {
+                    throw new BadLocationException("No text read", from);
+                }
+                chunkStart = from;
+                chunkEnd = from + chunk.count;
+                from = chunkEnd;
+            } while (chunkEnd <= offset);
+        } catch (BadLocationException ex) {
+            chunkStart = chunkEnd = 0;
+            // The document is changed while it is being read.
+            throw new IndexOutOfBoundsException(ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * MatchList.java
+ *
+ * Copyright (C) 2010 Mrityunjoy Saha
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.apex.base.search;
+
+import java.util.Arrays;
+
+/**
+ * A growing list of matches, kept as start and end offsets in two arrays.
+ * A replacement text of each match may be kept in a third array, which is
+ * created only when a match is added with its replacement.
+ * @author Mrityunjoy Saha
+ * @version 1.0
+ * @since Apex 1.2
+ */
+class MatchList {
+
+    /**
+     * Start offsets of matches.
+     */
+    int[] starts = new int[16];
+    /**
+     * End offsets of matches.
+     */
+    int[] ends = new int[16];
+    /**
+     * Replacement texts of matches, {@code null} if matches are added
+     * without replacements.
+     */
+    String[] texts;
+    /**
+     * Number of matches.
+     */
+    int size;
+
+    /**
+     * Creates a new instance of {@code MatchList}.
+     */
+    MatchList() {
+    }
+
+    /**
+     * Adds a match at the end of list.
+     * @param start Start offset of match.
+     * @param end End offset of match.
+     */
+    void add(int start, int end) {
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size * 2);
+            ends = Arrays.copyOf(ends, size * 2);
+            if (texts != null) {
+                texts = Arrays.copyOf(texts, size * 2);
+            }
+        }
+        starts[size] = start;
+        ends[size] = end;
+        size++;
+    }
+
+    /**
+     * Adds a match with its replacement text at the end of list.
+     * @param start Start offset of match.
+     * @param end End offset of match.
+     * @param text Replacement text of match.
+     */
+    void add(int start, int end, String text) {
+        if (texts == null) {
+            texts = new String[starts.length];
+        }
+        add(start, end);
+        texts[size - 1] = text;
+    }
+}
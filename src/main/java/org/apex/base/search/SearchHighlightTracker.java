@@ -0,0 +1,176 @@
+/*
+ * SearchHighlightTracker.java
+ *
+ * Copyright (C) 2010 Mrityunjoy Saha
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.apex.base.search;
+
+import org.apex.base.component.SearchMatchLayer;
+import org.apex.base.component.TextEditor;
+import org.apex.base.logging.Logger;
+import javax.swing.SwingUtilities;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Element;
+import javax.swing.text.Position;
+
+/**
+ * Keeps the search highlights of a text editor up to date while the
+ * document is edited. Highlights move with the text around them, so only
+ * the lines changed by an edit are searched again. Their old highlights
+ * in the editor's {@link SearchMatchLayer} are replaced by the matches found.
+ * <p>
+ * Edits are collected and the lines are searched after the edits in event
+ * dispatch thread, so a number of quick edits are handled at once.
+ * @author Mrityunjoy Saha
+ * @version 1.0
+ * @since Apex 1.2
+ */
+class SearchHighlightTracker implements DocumentListener {
+
+    /**
+     * The text editor.
+     */
+    private final TextEditor editArea;
+    /**
+     * The matcher of search key.
+     */
+    private final TextMatcher matcher;
+    /**
+     * A boolean that indicates whether or not only whole words match.
+     */
+    private final boolean wholeWord;
+    /**
+     * Start of the text changed since last update, {@code null} if
+     * nothing is changed.
+     */
+    private Position changeStart;
+    /**
+     * End of the text changed since last update.
+     */
+    private Position changeEnd;
+
+    /**
+     * Creates a new instance of {@code SearchHighlightTracker}.
+     * @param editArea The text editor.
+     * @param model The search data model used for the highlights.
+     */
+    SearchHighlightTracker(TextEditor editArea, SearchTextModel model) {
+        this.editArea = editArea;
+        this.matcher = TextMatcher.compile(model);
+        this.wholeWord = model.isWholeWord();
+    }
+
+    public void insertUpdate(DocumentEvent e) {
+        changed(e.getDocument(), e.getOffset(), e.getOffset() + e.getLength());
+    }
+
+    public void removeUpdate(DocumentEvent e) {
+        changed(e.getDocument(), e.getOffset(), e.getOffset());
+    }
+
+    public void changedUpdate(DocumentEvent e) {
+    }
+
+    /**
+     * Adds a range of text to the changed text and schedules an update
+     * if it is not scheduled yet.
+     * @param doc The document.
+     * @param start Start offset of the range.
+     * @param end End offset of the range.
+     */
+    private void changed(Document doc, int start, int end) {
+        try {
+            if (changeStart == null) {
+                changeStart = doc.createPosition(start);
+                changeEnd = doc.createPosition(end);
+                SwingUtilities.invokeLater(new Runnable() {
+
+                    public void run() {
+                        update();
+                    }
+                });
+            } else {
+                if (start < changeStart.getOffset()) {
+                    changeStart = doc.createPosition(start);
+                }
+                if (end > changeEnd.getOffset()) {
+                    changeEnd = doc.createPosition(end);
+                }
+            }
+        } catch (BadLocationException ex) {
+            Logger.logWarning("Failed to track search highlights.", ex);
+        }
+    }
+
+    /**
+     * Searches the changed lines again and replaces their highlights.
+     */
+    private void update() {
+        int start = changeStart.getOffset();
+        int end = changeEnd.getOffset();
+        changeStart = changeEnd = null;
+        if (editArea.getSearchHighlightTracker() != this) {
+            return;
+        }
+        SearchMatchLayer highlights = editArea.getSearchMatches();
+        Document doc = editArea.getDocument();
+        Element root = doc.getDefaultRootElement();
+        start = root.getElement(root.getElementIndex(start)).getStartOffset();
+        end = Math.min(root.getElement(root.getElementIndex(end)).
+                getEndOffset(), doc.getLength());
+        // Old highlights touching the lines, including the ones emptied
+        // by removal of their text.
+        int size = highlights.size();
+        int first = highlights.indexOfFirstEndingAtOrAfter(start);
+        int last = first;
+        while (last < size && (highlights.getStart(last) < end ||
+                highlights.getEnd(last) <= end)) {
+            last++;
+        }
+        if (first < last) {
+            start = Math.min(start, highlights.getStart(first));
+            end = Math.max(end, highlights.getEnd(last - 1));
+        }
+        MatchList found = new MatchList();
+        try {
+            CharSequence content = new DocumentCharSequence(doc);
+            int from = start;
+            while (matcher.find(content, from) && matcher.start() < end) {
+                int matchStart = matcher.start();
+                from = matcher.end();
+                // A match running past the lines replaces the highlights it overlaps.
+                while (from > end) {
+                    end = from;
+                    while (last < size && highlights.getStart(last) < end) {
+                        end = Math.max(end, highlights.getEnd(last));
+                        last++;
+                    }
+                }
+                if (!wholeWord || BasicTextSearcher.isWholeWord(editArea,
+                        matchStart, from)) {
+                    found.add(matchStart, from);
+                }
+            }
+        } catch (IndexOutOfBoundsException ex) {
+            Logger.logWarning("Failed to search changed text.", ex);
+        }
+        highlights.replace(first, last, found.starts, found.ends, found.size);
+    }
+}
@@ -0,0 +1,471 @@
+/*
+ * TextMatcher.java
+ *
+ * Copyright (C) 2010 Mrityunjoy Saha
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.apex.base.search;
+
+import org.apex.base.logging.Logger;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Finds matches of a search key in a character sequence. Matches are found
+ * one at a time, forward from or backward to a given index, so a search does
+ * not scan more text than needed.
+ * <p>
+ * After a successful find the match is available from {@link #start()}
+ * and {@link #end()}.
+ * @author Mrityunjoy Saha
+ * @version 1.0
+ * @since Apex 1.2
+ */
+abstract class TextMatcher {
+
+    /**
+     * Start index of the last match.
+     */
+    protected int matchStart = -1;
+    /**
+     * End index of the last match.
+     */
+    protected int matchEnd = -1;
+
+    /**
+     * Returns a matcher for the search key of a search data model.
+     * @param model The search data model.
+     * @return The matcher.
+     */
+    static TextMatcher compile(SearchTextModel model) {
+        if (model.isRegularExpression()) {
+            return new RegexMatcher(model);
+        }
+        return new LiteralMatcher(model.getSearchKey(), model.isCaseSensitive());
+    }
+
+    /**
+     * Finds the first match starting at or after a given index.
+     * @param text The text to search.
+     * @param from The index to start searching at.
+     * @return {@code true} if a match is found; otherwise returns {@code false}.
+     */
+    abstract boolean find(CharSequence text, int from);
+
+    /**
+     * Finds the last match ending at or before a given index.
+     * @param text The text to search.
+     * @param to The index to search backward from.
+     * @return {@code true} if a match is found; otherwise returns {@code false}.
+     */
+    abstract boolean findBackward(CharSequence text, int to);
+
+    /**
+     * Tells whether or not a part of text is a match. If it is, the part
+     * becomes the last match.
+     * @param text The text.
+     * @param start Start index of the part.
+     * @param end End index of the part.
+     * @return {@code true} if the part matches; otherwise returns {@code false}.
+     */
+    abstract boolean matches(CharSequence text, int start, int end);
+
+    /**
+     * Returns the text to replace the last match with.
+     * @param replaceKey The replace key.
+     * @return The replacement text.
+     */
+    String replacement(String replaceKey) {
+        return replaceKey;
+    }
+
+    /**
+     * Returns the start index of last match.
+     * @return The start index.
+     */
+    int start() {
+        return matchStart;
+    }
+
+    /**
+     * Returns the end index of last match.
+     * @return The end index.
+     */
+    int end() {
+        return matchEnd;
+    }
+
+    /**
+     * Finds a literal search key with the Boyer-Moore-Horspool algorithm.
+     * Case is folded one character at a time while scanning, so the text
+     * is not converted.
+     */
+    static class LiteralMatcher extends TextMatcher {
+
+        /**
+         * Size of the shift tables. Characters are hashed to the table by
+         * their low bits and colliding characters share the smaller shift.
+         */
+        private static final int TABLE_SIZE = 256;
+        /**
+         * The search key, case folded if search is not case sensitive.
+         */
+        private final char[] key;
+        /**
+         * A boolean that indicates whether or not search is case sensitive.
+         */
+        private final boolean caseSensitive;
+        /**
+         * Shifts for forward search, by the character at the end of window.
+         */
+        private final int[] forwardShifts = new int[TABLE_SIZE];
+        /**
+         * Shifts for backward search, by the character at the start of window.
+         */
+        private final int[] backwardShifts = new int[TABLE_SIZE];
+
+        /**
+         * Creates a new instance of {@code LiteralMatcher}.
+         * @param key The search key.
+         * @param caseSensitive Whether or not search is case sensitive.
+         */
+        LiteralMatcher(String key, boolean caseSensitive) {
+            this.caseSensitive = caseSensitive;
+            this.key = key.toCharArray();
+            for (int i = 0; i < this.key.length; i++) {
+                this.key[i] = fold(this.key[i]);
+            }
+            int last = this.key.length - 1;
+            for (int i = 0; i < TABLE_SIZE; i++) {
+                forwardShifts[i] = this.key.length;
+                backwardShifts[i] = this.key.length;
+            }
+            for (int i = 0; i < last; i++) {
+                forwardShifts[this.key[i] % TABLE_SIZE] = last - i;
+            }
+            for (int i = last; i > 0; i--) {
+                backwardShifts[this.key[i] % TABLE_SIZE] = i;
+            }
+        }
+
+        @Override
+        boolean find(CharSequence text, int from) {
+            int last = key.length - 1;
+            if (last < 0) {
+                return false;
+            }
+            for (int pos = Math.max(0, from); pos + last < text.length();) {
+                char c = fold(text.charAt(pos + last));
+                if (c == key[last] && matches(text, pos, 0, last)) {
+                    matchStart = pos;
+                    matchEnd = pos + key.length;
+                    return true;
+                }
+                pos += forwardShifts[c % TABLE_SIZE];
+            }
+            return false;
+        }
+
+        @Override
+        boolean findBackward(CharSequence text, int to) {
+            int last = key.length - 1;
+            if (last < 0) {
+                return false;
+            }
+            for (int pos = Math.min(to, text.length()) - key.length; pos >= 0;) {
+                char c = fold(text.charAt(pos));
+                if (c == key[0] && matches(text, pos + 1, 1, last)) {
+                    matchStart = pos;
+                    matchEnd = pos + key.length;
+                    return true;
+                }
+                pos -= backwardShifts[c % TABLE_SIZE];
+            }
+            return false;
+        }
+
+        @Override
+        boolean matches(CharSequence text, int start, int end) {
+            if (end - start != key.length || key.length == 0 ||
+                    !matches(text, start, 0, key.length)) {
+                return false;
+            }
+            matchStart = start;
+            matchEnd = end;
+            return true;
+        }
+
+        /**
+         * Compares a part of search key with text.
+         * @param text The text.
+         * @param pos Index in text of the part.
+         * @param keyStart Index in search key of the part.
+         * @param count Number of characters to compare.
+         * @return {@code true} if the characters match; otherwise returns {@code false}.
+         */
+        private boolean matches(CharSequence text, int pos, int keyStart,
+                int count) {
+            for (int i = 0; i < count; i++) {
+                if (fold(text.charAt(pos + i)) != key[keyStart + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Folds the case of a character if search is not case sensitive.
+         * @param c The character.
+         * @return The folded character.
+         */
+        private char fold(char c) {
+            return caseSensitive ? c : Character.toLowerCase(Character.
+                    toUpperCase(c));
+        }
+    }
+
+    /**
+     * Finds matches of a regular expression. The text is matched in place,
+     * a document is not copied to a string for matching.
+     * <p>
+     * Compiled patterns are cached for the keys in search history, so
+     * searching again for a key does not compile it again. Empty matches
+     * are skipped. The replace key may refer to groups of match as
+     * {@code $n} or {@code ${name}}.
+     */
+    static class RegexMatcher extends TextMatcher {
+
+        /**
+         * Size of the window searched first by backward search.
+         */
+        private static final int BACKWARD_WINDOW = 64 * 1024;
+        /**
+         * Compiled patterns by flags and search key.
+         */
+        private static final Map<String, Pattern> patterns =
+                new LinkedHashMap<String, Pattern>();
+        /**
+         * The compiled search key, {@code null} if it is not valid.
+         */
+        private final Pattern pattern;
+        /**
+         * The matcher of last match.
+         */
+        private Matcher matcher;
+
+        /**
+         * Creates a new instance of {@code RegexMatcher}.
+         * @param model The search data model.
+         */
+        RegexMatcher(SearchTextModel model) {
+            this.pattern = getPattern(model);
+        }
+
+        /**
+         * Returns the compiled search key of a search data model. Patterns
+         * of keys no longer in search history are removed from cache.
+         * @param model The search data model.
+         * @return The compiled search key, {@code null} if it is not valid.
+         */
+        private static Pattern getPattern(SearchTextModel model) {
+            String key = model.getSearchKey();
+            int flags = Pattern.MULTILINE;
+            if (!model.isCaseSensitive()) {
+                flags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+            }
+            synchronized (patterns) {
+                String cacheKey = flags + ":" + key;
+                Pattern compiled = patterns.get(cacheKey);
+                if (compiled != null) {
+                    return compiled;
+                }
+                try {
+                    compiled = Pattern.compile(key, flags);
+                } catch (PatternSyntaxException ex) {
+                    Logger.logInfo("Invalid regular expression: " + ex.
+                            getMessage(), RegexMatcher.class.getName(),
+                            "getPattern");
+                    return null;
+                }
+                List<String> history = model.getSearchKeys();
+                for (Iterator<Pattern> it = patterns.values().iterator(); it.
+                        hasNext();) {
+                    Pattern cached = it.next();
+                    if (!history.contains(cached.pattern())) {
+                        it.remove();
+                    }
+                }
+                patterns.put(cacheKey, compiled);
+                return compiled;
+            }
+        }
+
+        @Override
+        boolean find(CharSequence text, int from) {
+            if (pattern == null || from > text.length()) {
+                return false;
+            }
+            Matcher m = newMatcher(text);
+            int pos = Math.max(0, from);
+            while (m.find(pos)) {
+                if (m.end() > m.start()) {
+                    setMatch(m);
+                    return true;
+                }
+                if (m.end() >= text.length()) {
+                    break;
+                }
+                pos = m.end() + 1;
+            }
+            return false;
+        }
+
+        @Override
+        boolean findBackward(CharSequence text, int to) {
+            if (pattern == null) {
+                return false;
+            }
+            to = Math.min(to, text.length());
+            Matcher m = newMatcher(text);
+            // Search windows before the index, larger each time, and take
+            // the last match of first window having one.
+            for (int window = BACKWARD_WINDOW;; window *= 2) {
+                int from = Math.max(0, to - window);
+                m.region(from, to);
+                int start = -1;
+                int end = -1;
+                while (m.find()) {
+                    if (m.end() > m.start()) {
+                        start = m.start();
+                        end = m.end();
+                    }
+                }
+                if (start >= 0) {
+                    m.region(start, end);
+                    m.lookingAt();
+                    setMatch(m);
+                    return true;
+                }
+                if (from == 0) {
+                    return false;
+                }
+            }
+        }
+
+        @Override
+        boolean matches(CharSequence text, int start, int end) {
+            if (pattern == null || end <= start) {
+                return false;
+            }
+            Matcher m = newMatcher(text);
+            m.region(start, end);
+            if (!m.matches()) {
+                return false;
+            }
+            setMatch(m);
+            return true;
+        }
+
+        /**
+         * Returns the replace key with the references to groups replaced
+         * by the groups of last match. A backslash quotes the next character.
+         * @param replaceKey The replace key.
+         * @return The replacement text.
+         * @throws java.lang.IllegalArgumentException If a group referred
+         *         to does not exist.
+         */
+        @Override
+        String replacement(String replaceKey) {
+            if (matcher == null) {
+                return replaceKey;
+            }
+            StringBuilder result = new StringBuilder();
+            for (int i = 0; i < replaceKey.length(); i++) {
+                char c = replaceKey.charAt(i);
+                if (c == '\\' && i + 1 < replaceKey.length()) {
+                    result.append(replaceKey.charAt(++i));
+                } else if (c == '$' && i + 1 < replaceKey.length()) {
+                    String group;
+                    if (replaceKey.charAt(i + 1) == '{') {
+                        int close = replaceKey.indexOf('}', i + 2);
+                        if (close < 0) {
+                            throw new IllegalArgumentException(
+                                    "Group name is not closed: " + replaceKey);
+                        }
+                        group = matcher.group(replaceKey.substring(i + 2,
+                                close));
+                        i = close;
+                    } else if (Character.isDigit(replaceKey.charAt(i + 1))) {
+                        int number = replaceKey.charAt(++i) - '0';
+                        // Take more digits while the group exists.
+                        while (i + 1 < replaceKey.length() && Character.
+                                isDigit(replaceKey.charAt(i + 1))) {
+                            int next = number * 10 + replaceKey.charAt(i + 1) -
+                                    '0';
+                            if (next > matcher.groupCount()) {
+                                break;
+                            }
+                            number = next;
+                            i++;
+                        }
+                        if (number > matcher.groupCount()) {
+                            throw new IllegalArgumentException("No group " +
+                                    number + " in replace text: " + replaceKey);
+                        }
+                        group = matcher.group(number);
+                    } else {
+                        result.append(c);
+                        continue;
+                    }
+                    if (group != null) {
+                        result.append(group);
+                    }
+                } else {
+                    result.append(c);
+                }
+            }
+            return result.toString();
+        }
+
+        /**
+         * Creates a matcher of text. Look behind and look ahead see the text
+         * outside a region and anchors match only at lines.
+         * @param text The text.
+         * @return The matcher.
+         */
+        private Matcher newMatcher(CharSequence text) {
+            Matcher m = pattern.matcher(text);
+            m.useTransparentBounds(true);
+            m.useAnchoringBounds(false);
+            return m;
+        }
+
+        /**
+         * Makes the current match of a matcher the last match.
+         * @param m The matcher.
+         */
+        private void setMatch(Matcher m) {
+            matcher = m;
+            matchStart = m.start();
+            matchEnd = m.end();
+        }
+    }
+}
@@ -34,11 +34,12 @@ import javax.swing.text.Highlighter;
 public interface TextSearcher {
 
     /**
-     * Search and highlight all matches.
+     * Search and highlight all matches. The matches are kept in the search
+     * highlights of text editor.
      * @param model The search data model.
-     * @return All matching highlights.
+     * @return The number of matches.
      */
-    Highlighter.Highlight[] highlightSearchAll(SearchTextModel model);
+    int highlightSearchAll(SearchTextModel model);
 
     /**
      * Finds all matches, but don't highlight them.
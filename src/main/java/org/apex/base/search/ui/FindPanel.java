@@ -106,6 +106,7 @@ public class FindPanel extends javax.swing.JPanel implements UIDialogModel {
         this.wrapSearch.setSelected(this.model.isWrapSearch());
         this.backwardSearch.setSelected(this.model.isBackwardSearch());
         this.incrementalSearch.setSelected(this.model.isIncrementalSearch());
+        this.regularExpression.setSelected(this.model.isRegularExpression());
         selectSearchText();
     }
 
@@ -125,6 +126,7 @@ public class FindPanel extends javax.swing.JPanel implements UIDialogModel {
         backwardSearch = new javax.swing.JCheckBox();
         highlightSearch = new javax.swing.JCheckBox();
         incrementalSearch = new javax.swing.JCheckBox();
+        regularExpression = new javax.swing.JCheckBox();
         find = new javax.swing.JButton();
         close = new javax.swing.JButton();
         help = new javax.swing.JButton();
@@ -193,6 +195,15 @@ public class FindPanel extends javax.swing.JPanel implements UIDialogModel {
             }
         });
 
+        regularExpression.setText("Regular Expression");
+        regularExpression.setBorder(javax.swing.BorderFactory.createEmptyBorder(0, 0, 0, 0));
+        regularExpression.setMargin(new java.awt.Insets(0, 0, 0, 0));
+        regularExpression.addItemListener(new java.awt.event.ItemListener() {
+            public void itemStateChanged(java.awt.event.ItemEvent evt) {
+                regularExpressionItemStateChanged(evt);
+            }
+        });
+
         find.setText("Find");
         find.setFocusable(false);
         find.addActionListener(new java.awt.event.ActionListener() {
@@ -231,7 +242,8 @@ public class FindPanel extends javax.swing.JPanel implements UIDialogModel {
                         .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
                             .addComponent(caseSensitive)
                             .addComponent(wholeWord)
-                            .addComponent(highlightSearch))
+                            .addComponent(highlightSearch)
+                            .addComponent(regularExpression))
                         .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED, 27, Short.MAX_VALUE)
                         .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
                             .addComponent(backwardSearch)
@@ -263,7 +275,9 @@ public class FindPanel extends javax.swing.JPanel implements UIDialogModel {
                         .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED, 15, Short.MAX_VALUE)
                         .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
                             .addComponent(highlightSearch)
-                            .addComponent(incrementalSearch)))
+                            .addComponent(incrementalSearch))
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(regularExpression))
                     .addGroup(layout.createSequentialGroup()
                         .addGap(6, 6, 6)
                         .addComponent(close)
@@ -302,6 +316,10 @@ public class FindPanel extends javax.swing.JPanel implements UIDialogModel {
         this.model.setIncrementalSearch(incrementalSearch.isSelected());
     }//GEN-LAST:event_incrementalSearchItemStateChanged
 
+    private void regularExpressionItemStateChanged(java.awt.event.ItemEvent evt) {//GEN-FIRST:event_regularExpressionItemStateChanged
+        this.model.setRegularExpression(regularExpression.isSelected());
+    }//GEN-LAST:event_regularExpressionItemStateChanged
+
     private void findHandler(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_findHandler
         findEvent.execute(model);
     }//GEN-LAST:event_findHandler
@@ -326,6 +344,7 @@ public class FindPanel extends javax.swing.JPanel implements UIDialogModel {
     private javax.swing.JCheckBox highlightSearch;
     private javax.swing.JCheckBox incrementalSearch;
     private javax.swing.JLabel jLabel1;
+    private javax.swing.JCheckBox regularExpression;
     private javax.swing.JComboBox searchKey;
     private javax.swing.JCheckBox wholeWord;
     private javax.swing.JCheckBox wrapSearch;
@@ -93,6 +93,7 @@ public class ReplacePanel extends javax.swing.JPanel implements UIDialogModel {
         this.wrapSearch.setSelected(this.model.isWrapSearch());
         this.backwardSearch.setSelected(this.model.isBackwardSearch());
         this.incrementalSearch.setSelected(this.model.isIncrementalSearch());
+        this.regularExpression.setSelected(this.model.isRegularExpression());
     }
 
     /** This method is called from within the constructor to
@@ -111,6 +112,7 @@ public class ReplacePanel extends javax.swing.JPanel implements UIDialogModel {
         backwardSearch = new javax.swing.JCheckBox();
         highlightSearch = new javax.swing.JCheckBox();
         incrementalSearch = new javax.swing.JCheckBox();
+        regularExpression = new javax.swing.JCheckBox();
         findB = new javax.swing.JButton();
         replaceB = new javax.swing.JButton();
         replaceAllB = new javax.swing.JButton();
@@ -183,6 +185,15 @@ public class ReplacePanel extends javax.swing.JPanel implements UIDialogModel {
             }
         });
 
+        regularExpression.setText("Regular Expression");
+        regularExpression.setBorder(javax.swing.BorderFactory.createEmptyBorder(0, 0, 0, 0));
+        regularExpression.setMargin(new java.awt.Insets(0, 0, 0, 0));
+        regularExpression.addItemListener(new java.awt.event.ItemListener() {
+            public void itemStateChanged(java.awt.event.ItemEvent evt) {
+                regularExpressionItemStateChanged(evt);
+            }
+        });
+
         findB.setText("Find");
         findB.setFocusable(false);
         findB.addActionListener(new java.awt.event.ActionListener() {
@@ -249,7 +260,8 @@ public class ReplacePanel extends javax.swing.JPanel implements UIDialogModel {
                         .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
                             .addComponent(caseSensitive)
                             .addComponent(wholeWord)
-                            .addComponent(highlightSearch))
+                            .addComponent(highlightSearch)
+                            .addComponent(regularExpression))
                         .addGap(35, 35, 35)
                         .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
                             .addComponent(incrementalSearch)
@@ -295,7 +307,9 @@ public class ReplacePanel extends javax.swing.JPanel implements UIDialogModel {
                         .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED, 20, Short.MAX_VALUE)
                         .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
                             .addComponent(highlightSearch)
-                            .addComponent(incrementalSearch, javax.swing.GroupLayout.PREFERRED_SIZE, 15, javax.swing.GroupLayout.PREFERRED_SIZE)))
+                            .addComponent(incrementalSearch, javax.swing.GroupLayout.PREFERRED_SIZE, 15, javax.swing.GroupLayout.PREFERRED_SIZE))
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(regularExpression))
                     .addGroup(layout.createSequentialGroup()
                         .addGap(6, 6, 6)
                         .addComponent(replaceAllB)
@@ -334,6 +348,10 @@ public class ReplacePanel extends javax.swing.JPanel implements UIDialogModel {
         this.model.setIncrementalSearch(incrementalSearch.isSelected());
     }//GEN-LAST:event_incrementalSearchItemStateChanged
 
+    private void regularExpressionItemStateChanged(java.awt.event.ItemEvent evt) {//GEN-FIRST:event_regularExpressionItemStateChanged
+        this.model.setRegularExpression(regularExpression.isSelected());
+    }//GEN-LAST:event_regularExpressionItemStateChanged
+
     private void findHandler(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_findHandler
         findEvent.execute(model);
 }//GEN-LAST:event_findHandler
@@ -376,6 +394,7 @@ public class ReplacePanel extends javax.swing.JPanel implements UIDialogModel {
     private javax.swing.JCheckBox incrementalSearch;
     private javax.swing.JLabel jLabel1;
     private javax.swing.JLabel jLabel2;
+    private javax.swing.JCheckBox regularExpression;
     private javax.swing.JButton replaceAllB;
     private javax.swing.JButton replaceB;
     private javax.swing.JComboBox replaceKey;
@@ -84,6 +84,18 @@ public class GeneralSectionConfiguration extends AbstractConfiguration {
      * A boolean that indicates whether or not consoles are reused.
      */
     private boolean reuseConsole = true;
+    /**
+     * Maximum memory in megabytes the undo history of a document may take.
+     */
+    private int undoMemoryPerDocument = 16;
+    /**
+     * Maximum memory in megabytes the undo histories of all documents may take.
+     */
+    private int undoMemoryTotal = 64;
+    /**
+     * Maximum number of characters in thousands kept in a console.
+     */
+    private int consoleScrollback = 1024;
 
     /**
      * Creates a new instance of {@code GeneralSectionConfiguration}.
@@ -163,7 +175,10 @@ public class GeneralSectionConfiguration extends AbstractConfiguration {
                 + indentationSize + "^viewRightMargin: " + viewRightMargin + "^rightMargin: " + rightMargin
                 + "^rightMarginColor: " + rightMarginColor + "^viewDocumentSelector: " + viewDocumentSelector
                 + "^viewStatusBar: " + viewStatusBar + "^maxRecentFilesCount: " + maxRecentFilesCount
-                + "^reuseConsole: " + reuseConsole;
+                + "^reuseConsole: " + reuseConsole
+                + "^undoMemoryPerDocument: " + undoMemoryPerDocument
+                + "^undoMemoryTotal: " + undoMemoryTotal
+                + "^consoleScrollback: " + consoleScrollback;
     }
 
     @Override
@@ -193,6 +208,9 @@ public class GeneralSectionConfiguration extends AbstractConfiguration {
         this.setViewStatusBar(clonedConfig.isViewStatusBar());
         this.setMaxRecentFilesCount(clonedConfig.getMaxRecentFilesCount());
         this.setReuseConsole(clonedConfig.isReuseConsole());
+        this.setUndoMemoryPerDocument(clonedConfig.getUndoMemoryPerDocument());
+        this.setUndoMemoryTotal(clonedConfig.getUndoMemoryTotal());
+        this.setConsoleScrollback(clonedConfig.getConsoleScrollback());
         fireGeneralSectionConfigurationChanged(null);
     }
 
@@ -228,7 +246,13 @@ public class GeneralSectionConfiguration extends AbstractConfiguration {
                     && !isChanged(this.getMaxRecentFilesCount(),
                     clonedConfig.getMaxRecentFilesCount())
                     && !isChanged(this.isReuseConsole(),
-                    clonedConfig.isReuseConsole());
+                    clonedConfig.isReuseConsole())
+                    && !isChanged(this.getUndoMemoryPerDocument(),
+                    clonedConfig.getUndoMemoryPerDocument())
+                    && !isChanged(this.getUndoMemoryTotal(),
+                    clonedConfig.getUndoMemoryTotal())
+                    && !isChanged(this.getConsoleScrollback(),
+                    clonedConfig.getConsoleScrollback());
         }
         return value;
     }
@@ -267,6 +291,9 @@ public class GeneralSectionConfiguration extends AbstractConfiguration {
         hash = 79 * hash + (this.reuseConsole
                 ? 1
                 : 0);
+        hash = 79 * hash + this.undoMemoryPerDocument;
+        hash = 79 * hash + this.undoMemoryTotal;
+        hash = 79 * hash + this.consoleScrollback;
         return hash;
     }
 
@@ -355,6 +382,9 @@ public class GeneralSectionConfiguration extends AbstractConfiguration {
         this.viewStatusBar = false;
         this.maxRecentFilesCount = 0;
         this.reuseConsole = false;
+        this.undoMemoryPerDocument = 0;
+        this.undoMemoryTotal = 0;
+        this.consoleScrollback = 0;
         return true;
     }
 
@@ -497,4 +527,66 @@ public class GeneralSectionConfiguration extends AbstractConfiguration {
     public void setReuseConsole(boolean reuseConsole) {
         this.reuseConsole = reuseConsole;
     }
+
+    /**
+     * Returns the maximum memory in megabytes the undo history of a document may take.
+     * @return The undo memory limit of a document.
+     * @see #setUndoMemoryPerDocument(int)
+     */
+    public int getUndoMemoryPerDocument() {
+        return undoMemoryPerDocument;
+    }
+
+    /**
+     * Sets the maximum memory in megabytes the undo history of a document may take.
+     * @param undoMemoryPerDocument The undo memory limit of a document.
+     * @see #getUndoMemoryPerDocument()
+     */
+    public void setUndoMemoryPerDocument(int undoMemoryPerDocument) {
+        if (undoMemoryPerDocument > 0) {
+            this.undoMemoryPerDocument = undoMemoryPerDocument;
+        }
+    }
+
+    /**
+     * Returns the maximum memory in megabytes the undo histories of all
+     * documents may take.
+     * @return The undo memory limit of all documents.
+     * @see #setUndoMemoryTotal(int)
+     */
+    public int getUndoMemoryTotal() {
+        return undoMemoryTotal;
+    }
+
+    /**
+     * Sets the maximum memory in megabytes the undo histories of all
+     * documents may take.
+     * @param undoMemoryTotal The undo memory limit of all documents.
+     * @see #getUndoMemoryTotal()
+     */
+    public void setUndoMemoryTotal(int undoMemoryTotal) {
+        if (undoMemoryTotal > 0) {
+            this.undoMemoryTotal = undoMemoryTotal;
+        }
+    }
+
+    /**
+     * Returns the maximum number of characters in thousands kept in a console.
+     * @return The console scroll back limit.
+     * @see #setConsoleScrollback(int)
+     */
+    public int getConsoleScrollback() {
+        return consoleScrollback;
+    }
+
+    /**
+     * Sets the maximum number of characters in thousands kept in a console.
+     * @param consoleScrollback The console scroll back limit.
+     * @see #getConsoleScrollback()
+     */
+    public void setConsoleScrollback(int consoleScrollback) {
+        if (consoleScrollback > 0) {
+            this.consoleScrollback = consoleScrollback;
+        }
+    }
 }
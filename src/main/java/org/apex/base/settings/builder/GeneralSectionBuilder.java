@@ -97,6 +97,15 @@ public class GeneralSectionBuilder extends ConfigurationBuilderSupport {
                     getProperty(
                     REUSE_CONSOLE)));
         }
+        generalSecConfig.setUndoMemoryPerDocument(StringUtil.getInt(properties.
+                getProperty(
+                UNDO_MEMORY_PER_DOCUMENT)));
+        generalSecConfig.setUndoMemoryTotal(StringUtil.getInt(properties.
+                getProperty(
+                UNDO_MEMORY_TOTAL)));
+        generalSecConfig.setConsoleScrollback(StringUtil.getInt(properties.
+                getProperty(
+                CONSOLE_SCROLLBACK)));
         return generalSecConfig;
     }
 }
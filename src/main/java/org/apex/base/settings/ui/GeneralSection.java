@@ -100,6 +100,16 @@ public class GeneralSection extends javax.swing.JPanel implements
         reuseConsole = new javax.swing.JCheckBox();
         jLabel3 = new javax.swing.JLabel();
         maxRecentFilesCount = new javax.swing.JSpinner();
+        undoSection = new javax.swing.JPanel();
+        jLabel6 = new javax.swing.JLabel();
+        undoMemoryPerDocument = new javax.swing.JSpinner();
+        jLabel7 = new javax.swing.JLabel();
+        jLabel8 = new javax.swing.JLabel();
+        undoMemoryTotal = new javax.swing.JSpinner();
+        jLabel9 = new javax.swing.JLabel();
+        jLabel10 = new javax.swing.JLabel();
+        consoleScrollback = new javax.swing.JSpinner();
+        jLabel11 = new javax.swing.JLabel();
 
         caretSection.setBorder(javax.swing.BorderFactory.createTitledBorder(null, "Cursor", javax.swing.border.TitledBorder.DEFAULT_JUSTIFICATION, javax.swing.border.TitledBorder.DEFAULT_POSITION, new java.awt.Font("Tahoma", 0, 11), new java.awt.Color(0, 0, 153))); // NOI18N
 
@@ -353,6 +363,83 @@ public class GeneralSection extends javax.swing.JPanel implements
 
         jPanel1Layout.linkSize(javax.swing.SwingConstants.VERTICAL, new java.awt.Component[] {reuseConsole, viewStatusBar});
 
+        undoSection.setBorder(javax.swing.BorderFactory.createTitledBorder(null, "Memory", javax.swing.border.TitledBorder.DEFAULT_JUSTIFICATION, javax.swing.border.TitledBorder.DEFAULT_POSITION, new java.awt.Font("Tahoma", 0, 11), new java.awt.Color(0, 0, 153))); // NOI18N
+
+        jLabel6.setText("Undo per Document:");
+
+        undoMemoryPerDocument.setModel(new javax.swing.SpinnerNumberModel(16, 1, 1024, 1));
+        undoMemoryPerDocument.addChangeListener(new javax.swing.event.ChangeListener() {
+            public void stateChanged(javax.swing.event.ChangeEvent evt) {
+                undoMemoryPerDocumentStateChanged(evt);
+            }
+        });
+
+        jLabel7.setText("MB");
+
+        jLabel8.setText("Undo for All Documents:");
+
+        undoMemoryTotal.setModel(new javax.swing.SpinnerNumberModel(64, 1, 4096, 1));
+        undoMemoryTotal.addChangeListener(new javax.swing.event.ChangeListener() {
+            public void stateChanged(javax.swing.event.ChangeEvent evt) {
+                undoMemoryTotalStateChanged(evt);
+            }
+        });
+
+        jLabel9.setText("MB");
+
+        jLabel10.setText("Console Scrollback:");
+
+        consoleScrollback.setModel(new javax.swing.SpinnerNumberModel(1024, 1, 65536, 64));
+        consoleScrollback.addChangeListener(new javax.swing.event.ChangeListener() {
+            public void stateChanged(javax.swing.event.ChangeEvent evt) {
+                consoleScrollbackStateChanged(evt);
+            }
+        });
+
+        jLabel11.setText("K characters");
+
+        javax.swing.GroupLayout undoSectionLayout = new javax.swing.GroupLayout(undoSection);
+        undoSection.setLayout(undoSectionLayout);
+        undoSectionLayout.setHorizontalGroup(
+            undoSectionLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+            .addGroup(undoSectionLayout.createSequentialGroup()
+                .addContainerGap()
+                .addGroup(undoSectionLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+                    .addComponent(jLabel6)
+                    .addComponent(jLabel8)
+                    .addComponent(jLabel10))
+                .addGap(18, 18, 18)
+                .addGroup(undoSectionLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+                    .addComponent(undoMemoryPerDocument, javax.swing.GroupLayout.PREFERRED_SIZE, 52, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(undoMemoryTotal, javax.swing.GroupLayout.PREFERRED_SIZE, 52, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(consoleScrollback, javax.swing.GroupLayout.PREFERRED_SIZE, 52, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(undoSectionLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+                    .addComponent(jLabel7)
+                    .addComponent(jLabel9)
+                    .addComponent(jLabel11))
+                .addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
+        );
+        undoSectionLayout.setVerticalGroup(
+            undoSectionLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+            .addGroup(undoSectionLayout.createSequentialGroup()
+                .addGroup(undoSectionLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(jLabel6)
+                    .addComponent(undoMemoryPerDocument, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(jLabel7))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(undoSectionLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(jLabel8)
+                    .addComponent(undoMemoryTotal, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(jLabel9))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(undoSectionLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(jLabel10)
+                    .addComponent(consoleScrollback, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(jLabel11))
+                .addContainerGap(6, Short.MAX_VALUE))
+        );
+
         javax.swing.GroupLayout layout = new javax.swing.GroupLayout(this);
         this.setLayout(layout);
         layout.setHorizontalGroup(
@@ -363,7 +450,8 @@ public class GeneralSection extends javax.swing.JPanel implements
                     .addComponent(jPanel1, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
                     .addComponent(caretSection, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
                     .addComponent(formattingSection, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
-                    .addComponent(rightmarginSection, javax.swing.GroupLayout.PREFERRED_SIZE, 349, javax.swing.GroupLayout.PREFERRED_SIZE))
+                    .addComponent(rightmarginSection, javax.swing.GroupLayout.PREFERRED_SIZE, 349, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(undoSection, javax.swing.GroupLayout.PREFERRED_SIZE, 349, javax.swing.GroupLayout.PREFERRED_SIZE))
                 .addContainerGap())
         );
 
@@ -379,6 +467,8 @@ public class GeneralSection extends javax.swing.JPanel implements
                 .addComponent(formattingSection, javax.swing.GroupLayout.PREFERRED_SIZE, 53, javax.swing.GroupLayout.PREFERRED_SIZE)
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                 .addComponent(rightmarginSection, javax.swing.GroupLayout.PREFERRED_SIZE, 90, javax.swing.GroupLayout.PREFERRED_SIZE)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(undoSection, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
                 .addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
         );
     }// </editor-fold>//GEN-END:initComponents
@@ -436,6 +526,21 @@ private void reuseConsoleActionPerformed(java.awt.event.ActionEvent evt) {//GEN-
     this.generalSecConfig.setReuseConsole(reuseConsole.isSelected());
 }//GEN-LAST:event_reuseConsoleActionPerformed
 
+private void undoMemoryPerDocumentStateChanged(javax.swing.event.ChangeEvent evt) {//GEN-FIRST:event_undoMemoryPerDocumentStateChanged
+    this.generalSecConfig.setUndoMemoryPerDocument((Integer) this.undoMemoryPerDocument.
+            getValue());
+}//GEN-LAST:event_undoMemoryPerDocumentStateChanged
+
+private void undoMemoryTotalStateChanged(javax.swing.event.ChangeEvent evt) {//GEN-FIRST:event_undoMemoryTotalStateChanged
+    this.generalSecConfig.setUndoMemoryTotal((Integer) this.undoMemoryTotal.
+            getValue());
+}//GEN-LAST:event_undoMemoryTotalStateChanged
+
+private void consoleScrollbackStateChanged(javax.swing.event.ChangeEvent evt) {//GEN-FIRST:event_consoleScrollbackStateChanged
+    this.generalSecConfig.setConsoleScrollback((Integer) this.consoleScrollback.
+            getValue());
+}//GEN-LAST:event_consoleScrollbackStateChanged
+
     public void applyConfiguration() {
         // Default Document Extension        
         this.defaultExtension.setText(generalSecConfig.getDefaultExtension());
@@ -465,6 +570,9 @@ private void reuseConsoleActionPerformed(java.awt.event.ActionEvent evt) {//GEN-
         viewRightMargin.setSelected(generalSecConfig.isViewRightMargin());
         maxRecentFilesCount.setValue(generalSecConfig.getMaxRecentFilesCount());
         reuseConsole.setSelected(generalSecConfig.isReuseConsole());
+        undoMemoryPerDocument.setValue(generalSecConfig.getUndoMemoryPerDocument());
+        undoMemoryTotal.setValue(generalSecConfig.getUndoMemoryTotal());
+        consoleScrollback.setValue(generalSecConfig.getConsoleScrollback());
         enableRightMarginBlock(generalSecConfig.isViewRightMargin());
     }
     // Variables declaration - do not modify//GEN-BEGIN:variables
@@ -474,13 +582,20 @@ private void reuseConsoleActionPerformed(java.awt.event.ActionEvent evt) {//GEN-
     private javax.swing.JLabel caretColorTitle;
     private javax.swing.JLabel caretColorTitle1;
     private javax.swing.JPanel caretSection;
+    private javax.swing.JSpinner consoleScrollback;
     private javax.swing.JTextField defaultExtension;
     private javax.swing.JPanel formattingSection;
     private javax.swing.JLabel jLabel1;
     private javax.swing.JLabel jLabel2;
     private javax.swing.JLabel jLabel3;
     private javax.swing.JLabel jLabel4;
+    private javax.swing.JLabel jLabel10;
+    private javax.swing.JLabel jLabel11;
     private javax.swing.JLabel jLabel5;
+    private javax.swing.JLabel jLabel6;
+    private javax.swing.JLabel jLabel7;
+    private javax.swing.JLabel jLabel8;
+    private javax.swing.JLabel jLabel9;
     private javax.swing.JPanel jPanel1;
     private javax.swing.JButton marginColorChooser;
     private javax.swing.JLabel marginColorLabel;
@@ -491,6 +606,9 @@ private void reuseConsoleActionPerformed(java.awt.event.ActionEvent evt) {//GEN-
     private javax.swing.JTextField sampleCaretColor;
     private javax.swing.JTextField sampleMarginColor;
     private javax.swing.JSpinner tabWidth;
+    private javax.swing.JPanel undoSection;
+    private javax.swing.JSpinner undoMemoryPerDocument;
+    private javax.swing.JSpinner undoMemoryTotal;
     private javax.swing.JCheckBox viewDocumentSelector;
     private javax.swing.JCheckBox viewRightMargin;
     private javax.swing.JCheckBox viewStatusBar;
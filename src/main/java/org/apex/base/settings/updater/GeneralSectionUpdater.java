@@ -88,6 +88,12 @@ public class GeneralSectionUpdater extends ConfigurationUpdateSupport {
                 String.valueOf(genSecConfig.isReuseConsole()));
         properties.setProperty(MAX_RECENT_FILES_COUNT,
                 String.valueOf(genSecConfig.getMaxRecentFilesCount()));
+        properties.setProperty(UNDO_MEMORY_PER_DOCUMENT,
+                String.valueOf(genSecConfig.getUndoMemoryPerDocument()));
+        properties.setProperty(UNDO_MEMORY_TOTAL,
+                String.valueOf(genSecConfig.getUndoMemoryTotal()));
+        properties.setProperty(CONSOLE_SCROLLBACK,
+                String.valueOf(genSecConfig.getConsoleScrollback()));
         storeConfigProperties(genSecConfig, properties);
     }
 }
@@ -24,20 +24,19 @@ import java.awt.Toolkit;
 import java.awt.datatransfer.StringSelection;
 import org.apex.base.core.EditorBase;
 import org.apex.base.data.AbstractDocument;
+import org.apex.base.data.DocumentStatistics;
 import org.apex.base.data.EditorContext;
-import org.apex.base.data.SegmentCache;
 import org.apex.base.ui.text.UIDialogModel;
-import java.text.BreakIterator;
 import java.util.Date;
 import javax.swing.JDialog;
-import javax.swing.text.BadLocationException;
-import javax.swing.text.Document;
-import javax.swing.text.Element;
-import javax.swing.text.Segment;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
 import org.apex.base.component.SelectableLabel;
 
 /**
- * A panel to display basic properties of a document.
+ * A panel to display basic properties of a document. Characters, words and
+ * lines are taken from the statistics of document, which are counted in
+ * background and kept up to date while the document is edited.
  * @author Mrityunjoy Saha
  * @version 1.0
  * @since Apex 1.0
@@ -53,6 +52,21 @@ public class DocumentPropertiesView extends javax.swing.JPanel implements
      * The document for which properties to be displayed.
      */
     private AbstractDocument file;
+    /**
+     * The statistics of document.
+     */
+    private DocumentStatistics statistics;
+    /**
+     * Shows the counts when statistics change.
+     */
+    private final ChangeListener statisticsListener = new ChangeListener() {
+
+        public void stateChanged(ChangeEvent e) {
+            if (isShowing()) {
+                setCounts();
+            }
+        }
+    };
 
     /**
      * Creates a new instance of {@code DocumentPropertiesView}.
@@ -67,6 +81,11 @@ public class DocumentPropertiesView extends javax.swing.JPanel implements
      */
     public void initialize(AbstractDocument file) {
         this.file = file;
+        if (statistics != null) {
+            statistics.removeChangeListener(statisticsListener);
+        }
+        statistics = DocumentStatistics.getStatistics(file);
+        statistics.addChangeListener(statisticsListener);
         setAttributes(file);
     }
 
@@ -328,9 +347,7 @@ public class DocumentPropertiesView extends javax.swing.JPanel implements
         name.setText(file.getName());
         name.selectAll();
         location.setText(file.getAbsolutePath());
-        characters.setText(String.valueOf(file.getDocument().getLength()));
-        words.setText(String.valueOf(getNoOfWords(file)));
-        lines.setText(String.valueOf(getNoOfLines(file)));
+        setCounts();
         fileType.setText(file.getDocumentType().toString());
         fileSize.setText(String.valueOf((int) Math.ceil((double) file.length()
                 / 1024) + " KB"));
@@ -340,51 +357,18 @@ public class DocumentPropertiesView extends javax.swing.JPanel implements
     }
 
     /**
-     * Calculates number of words present in a document.
-     * @param file A document.
-     * @return Number of words in the document.
+     * Sets the number of characters, words and lines in view. Words and
+     * non-blank lines are shown once they are counted.
      */
-    private long getNoOfWords(AbstractDocument file) {
-        try {
-            Document doc = file.getDocument();
-            Element rootElement = doc.getDefaultRootElement();
-            int lineCount = rootElement.getElementCount();
-            Element line = null;
-            int wordCount = 0;
-            Segment seg = SegmentCache.getSharedSegment();
-            for (int iCount = 0; iCount < lineCount; iCount++) {
-                line = rootElement.getElement(iCount);
-                if (line == null) {
-                    return wordCount;
-                }
-                int lineStart = line.getStartOffset();
-                int lineEnd = Math.min(line.getEndOffset(), doc.getLength());
-
-                doc.getText(lineStart, lineEnd - lineStart, seg);
-                BreakIterator wordsIterator = BreakIterator.getWordInstance(
-                        file.getEditor().getLocale());
-                wordsIterator.setText(seg);
-                int start = wordsIterator.first();
-                for (int end = wordsIterator.next(); end != BreakIterator.DONE; start =
-                                end, end = wordsIterator.next()) {
-                    if (!Character.isWhitespace(seg.array[start])) {
-                        wordCount++;
-                    }
-                }
-            }
-            SegmentCache.releaseSharedSegment(seg);
-            return wordCount;
-        } catch (BadLocationException ex) {
-            return 0;
+    private void setCounts() {
+        characters.setText(String.valueOf(statistics.getCharacters()));
+        if (statistics.isReady()) {
+            words.setText(String.valueOf(statistics.getWords()));
+            lines.setText(statistics.getLines() + " (" +
+                    statistics.getNonBlankLines() + " non-blank)");
+        } else {
+            words.setText("Counting...");
+            lines.setText(String.valueOf(statistics.getLines()));
         }
     }
-
-    /**
-     * Calculates number of lines present in a document.
-     * @param file A document.
-     * @return Number of lines in the document.
-     */
-    private long getNoOfLines(AbstractDocument file) {
-        return file.getDocument().getDefaultRootElement().getElementCount();
-    }
 }
@@ -27,12 +27,16 @@ import org.apex.base.core.MenuManager;
 import org.apex.base.data.InputParams;
 import org.apex.base.data.OutputParams;
 import org.apex.base.data.TypingMode;
+import org.apex.base.event.CaretListenerImpl;
+import org.apex.base.event.CaretPositionEvent;
+import org.apex.base.event.CaretPositionListener;
 import org.apex.base.logging.Logger;
 import org.apex.base.util.StringUtil;
 
 /**
  * The editor status bar. It shows file's read only status, insertion mode,
- * line number and column number.
+ * line number and column number. Line number, column number and selection
+ * info are updated from caret position events of current document.
  * @author Mrityunjoy Saha
  * @version 1.0
  * @since Apex 1.0
@@ -53,6 +57,34 @@ public class StatusBar extends javax.swing.JPanel {
      */
     public StatusBar() {
         initComponents();
+        CaretListenerImpl.addCaretPositionListener(new CaretPositionListener() {
+
+            /**
+             * Whether or not general message shows selection info.
+             */
+            private boolean showingSelection;
+
+            public void caretPositionChanged(CaretPositionEvent event) {
+                setCaretPositionInfo(event.getLineNumber() + "  :  " +
+                        event.getColumn());
+                if (event.isSelectionEmpty()) {
+                    // Other messages are kept while caret moves.
+                    if (showingSelection) {
+                        setGeneralInfo("");
+                        showingSelection = false;
+                    }
+                    return;
+                }
+                showingSelection = true;
+                if (event.getSelectedLines() > 1) {
+                    setGeneralInfo("Selected " + event.getSelectedLines() +
+                            " line(s)");
+                } else {
+                    setGeneralInfo("Selected " + event.getSelectedCharacters() +
+                            " character(s)");
+                }
+            }
+        });
     }
 
     /**
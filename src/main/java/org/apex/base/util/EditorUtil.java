@@ -25,6 +25,8 @@ import org.apex.base.constant.EditorKeyConstants;
 import org.apex.base.data.AbstractDocument;
 import org.apex.base.data.DocumentWrapper;
 import org.apex.base.data.EditorContext;
+import org.apex.base.data.HighlightedDocument;
+import org.apex.base.highlighter.HighlighterScheduler;
 import java.io.File;
 import java.util.Locale;
 import org.apex.base.core.EditorBase;
@@ -74,6 +76,13 @@ public class EditorUtil {
         context.getEditorComponents().getFrame().setTitle(getDisplayEditorTitleBarText(documentWrapper.
                 getDocument()));
         context.getEditorProperties().setCurrentDocumentWrapper(documentWrapper);
+        AbstractDocument file = documentWrapper.getDocument();
+        if (file.getEditor() != null && file.getEditor().getDocument()
+                instanceof HighlightedDocument) {
+            // Syntax highlighting of displayed document gets priority.
+            HighlighterScheduler.getSharedInstance().setDisplayedDocument(
+                    (HighlightedDocument) file.getEditor().getDocument());
+        }
     }
 
     /**
@@ -106,6 +115,7 @@ public class EditorUtil {
                 getEditorTitle() + " "
                 + context.getEditorProperties().getEditorVersion());
         context.getEditorProperties().setCurrentDocumentWrapper(null);
+        HighlighterScheduler.getSharedInstance().setDisplayedDocument(null);
     }
 
     /**
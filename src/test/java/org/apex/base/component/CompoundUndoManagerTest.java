@@ -0,0 +1,189 @@
+/*
+ * CompoundUndoManagerTest.java
+ *
+ * Copyright (C) 2010 Mrityunjoy Saha
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.apex.base.component;
+
+import org.apex.base.constant.EditorKeyConstants;
+import org.apex.base.core.EditorBase;
+import org.apex.base.data.HighlightedDocument;
+import org.apex.base.settings.EditorConfiguration;
+import org.apex.base.settings.GeneralConfiguration;
+import org.apex.base.settings.GeneralSectionConfiguration;
+import javax.swing.JTextPane;
+import javax.swing.SwingUtilities;
+import javax.swing.event.UndoableEditEvent;
+import javax.swing.event.UndoableEditListener;
+import javax.swing.text.Element;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests undo and redo of large edits by {@link CompoundUndoManager}, whose
+ * text is kept in the spill file.
+ * @author Mrityunjoy Saha
+ * @version 1.0
+ * @since Apex 1.2
+ */
+public class CompoundUndoManagerTest {
+
+    /**
+     * The document.
+     */
+    private HighlightedDocument document;
+    /**
+     * The undo manager.
+     */
+    private CompoundUndoManager undoManager;
+    /**
+     * Number of undoable edit events fired while undoing or redoing. Undo
+     * and redo replay the recorded document events and fire none.
+     */
+    private int replayEvents;
+
+    @Before
+    public void setUp() throws Exception {
+        EditorConfiguration config = new EditorConfiguration();
+        GeneralConfiguration generalConfig = new GeneralConfiguration();
+        GeneralSectionConfiguration general = new GeneralSectionConfiguration();
+        general.setUndoMemoryPerDocument(16);
+        general.setUndoMemoryTotal(64);
+        generalConfig.setGeneral(general);
+        config.setGeneralConfig(generalConfig);
+        EditorBase.getContext().setConfiguration(config);
+        document = new HighlightedDocument();
+        undoManager = new CompoundUndoManager(new JTextPane(document));
+    }
+
+    @After
+    public void tearDown() {
+        undoManager.dispose();
+    }
+
+    @Test
+    public void undoRedoUndoSpilledInsertion() throws Exception {
+        document.insertString(0, "first\nlast\n", null);
+        final String before = document.getText(0, document.getLength());
+        final int linesBefore = getLineCount();
+        final String text = createLines(EditorKeyConstants.UNDO_SPILL_THRESHOLD);
+        long memorySize = undoManager.getMemorySize();
+        document.insertString(6, text, null);
+        final String after = document.getText(0, document.getLength());
+        final int linesAfter = getLineCount();
+        assertEquals(memorySize, undoManager.getMemorySize());
+        countReplayEvents();
+        onEventThread(new Runnable() {
+
+            public void run() {
+                undoManager.undo();
+                assertText(before, linesBefore);
+                undoManager.redo();
+                assertText(after, linesAfter);
+                undoManager.undo();
+                assertText(before, linesBefore);
+            }
+        });
+        assertEquals(0, replayEvents);
+    }
+
+    @Test
+    public void undoRedoUndoSpilledRemoval() throws Exception {
+        final String text = "first\n" + createLines(
+                EditorKeyConstants.UNDO_SPILL_THRESHOLD) + "last\n";
+        document.insertString(0, text, null);
+        final int linesBefore = getLineCount();
+        long memorySize = undoManager.getMemorySize();
+        document.remove(6, text.length() - 11);
+        final String after = document.getText(0, document.getLength());
+        final int linesAfter = getLineCount();
+        assertEquals(memorySize, undoManager.getMemorySize());
+        countReplayEvents();
+        onEventThread(new Runnable() {
+
+            public void run() {
+                undoManager.undo();
+                assertText(text, linesBefore);
+                undoManager.redo();
+                assertText(after, linesAfter);
+                undoManager.undo();
+                assertText(text, linesBefore);
+            }
+        });
+        assertEquals(0, replayEvents);
+    }
+
+    /**
+     * Counts the undoable edit events fired from now on.
+     */
+    private void countReplayEvents() {
+        document.addUndoableEditListener(new UndoableEditListener() {
+
+            public void undoableEditHappened(UndoableEditEvent e) {
+                replayEvents++;
+            }
+        });
+    }
+
+    /**
+     * Checks the text and number of lines of document.
+     * @param text The expected text.
+     * @param lines The expected number of lines.
+     */
+    private void assertText(String text, int lines) {
+        try {
+            assertEquals(text, document.getText(0, document.getLength()));
+        } catch (Exception ex) {
+            throw new AssertionError(ex);
+        }
+        assertEquals(lines, getLineCount());
+    }
+
+    /**
+     * Returns the number of lines of document.
+     * @return The number of lines.
+     */
+    private int getLineCount() {
+        Element root = document.getDefaultRootElement();
+        return root.getElementCount();
+    }
+
+    /**
+     * Creates numbered lines of at least given length.
+     * @param length The minimum number of characters.
+     * @return The lines.
+     */
+    private static String createLines(int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; text.length() < length; i++) {
+            text.append("line ").append(i).append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * Runs a task in event dispatch thread, where the undo manager moves
+     * the caret.
+     * @param task The task.
+     * @throws Exception If the task fails.
+     */
+    private static void onEventThread(Runnable task) throws Exception {
+        SwingUtilities.invokeAndWait(task);
+    }
+}
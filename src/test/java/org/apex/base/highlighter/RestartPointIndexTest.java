@@ -0,0 +1,215 @@
+/*
+ * RestartPointIndexTest.java
+ *
+ * Copyright (C) 2010 Mrityunjoy Saha
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.apex.base.highlighter;
+
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests {@link RestartPointIndex}.
+ * @author Mrityunjoy Saha
+ * @version 1.0
+ * @since Apex 1.2
+ */
+public class RestartPointIndexTest {
+
+    @Test
+    public void addAllKeepsPositionsSortedAndUnique() {
+        RestartPointIndex index = new RestartPointIndex();
+        index.addAll(new int[]{10, 20, 30}, 3);
+        index.addAll(new int[]{5, 20, 25, 40}, 4);
+        assertPositions(index, 5, 10, 20, 25, 30, 40);
+    }
+
+    @Test
+    public void addAllInsertsBetweenExistingPositions() {
+        RestartPointIndex index = new RestartPointIndex();
+        index.addAll(new int[]{10, 50}, 2);
+        index.addAll(new int[]{20, 30, 50}, 3);
+        assertPositions(index, 10, 20, 30, 50);
+    }
+
+    @Test
+    public void shiftMovesPositionsAtOrAfterPosition() {
+        RestartPointIndex index = new RestartPointIndex();
+        index.addAll(new int[]{10, 20, 30, 40}, 4);
+        index.shift(20, 5);
+        assertPositions(index, 10, 25, 35, 45);
+        index.shift(0, -3);
+        assertPositions(index, 7, 22, 32, 42);
+    }
+
+    @Test
+    public void consecutiveShiftsAccumulateInPendingDelta() {
+        RestartPointIndex index = new RestartPointIndex();
+        index.addAll(new int[]{10, 20, 30, 40}, 4);
+        // typing at one place, then moving backward and forward
+        index.shift(25, 1);
+        index.shift(26, 1);
+        index.shift(15, 1);
+        index.shift(33, 2);
+        assertPositions(index, 10, 21, 35, 45);
+    }
+
+    @Test
+    public void addAllAfterShiftStoresPositionsAsGiven() {
+        RestartPointIndex index = new RestartPointIndex();
+        index.addAll(new int[]{10, 20, 30}, 3);
+        index.shift(15, 100);
+        index.addAll(new int[]{200, 300}, 2);
+        index.addAll(new int[]{15}, 1);
+        assertPositions(index, 10, 15, 120, 130, 200, 300);
+    }
+
+    @Test
+    public void removeDropsRangeAndKeepsShift() {
+        RestartPointIndex index = new RestartPointIndex();
+        index.addAll(new int[]{10, 20, 30, 40, 50}, 5);
+        index.shift(25, 10);
+        index.remove(20, 45);
+        assertPositions(index, 10, 50, 60);
+        index.remove(60, 60);
+        assertPositions(index, 10, 50, 60);
+    }
+
+    @Test
+    public void removeFromDropsTail() {
+        RestartPointIndex index = new RestartPointIndex();
+        index.addAll(new int[]{10, 20, 30, 40}, 4);
+        index.shift(30, 5);
+        index.removeFrom(35);
+        assertPositions(index, 10, 20);
+        index.clear();
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void lookupFindsCeilingAndLower() {
+        RestartPointIndex index = new RestartPointIndex();
+        index.addAll(new int[]{10, 20, 30}, 3);
+        index.shift(20, 5);
+        assertEquals(0, index.ceilingIndex(0));
+        assertEquals(0, index.ceilingIndex(10));
+        assertEquals(1, index.ceilingIndex(11));
+        assertEquals(1, index.ceilingIndex(25));
+        assertEquals(3, index.ceilingIndex(36));
+        assertEquals(-1, index.lower(10));
+        assertEquals(10, index.lower(25));
+        assertEquals(25, index.lower(26));
+        assertEquals(35, index.lower(1000));
+    }
+
+    @Test
+    public void growsBeyondInitialCapacity() {
+        RestartPointIndex index = new RestartPointIndex(1);
+        for (int i = 0; i < 1000; i++) {
+            index.addAll(new int[]{i * 2}, 1);
+        }
+        int[] values = new int[500];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i * 4 + 1;
+        }
+        index.addAll(values, values.length);
+        assertEquals(1500, index.size());
+        for (int i = 1; i < index.size(); i++) {
+            assertEquals(true, index.get(i - 1) < index.get(i));
+        }
+    }
+
+    @Test
+    public void matchesSortedSetForRandomEdits() {
+        Random random = new Random(1);
+        RestartPointIndex index = new RestartPointIndex(4);
+        TreeSet<Integer> expected = new TreeSet<Integer>();
+        for (int step = 0; step < 5000; step++) {
+            int position = random.nextInt(2000);
+            switch (random.nextInt(4)) {
+                case 0:
+                    // Insertion; positions never collapse
+                    int adjustment = random.nextInt(20) + 1;
+                    index.shift(position, adjustment);
+                    expected = shifted(expected, position, adjustment);
+                    break;
+                case 1:
+                    // Removal of text, as done by the highlighter
+                    int length = random.nextInt(20) + 1;
+                    index.remove(position, position + length);
+                    expected.subSet(position, position + length).clear();
+                    index.shift(position + length, -length);
+                    expected = shifted(expected, position + length, -length);
+                    break;
+                case 2:
+                    int value = position;
+                    int[] values = new int[random.nextInt(5) + 1];
+                    for (int i = 0; i < values.length; i++) {
+                        value += random.nextInt(10) + 1;
+                        values[i] = value;
+                        expected.add(value);
+                    }
+                    index.addAll(values, values.length);
+                    break;
+                default:
+                    Integer lower = expected.lower(position);
+                    assertEquals(lower == null ? -1 : lower.intValue(),
+                            index.lower(position));
+                    assertEquals(expected.headSet(position).size(),
+                            index.ceilingIndex(position));
+            }
+            assertEquals(expected.size(), index.size());
+        }
+        int i = 0;
+        for (int value : expected) {
+            assertEquals(value, index.get(i++));
+        }
+    }
+
+    /**
+     * Returns a set with positions at or after a position shifted.
+     * @param positions The positions.
+     * @param from The position from which positions are shifted.
+     * @param adjustment The amount to be added.
+     * @return The shifted positions.
+     */
+    private static TreeSet<Integer> shifted(TreeSet<Integer> positions,
+            int from, int adjustment) {
+        TreeSet<Integer> result = new TreeSet<Integer>();
+        for (int value : positions) {
+            result.add(value >= from ? value + adjustment : value);
+        }
+        return result;
+    }
+
+    /**
+     * Checks the positions of an index.
+     * @param index The index.
+     * @param expected The expected positions.
+     */
+    private static void assertPositions(RestartPointIndex index,
+            int... expected) {
+        int[] actual = new int[index.size()];
+        for (int i = 0; i < actual.length; i++) {
+            actual[i] = index.get(i);
+        }
+        assertArrayEquals(expected, actual);
+    }
+}